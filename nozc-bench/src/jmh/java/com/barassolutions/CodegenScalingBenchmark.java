@@ -0,0 +1,96 @@
+package com.barassolutions;
+
+import com.barassolutions.Corpus.Source;
+import com.barassolutions.Phases.Parsed;
+import com.barassolutions.util.Logger;
+import com.barassolutions.util.Logger.LogLevel;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Time taken to generate the code of a program made of a single long list of nodes.
+ * <p>
+ * Each node of a list is visited once when generating its code, so the time taken is linear in
+ * the size of the list : the time per element (the score divided by the size) should stay about
+ * the same for all the sizes of a given shape. Looking for each element in its list again, to know
+ * whether it is the first or the last one, would instead make it grow with the size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodegenScalingBenchmark {
+
+  /**
+   * The list which grows : the statements of a block, the elements of a list literal, or the
+   * arguments of a function call.
+   */
+  @Param({"statements", "elements", "arguments"})
+  public String shape;
+
+  @Param({"100", "1000", "10000"})
+  public int size;
+
+  private Parsed program;
+
+  private File outputFile;
+
+  @Setup
+  public void generate() throws ParseException, IOException {
+    Logger.setLevel(LogLevel.OFF);
+    StringBuilder sb = new StringBuilder();
+    switch (shape) {
+      case "statements" -> {
+        sb.append("{\n  var x=0\n");
+        for (int i = 0; i < size; i++) {
+          sb.append("  browse(x+").append(i).append(")\n");
+        }
+        sb.append("}\n");
+      }
+      case "elements" -> {
+        sb.append("browse([");
+        for (int i = 0; i < size; i++) {
+          sb.append(i > 0 ? ", " : "").append(i);
+        }
+        sb.append("])\n");
+      }
+      case "arguments" -> {
+        sb.append("{\n  def f(");
+        for (int i = 0; i < size; i++) {
+          sb.append(i > 0 ? ", " : "").append('a').append(i);
+        }
+        sb.append(") {\n    a0\n  }\n  browse(f(");
+        for (int i = 0; i < size; i++) {
+          sb.append(i > 0 ? ", " : "").append(i);
+        }
+        sb.append("))\n}\n");
+      }
+      default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+    program = new Parsed(new Source(shape + "-" + size + ".noz", sb.toString()));
+    program.ast.analyze(program.session.globalContext());
+    outputFile = Files.createTempFile("nozc-bench", ".oz").toFile();
+  }
+
+  @Benchmark
+  public void codegen() throws IOException {
+    Emitter output = new Emitter(outputFile, program.session);
+    program.ast.codegen(output);
+    output.close();
+  }
+
+  @TearDown
+  public void deleteOutputFile() throws IOException {
+    Files.deleteIfExists(outputFile.toPath());
+  }
+}
@@ -0,0 +1,78 @@
+package com.barassolutions;
+
+import com.barassolutions.Corpus.Source;
+import com.barassolutions.Phases.Parsed;
+import com.barassolutions.util.Logger;
+import com.barassolutions.util.Logger.LogLevel;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import junit.ProgramGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Time taken to compile a synthetic program (parse, analyze, codegen), growing along each
+ * dimension of the {@link ProgramGenerator}.
+ * <p>
+ * This is the timing counterpart of the NozcScalingTestCase, which only checks the allocated
+ * memory, on the same programs : the larger size is 8 times the smaller one, so the score should grow
+ * about 8 times from one to the other for a given shape. A quadratic behaviour would make it grow
+ * 64 times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompilerScalingBenchmark {
+
+  /**
+   * The dimension along which the program grows. Each size is a multiple of the base size of the
+   * shape.
+   */
+  @Param({"functions", "classes", "nesting", "arguments", "clauses"})
+  public String shape;
+
+  @Param({"1", "8"})
+  public int size;
+
+  private Source source;
+
+  private File outputFile;
+
+  @Setup
+  public void generate() throws IOException {
+    Logger.setLevel(LogLevel.OFF);
+    ProgramGenerator generator = switch (shape) {
+      case "functions" -> new ProgramGenerator().functions(250 * size);
+      case "classes" -> new ProgramGenerator().functions(0).classes(250 * size);
+      case "nesting" -> new ProgramGenerator().functions(10).depth(25 * size);
+      case "arguments" -> new ProgramGenerator().functions(10).arity(25 * size);
+      case "clauses" -> new ProgramGenerator().functions(0).matches(10, 25 * size);
+      default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+    };
+    source = new Source(shape + "-" + size + ".noz", generator.generate());
+    outputFile = Files.createTempFile("nozc-bench", ".oz").toFile();
+  }
+
+  @Benchmark
+  public void compile() throws ParseException, IOException {
+    Parsed program = new Parsed(source);
+    program.ast.analyze(program.session.globalContext());
+    Emitter output = new Emitter(outputFile, program.session);
+    program.ast.codegen(output);
+    output.close();
+  }
+
+  @TearDown
+  public void deleteOutputFile() throws IOException {
+    Files.deleteIfExists(outputFile.toPath());
+  }
+}
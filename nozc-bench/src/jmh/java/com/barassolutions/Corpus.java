@@ -0,0 +1,84 @@
+package com.barassolutions;
+
+import com.barassolutions.util.Logger;
+import com.barassolutions.util.Logger.LogLevel;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.stream.Stream;
+import junit.ProgramGenerator;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The NewOz programs a benchmark runs over.
+ * <p>
+ * The corpus is either one of the folders of sample programs shipped with the project, or a
+ * synthetic program of the given number of functions (see {@link ProgramGenerator}). Programs
+ * with syntax errors are left out, as the later phases could not run on them.
+ */
+@State(Scope.Benchmark)
+public class Corpus {
+
+  @Param({"examples", "pass", "synthetic-100", "synthetic-1000"})
+  public String corpus;
+
+  private java.util.List<Source> sources;
+
+  private long lines;
+
+  @Setup
+  public void load() throws IOException {
+    Logger.setLevel(LogLevel.OFF); // Only measure the compiler itself
+    sources = new ArrayList<>();
+    if (corpus.startsWith("synthetic-")) {
+      int functions = Integer.parseInt(corpus.substring("synthetic-".length()));
+      sources.add(new Source(corpus + ".noz", new ProgramGenerator()
+          .functions(functions)
+          .depth(3)
+          .classes(functions / 10)
+          .matches(functions / 10, 20)
+          .generate()));
+    } else {
+      Path root = Path.of(System.getProperty("nozc.root", ".."));
+      Path folder = corpus.equals("examples") ? root.resolve("examples")
+          : root.resolve("nozc/src/test/java/pass");
+      try (Stream<Path> files = Files.list(folder)) {
+        for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+          String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+          if (name.endsWith(".noz")) {
+            sources.add(new Source(name, Files.readString(file, StandardCharsets.UTF_8)));
+          }
+        }
+      }
+    }
+    sources.removeIf(source -> !Phases.parsesCleanly(source));
+    lines = sources.stream().mapToLong(Source::lines).sum();
+  }
+
+  public java.util.List<Source> sources() {
+    return sources;
+  }
+
+  /**
+   * @return the total number of lines of the programs of this corpus.
+   */
+  public long lines() {
+    return lines;
+  }
+
+  /**
+   * A NewOz program.
+   */
+  public record Source(String name, String text) {
+
+    public long lines() {
+      return text.lines().count();
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.barassolutions;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.AuxCounters.Type;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Number of source lines processed by a benchmark, reported by JMH as a throughput (lines/sec)
+ * next to the primary result.
+ */
+@State(Scope.Thread)
+@AuxCounters(Type.OPERATIONS)
+public class LineCounter {
+
+  public long lines;
+
+  @Setup(Level.Iteration)
+  public void clear() {
+    lines = 0;
+  }
+}
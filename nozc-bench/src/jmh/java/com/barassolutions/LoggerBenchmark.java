@@ -0,0 +1,52 @@
+package com.barassolutions;
+
+import com.barassolutions.util.Logger;
+import com.barassolutions.util.Logger.LogLevel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of a disabled debug statement, as found all over the AST. The guarded and lazy forms should
+ * not allocate anything (see gc.alloc.rate.norm), unlike the eager one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoggerBenchmark {
+
+  private String name = "fibo";
+  private int line = 42;
+
+  @Setup
+  public void disableDebug() {
+    Logger.setLevel(LogLevel.INFO);
+  }
+
+  @Benchmark
+  public void eager() {
+    Logger.debug("Found a CallFunction to " + name + " at line " + line);
+  }
+
+  @Benchmark
+  public void guarded() {
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Found a CallFunction to " + name + " at line " + line);
+    }
+  }
+
+  @Benchmark
+  public void lazy() {
+    Logger.debug(() -> "Found a CallFunction to " + name + " at line " + line);
+  }
+
+  @Benchmark
+  public void formatted() {
+    Logger.debug("Found a CallFunction to %s at line %d", name, line);
+  }
+}
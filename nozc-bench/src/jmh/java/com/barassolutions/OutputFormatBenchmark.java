@@ -0,0 +1,81 @@
+package com.barassolutions;
+
+import com.barassolutions.Corpus.Source;
+import com.barassolutions.Phases.Parsed;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.AuxCounters.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Throughput of the code generation of a whole {@link Corpus}, and size of the Oz code generated,
+ * in the readable format and in the compact one (see {@link Emitter}).
+ * <p>
+ * Generating the code only reads the analyzed programs, so they are analyzed once per trial. The
+ * {@link LineCounter} reports the number of source lines processed per second, and the {@link
+ * OutputSize} the number of bytes of Oz code generated for the whole corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OutputFormatBenchmark {
+
+  @Param({"pretty", "compact"})
+  public String format;
+
+  private final java.util.List<Parsed> programs = new ArrayList<>();
+
+  private File outputFile;
+
+  @Setup
+  public void analyze(Corpus corpus) throws ParseException, IOException {
+    programs.clear();
+    for (Source source : corpus.sources()) {
+      Parsed program = new Parsed(source);
+      program.ast.analyze(program.session.globalContext());
+      programs.add(program);
+    }
+    outputFile = Files.createTempFile("nozc-bench", ".oz").toFile();
+  }
+
+  @Benchmark
+  public void codegen(Corpus corpus, LineCounter counter, OutputSize size) throws IOException {
+    long bytes = 0;
+    for (Parsed program : programs) {
+      Emitter output = new Emitter(outputFile, program.session, format.equals("compact"));
+      program.ast.codegen(output);
+      output.close();
+      bytes += outputFile.length();
+    }
+    counter.lines += corpus.lines();
+    size.bytes = bytes;
+  }
+
+  @TearDown
+  public void deleteOutputFile() throws IOException {
+    Files.deleteIfExists(outputFile.toPath());
+  }
+
+  /**
+   * Number of bytes of Oz code generated for the whole corpus, reported by JMH next to the primary
+   * result. It is the same for each invocation, as the code generated does not vary.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(Type.EVENTS)
+  public static class OutputSize {
+
+    public long bytes;
+  }
+}
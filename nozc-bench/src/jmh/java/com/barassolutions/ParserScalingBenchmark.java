@@ -0,0 +1,60 @@
+package com.barassolutions;
+
+import com.barassolutions.Corpus.Source;
+import com.barassolutions.util.Logger;
+import com.barassolutions.util.Logger.LogLevel;
+import java.util.concurrent.TimeUnit;
+import junit.ProgramGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput of the parser on synthetic programs growing along each dimension of the {@link
+ * ProgramGenerator}.
+ * <p>
+ * The parser only uses bounded lookahead, so its time is linear in the size of its input : the
+ * number of lines parsed per second reported by the {@link LineCounter} should stay about the same
+ * for all the sizes of a given shape. A lookahead scanning the nested structures again at each
+ * level would instead make it drop as the size grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParserScalingBenchmark {
+
+  /**
+   * The dimension along which the program grows.
+   */
+  @Param({"functions", "nesting", "arguments", "clauses"})
+  public String shape;
+
+  @Param({"25", "100", "400"})
+  public int size;
+
+  private Source source;
+
+  @Setup
+  public void generate() {
+    Logger.setLevel(LogLevel.OFF);
+    ProgramGenerator generator = switch (shape) {
+      case "functions" -> new ProgramGenerator().functions(size);
+      case "nesting" -> new ProgramGenerator().functions(10).depth(size);
+      case "arguments" -> new ProgramGenerator().functions(10).arity(size);
+      case "clauses" -> new ProgramGenerator().functions(0).matches(10, size);
+      default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+    };
+    source = new Source(shape + "-" + size + ".noz", generator.generate());
+  }
+
+  @Benchmark
+  public InterStatement parse(LineCounter counter) throws ParseException {
+    counter.lines += source.lines();
+    return Phases.parse(source);
+  }
+}
@@ -0,0 +1,62 @@
+package com.barassolutions;
+
+import com.barassolutions.Corpus.Source;
+
+/**
+ * The phases of the compiler pipeline, as run by {@link Nozc} on each input file.
+ */
+final class Phases {
+
+  private Phases() {
+  }
+
+  static JavaCCParserTokenManager tokenManager(Source source) {
+    return tokenManager(source, Nozc.Scanner.JAVACC);
+  }
+
+  static JavaCCParserTokenManager tokenManager(Source source, Nozc.Scanner scanner) {
+    return scanner.create(new SourceCharStream(source.text()));
+  }
+
+  static InterStatement parse(Source source) throws ParseException {
+    return parser(source).interStatement();
+  }
+
+  static InterStatement parse(Source source, Nozc.Scanner scanner) throws ParseException {
+    JavaCCParser parser = new JavaCCParser(tokenManager(source, scanner));
+    parser.fileName(source.name());
+    return parser.interStatement();
+  }
+
+  /**
+   * @return whether the source parses without any syntax error.
+   */
+  static boolean parsesCleanly(Source source) {
+    JavaCCParser parser = parser(source);
+    try {
+      return parser.interStatement() != null && !parser.errorHasOccurred();
+    } catch (ParseException e) {
+      return false;
+    }
+  }
+
+  private static JavaCCParser parser(Source source) {
+    JavaCCParser parser = new JavaCCParser(tokenManager(source));
+    parser.fileName(source.name());
+    return parser;
+  }
+
+  /**
+   * A program, parsed and ready for the next phase to be run on it.
+   */
+  static final class Parsed {
+
+    final InterStatement ast;
+    final CompilationSession session;
+
+    Parsed(Source source) throws ParseException {
+      this.ast = parse(source);
+      this.session = new CompilationSession(source.name());
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.barassolutions;
+
+import com.barassolutions.Corpus.Source;
+import com.barassolutions.Phases.Parsed;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of each phase of the compiler pipeline, over a whole {@link Corpus}.
+ * <p>
+ * Each benchmark only measures its own phase : the programs are brought to the state the phase
+ * expects before each invocation. The {@link LineCounter} reports the number of source lines
+ * processed per second, and the allocation rate of each phase is given by the gc profiler.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PipelineBenchmark {
+
+  @Benchmark
+  public void tokenize(Corpus corpus, LineCounter counter, Blackhole blackhole) {
+    for (Source source : corpus.sources()) {
+      JavaCCParserTokenManager scanner = Phases.tokenManager(source);
+      Token token;
+      do {
+        token = scanner.getNextToken();
+        blackhole.consume(token);
+      } while (token.kind != JavaCCParserConstants.EOF);
+    }
+    counter.lines += corpus.lines();
+  }
+
+  @Benchmark
+  public void parse(Corpus corpus, LineCounter counter, Blackhole blackhole)
+      throws ParseException {
+    for (Source source : corpus.sources()) {
+      blackhole.consume(Phases.parse(source));
+    }
+    counter.lines += corpus.lines();
+  }
+
+  @Benchmark
+  public void analyze(ParsedPrograms programs, Corpus corpus, LineCounter counter,
+      Blackhole blackhole) {
+    for (Parsed program : programs.parsed) {
+      blackhole.consume(program.ast.analyze(program.session.globalContext()));
+    }
+    counter.lines += corpus.lines();
+  }
+
+  @Benchmark
+  public void codegen(AnalyzedPrograms programs, Corpus corpus, LineCounter counter)
+      throws IOException {
+    for (Parsed program : programs.parsed) {
+      Emitter output = new Emitter(programs.outputFile, program.session);
+      program.ast.codegen(output);
+      output.close();
+    }
+    counter.lines += corpus.lines();
+  }
+
+  /**
+   * The programs of the corpus, freshly parsed before each invocation, as the later phases modify
+   * the AST and the contexts.
+   */
+  @State(Scope.Thread)
+  public static class ParsedPrograms {
+
+    final java.util.List<Parsed> parsed = new ArrayList<>();
+
+    @Setup(Level.Invocation)
+    public void parse(Corpus corpus) throws ParseException {
+      parsed.clear();
+      for (Source source : corpus.sources()) {
+        parsed.add(new Parsed(source));
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class AnalyzedPrograms extends ParsedPrograms {
+
+    File outputFile;
+
+    @Setup(Level.Trial)
+    public void createOutputFile() throws IOException {
+      outputFile = Files.createTempFile("nozc-bench", ".oz").toFile();
+    }
+
+    @Setup(Level.Invocation)
+    public void analyze() {
+      parsed.forEach(p -> p.ast.analyze(p.session.globalContext()));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutputFile() throws IOException {
+      Files.deleteIfExists(outputFile.toPath());
+    }
+  }
+}
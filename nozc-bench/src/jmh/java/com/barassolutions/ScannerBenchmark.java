@@ -0,0 +1,58 @@
+package com.barassolutions;
+
+import com.barassolutions.Corpus.Source;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of the scanner generated by JavaCC, and of the hand-written {@link DfaTokenManager},
+ * over a whole {@link Corpus} : on their own, and feeding the parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScannerBenchmark {
+
+  /**
+   * The scanner, one of the {@link Nozc.Scanner}s.
+   */
+  @Param({"JAVACC", "DFA"})
+  public String scanner;
+
+  private Nozc.Scanner kind;
+
+  @Setup
+  public void select() {
+    kind = Nozc.Scanner.valueOf(scanner);
+  }
+
+  @Benchmark
+  public void tokenize(Corpus corpus, LineCounter counter, Blackhole blackhole) {
+    for (Source source : corpus.sources()) {
+      JavaCCParserTokenManager tokens = Phases.tokenManager(source, kind);
+      Token token;
+      do {
+        token = tokens.getNextToken();
+        blackhole.consume(token);
+      } while (token.kind != JavaCCParserConstants.EOF);
+    }
+    counter.lines += corpus.lines();
+  }
+
+  @Benchmark
+  public void parse(Corpus corpus, LineCounter counter, Blackhole blackhole)
+      throws ParseException {
+    for (Source source : corpus.sources()) {
+      blackhole.consume(Phases.parse(source, kind));
+    }
+    counter.lines += corpus.lines();
+  }
+}
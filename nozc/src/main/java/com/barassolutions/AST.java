@@ -5,11 +5,6 @@ package com.barassolutions;
  */
 abstract class AST {
 
-  /**
-   * Current interactive statement (set in InterStatement() constructor).
-   */
-  protected static InterStatement interStatement;
-
   private String fileName;
 
   /**
@@ -17,6 +12,12 @@ abstract class AST {
    */
   private final int line;
 
+  /**
+   * Where the top-level item the node belongs to is, once it was moved to other lines by an edit
+   * (see {@link IncrementalParser}), or null.
+   */
+  private IncrementalParser.Placement placement;
+
   /**
    * Construct an AST node.
    */
@@ -39,7 +40,21 @@ abstract class AST {
    * @return the line number.
    */
   public int line() {
-    return line;
+    return line > 0 && placement != null ? line + placement.moved() : line;
+  }
+
+  /**
+   * Have the line of this node follow the item it belongs to, as edits move it to other lines.
+   *
+   * @param placement where the item is.
+   * @return false if the line of this node already follows it.
+   */
+  boolean follow(IncrementalParser.Placement placement) {
+    if (this.placement == placement) {
+      return false;
+    }
+    this.placement = placement;
+    return true;
   }
 
   public String fileName() {
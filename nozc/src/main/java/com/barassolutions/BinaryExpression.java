@@ -91,7 +91,7 @@ class OperationPlus extends BinaryExpression {
       type = Type.ANY;
     } else {
       type = Type.ANY;
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Invalid operand types for addition : " + lhs.type() + " and " + rhs.type());
     }
     return this;
@@ -175,7 +175,7 @@ class OperationMinus extends BinaryExpression {
       type = Type.ANY;
     } else {
       type = Type.ANY;
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Invalid operand types for subtraction : " + lhs.type() + " and " + rhs.type());
     }
     return this;
@@ -218,7 +218,7 @@ class OperationMultiplication extends BinaryExpression {
       type = Type.ANY;
     } else {
       type = Type.ANY;
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Invalid operand types for multiplication : " + lhs.type() + " and " + rhs.type());
     }
     return this;
@@ -259,7 +259,7 @@ class OperationModulo extends BinaryExpression {
       type = Type.ANY;
     } else {
       type = Type.ANY;
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Invalid operand types for modulo : " + lhs.type() + " and " + rhs.type());
     }
     return this;
@@ -302,7 +302,7 @@ class OperationDivision extends BinaryExpression {
       type = Type.ANY;
     } else {
       type = Type.ANY;
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Invalid operand types for division : " + lhs.type() + " and " + rhs.type());
     }
     return this;
@@ -32,7 +32,7 @@ public abstract class BooleanBinaryExpression extends BinaryExpression {
       case ">=" -> output.token(TokenOz.GE);
       case "<" -> output.token(TokenOz.LT);
       case "<=" -> output.token(TokenOz.LE);
-      default -> interStatement
+      default -> output.session()
           .reportSemanticError(line(), "Invalid boolean operator : " + operator);
     }
     output.space();
@@ -68,8 +68,8 @@ class OperationLogicalAnd extends BooleanBinaryExpression {
   public Expression analyze(Context context) {
     lhs = lhs.analyze(context);
     rhs = rhs.analyze(context);
-    lhs.type().mustMatchExpected(line(), Type.BOOLEAN);
-    rhs.type().mustMatchExpected(line(), Type.BOOLEAN);
+    lhs.type().mustMatchExpected(context, line(), Type.BOOLEAN);
+    rhs.type().mustMatchExpected(context, line(), Type.BOOLEAN);
     type = Type.BOOLEAN;
     return this;
   }
@@ -105,7 +105,7 @@ class OperationEqual extends BooleanBinaryExpression {
     lhs = lhs.analyze(context);
     rhs = rhs.analyze(context);
     lhs.type()
-        .mustMatchExpected(line(), rhs.type());
+        .mustMatchExpected(context, line(), rhs.type());
     this.type = Type.BOOLEAN;
     return this;
   }
@@ -139,8 +139,8 @@ class OperationLogicalOr extends BooleanBinaryExpression {
   public Expression analyze(Context context) {
     lhs = lhs.analyze(context);
     rhs = rhs.analyze(context);
-    lhs.type().mustMatchExpected(line(), Type.BOOLEAN);
-    rhs.type().mustMatchExpected(line(), Type.BOOLEAN);
+    lhs.type().mustMatchExpected(context, line(), Type.BOOLEAN);
+    rhs.type().mustMatchExpected(context, line(), Type.BOOLEAN);
     type = Type.BOOLEAN;
     return this;
   }
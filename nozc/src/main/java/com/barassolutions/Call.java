@@ -48,18 +48,20 @@ public class Call extends Expression {
     //We could check the type to allow overloading, but Oz does not allow so. Instead, it will produce an error at runtime
     ClassContext classContext = context.findClassContext();
     if (classContext == null) {
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Usage of \"" + target + "\" is only allowed in the context of a Class.");
     } else {
       if (target.equals("this")) {
         MethodDef method = classContext.methodFor(name, arguments.size());
         if (method == null) {
-          interStatement.reportSemanticError(line(),
+          context.session().reportSemanticError(line(),
               "Could not find method for: <name:" + name + " nbArgs:" + arguments.size()
                   + "> in Class \"" + classContext.name + "\"");
         } else {
           if (method.isAFunction()) {
-            Logger.debug("Call : return type is " + method.returnType());
+            if (Logger.isDebugEnabled()) {
+              Logger.debug("Call : return type is " + method.returnType());
+            }
             this.type = method.returnType();
           }
         }
@@ -70,21 +72,23 @@ public class Call extends Expression {
           classContext = classContext.superClassContext(superClassName);
         }
         if (classContext == null) {
-          interStatement.reportSemanticError(line(),
+          context.session().reportSemanticError(line(),
               "Could not find Class \"" + superClassName + "\" in this context.");
         } else {
           if (Character.isUpperCase(name.charAt(0))) {
-            interStatement.reportSemanticError(line(),
+            context.session().reportSemanticError(line(),
                 "Calling a private method on a superclass is not allowed <" + name + ">");
           } else {
             MethodDef method = classContext.methodFor(name, arguments.size());
             if (method == null) {
-              interStatement.reportSemanticError(line(),
+              context.session().reportSemanticError(line(),
                   "Could not find method for: <name:" + name + " nbArgs:" + arguments.size()
                       + "> in Class \"" + superClassName + "\"");
             } else {
               if (method.isAFunction()) {
-                Logger.debug("Call : return type is " + method.returnType());
+                if (Logger.isDebugEnabled()) {
+                  Logger.debug("Call : return type is " + method.returnType());
+                }
                 this.type = method.returnType();
               }
             }
@@ -111,12 +115,7 @@ public class Call extends Expression {
     }
     output.literal(name); // Might have a capital letter or not (don't modify it)
     output.token(TokenOz.LPAREN);
-    arguments.forEach(e -> {
-      if (arguments.indexOf(e) != 0) {
-        output.space();
-      }
-      e.codegen(output);
-    });
+    output.list(arguments, output::space);
     output.token(TokenOz.RPAREN);
     output.token(TokenOz.RCURLY);
     output.space();
@@ -41,16 +41,20 @@ public class CallFunction extends
     if (function == null) {
       ProcedureDef proc = context.procedureFor(name, args.size());
       if (proc == null) {
-        interStatement.reportSemanticError(line(),
+        context.session().reportSemanticError(line(),
             "Could not find function or procedure for: <name:" + name + " nbArgs:" + args.size()
                 + ">");
       } else {
-        Logger.debug("Could not find function for: <name:" + name + " nbArgs:" + args.size()
-            + ">, but found a matching procedure. Using that one, but this may lead to problems down the line.");
+        if (Logger.isDebugEnabled()) {
+          Logger.debug("Could not find function for: <name:" + name + " nbArgs:" + args.size()
+              + ">, but found a matching procedure. Using that one, but this may lead to problems down the line.");
+        }
         this.type = Type.ANY;
       }
     } else {
-      Logger.debug("CallFunction to " + name + ": return type is " + function.returnType());
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("CallFunction to " + name + ": return type is " + function.returnType());
+      }
       this.type = function.returnType();
     }
 
@@ -67,7 +71,9 @@ public class CallFunction extends
    */
   @Override
   public void codegen(Emitter output) {
-    Logger.debug("Generating code for a function call <name:" + name + ">");
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Generating code for a function call <name:" + name + ">");
+    }
     output.token(TokenOz.LCURLY);
     BuiltIns builtIn = Utils.findBuiltIn(name, BuiltInType.FUNCTION);
     output.literal(builtIn != null ? builtIn.ozString() : Utils.ozFriendlyName(name));
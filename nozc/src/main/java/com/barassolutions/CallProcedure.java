@@ -50,8 +50,10 @@ public class CallProcedure extends Statement {
     //TODO refactor this when we merge CallFunction and CallProcedure
     BuiltIns builtIn = Utils.findBuiltIn(name, BuiltInType.PROCEDURE);
     if (builtIn != null) {
-      Logger.debug("Found a built-in procedure for: <name:" + name + " nbArgs:" + args.size()
-          + "> in this context.");
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Found a built-in procedure for: <name:" + name + " nbArgs:" + args.size()
+            + "> in this context.");
+      }
       if (builtIn.name().charAt(builtIn.name().length() - 1) == 'P') {
         // We have an "overloading" built-in proc
         // In this case, the last parameter has to be analyzed in the parent context. (see documentation)
@@ -61,12 +63,12 @@ public class CallProcedure extends Statement {
           if (v.isConstant() && !v.isAssigned()) {
             args.set(args.size() - 1, v.analyze(context));
           } else {
-            interStatement
+            context.session()
                 .reportSemanticError(line(), "Built-in procedure call : parameter \"" + v.name()
                     + "\" has to be a free val in the parent context.");
           }
         } else {
-          interStatement.reportSemanticError(line(),
+          context.session().reportSemanticError(line(),
                   "Last argument of call to built-in procedure \"" + builtIn.nozString() + "\" has to be a variable.");
         }
       }
@@ -77,25 +79,31 @@ public class CallProcedure extends Statement {
         if (builtIn != null) {
           isActuallyAFunction = true;
           this.returnType = Type.ANY; //Don't know it for built-ins //TODO maybe put type in the FUNCTION BuiltIns enum ?
-          Logger.debug("Could not find procedure for: <name:" + name + " nbArgs:" + args.size()
-              + ">, but found a matching built-in function. Using that one, but this may lead to problems down the line.");
+          if (Logger.isDebugEnabled()) {
+            Logger.debug("Could not find procedure for: <name:" + name + " nbArgs:" + args.size()
+                + ">, but found a matching built-in function. Using that one, but this may lead to problems down the line.");
+          }
         } else {
           FunctionDef function = context.functionFor(name, args.size());
           if (function == null) {
-            interStatement.reportSemanticError(line(),
+            context.session().reportSemanticError(line(),
                 "Could not find procedure or function for: <name:" + name + " nbArgs:" + args.size()
                     + ">");
           } else {
             isActuallyAFunction = true;
             this.returnType = function.returnType();
-            Logger.debug("Could not find procedure for: <name:" + name + " nbArgs:" + args.size()
-                    + ">, but found a matching function with returnType \"%s\". Using that one, but this may lead to problems down the line.",
-                function.returnType());
+            if (Logger.isDebugEnabled()) {
+              Logger.debug("Could not find procedure for: <name:" + name + " nbArgs:" + args.size()
+                      + ">, but found a matching function with returnType \"%s\". Using that one, but this may lead to problems down the line.",
+                  function.returnType());
+            }
           }
         }
       } else {
-        Logger.debug("Found a user-defined procedure for: <name:" + name + " nbArgs:" + args.size()
-            + "> in this context.");
+        if (Logger.isDebugEnabled()) {
+          Logger.debug("Found a user-defined procedure for: <name:" + name + " nbArgs:" + args.size()
+              + "> in this context.");
+        }
       }
     }
 
@@ -112,14 +120,18 @@ public class CallProcedure extends Statement {
    */
   @Override
   public void codegen(Emitter output) {
-    Logger.debug("Generating code for a procedure call <name:" + name + ">");
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Generating code for a procedure call <name:" + name + ">");
+    }
     output.token(TokenOz.LCURLY);
     BuiltIns builtIn = Utils.findBuiltIn(name, BuiltInType.PROCEDURE);
     output.literal(builtIn != null ? builtIn.ozString() : Utils.ozFriendlyName(name));
-    args.forEach(a -> {
+    int last = args.size() - 1;
+    for (int i = 0; i <= last; i++) {
+      Expression a = args.get(i);
       output.space();
       if (a instanceof Variable v) {
-        if (args.indexOf(a) == args.size() - 1 && builtIn != null
+        if (i == last && builtIn != null
             && builtIn.name().charAt(builtIn.name().length() - 1) == 'P') {
           (new Variable(v, false)).codegen(output);
           //Ugly hack to avoid readmode on the last argument for the procedures that "overload" built-in functions (see BuiltIns enums definitions)
@@ -129,7 +141,7 @@ public class CallProcedure extends Statement {
       } else { //Can't remember the purpose of this. But at this point I'm too afraid to ask
         a.codegen(output);
       }
-    });
+    }
     output.token(TokenOz.RCURLY);
     output.space();
   }
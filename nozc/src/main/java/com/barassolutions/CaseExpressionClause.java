@@ -32,6 +32,11 @@ public class CaseExpressionClause extends Expression {
    */
   private boolean isFirstClause;
 
+  /**
+   * Whether there are not as many operators as boolean conditions.
+   */
+  private boolean isIllFormed;
+
   /**
    * Construct an AST node for a pattern-matching clause followed by an expression, given its line
    * number, the test expressions, and the consequences.
@@ -53,10 +58,27 @@ public class CaseExpressionClause extends Expression {
       this.expression = expression;
       this.isFirstClause = isFirstClause;
     } else {
-      interStatement.reportSemanticError(line(), "Ill-formed boolean condition in case clause.");
+      isIllFormed = true;
     }
   }
 
+  /**
+   * @return whether the consequence of this clause has no expression to evaluate, so that this
+   * clause is actually a caseStatementClause.
+   */
+  public boolean isStatementClause() {
+    return !isIllFormed && expression.isInStatement();
+  }
+
+  /**
+   * @return the caseStatementClause with the same pattern, conditions and consequence as this
+   * clause.
+   */
+  public CaseStatementClause toStatementClause() {
+    return new CaseStatementClause(line(), pattern, operators, expressions,
+        expression.toInStatement(), isFirstClause);
+  }
+
   /**
    * Analyzing the pattern-matching clause means analyzing its components and checking that the
    * additional operations are boolean.
@@ -66,6 +88,10 @@ public class CaseExpressionClause extends Expression {
    */
   @Override
   public Expression analyze(Context context) {
+    if (isIllFormed) {
+      context.session().reportSemanticError(line(), "Ill-formed boolean condition in case clause.");
+      return this;
+    }
     Context innerContext = new Context(context);
 
     pattern = (Pattern) pattern.analyze(context);
@@ -76,7 +102,7 @@ public class CaseExpressionClause extends Expression {
 
     operators.forEach(o -> {
       if (!(o == Operator.LAND || o == Operator.LOR)) {
-        interStatement.reportSemanticError(line(),
+        context.session().reportSemanticError(line(),
             "Invalid operator %s : expected a logical operator instead.",
             o.image());
       } // This should probably be picked up by the Scanner instead tbh
@@ -84,7 +110,7 @@ public class CaseExpressionClause extends Expression {
 
     expressions.forEach(e -> {
       e = e.analyze(innerContext); //This allows them to know the pattern
-      e.type().mustMatchExpected(line(), Type.BOOLEAN);
+      e.type().mustMatchExpected(context, line(), Type.BOOLEAN);
     });
 
     expression = (InExpression) expression.analyze(innerContext);
@@ -32,6 +32,11 @@ public class CaseStatementClause extends Statement {
    */
   private boolean isFirstClause;
 
+  /**
+   * Whether there are not as many operators as boolean conditions.
+   */
+  private boolean isIllFormed;
+
   /**
    * Construct an AST node for a pattern-matching clause followed by a statement, given its line
    * number, the test expressions, and the consequences.
@@ -53,7 +58,7 @@ public class CaseStatementClause extends Statement {
       this.statement = statement;
       this.isFirstClause = isFirstClause;
     } else {
-      interStatement.reportSemanticError(line(), "Ill-formed boolean condition in case clause.");
+      isIllFormed = true;
     }
   }
 
@@ -66,6 +71,10 @@ public class CaseStatementClause extends Statement {
    */
   @Override
   public AST analyze(Context context) {
+    if (isIllFormed) {
+      context.session().reportSemanticError(line(), "Ill-formed boolean condition in case clause.");
+      return this;
+    }
     Context innerContext = new Context(context);
 
     pattern = (Pattern) pattern.analyze(context);
@@ -73,7 +82,7 @@ public class CaseStatementClause extends Statement {
 
     operators.forEach(o -> {
       if (!(o == Operator.LAND || o == Operator.LOR)) {
-        interStatement.reportSemanticError(line(),
+        context.session().reportSemanticError(line(),
             "Invalid operator %s : expected a logical operator instead.",
             o.image());
       } // This should probably be picked up by the Scanner instead tbh
@@ -81,7 +90,7 @@ public class CaseStatementClause extends Statement {
 
     expressions.forEach(e -> {
       e = e.analyze(innerContext); //This allows them to know the pattern
-      e.type().mustMatchExpected(line(), Type.BOOLEAN);
+      e.type().mustMatchExpected(context, line(), Type.BOOLEAN);
     });
 
     statement = (InStatement) statement.analyze(innerContext);
@@ -87,14 +87,10 @@ public class CaseStructExpression extends Expression {
     output.space();
     output.token(TokenOz.OF);
     output.newLine();
-    output.indentRight();
-    clauses.forEach(c -> {
-      c.codegen(output);
-      if (clauses.indexOf(c) != clauses.size() - 1
-          || (clauses.indexOf(c) == clauses.size() - 1 && defaultExpression != null)) {
-        output.newLine();
-      }
-    });
+    output.list(clauses, output::newLine);
+    if (!clauses.isEmpty() && defaultExpression != null) {
+      output.newLine();
+    }
     if (defaultExpression != null) {
       output.token(TokenOz.ELSE);
       output.space();
@@ -56,14 +56,10 @@ public class CaseStructStatement extends Statement {
     output.space();
     output.token(TokenOz.OF);
     output.newLine();
-    output.indentRight();
-    clauses.forEach(c -> {
-      c.codegen(output);
-      if (clauses.indexOf(c) != clauses.size() - 1
-          || (clauses.indexOf(c) == clauses.size() - 1 && defaultStatement != null)) {
-        output.newLine();
-      }
-    });
+    output.list(clauses, output::newLine);
+    if (!clauses.isEmpty() && defaultStatement != null) {
+      output.newLine();
+    }
     if (defaultStatement != null) {
       output.token(TokenOz.ELSE);
       output.space();
@@ -49,6 +49,11 @@ public class ClassDef extends Declaration {
     return methods;
   }
 
+  @Override
+  void releaseCode() {
+    methods.forEach(MethodDef::releaseCode);
+  }
+
   @Override
   public AST analyze(Context context) {
     ClassContext classContext = new ClassContext(context, className);
@@ -60,7 +65,7 @@ public class ClassDef extends Declaration {
         .filter(d -> d.type() == SubType.EXTENSION)
         .count(); //Find the number of extension "statements"
     if (extensionsFound > 1) {
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Only one class extension is allowed. To use multiple inheritance, separate the classes names with commas instead.");
     }
 
@@ -57,7 +57,7 @@ public class ClassDefAnonym extends DeclarationAnonym {
         .filter(d -> d.type() == SubType.EXTENSION)
         .count(); //Find the number of extension "statements"
     if (extensionsFound > 1) {
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Only one class extension is allowed. To use multiple inheritance, separate the classes names with commas instead.");
     }
 
@@ -65,15 +65,15 @@ public class ClassDescriptor extends Declaration implements ClassElement {
 
     if (type.equals(SubType.EXTENSION)) {
       if(! classContext.addSuperClasses(extendedClassesNames)){
-        interStatement.reportSemanticError(line(), "One of the extended classes was not recognized in this context, nor any parent context.");
+        context.session().reportSemanticError(line(), "One of the extended classes was not recognized in this context, nor any parent context.");
       };
     } else if (type.equals(SubType.ATTRIBUTE)) {
       classContext.addAttribute(attribute);
     } else if (type.equals(SubType.PROPERTY)) {
-      interStatement.reportSemanticError(line(), "Class properties are not supported in this release.");
+      context.session().reportSemanticError(line(), "Class properties are not supported in this release.");
       //TODO add properties & features in future release
     } else if (type.equals(SubType.FEATURE)) {
-      interStatement.reportSemanticError(line(), "Class features are not supported in this release.");
+      context.session().reportSemanticError(line(), "Class features are not supported in this release.");
       //TODO add properties & features in future release
     }
 
@@ -30,11 +30,11 @@ public abstract class ComparisonExpression extends BooleanBinaryExpression {
     lhs = (Expression) lhs.analyze(context);
     rhs = (Expression) rhs.analyze(context);
     if (lhs.type() == Type.INT) {
-      rhs.type().mustMatchExpected(line(), Type.INT);
+      rhs.type().mustMatchExpected(context, line(), Type.INT);
     } else if (lhs.type() == Type.FLOAT) {
-      rhs.type().mustMatchExpected(line(), Type.FLOAT);
+      rhs.type().mustMatchExpected(context, line(), Type.FLOAT);
     } else if (lhs.type() == Type.BOOLEAN) {
-      rhs.type().mustMatchExpected(line(), Type.BOOLEAN);
+      rhs.type().mustMatchExpected(context, line(), Type.BOOLEAN);
     }
     type = Type.BOOLEAN;
     return this;
@@ -0,0 +1,93 @@
+package com.barassolutions;
+
+import com.barassolutions.util.Logger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The state of the compilation of a single NewOz file : its error state, the diagnostics reported
+ * up to now and its global context.
+ * <p>
+ * The AST nodes reach the session through the {@link Context} they are analyzed in and the {@link
+ * Emitter} they generate code with. Nothing about a compilation is thus kept in static fields,
+ * and several compilations may run at the same time in the same JVM, as long as each session is
+ * used by a single thread at once. Errors may be reported from several threads though, as the code
+ * of a program may be generated on several of them (see {@link ParallelCodegen}).
+ */
+public class CompilationSession {
+
+  /**
+   * Name of the file being compiled.
+   */
+  private final String fileName;
+
+  /**
+   * Outermost context of the program, chained onto the built-ins shared by all compilations.
+   */
+  private final GlobalContext globalContext;
+
+  /**
+   * Errors reported up to now, in the order they were found.
+   */
+  private final ArrayList<Diagnostic> diagnostics = new ArrayList<>();
+
+  /**
+   * Whether a semantic error has been found.
+   */
+  private boolean isInError;
+
+  /**
+   * Construct a session for the compilation of the passed file.
+   *
+   * @param fileName name of the file being compiled.
+   */
+  public CompilationSession(String fileName) {
+    this.fileName = fileName;
+    this.globalContext = new GlobalContext(this);
+  }
+
+  public String fileName() {
+    return fileName;
+  }
+
+  public GlobalContext globalContext() {
+    return globalContext;
+  }
+
+  /**
+   * Has a semantic error occurred up to now?
+   *
+   * @return true or false.
+   */
+  public synchronized boolean errorHasOccurred() {
+    return isInError;
+  }
+
+  public synchronized void putInErrorState() {
+    isInError = true;
+  }
+
+  /**
+   * @return the errors reported up to now, in the order they were found.
+   */
+  public synchronized List<Diagnostic> diagnostics() {
+    return List.copyOf(diagnostics);
+  }
+
+  /**
+   * Report a semantic error.
+   *
+   * @param line    line in which the error occurred in the source file.
+   * @param message message identifying the error.
+   */
+  public synchronized void reportSemanticError(int line, String message, Object... args) {
+    isInError = true;
+    diagnostics.add(new Diagnostic(fileName, line, String.format(message, args)));
+
+    var arguments = new ArrayList<>();
+    arguments.add(line);
+    arguments.addAll(Arrays.asList(args));
+    Logger.error("%d: " + message, arguments.toArray());
+  }
+}
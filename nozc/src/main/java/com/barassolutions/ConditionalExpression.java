@@ -19,6 +19,11 @@ public class ConditionalExpression extends Expression {
 
   private boolean elsePart;
 
+  /**
+   * Whether there are neither as many consequences as conditions, nor one more.
+   */
+  private boolean isIllFormed;
+
   /**
    * Construct an AST node for an if-expression given its line number, the test expressions, and the
    * expressions to return.
@@ -35,7 +40,7 @@ public class ConditionalExpression extends Expression {
     } else if (conditions.size() + 1 == expressions.size()) {
       elsePart = true;
     } else {
-      interStatement.reportSemanticError(line(), "Ill-formed conditional block.");
+      isIllFormed = true;
     }
     this.conditions = conditions;
     this.consequences = expressions;
@@ -50,9 +55,12 @@ public class ConditionalExpression extends Expression {
    */
   @Override
   public Expression analyze(Context context) {
+    if (isIllFormed) {
+      context.session().reportSemanticError(line(), "Ill-formed conditional block.");
+    }
     conditions.forEach(c -> {
           c = c.analyze(context);
-          c.type().mustMatchExpected(line(), Type.BOOLEAN);
+          c.type().mustMatchExpected(context, line(), Type.BOOLEAN);
         }
     );
 
@@ -90,19 +98,15 @@ public class ConditionalExpression extends Expression {
       output.space();
       output.token(TokenOz.THEN);
       output.newLine();
-      output.indentRight();
       consequences.get(i).codegen(output);
       output.newLine();
-      output.indentLeft();
       if (i != conditions.size() - 1) { //Next i is an "else if"
         output.token(TokenOz.ELSE);
       } else if (elsePart && (i == conditions.size() - 1)) { // Next i is an "else"
         output.token(TokenOz.ELSE);
         output.newLine();
-        output.indentRight();
         consequences.get(i+1).codegen(output);
         output.newLine();
-        output.indentLeft();
         output.token(TokenOz.END);
         break;
       } else if (i == conditions.size() - 1) { //We are done
@@ -20,6 +20,11 @@ public class ConditionalStatement extends Statement {
 
   private boolean elsePart;
 
+  /**
+   * Whether there are neither as many consequences as conditions, nor one more.
+   */
+  private boolean isIllFormed;
+
   /**
    * Construct an AST node for an if-statement given its line number, the test expressions, and the
    * consequences.
@@ -36,7 +41,7 @@ public class ConditionalStatement extends Statement {
     } else if (conditions.size() + 1 == thenPart.size()) {
       elsePart = true;
     } else {
-      interStatement.reportSemanticError(line(), "Ill-formed conditional block.");
+      isIllFormed = true;
     }
     this.conditions = conditions;
     this.consequences = thenPart;
@@ -51,9 +56,12 @@ public class ConditionalStatement extends Statement {
    */
   @Override
   public Statement analyze(Context context) {
+    if (isIllFormed) {
+      context.session().reportSemanticError(line(), "Ill-formed conditional block.");
+    }
     conditions.forEach(c -> {
           c = c.analyze(context);
-          c.type().mustMatchExpected(line(), Type.BOOLEAN);
+          c.type().mustMatchExpected(context, line(), Type.BOOLEAN);
         }
     );
     consequences.forEach(c -> c = (InStatement) c.analyze(context));
@@ -75,19 +83,15 @@ public class ConditionalStatement extends Statement {
       output.space();
       output.token(TokenOz.THEN);
       output.newLine();
-      output.indentRight();
       consequences.get(i).codegen(output);
       output.newLine();
-      output.indentLeft();
       if (i != conditions.size() - 1) { //Next i is an "else if"
         output.token(TokenOz.ELSE);
       } else if (elsePart && (i == conditions.size() - 1)) { // Next i is an "else"
         output.token(TokenOz.ELSE);
         output.newLine();
-        output.indentRight();
         consequences.get(i+1).codegen(output);
         output.newLine();
-        output.indentLeft();
         output.token(TokenOz.END);
         break;
       } else if (i == consequences.size()-1) { //We are done
@@ -1,49 +1,98 @@
 package com.barassolutions;
 
+import com.barassolutions.util.BuiltIns;
 import com.barassolutions.util.Logger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * A scope in which names are defined. Everything defined in a context is indexed by name (and by
+ * number of arguments for functions and procedures), so that looking a name up costs a hash lookup
+ * per enclosing context, whatever the number of definitions.
+ */
 public class Context {
 
-  protected final ArrayList<Pattern> definedVars = new ArrayList<>();
+  protected final Map<String, Variable> definedVars = new HashMap<>();
+  protected final Map<String, Record> definedRecords = new HashMap<>();
   protected final Map<FunctionDef, MethodContext> definedFunctions = new HashMap<>();
   protected final Map<ProcedureDef, MethodContext> definedProcedures = new HashMap<>();
   protected final Map<FunctorDef, FunctorContext> definedFunctors = new HashMap<>();
   protected final Map<ClassDef, ClassContext> definedClasses = new HashMap<>();
+
+  /**
+   * Functions defined in this context, by name and then by number of arguments.
+   */
+  protected final Map<String, Map<Integer, FunctionDef>> functionsByName = new HashMap<>();
+  /**
+   * Procedures defined in this context, by name and then by number of arguments.
+   */
+  protected final Map<String, Map<Integer, ProcedureDef>> proceduresByName = new HashMap<>();
+  protected final Map<String, FunctorDef> functorsByName = new HashMap<>();
+  protected final Map<String, ClassDef> classesByName = new HashMap<>();
   private final Context parent;
 
+  /**
+   * The compilation this context belongs to, inherited from the parent context.
+   */
+  private final CompilationSession session;
+
   public Context(Context parent) {
+    this(parent, parent != null ? parent.session : null);
+  }
+
+  protected Context(Context parent, CompilationSession session) {
     this.parent = parent;
+    this.session = session;
+  }
+
+  /**
+   * Define all the built-ins, if they are not yet. They are shared by all the compilations of the
+   * JVM : a process compiling many programs may define them upfront, so that the first
+   * compilation does not wait for it.
+   */
+  static void defineBuiltIns() {
+    BuiltInContext.instance();
   }
 
   public Context parent() {
     return this.parent;
   }
 
+  /**
+   * @return the compilation this context belongs to, to which errors have to be reported.
+   */
+  public CompilationSession session() {
+    return this.session;
+  }
+
   public boolean addVariable(Pattern p) {
     boolean notExistsHere;
     if (p instanceof Variable v) {
       notExistsHere = this.ensureNotExistsHere(v.line(), v.name());
-      Logger.debug("Adding Variable in context <name:" + v.name() + " constant:" + v.isConstant()
-          + " readMode:" + v.readMode() + " usedAsPattern:" + v.usedAsPattern() + " smallLetter:"+ v.forceSmallLetter() + ">");
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Adding Variable in context <name:" + v.name() + " constant:" + v.isConstant()
+            + " readMode:" + v.readMode() + " usedAsPattern:" + v.usedAsPattern() + " smallLetter:"+ v.forceSmallLetter() + ">");
+      }
     } else if (p instanceof Record r) {
       notExistsHere = this.ensureNotExistsHere(r.line(), r.name());
     } else if (p instanceof MethodArg m) {
       notExistsHere = this.ensureNotExistsHere(m.line(), m.name());
-      Logger.debug("Adding method argument in context <name:" + m.name() + ">");
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Adding method argument in context <name:" + m.name() + ">");
+      }
     } else {
       notExistsHere = true;
     }
     if (notExistsHere) {
       if (p instanceof MethodArg m) {
-        this.definedVars.add(new Variable(m.line(), m.name(), true, false));
-      } else {
-        this.definedVars.add(p);
-      }
+        this.definedVars.put(m.name(), new Variable(m.line(), m.name(), true, false));
+      } else if (p instanceof Variable v) {
+        this.definedVars.put(v.name(), v);
+      } else if (p instanceof Record r) {
+        this.definedRecords.put(r.name(), r);
+      } //Other patterns do not define any name
       return true;
     } else {
       return false;
@@ -52,10 +101,12 @@ public class Context {
 
   public boolean addFunction(FunctionDef f, MethodContext c) {
     boolean notExistsHere = this.ensureNotExistsHere(f.line(), f.name());
-    Logger.debug("Adding Function in context <name:" + f.name() + " returnType:" + f.returnType()
-        + " nbArgs:" + f.nbArgs() + ">");
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Adding Function in context <name:" + f.name() + " returnType:" + f.returnType()
+          + " nbArgs:" + f.nbArgs() + ">");
+    }
     if (notExistsHere) {
-      this.definedFunctions.put(f, c);
+      this.putFunction(f, c);
       return true;
     } else {
       return false;
@@ -66,31 +117,29 @@ public class Context {
    * @hidden
    */
   public void addFunctionBuiltIn(FunctionDef f, MethodContext c) {
-    boolean existsConflictingFunction = false;
-    for (FunctionDef def : definedFunctions.keySet()) {
-      if (def.name().equals(f.name()) && def.nbArgs() == f.nbArgs()) {
-        existsConflictingFunction = true;
-        break;
-      }
-    }
+    Map<Integer, FunctionDef> byArity = functionsByName.get(f.name());
+    boolean existsConflictingFunction = byArity != null && byArity.containsKey(f.nbArgs());
     if (!existsConflictingFunction) {
-      Logger.trace("Adding Built-in Function <name:" + f.name() + " returnType:" + f.returnType()
-          + " nbArgs:" + f.nbArgs() + ">");
-      this.definedFunctions.put(f, c);
+      if (Logger.isTraceEnabled()) {
+        Logger.trace("Adding Built-in Function <name:" + f.name() + " returnType:" + f.returnType()
+            + " nbArgs:" + f.nbArgs() + ">");
+      }
+      this.putFunction(f, c);
     } else {
       Logger.error("There is already a Function matching <name:" + f.name() + " returnType:" + f
           .returnType() + " nbArgs:" + f.nbArgs() + ">. Ignoring this one.");
-      AST.interStatement.putInErrorState();
     }
   }
 
   public void assignFunctionAnonym(FunctionDef fAnonym, MethodContext c) {
     Variable var = variableFor(fAnonym.name());
     if (var != null) {
-      definedVars.remove(var);
-      definedFunctions.put(fAnonym, c);
-      Logger.debug("Correctly reassigned variable as function : " +
-          (variableFor(fAnonym.name()) == null) + " returnType:" + fAnonym.returnType());
+      definedVars.remove(var.name(), var);
+      putFunction(fAnonym, c);
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Correctly reassigned variable as function : " +
+            (variableFor(fAnonym.name()) == null) + " returnType:" + fAnonym.returnType());
+      }
     } else {
       Logger.error("Could not find variable " + fAnonym.name() + " to reassign.");
     }
@@ -98,9 +147,11 @@ public class Context {
 
   public boolean addProcedure(ProcedureDef p, MethodContext c) {
     boolean notExistsHere = this.ensureNotExistsHere(p.line(), p.name());
-    Logger.debug("Adding Procedure in context <name:" + p.name() + " nbArgs:" + p.nbArgs() + ">");
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Adding Procedure in context <name:" + p.name() + " nbArgs:" + p.nbArgs() + ">");
+    }
     if (notExistsHere) {
-      this.definedProcedures.put(p, c);
+      this.putProcedure(p, c);
       return true;
     } else {
       return false;
@@ -111,31 +162,29 @@ public class Context {
    * @hidden
    */
   public void addProcedureBuiltIn(ProcedureDef f, MethodContext c) {
-    boolean existsConflictingProcedure = false;
-    for (ProcedureDef def : definedProcedures.keySet()) {
-      if (def.name().equals(f.name()) && def.nbArgs() == f.nbArgs()) {
-        existsConflictingProcedure = true;
-        break;
-      }
-    }
+    Map<Integer, ProcedureDef> byArity = proceduresByName.get(f.name());
+    boolean existsConflictingProcedure = byArity != null && byArity.containsKey(f.nbArgs());
     if (!existsConflictingProcedure) {
-      Logger.trace("Adding Built-in Procedure <name:" + f.name() + " nbArgs:" + f.nbArgs() + ">");
-      this.definedProcedures.put(f, c);
+      if (Logger.isTraceEnabled()) {
+        Logger.trace("Adding Built-in Procedure <name:" + f.name() + " nbArgs:" + f.nbArgs() + ">");
+      }
+      this.putProcedure(f, c);
     } else {
       Logger.error(
           "There is already a Procedure matching <name:" + f.name() + " nbArgs:" + f.nbArgs()
               + ">. Ignoring this one.");
-      AST.interStatement.putInErrorState();
     }
   }
 
   public void assignProcedureAnonym(ProcedureDef pAnonym, MethodContext c) {
     Variable var = variableFor(pAnonym.name());
     if (var != null) {
-      definedVars.remove(var);
-      definedProcedures.put(pAnonym, c);
-      Logger.debug("Correctly reassigned variable as procedure : " +
-          (variableFor(pAnonym.name()) == null));
+      definedVars.remove(var.name(), var);
+      putProcedure(pAnonym, c);
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Correctly reassigned variable as procedure : " +
+            (variableFor(pAnonym.name()) == null));
+      }
     } else {
       Logger.error("Could not find variable " + pAnonym.name() + " to reassign.");
     }
@@ -143,9 +192,11 @@ public class Context {
 
   public boolean addFunctor(FunctorDef f, FunctorContext c) {
     boolean notExistsHere = this.ensureNotExistsHere(f.line(), f.name());
-    Logger.debug("Adding Functor in context <name:" + f.name() + ">");
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Adding Functor in context <name:" + f.name() + ">");
+    }
     if (notExistsHere) {
-      this.definedFunctors.put(f, c);
+      this.putFunctor(f, c);
       return true;
     } else {
       return false;
@@ -156,30 +207,27 @@ public class Context {
    * @hidden
    */
   public void addFunctorBuiltIn(FunctorDef f, FunctorContext c) {
-    boolean existsConflictingFunctor = false;
-    for (FunctorDef def : definedFunctors.keySet()) {
-      if (def.name().equals(f.name())) {
-        existsConflictingFunctor = true;
-        break;
-      }
-    }
+    boolean existsConflictingFunctor = functorsByName.containsKey(f.name());
     if (!existsConflictingFunctor) {
-      Logger.trace("Adding Built-in Functor <name:" + f.name() + ">");
-      this.definedFunctors.put(f, c);
+      if (Logger.isTraceEnabled()) {
+        Logger.trace("Adding Built-in Functor <name:" + f.name() + ">");
+      }
+      this.putFunctor(f, c);
     } else {
       Logger
           .error("There is already a Functor matching <name:" + f.name() + ">. Ignoring this one.");
-      AST.interStatement.putInErrorState();
     }
   }
 
   public void assignFunctorAnonym(FunctorDef fAnonym, FunctorContext c) {
     Variable var = variableFor(fAnonym.name());
     if (var != null) {
-      definedVars.remove(var);
-      definedFunctors.put(fAnonym, c);
-      Logger.debug("Correctly reassigned variable as functor : " +
-          (variableFor(fAnonym.name()) == null));
+      definedVars.remove(var.name(), var);
+      putFunctor(fAnonym, c);
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Correctly reassigned variable as functor : " +
+            (variableFor(fAnonym.name()) == null));
+      }
     } else {
       Logger.error("Could not find variable " + fAnonym.name() + " to reassign.");
     }
@@ -187,9 +235,11 @@ public class Context {
 
   public boolean addClass(ClassDef f, ClassContext c) {
     boolean notExistsHere = this.ensureNotExistsHere(f.line(), f.name());
-    Logger.debug("Adding Class in context <name:" + f.name() + ">");
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Adding Class in context <name:" + f.name() + ">");
+    }
     if (notExistsHere) {
-      this.definedClasses.put(f, c);
+      this.putClass(f, c);
       return true;
     } else {
       return false;
@@ -200,34 +250,51 @@ public class Context {
    * @hidden
    */
   public void addClassBuiltIn(ClassDef f, ClassContext c) {
-    boolean existsConflictingClass = false;
-    for (ClassDef def : definedClasses.keySet()) {
-      if (def.name().equals(f.name())) {
-        existsConflictingClass = true;
-        break;
-      }
-    }
+    boolean existsConflictingClass = classesByName.containsKey(f.name());
     if (!existsConflictingClass) {
-      Logger.trace("Adding Built-in Class <name:" + f.name() + ">");
-      this.definedClasses.put(f, c);
+      if (Logger.isTraceEnabled()) {
+        Logger.trace("Adding Built-in Class <name:" + f.name() + ">");
+      }
+      this.putClass(f, c);
     } else {
       Logger.error("There is already a Class matching <name:" + f.name() + ">. Ignoring this one.");
-      AST.interStatement.putInErrorState();
     }
   }
 
   public void assignClassAnonym(ClassDef cAnonym, ClassContext c) {
     Variable var = variableFor(cAnonym.name());
     if (var != null) {
-      definedVars.remove(var);
-      definedClasses.put(cAnonym, c);
-      Logger.debug("Correctly reassigned variable as functor : " +
-          (variableFor(cAnonym.name()) == null));
+      definedVars.remove(var.name(), var);
+      putClass(cAnonym, c);
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Correctly reassigned variable as functor : " +
+            (variableFor(cAnonym.name()) == null));
+      }
     } else {
       Logger.error("Could not find variable " + cAnonym.name() + " to reassign.");
     }
   }
 
+  private void putFunction(FunctionDef f, MethodContext c) {
+    this.definedFunctions.put(f, c);
+    this.functionsByName.computeIfAbsent(f.name(), k -> new HashMap<>()).put(f.nbArgs(), f);
+  }
+
+  private void putProcedure(ProcedureDef p, MethodContext c) {
+    this.definedProcedures.put(p, c);
+    this.proceduresByName.computeIfAbsent(p.name(), k -> new HashMap<>()).put(p.nbArgs(), p);
+  }
+
+  private void putFunctor(FunctorDef f, FunctorContext c) {
+    this.definedFunctors.put(f, c);
+    this.functorsByName.put(f.name(), f);
+  }
+
+  private void putClass(ClassDef cd, ClassContext c) {
+    this.definedClasses.put(cd, c);
+    this.classesByName.put(cd.name(), cd);
+  }
+
   /**
    * Look for a variable respecting the passed name characteristic, in this or any of the parent
    * contexts.
@@ -236,18 +303,13 @@ public class Context {
    * @return the Variable if found, or null if no matching variable exists
    */
   public Variable variableFor(String name) {
-    AtomicReference<Variable> out = new AtomicReference<>();
-    out.set(null);
-    this.definedVars.forEach(pattern -> {
-      if (pattern instanceof Variable v && v.name().equals(name)) {
-        out.set(v);
+    for (Context c = this; c != null; c = c.parent) {
+      Variable out = c.definedVars.get(name);
+      if (out != null) {
+        return out;
       }
-    });
-    if (out.get() == null && parent != null) {
-      return parent.variableFor(name);
-    } else {
-      return out.get();
     }
+    return null;
   }
 
   /**
@@ -258,18 +320,13 @@ public class Context {
    * @return the Variable if found, or null if no matching variable exists
    */
   public Record recordFor(String name) {
-    AtomicReference<Record> out = new AtomicReference<>();
-    out.set(null);
-    this.definedVars.forEach(pattern -> {
-      if (pattern instanceof Record r && r.name().equals(name)) {
-        out.set(r);
+    for (Context c = this; c != null; c = c.parent) {
+      Record out = c.definedRecords.get(name);
+      if (out != null) {
+        return out;
       }
-    });
-    if (out.get() == null && parent != null) {
-      return parent.recordFor(name);
-    } else {
-      return out.get();
     }
+    return null;
   }
 
   /**
@@ -281,18 +338,16 @@ public class Context {
    * @return the FunctionDef if found, or null if no matching function exists
    */
   public FunctionDef functionFor(String name, int nbArgs) {
-    AtomicReference<FunctionDef> out = new AtomicReference<>();
-    out.set(null);
-    this.definedFunctions.keySet().forEach(functionDef -> {
-      if (functionDef.name().equals(name) && functionDef.nbArgs() == nbArgs) {
-        out.set(functionDef);
+    for (Context c = this; c != null; c = c.parent) {
+      Map<Integer, FunctionDef> byArity = c.functionsByName.get(name);
+      if (byArity != null) {
+        FunctionDef out = byArity.get(nbArgs);
+        if (out != null) {
+          return out;
+        }
       }
-    });
-    if (out.get() == null && parent != null) {
-      return parent.functionFor(name, nbArgs);
-    } else {
-      return out.get();
     }
+    return null;
   }
 
   /**
@@ -304,18 +359,16 @@ public class Context {
    * @return the ProcedureDef if found, or null if no matching procedure exists
    */
   public ProcedureDef procedureFor(String name, int nbArgs) {
-    AtomicReference<ProcedureDef> out = new AtomicReference<>();
-    out.set(null);
-    this.definedProcedures.keySet().forEach(procedureDef -> {
-      if (procedureDef.name().equals(name) && procedureDef.nbArgs() == nbArgs) {
-        out.set(procedureDef);
+    for (Context c = this; c != null; c = c.parent) {
+      Map<Integer, ProcedureDef> byArity = c.proceduresByName.get(name);
+      if (byArity != null) {
+        ProcedureDef out = byArity.get(nbArgs);
+        if (out != null) {
+          return out;
+        }
       }
-    });
-    if (out.get() == null && parent != null) {
-      return parent.procedureFor(name, nbArgs);
-    } else {
-      return out.get();
     }
+    return null;
   }
 
   /**
@@ -325,18 +378,13 @@ public class Context {
    * @return the ClassDef if found, or null if no matching procedure exists
    */
   public ClassDef classFor(String name) {
-    AtomicReference<ClassDef> out = new AtomicReference<>();
-    out.set(null);
-    this.definedClasses.keySet().forEach(classDef -> {
-      if (classDef.name().equals(name)) {
-        out.set(classDef);
+    for (Context c = this; c != null; c = c.parent) { //Do we know this class name from parent context ?
+      ClassDef out = c.classesByName.get(name);
+      if (out != null) {
+        return out;
       }
-    });
-    if (out.get() == null && parent != null) {//Do we know this class name from parent context ?
-      return parent.classFor(name);
-    } else {
-      return out.get();
     }
+    return null;
   }
 
   public ClassContext asClassContext() {
@@ -382,22 +430,10 @@ public class Context {
    * @return true if the name IS present in this particular context, false otherwise.
    */
   public boolean ensureExistsHere(int line, String name) {
-    if (definedVars.stream().anyMatch(e -> {
-      if (e instanceof Variable v) {
-        return v.name().equals(name);
-      } else if (e instanceof Record r) {
-        return r.name().equals(name);
-      } else {
-        return false; //Not applicable for name search
-      }
-    })
-        || definedFunctions.keySet().stream().anyMatch(e -> e.name().equals(name))
-        || definedProcedures.keySet().stream().anyMatch(e -> e.name().equals(name))
-        || definedFunctors.keySet().stream().anyMatch(e -> e.name().equals(name))
-        || definedClasses.keySet().stream().anyMatch(e -> e.name().equals(name))) {
+    if (definesHere(name)) {
       return true;
     } else {
-      AST.interStatement
+      session
           .reportSemanticError(line, "Name \"" + name + "\" does not exist in this context.");
       return false;
     }
@@ -409,30 +445,28 @@ public class Context {
    * @return true if the name is NOT present in this particular context, false otherwise.
    */
   public boolean ensureNotExistsHere(int line, String name) {
-    if (definedVars.stream().anyMatch(e -> {
-      if (e instanceof Variable v) {
-        return v.name().equals(name);
-      } else if (e instanceof Record r) {
-        return r.name().equals(name);
-      } else if (e instanceof MethodArg m) {
-        return m.name().equals(name);
-      } else {
-        return false; //Not applicable for name search
-      }
-    })
-        || definedFunctions.keySet().stream().anyMatch(e -> e.name().equals(name))
-        || definedProcedures.keySet().stream().anyMatch(e -> e.name().equals(name))
-        || definedFunctors.keySet().stream().anyMatch(e -> e.name().equals(name))
-        || definedClasses.keySet().stream().anyMatch(e -> e.name().equals(name))) {
-      AST.interStatement
-          .reportSemanticError(line, "Name \"" + name
-              + "\" is already defined in this context. This definition will be skipped.");
+    if (definesHere(name)) {
+      session
+          .reportSemanticError(line, "Name \""
+              + name + "\" is already defined in this context. This definition will be skipped.");
       return false;
     } else {
       return true;
     }
   }
 
+  /**
+   * Is anything named after the passed name defined in this particular context ?
+   */
+  protected boolean definesHere(String name) {
+    return definedVars.containsKey(name)
+        || definedRecords.containsKey(name)
+        || functionsByName.containsKey(name)
+        || proceduresByName.containsKey(name)
+        || functorsByName.containsKey(name)
+        || classesByName.containsKey(name);
+  }
+
   public void writeToStdOut(PrettyPrinter p) {
     //TODO describe everything defined in this context (something map-like ?)
   }
@@ -440,8 +474,169 @@ public class Context {
 
 class GlobalContext extends Context {
 
-  public GlobalContext() {
-    super(null);
+  public GlobalContext(CompilationSession session) {
+    super(BuiltInContext.instance(), session);
+  }
+
+  /**
+   * The built-ins belong to the global scope, even though they are shared between compilations :
+   * they may not be redefined here.
+   */
+  @Override
+  protected boolean definesHere(String name) {
+    return super.definesHere(name) || parent().definesHere(name);
+  }
+}
+
+/**
+ * The context holding all the built-in functions, procedures and classes. It is built only once
+ * per JVM, and then frozen : the global context of every compilation chains onto it as its parent,
+ * and only ever reads from it. This makes it safe to share between concurrent compilations.
+ */
+final class BuiltInContext extends Context {
+
+  private static final BuiltInContext instance = new BuiltInContext();
+
+  /**
+   * Whether all the built-ins have been defined, after which this context may not be modified.
+   */
+  private final boolean frozen;
+
+  private BuiltInContext() {
+    super(null, null);
+    for (BuiltIns b : BuiltIns.values()) {
+      switch (b.type()) {
+        case FUNCTION -> {
+          addFunctionBuiltIn(new FunctionDef(-1, b.nozString(),
+                  /*Function arguments*/
+                  b.args(),
+                  /*Function content is not important for Nozc*/
+                  null,
+                  /*We don't care if lazy or not*/
+                  false),
+              new MethodContext(null, Type.ANY));
+        }
+        case PROCEDURE -> {
+          addProcedureBuiltIn(new ProcedureDef(-1, b.nozString(),
+                  /*Procedure arguments*/
+                  b.args(),
+                  /*Procedure content is not important for Nozc*/
+                  null),
+              new MethodContext(null));
+        }
+        case FUNCTOR -> {
+          //TODO necessary ?
+        }
+        case CLASS -> {
+          addClassBuiltIn(new ClassDef(-1, b.nozString(),
+                  /*Class descriptors*/
+                  b.descrs(),
+                  /*Class methods*/
+                  b.meths()),
+              new ClassContext(null));
+        }
+      }
+    }
+    frozen = true;
+  }
+
+  /**
+   * @return the context holding all the built-ins.
+   */
+  static BuiltInContext instance() {
+    return instance;
+  }
+
+  private void ensureNotFrozen() throws UnsupportedOperationException {
+    if (frozen) {
+      throw new UnsupportedOperationException("Cannot modify the built-ins context.");
+    }
+  }
+
+  @Override
+  public boolean addVariable(Pattern p) throws UnsupportedOperationException {
+    ensureNotFrozen();
+    return super.addVariable(p);
+  }
+
+  @Override
+  public boolean addFunction(FunctionDef f, MethodContext c) throws UnsupportedOperationException {
+    ensureNotFrozen();
+    return super.addFunction(f, c);
+  }
+
+  @Override
+  public void addFunctionBuiltIn(FunctionDef f, MethodContext c)
+      throws UnsupportedOperationException {
+    ensureNotFrozen();
+    super.addFunctionBuiltIn(f, c);
+  }
+
+  @Override
+  public void assignFunctionAnonym(FunctionDef fAnonym, MethodContext c)
+      throws UnsupportedOperationException {
+    ensureNotFrozen();
+    super.assignFunctionAnonym(fAnonym, c);
+  }
+
+  @Override
+  public boolean addProcedure(ProcedureDef p, MethodContext c)
+      throws UnsupportedOperationException {
+    ensureNotFrozen();
+    return super.addProcedure(p, c);
+  }
+
+  @Override
+  public void addProcedureBuiltIn(ProcedureDef f, MethodContext c)
+      throws UnsupportedOperationException {
+    ensureNotFrozen();
+    super.addProcedureBuiltIn(f, c);
+  }
+
+  @Override
+  public void assignProcedureAnonym(ProcedureDef pAnonym, MethodContext c)
+      throws UnsupportedOperationException {
+    ensureNotFrozen();
+    super.assignProcedureAnonym(pAnonym, c);
+  }
+
+  @Override
+  public boolean addFunctor(FunctorDef f, FunctorContext c) throws UnsupportedOperationException {
+    ensureNotFrozen();
+    return super.addFunctor(f, c);
+  }
+
+  @Override
+  public void addFunctorBuiltIn(FunctorDef f, FunctorContext c)
+      throws UnsupportedOperationException {
+    ensureNotFrozen();
+    super.addFunctorBuiltIn(f, c);
+  }
+
+  @Override
+  public void assignFunctorAnonym(FunctorDef fAnonym, FunctorContext c)
+      throws UnsupportedOperationException {
+    ensureNotFrozen();
+    super.assignFunctorAnonym(fAnonym, c);
+  }
+
+  @Override
+  public boolean addClass(ClassDef f, ClassContext c) throws UnsupportedOperationException {
+    ensureNotFrozen();
+    return super.addClass(f, c);
+  }
+
+  @Override
+  public void addClassBuiltIn(ClassDef f, ClassContext c) throws UnsupportedOperationException {
+    ensureNotFrozen();
+    super.addClassBuiltIn(f, c);
+  }
+
+  @Override
+  public void assignClassAnonym(ClassDef cAnonym, ClassContext c)
+      throws UnsupportedOperationException {
+    ensureNotFrozen();
+    super.assignClassAnonym(cAnonym, c);
   }
 }
 
@@ -477,6 +672,10 @@ class MethodContext extends Context {
 class ClassContext extends Context {
 
   private final Map<MethodDef, MethodContext> definedMethods = new HashMap<>();
+  /**
+   * Methods defined in this class, by name and then by number of arguments.
+   */
+  private final Map<String, Map<Integer, MethodDef>> methodsByName = new HashMap<>();
   public String name;
   public ArrayList<ClassDef> superClasses = new ArrayList<>();
 
@@ -493,6 +692,7 @@ class ClassContext extends Context {
     boolean notExistsHere = this.ensureNotExistsHere(m.line(), m.name());
     if (notExistsHere) {
       this.definedMethods.put(m, c);
+      this.methodsByName.computeIfAbsent(m.name(), k -> new HashMap<>()).put(m.nbArgs(), m);
     }
   }
 
@@ -524,14 +724,8 @@ class ClassContext extends Context {
    */
   @Nullable
   public MethodDef methodFor(String name, int nbArgs) {
-    AtomicReference<MethodDef> out = new AtomicReference<>();
-    out.set(null);
-    this.definedMethods.keySet().forEach(methodDef -> {
-      if (methodDef.name().equals(name) && methodDef.nbArgs() == nbArgs) {
-        out.set(methodDef);
-      }
-    });
-    return out.get();
+    Map<Integer, MethodDef> byArity = this.methodsByName.get(name);
+    return byArity != null ? byArity.get(nbArgs) : null;
   }
 
   public ClassContext superClassContext() {
@@ -580,17 +774,10 @@ class ClassContext extends Context {
    */
   @Override
   public boolean ensureNotExistsHere(int line, String name) {
-    if (definedVars.stream().anyMatch(e -> {
-      if (e instanceof Variable v) {
-        return v.name().equals(name);
-      } else if (e instanceof Record r) {
-        return r.name().equals(name);
-      } else {
-        return false; //Not applicable for name search
-      }
-    })
-        || definedMethods.keySet().stream().anyMatch(e -> e.name().equals(name))) {
-      AST.interStatement
+    if (definedVars.containsKey(name)
+        || definedRecords.containsKey(name)
+        || methodsByName.containsKey(name)) {
+      session()
           .reportSemanticError(line, "Name \"" + name
               + "\" is already defined in this class' context. This definition will be skipped.");
       return false;
@@ -36,6 +36,15 @@ public class Declaration extends Statement {
     super(line);
   }
 
+  /**
+   * Let go of what is only needed to generate the code of this declaration, once it is generated.
+   * What the contexts it was declared in may still ask it for (its name, arity, return type, ...)
+   * is kept : only the bodies of definitions are let go of, along with everything declared in
+   * them.
+   */
+  void releaseCode() {
+  }
+
   @Override
   public AST analyze(Context context) {
     map.forEach((v, e) -> {
@@ -46,7 +55,9 @@ public class Declaration extends Statement {
         v.type = Type.ANY;
       }
       context.addVariable(v);
-      Logger.debug("Added Variable to context : <name:"+v.name()+" constant:"+v.isConstant()+" readMode:"+v.readMode()+">");
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Added Variable to context : <name:"+v.name()+" constant:"+v.isConstant()+" readMode:"+v.readMode()+">");
+      }
     });
 
     return this;
@@ -0,0 +1,423 @@
+package com.barassolutions;
+
+import java.util.Arrays;
+
+/**
+ * A scanner of NewOz sources, written by hand as a DFA, which gives the same tokens as the
+ * {@link JavaCCParserTokenManager} JavaCC generates from the lexical grammar in newoz.jj.
+ * <p>
+ * The generated scanner simulates an NFA : it keeps a set of states for each character read,
+ * which it updates through tables, and reads the characters through the {@link CharStream}
+ * interface, one call at a time. This one reads the array of the {@link SourceCharStream} in
+ * place, and branches on the first character of each token to the code recognizing the few tokens
+ * which may start with it, which only looks ahead as far as these need. Keywords are told apart
+ * from variables once the whole word is read. Blanks and comments are skipped in the same loop,
+ * without switching to another lexical state.
+ * <p>
+ * It still extends the generated scanner, so that the parser, which is typed on it, may use either
+ * one. The tokens must thus be kept the same in both : a change to the lexical grammar of newoz.jj
+ * has to be made here as well.
+ */
+public final class DfaTokenManager extends JavaCCParserTokenManager {
+
+  /**
+   * The kinds of the keywords, by their first letter.
+   */
+  private static final int[][] KEYWORDS = new int[26][];
+
+  static {
+    for (int letter = 0; letter < KEYWORDS.length; letter++) {
+      int[] kinds = new int[0];
+      for (int kind = AT; kind <= VAR; kind++) {
+        if (jjstrLiteralImages[kind].charAt(0) == 'a' + letter) {
+          kinds = Arrays.copyOf(kinds, kinds.length + 1);
+          kinds[kinds.length - 1] = kind;
+        }
+      }
+      KEYWORDS[letter] = kinds;
+    }
+  }
+
+  private SourceCharStream source;
+
+  private char[] chars;
+
+  /**
+   * Offset of the character after the last one to read.
+   */
+  private int length;
+
+  /**
+   * Offset of the next character to read.
+   */
+  private int position;
+
+  /**
+   * Construct a scanner reading a source from its current position.
+   *
+   * @param stream the source.
+   */
+  public DfaTokenManager(SourceCharStream stream) {
+    super(stream);
+    init(stream);
+  }
+
+  private void init(SourceCharStream stream) {
+    source = stream;
+    chars = stream.chars();
+    length = stream.length();
+    position = stream.next();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param stream the source, which must be a {@link SourceCharStream}.
+   */
+  @Override
+  public void ReInit(CharStream stream) {
+    super.ReInit(stream);
+    init((SourceCharStream) stream);
+  }
+
+  @Override
+  public Token getNextToken() {
+    char[] chars = this.chars;
+    int begin = position;
+    char c;
+    // Skip the blanks and the comments
+    for (;;) {
+      if (begin >= length) {
+        position = begin;
+        return token(EOF, length - 1, length); // On the last character, as in the JavaCC scanner
+      }
+      c = chars[begin];
+      int lineEnd;
+      if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\b') {
+        begin++;
+      } else if (c == '/' && at(begin + 1, '*')) {
+        begin = commentEnd(begin + 2);
+      } else if (c == '/' && at(begin + 1, '/') && (lineEnd = lineEnd(begin + 2)) >= 0) {
+        begin = lineEnd;
+      } else {
+        break;
+      }
+    }
+
+    int kind;
+    int end;
+    if (c >= 'a' && c <= 'z') {
+      end = wordEnd(begin + 1);
+      kind = keyword(begin, end);
+    } else if (c >= 'A' && c <= 'Z') {
+      end = wordEnd(begin + 1);
+      kind = VARIABLESTRICT;
+    } else if (c >= '0' && c <= '9') {
+      end = floatEnd(begin);
+      if (end >= 0) { // Always longer than the integer it starts with
+        kind = FLOAT;
+      } else {
+        end = intEnd(begin);
+        kind = INT;
+      }
+    } else if (c == '"') {
+      end = stringEnd(begin + 1);
+      kind = end >= 0 ? STRING : QUOTE;
+    } else if (c == '\'') {
+      if ((end = quotedEnd(begin + 1, '\'', false)) >= 0) {
+        kind = CHARACTER;
+      } else if ((end = lettersEnd(begin + 1)) > begin + 1) {
+        kind = ATOM;
+      } else {
+        kind = APOSTROPHE;
+      }
+    } else if (c == '`') {
+      end = quotedEnd(begin + 1, '`', true);
+      kind = end >= 0 ? VARIABLESTRICT : ERROR;
+    } else if (c == '\u00b4') {
+      end = quotedEnd(begin + 1, '\u00b4', true);
+      kind = end >= 0 ? ATOM : ERROR;
+    } else if (c == '\u00b0') {
+      if (begin + 1 < length && chars[begin + 1] != '\\') {
+        end = begin + 2;
+      } else {
+        end = pseudoCharEnd(begin + 1);
+      }
+      kind = end >= 0 ? CHARACTER : DEGREE;
+    } else {
+      end = -1;
+      kind = switch (c) {
+        case '=' -> at(begin + 1, '=') ? EQUAL : at(begin + 1, '>') ? IMPL : ASSIGN;
+        case '+' -> at(begin + 1, '=') ? PLUSASS : PLUS;
+        case '-' -> at(begin + 1, '=') ? MINUSASS : MINUS;
+        case ':' -> at(begin + 1, '=') ? DEFINE : at(begin + 1, ':') ? COLCOL : COLON;
+        case '<' -> at(begin + 1, '=') ? LE : LT;
+        case '>' -> at(begin + 1, '=') ? GE : GT;
+        case '\\' -> at(begin + 1, '=') ? NE : ERROR;
+        case '&' -> at(begin + 1, '&') ? LAND : ERROR;
+        case '|' -> at(begin + 1, '|') ? LOR : ERROR;
+        case '.' -> at(begin + 1, '.') ? at(begin + 2, '.') ? ELLIPSIS : DOTDOT : DOT;
+        case '!' -> LNOT;
+        case '*' -> STAR;
+        case '/' -> SLASH;
+        case '%' -> MODULO;
+        case '#' -> HASHTAG;
+        case '_' -> UNDERSCORE;
+        case '$' -> DOLLAR;
+        case ',' -> COMMA;
+        case '[' -> LBRACK;
+        case '{' -> LCURLY;
+        case '(' -> LPAREN;
+        case ']' -> RBRACK;
+        case '}' -> RCURLY;
+        case ')' -> RPAREN;
+        case ';' -> SEMI;
+        default -> ERROR;
+      };
+      if (kind != ERROR) {
+        end = begin + jjstrLiteralImages[kind].length();
+      }
+    }
+    if (end < 0) { // The longer tokens did not match : only their first character is left
+      end = begin + 1;
+    }
+    position = end;
+    return token(kind, begin, end);
+  }
+
+  private Token token(int kind, int begin, int end) {
+    String image = jjstrLiteralImages[kind];
+    Token token = Token.newToken(kind, image != null ? image : source.image(begin, end - begin));
+    token.beginOffset = begin;
+    token.endOffset = end - 1;
+    token.lineIndex = source.lineIndex();
+    return token;
+  }
+
+  /**
+   * @return whether the character at the passed offset is the passed one.
+   */
+  private boolean at(int offset, char c) {
+    return offset < length && chars[offset] == c;
+  }
+
+  /**
+   * @return the offset after the end of the multi-line comment whose content starts at the passed
+   * offset, or the end of the source if the comment is not closed.
+   */
+  private int commentEnd(int offset) {
+    for (int i = offset; i + 1 < length; i++) {
+      if (chars[i] == '*' && chars[i + 1] == '/') {
+        return i + 2;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * @return the offset after the end of the line in which the passed offset is, or -1 if the
+   * source ends before the line does.
+   */
+  private int lineEnd(int offset) {
+    for (int i = offset; i < length; i++) {
+      if (chars[i] == '\n') {
+        return i + 1;
+      }
+      if (chars[i] == '\r') {
+        return at(i + 1, '\n') ? i + 2 : i + 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return the offset after the letters, digits and underscores from the passed offset on.
+   */
+  private int wordEnd(int offset) {
+    int i = offset;
+    while (i < length) {
+      char c = chars[i];
+      if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '_') {
+        i++;
+      } else {
+        break;
+      }
+    }
+    return i;
+  }
+
+  /**
+   * @return the offset after the letters from the passed offset on.
+   */
+  private int lettersEnd(int offset) {
+    int i = offset;
+    while (i < length && ((chars[i] >= 'a' && chars[i] <= 'z')
+        || (chars[i] >= 'A' && chars[i] <= 'Z'))) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * @return the kind of the keyword between the passed offsets, or VARIABLE if it is not one.
+   */
+  private int keyword(int begin, int end) {
+    for (int kind : KEYWORDS[chars[begin] - 'a']) {
+      String image = jjstrLiteralImages[kind];
+      if (image.length() == end - begin && matches(image, begin)) {
+        return kind;
+      }
+    }
+    return VARIABLE;
+  }
+
+  private boolean matches(String image, int offset) {
+    for (int i = 1; i < image.length(); i++) { // The first letter was already checked
+      if (chars[offset + i] != image.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the offset after the floating-point literal at the passed offset, or -1 if there is
+   * none.
+   */
+  private int floatEnd(int offset) {
+    int i = digitsEnd(offset, 10);
+    if (!at(i, '.')) {
+      return -1;
+    }
+    i = digitsEnd(i + 1, 10);
+    if (at(i, 'e') || at(i, 'E')) {
+      int exponent = at(i + 1, '~') ? i + 2 : i + 1;
+      int exponentEnd = digitsEnd(exponent, 10);
+      if (exponentEnd > exponent) {
+        i = exponentEnd;
+      }
+    }
+    return i;
+  }
+
+  /**
+   * @return the offset after the integer literal at the passed offset.
+   */
+  private int intEnd(int offset) {
+    if (chars[offset] != '0') {
+      return digitsEnd(offset, 10);
+    }
+    int end;
+    if (at(offset + 1, 'x') || at(offset + 1, 'X')) {
+      end = digitsEnd(offset + 2, 16);
+      return end > offset + 2 ? end : offset + 1;
+    }
+    if (at(offset + 1, 'b') || at(offset + 1, 'B')) {
+      end = digitsEnd(offset + 2, 2);
+      return end > offset + 2 ? end : offset + 1;
+    }
+    return digitsEnd(offset + 1, 8);
+  }
+
+  /**
+   * @return the offset after the digits in the passed radix from the passed offset on.
+   */
+  private int digitsEnd(int offset, int radix) {
+    int i = offset;
+    while (i < length && isDigit(chars[i], radix)) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isDigit(char c, int radix) {
+    return switch (radix) {
+      case 2 -> c == '0' || c == '1';
+      case 8 -> c >= '0' && c <= '7';
+      case 16 -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+      default -> c >= '0' && c <= '9';
+    };
+  }
+
+  /**
+   * @return the offset after the string literal whose content starts at the passed offset, or -1
+   * if it is not closed on the same line.
+   */
+  private int stringEnd(int offset) {
+    int i = offset;
+    while (i < length) {
+      char c = chars[i];
+      if (c == '"') {
+        return i + 1;
+      } else if (c == '\\') {
+        i = escapeEnd(i, true);
+        if (i < 0) {
+          return -1;
+        }
+      } else if (c == '\n' || c == '\r') {
+        return -1;
+      } else {
+        i++;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return the offset after the single (maybe escaped) character at the passed offset followed
+   * by the passed closing quote, or -1 if there is none. Characters given by their code are only
+   * allowed if pseudoChars is true.
+   */
+  private int quotedEnd(int offset, char quote, boolean pseudoChars) {
+    if (offset >= length) {
+      return -1;
+    }
+    char c = chars[offset];
+    int end;
+    if (c == '\\') {
+      end = escapeEnd(offset, pseudoChars);
+    } else if (c == '\n' || c == '\r' || (c == quote && quote != '\u00b4')) {
+      end = -1;
+    } else {
+      end = offset + 1;
+    }
+    return end >= 0 && at(end, quote) ? end + 1 : -1;
+  }
+
+  /**
+   * @return the offset after the escape sequence at the passed offset (on a backslash), or -1 if
+   * it is not a valid one.
+   */
+  private int escapeEnd(int offset, boolean pseudoChars) {
+    if (offset + 1 < length) {
+      switch (chars[offset + 1]) {
+        case 'a', 'b', 'f', 'n', 'r', 't', '\\', '\'', '"', '\u00b0' -> {
+          return offset + 2;
+        }
+        default -> {
+        }
+      }
+    }
+    return pseudoChars ? pseudoCharEnd(offset) : -1;
+  }
+
+  /**
+   * @return the offset after the character given by its octal or hexadecimal code at the passed
+   * offset (on a backslash), or -1 if there is none.
+   */
+  private int pseudoCharEnd(int offset) {
+    if (offset + 3 >= length || chars[offset] != '\\') {
+      return -1;
+    }
+    char c = chars[offset + 1];
+    if (isDigit(c, 8) && isDigit(chars[offset + 2], 8) && isDigit(chars[offset + 3], 8)) {
+      return offset + 4;
+    }
+    if ((c == 'x' || c == 'X') && isDigit(chars[offset + 2], 16)
+        && isDigit(chars[offset + 3], 16)) {
+      return offset + 4;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,16 @@
+package com.barassolutions;
+
+/**
+ * An error found while compiling a NewOz file.
+ *
+ * @param fileName name of the file in which the error was found.
+ * @param line     line in which the error occurred in the source file.
+ * @param message  message identifying the error.
+ */
+public record Diagnostic(String fileName, int line, String message) {
+
+  @Override
+  public String toString() {
+    return fileName + ":" + line + ": " + message;
+  }
+}
@@ -1,29 +1,160 @@
 package com.barassolutions;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.PrintStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * This class provides a high level interface for creating representation of Oz files.
  * <p>
- * NOzC uses this interface to produce target Oz code from a NewOz source program.
+ * NOzC uses this interface to produce target Oz code from a NewOz source program. The generated
+ * code is accumulated in a large character buffer, which is only written to the underlying file
+ * (or any other {@link Appendable}, such as a StringBuilder) when it is full, so that the many
+ * small pieces of code generated by the AST nodes do not each cost a write.
+ * <p>
+ * In compact mode, the code is made as small as the Oz compiler allows : the spaces and lines
+ * asked for by the nodes are only a hint that two tokens may have to be separated, and a single
+ * space is written between them only if they would otherwise run into each other, or change
+ * meaning (as {@code f(X)}, a record, and {@code f (X)}). The code does not depend on the platform
+ * either, so that compiling the same program text always gives the same bytes : the lines are not
+ * separated the platform's way, and the files are always written in UTF-8 (where readable code
+ * is written in the platform's default charset).
  */
 public class Emitter {
 
   /**
-   * The underlying PrettyPrinter.
+   * Size (in characters) of the output buffer.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Size (in characters) of the buffer of a forked Emitter, which writes to a StringBuilder.
+   */
+  private static final int FORK_BUFFER_SIZE = 1 << 10;
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
+  /**
+   * Characters which may be written right after, or right before, any token in compact mode.
+   */
+  private static final String OPENING = "({[";
+  private static final String CLOSING = ")}]";
+
+  /**
+   * Operators which do not run into a name, a keyword or a literal written right before or after
+   * them in compact mode. Operators may run into each other (as {@code =} and {@code <}), and some
+   * others into what follows them (as {@code ~} and {@code .} into numbers, or {@code &} into a
+   * character) : these keep their separator. No operator runs into a cell access ({@code @}).
+   */
+  private static final String OPERATORS = "=:#|+-*/<>,@$";
+
+  /**
+   * Where the code is written to.
+   */
+  private final Appendable out;
+
+  /**
+   * Code generated but not written to the underlying Writer yet.
+   */
+  private final char[] buffer;
+
+  /**
+   * Number of characters currently held in the buffer.
+   */
+  private int position;
+
+  /**
+   * The compilation the code is generated for.
    */
-  private final PrettyPrinter out;
+  private final CompilationSession session;
+
+  /**
+   * Whether the code is generated in compact mode.
+   */
+  private final boolean compact;
+
+  /**
+   * In compact mode, the last character written (0 if none yet), and whether a separator was asked
+   * for since then.
+   */
+  private char last;
+  private boolean separate;
+
+  /**
+   * In compact mode, whether a separator was asked for before the first character was written,
+   * which only matters for a forked Emitter (see {@link #append(Emitter)}).
+   */
+  private boolean leadingSeparator;
 
   /**
    * Construct an Emitter instance.
    *
    * @param outputFile the file to write to.
+   * @param session    the compilation the code is generated for.
    */
-  public Emitter(File outputFile) throws FileNotFoundException {
-    this.out = new PrettyPrinter(new PrintStream(outputFile));
+  public Emitter(File outputFile, CompilationSession session) throws FileNotFoundException {
+    this(outputFile, session, false);
+  }
+
+  /**
+   * Construct an Emitter instance, possibly generating compact code, which is written in UTF-8.
+   *
+   * @param outputFile the file to write to.
+   * @param session    the compilation the code is generated for.
+   * @param compact    whether to generate compact code.
+   */
+  public Emitter(File outputFile, CompilationSession session, boolean compact)
+      throws FileNotFoundException {
+    this(new OutputStreamWriter(new FileOutputStream(outputFile),
+        compact ? StandardCharsets.UTF_8 : Charset.defaultCharset()), session, compact);
+  }
+
+  /**
+   * Construct an Emitter instance writing to the passed Appendable, for instance a StringBuilder
+   * to get the generated code in memory. The Appendable is closed by {@link #close()} if it is
+   * {@link Closeable}.
+   *
+   * @param out     where to write the code to.
+   * @param session the compilation the code is generated for.
+   */
+  public Emitter(Appendable out, CompilationSession session) {
+    this(out, session, false);
+  }
+
+  /**
+   * Construct an Emitter instance writing to the passed Appendable, possibly generating compact
+   * code.
+   *
+   * @param out     where to write the code to.
+   * @param session the compilation the code is generated for.
+   * @param compact whether to generate compact code.
+   */
+  public Emitter(Appendable out, CompilationSession session, boolean compact) {
+    this(out, session, compact, BUFFER_SIZE);
+  }
+
+  private Emitter(Appendable out, CompilationSession session, boolean compact, int bufferSize) {
+    this.out = out;
+    this.session = session;
+    this.compact = compact;
+    this.buffer = new char[bufferSize];
+  }
+
+  /**
+   * @return the compilation the code is generated for, to which errors have to be reported.
+   */
+  public CompilationSession session() {
+    return session;
   }
 
   /**
@@ -33,7 +164,7 @@ public class Emitter {
    * @see TokenOz
    */
   public void token(@NotNull TokenOz token) {
-    out.printRaw(token.image());
+    write(token.image());
   }
 
   /**
@@ -43,31 +174,211 @@ public class Emitter {
    * @see TokenOz
    */
   public void literal(@NotNull String literal) {
-    out.printRaw(literal);
+    write(literal);
   }
 
   /**
    * Print a space at the current position in the output file.
    */
   public void space() {
-    out.printRaw(" ");
+    if (compact) {
+      separate = true;
+    } else {
+      write(' ');
+    }
   }
 
   /**
    * Print a line at the current position in the output file.
    */
   public void newLine() {
-    out.printRawLn();
+    if (compact) {
+      separate = true;
+    } else {
+      write(LINE_SEPARATOR);
+    }
   }
 
-  public void indentLeft() { out.indentLeft(); }
+  /**
+   * Generate the code of each node of a list, with a separator between two consecutive ones.
+   *
+   * @param nodes     the nodes to generate the code of, in order.
+   * @param separator generates the separator, for instance {@code this::newLine}.
+   */
+  void list(Iterable<? extends AST> nodes, Runnable separator) {
+    list(nodes, separator, node -> node.codegen(this));
+  }
 
-  public void indentRight() { out.indentRight(); }
+  /**
+   * Generate each item of a list, with a separator between two consecutive ones.
+   * <p>
+   * Each item is only visited once, whatever the kind of list : the time taken is linear in its
+   * size, and items appearing several times in the list are separated all the same.
+   *
+   * @param items     the items to generate, in order.
+   * @param separator generates the separator, for instance {@code this::newLine}.
+   * @param generator generates an item.
+   */
+  public <T> void list(Iterable<T> items, Runnable separator, Consumer<? super T> generator) {
+    boolean first = true;
+    for (T item : items) {
+      if (!first) {
+        separator.run();
+      }
+      first = false;
+      generator.accept(item);
+    }
+  }
 
   /**
-   * Close the stream.
+   * Create an Emitter generating code in memory, in the same mode as this one, so that a part of
+   * the code may be generated apart (for instance on another thread), and then appended to this
+   * one at its place.
+   *
+   * @return the forked Emitter.
+   * @see #append(Emitter)
+   */
+  public Emitter fork() {
+    return new Emitter(new StringBuilder(), session, compact, FORK_BUFFER_SIZE);
+  }
+
+  /**
+   * Write the code generated by an Emitter forked from this one at the current position.
+   *
+   * @param fork the forked Emitter, which is not used anymore.
+   * @see #fork()
+   */
+  public void append(Emitter fork) {
+    fork.flushBuffer();
+    StringBuilder code = (StringBuilder) fork.out;
+    int length = code.length();
+    if (compact) {
+      if (length == 0) {
+        separate |= fork.separate || fork.leadingSeparator;
+        return;
+      }
+      separate |= fork.leadingSeparator;
+      separateFrom(code.charAt(0));
+      last = fork.last;
+      separate = fork.separate;
+    }
+    for (int begin = 0; begin < length; ) {
+      if (position == buffer.length) {
+        flushBuffer();
+      }
+      int end = Math.min(length, begin + buffer.length - position);
+      code.getChars(begin, end, buffer, position);
+      position += end - begin;
+      begin = end;
+    }
+  }
+
+  /**
+   * Write the content of the buffer, and close the stream.
    */
   public void close() {
-    out.close();
+    try {
+      flushBuffer();
+      if (out instanceof Closeable closeable) {
+        closeable.close();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void write(char c) {
+    if (compact) {
+      separateFrom(c);
+      last = c;
+    }
+    if (position == buffer.length) {
+      flushBuffer();
+    }
+    buffer[position++] = c;
+  }
+
+  private void write(String s) {
+    int length = s.length();
+    if (compact && length > 0) {
+      separateFrom(s.charAt(0));
+      last = s.charAt(length - 1);
+    }
+    if (length > buffer.length - position) {
+      flushBuffer();
+      if (length > buffer.length) { // Would not fit anyway
+        try {
+          out.append(s);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return;
+      }
+    }
+    s.getChars(0, length, buffer, position);
+    position += length;
+  }
+
+  /**
+   * In compact mode, write the separator asked for since the last character, if the next one
+   * needs it.
+   *
+   * @param next the next character to write.
+   */
+  private void separateFrom(char next) {
+    if (!separate) {
+      return;
+    }
+    separate = false;
+    if (last == 0) {
+      leadingSeparator = true;
+    } else if (needsSeparator(last, next)) {
+      if (position == buffer.length) {
+        flushBuffer();
+      }
+      buffer[position++] = ' ';
+    }
+  }
+
+  /**
+   * @return whether a token ending with a character and the token beginning with another one have
+   * to be separated in Oz code.
+   */
+  private static boolean needsSeparator(char before, char after) {
+    if (OPENING.indexOf(before) >= 0 || CLOSING.indexOf(after) >= 0) {
+      return false;
+    }
+    if (OPENING.indexOf(after) >= 0) { // A name right before a parenthesis makes a record label
+      return after != '{' && (isWordPart(before) || CLOSING.indexOf(before) >= 0);
+    }
+    if (CLOSING.indexOf(before) >= 0) {
+      return false;
+    }
+    if (OPERATORS.indexOf(before) >= 0) {
+      return !(isWordPart(after) || after == '@');
+    }
+    return !(isWordPart(before) && OPERATORS.indexOf(after) >= 0);
+  }
+
+  /**
+   * @return whether a character may be part of a name, a keyword or a literal.
+   */
+  private static boolean isWordPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '\'' || c == '"' || c == '`';
+  }
+
+  private void flushBuffer() {
+    try {
+      if (out instanceof Writer writer) {
+        writer.write(buffer, 0, position);
+      } else if (out instanceof StringBuilder builder) {
+        builder.append(buffer, 0, position);
+      } else {
+        out.append(CharBuffer.wrap(buffer, 0, position));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    position = 0;
   }
 }
@@ -15,7 +15,7 @@ public class ExpressionSelectionFeature extends Expression {
 
   @Override
   public Expression analyze(Context context) {
-    interStatement.reportSemanticError(line(), "Class features are not supported in this release.");
+    context.session().reportSemanticError(line(), "Class features are not supported in this release.");
     //TODO to implement in future release
 
     return this;
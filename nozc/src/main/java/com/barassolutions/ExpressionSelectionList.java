@@ -21,10 +21,10 @@ public class ExpressionSelectionList extends Expression {
 
     //We can't actually enable this check, since we have no way of knowing, when we add it to the context, if the var is a List or something else (there are exceptions but overall we can't be always sure)
     //if (! (selectedVariable.type()==Type.LIST || selectedVariable.type()==Type.UNKNOWN)) {
-    //  interStatement.reportSemanticError(line(), "Expected a list at this position for variable \""+selectedVariable.name()+"\"");
+    //  context.session().reportSemanticError(line(), "Expected a list at this position for variable \""+selectedVariable.name()+"\"");
     //}
     if (target.type() != Type.INT) {
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Expected an expression valued to \"1\" or \"2\" at this position when accessing variable \""
               + selectedVariable.name() + "\"");
     }
@@ -20,7 +20,7 @@ public class ExpressionSelectionMethod extends Expression {
 
   @Override
   public Expression analyze(Context context) {
-    interStatement.reportSemanticError(line(),
+    context.session().reportSemanticError(line(),
         "Method calls on an instance from outside a class context : this is not supported in this release.\nIn a class context, you can use \"this\" and \"super\".");
     //TODO to implement in future release
 
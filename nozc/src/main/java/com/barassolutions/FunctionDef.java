@@ -55,6 +55,11 @@ public class FunctionDef extends Declaration {
     return args.size();
   }
 
+  @Override
+  void releaseCode() {
+    expression = null;
+  }
+
   @Override
   public AST analyze(Context context) {
     MethodContext methContext = new MethodContext(context);
@@ -72,7 +77,9 @@ public class FunctionDef extends Declaration {
     expression = (InExpression) expression.analyze(methContext);
 
     returnType = expression.type();
-    Logger.debug("Function return type is now " + returnType);
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Function return type is now " + returnType);
+    }
     methContext.setReturnType(returnType);
 
     return this;
@@ -94,12 +101,10 @@ public class FunctionDef extends Declaration {
     });
     output.token(TokenOz.RCURLY);
     output.newLine();
-    output.indentRight();
 
     expression.codegen(output);
 
     output.newLine();
-    output.indentLeft();
     output.token(TokenOz.END);
     output.newLine();
   }
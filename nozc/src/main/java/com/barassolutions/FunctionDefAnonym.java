@@ -73,7 +73,9 @@ public class FunctionDefAnonym extends DeclarationAnonym {
     returnType = expression.type(); //Kinda useless
     f.setReturnType(returnType);
     methContext.setReturnType(returnType);
-    Logger.debug("FunctionAnonym return type is now " + returnType);
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("FunctionAnonym return type is now " + returnType);
+    }
 
     return this;
   }
@@ -94,12 +96,10 @@ public class FunctionDefAnonym extends DeclarationAnonym {
     });
     output.token(TokenOz.RCURLY);
     output.newLine();
-    output.indentRight();
 
     expression.codegen(output);
 
     output.newLine();
-    output.indentLeft();
     output.token(TokenOz.END);
   }
 
@@ -76,27 +76,21 @@ public class FunctorDef extends Declaration {
     if (imports.size() > 0) {
       output.token(TokenOz.IMPORT);
       output.newLine();
-      output.indentRight();
       imports.forEach(c -> {
         c.codegen(output);
         output.newLine();
       });
-      output.indentLeft();
     }
     if (exports.size() > 0) {
       output.token(TokenOz.EXPORT);
       output.newLine();
-      output.indentRight();
       exports.forEach(c -> {
         c.codegen(output);
         output.newLine();
       });
-      output.indentLeft();
     }
     output.token(TokenOz.DEF);
-    output.indentRight();
     statement.codegen(output);
-    output.indentLeft();
     output.token(TokenOz.END);
   }
 
@@ -42,6 +42,21 @@ public class InExpression extends Expression {
     this.expression = expression;
   }
 
+  /**
+   * @return whether this block has no expression to evaluate, so that it is actually an
+   * inStatement.
+   */
+  public boolean isInStatement() {
+    return expression == null;
+  }
+
+  /**
+   * @return the inStatement with the same declarations and statements as this block.
+   */
+  public InStatement toInStatement() {
+    return new InStatement(line(), declarations, statements, false);
+  }
+
   /**
    * Analyzing a block consists of creating a new nested context for that block and analyzing each
    * of its statements/expressions within that context.
@@ -64,10 +79,10 @@ public class InExpression extends Expression {
       if (cp.isActuallyAFunction()) {
         this.type = cp.returnType();
       } else { //TODO ugly hack to remove once we merge CallFunction and CallProcedure
-        interStatement.reportSemanticError(line(), "Missing expression or return value in block");
+        context.session().reportSemanticError(line(), "Missing expression or return value in block");
       }
     } else {
-      interStatement.reportSemanticError(line(), "Missing expression or return value in block");
+      context.session().reportSemanticError(line(), "Missing expression or return value in block");
     }
 
     return this;
@@ -84,17 +99,14 @@ public class InExpression extends Expression {
     if (declarations.size() > 0) {
       output.token(TokenOz.LOCAL);
       output.newLine();
-      output.indentRight();
       declarations.forEach(e -> {
         e.codegen(output);
         //if (declarations.indexOf(e) != declarations.size() - 1) {
         //output.newLine();
         //}
       });
-      output.indentLeft();
       output.token(TokenOz.IN);
       output.newLine();
-      output.indentRight();
     }
     if (statements.size() > 0) {
       statements.forEach(s -> s.codegen(output));
@@ -104,7 +116,6 @@ public class InExpression extends Expression {
       expression.codegen(output);
       //output.newLine();
     }
-    output.indentLeft();
     if (declarations.size() > 0) {
       output.token(TokenOz.END);
     }
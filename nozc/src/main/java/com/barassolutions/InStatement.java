@@ -71,39 +71,103 @@ public class InStatement extends Statement {
    */
   @Override
   public void codegen(Emitter output) {
-    if (declarations.size() > 0) {
-      if (declareMode) {
-        output.token(TokenOz.DECLARE);
+    CodeStream stream = codeStream(output);
+    declarations.forEach(stream::declaration);
+    statements.forEach(stream::statement);
+    stream.close();
+  }
+
+  /**
+   * @param output where to generate the code of this block.
+   * @return a stream generating the code of this block, given its declarations and statements.
+   */
+  CodeStream codeStream(Emitter output) {
+    return new CodeStream(output, declareMode);
+  }
+
+  /**
+   * Generates the code of a block one declaration or statement at a time, in the order they are
+   * given, without having to know the others beforehand : whatever surrounds them (the DECLARE or
+   * LOCAL header, the IN keyword, the separators, ...) is generated as soon as it is due.
+   */
+  static final class CodeStream {
+
+    private final Emitter output;
+    private final boolean declareMode;
+    private boolean hasDeclarations;
+    private boolean hasStatements;
+
+    CodeStream(Emitter output, boolean declareMode) {
+      this.output = output;
+      this.declareMode = declareMode;
+    }
+
+    /**
+     * Generate the code of the next declaration of the block, which comes before its statements.
+     */
+    void declaration(Declaration declaration) {
+      beginDeclarations();
+      declaration.codegen(output);
+    }
+
+    /**
+     * @return an Emitter forked from the one of the block where its next declarations go, to
+     * generate their code apart. It is appended back by {@link #declarations(Emitter)}.
+     */
+    Emitter forkDeclarations() {
+      beginDeclarations();
+      return output.fork();
+    }
+
+    /**
+     * Add the code of the next declarations of the block, generated apart.
+     *
+     * @param fork the Emitter the code was generated with, from {@link #forkDeclarations()}.
+     */
+    void declarations(Emitter fork) {
+      output.append(fork);
+    }
+
+    /**
+     * Generate the code of the next statement of the block.
+     */
+    void statement(Statement statement) {
+      if (hasStatements) {
+        output.newLine();
       } else {
-        output.token(TokenOz.LOCAL);
+        beginStatements();
+        hasStatements = true;
       }
-      output.newLine();
-      output.indentRight();
-      declarations.forEach(e -> {
-        e.codegen(output);
-        //if (declarations.indexOf(e) != declarations.size() - 1) {
-        //output.newLine();
-        //}
-      });
-      output.indentLeft();
-      output.token(TokenOz.IN);
-      output.newLine();
-      output.indentRight();
+      statement.codegen(output);
     }
-    if (statements.size() > 0) {
-      statements.forEach(e -> {
-        e.codegen(output);
-        if (statements.indexOf(e) != statements.size() - 1) {
-          output.newLine();
-        }
-      });
-    } else {
-      output.token(TokenOz.SKIP);
-      output.newLine();
+
+    /**
+     * Generate the end of the block, once all its declarations and statements are given.
+     */
+    void close() {
+      if (!hasStatements) {
+        beginStatements();
+        output.token(TokenOz.SKIP);
+        output.newLine();
+      }
+      if (!declareMode && hasDeclarations) {
+        output.token(TokenOz.END);
+      }
+    }
+
+    private void beginDeclarations() {
+      if (!hasDeclarations) {
+        output.token(declareMode ? TokenOz.DECLARE : TokenOz.LOCAL);
+        output.newLine();
+        hasDeclarations = true;
+      }
     }
-    output.indentLeft();
-    if ((!declareMode) && declarations.size() > 0) {
-      output.token(TokenOz.END);
+
+    private void beginStatements() {
+      if (hasDeclarations) {
+        output.token(TokenOz.IN);
+        output.newLine();
+      }
     }
   }
 
@@ -4,9 +4,14 @@ public class InStatementFunctor extends InStatement {
 
   public InStatementFunctor(InStatement statement) {
     super(statement.line(), statement.declarations, statement.statements, false);
-    if (! (statement.declarations.size() > 0)) {
-      interStatement.reportSemanticError(line(), "You ned at least one declaration in the functor's body");
+  }
+
+  @Override
+  public AST analyze(Context context) {
+    if (! (declarations.size() > 0)) {
+      context.session().reportSemanticError(line(), "You ned at least one declaration in the functor's body");
     }
+    return super.analyze(context);
   }
 
   /**
@@ -19,10 +24,8 @@ public class InStatementFunctor extends InStatement {
   public void codegen(Emitter output) {
     declarations.forEach(e -> e.codegen(output));
     if (statements.size() > 0) {
-      output.indentLeft();
       output.token(TokenOz.IN);
       output.newLine();
-      output.indentRight();
       statements.forEach(e -> e.codegen(output));
     }
   }
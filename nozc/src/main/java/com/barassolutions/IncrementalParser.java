@@ -0,0 +1,544 @@
+package com.barassolutions;
+
+import com.barassolutions.util.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A NewOz source, parsed so that it may be parsed again after each edit, by scanning and parsing
+ * only the top-level declarations and statements the edit touches.
+ * <p>
+ * The parser records where each top-level item (each declaration and statement of the declare
+ * block, or each stand-alone statement) starts and ends in the source. After an edit, the items the
+ * edit touches (or is next to) are scanned and parsed again, along with the blanks and comments
+ * around them, down to the items before and after them, which are left untouched. These are reused
+ * as they are in the new AST, even if the edit moved them to other lines : their nodes follow them
+ * to their new lines when the AST is asked for. The items which are blocks (as a whole program
+ * made of a single block) also record where their own declarations and statements are, so that an
+ * edit inside such a block only parses again the items of the block it touches.
+ * <p>
+ * Whenever this could give another AST than parsing the whole new source, the whole source is
+ * parsed again instead : when the edit touches the declare block itself, when the previous source
+ * or the re-parsed part has syntax errors, when a comment is left open at the end of the re-parsed
+ * part, or when its items would end up in the wrong order (declarations after statements).
+ * <p>
+ * The successive ASTs share the subtrees which were reused. As the analysis modifies the AST it
+ * runs on, an AST to be analyzed should come from {@link #parse} rather than from an edit.
+ */
+public final class IncrementalParser {
+
+  private final String fileName;
+
+  /**
+   * The content of the source.
+   */
+  private final char[] chars;
+
+  private final LineIndex lineIndex;
+
+  /**
+   * Where the top-level items are in the source.
+   */
+  private final Layout layout;
+
+  private final InterStatement ast;
+
+  /**
+   * Whether a syntax error was found.
+   */
+  private final boolean errorHasOccurred;
+
+  private IncrementalParser(String fileName, char[] chars, LineIndex lineIndex, Layout layout,
+      InterStatement ast, boolean errorHasOccurred) {
+    this.fileName = fileName;
+    this.chars = chars;
+    this.lineIndex = lineIndex;
+    this.layout = layout;
+    this.ast = ast;
+    this.errorHasOccurred = errorHasOccurred;
+  }
+
+  /**
+   * Parse a whole source.
+   *
+   * @param fileName name of the file the source comes from.
+   * @param source   the source.
+   * @return the parsed source, to be edited.
+   */
+  public static IncrementalParser parse(String fileName, String source) throws ParseException {
+    char[] chars = source.toCharArray();
+    return parse(fileName, chars, new LineIndex(chars, chars.length));
+  }
+
+  private static IncrementalParser parse(String fileName, char[] chars, LineIndex lineIndex)
+      throws ParseException {
+    Layout layout = new Layout();
+    JavaCCParser parser = new JavaCCParser(new JavaCCParserTokenManager(
+        new SourceCharStream(chars, 0, chars.length, lineIndex)));
+    parser.fileName(fileName);
+    parser.recordLayout(layout);
+    InterStatement ast = parser.interStatement();
+    layout.reparsedItems = layout.itemCount();
+    return new IncrementalParser(fileName, chars, lineIndex, layout, ast,
+        ast == null || parser.errorHasOccurred());
+  }
+
+  /**
+   * Return the AST of the source. The nodes it shares with the ASTs of the other sources edited
+   * from the same one are moved to the lines they are at in this source : the ASTs should thus be
+   * asked for, and used, one at a time.
+   *
+   * @return the AST of the source, or null if it could not be built.
+   */
+  public InterStatement ast() {
+    if (!errorHasOccurred) {
+      place(layout.items);
+    }
+    return ast;
+  }
+
+  /**
+   * Has a syntax error been found in the source?
+   *
+   * @return true or false.
+   */
+  public boolean errorHasOccurred() {
+    return errorHasOccurred;
+  }
+
+  /**
+   * @return the number of declarations and statements parsed to get this source, all of them if it
+   * was parsed as a whole, counting the items of the blocks instead of the blocks.
+   */
+  public int reparsedItems() {
+    return layout.reparsedItems;
+  }
+
+  /**
+   * @return the number of declarations and statements reused from the source this one was edited
+   * from, counted as in {@link #reparsedItems()}.
+   */
+  public int reusedItems() {
+    return layout.reusedItems;
+  }
+
+  /**
+   * @return the source.
+   */
+  public String source() {
+    return new String(chars);
+  }
+
+  /**
+   * Parse the source resulting from an edit of this one. This source is left as it is.
+   *
+   * @param offset        offset at which the edit starts.
+   * @param removedLength number of characters removed at the offset.
+   * @param inserted      the text inserted instead.
+   * @return the parsed edited source.
+   */
+  public IncrementalParser edit(int offset, int removedLength, String inserted)
+      throws ParseException {
+    Objects.checkFromIndexSize(offset, removedLength, chars.length);
+    int delta = inserted.length() - removedLength;
+    char[] newChars = new char[chars.length + delta];
+    System.arraycopy(chars, 0, newChars, 0, offset);
+    inserted.getChars(0, inserted.length(), newChars, offset);
+    System.arraycopy(chars, offset + removedLength, newChars, offset + inserted.length(),
+        chars.length - offset - removedLength);
+    LineIndex newLineIndex = lineIndex.edit(newChars, newChars.length, offset, removedLength,
+        inserted.length());
+
+    if (!errorHasOccurred) {
+      Layout newLayout = reparse(layout, newChars, newLineIndex, offset, removedLength, delta);
+      ArrayList<Declaration> decls = new ArrayList<>();
+      ArrayList<Statement> statements = new ArrayList<>();
+      if (newLayout != null && split(newLayout.items, decls, statements)) {
+        InterStatement newAst = null;
+        if (layout.isBlock()) {
+          newAst = new InterStatement(layout.declareLine,
+              new InStatement(layout.blockLine, decls, statements, true));
+        } else if (!statements.isEmpty()) { // Not a valid program anymore otherwise
+          newAst = new InterStatement(0, statements);
+        }
+        if (newAst != null) {
+          Logger.debug("Parsed %d item(s) again, reused %d", newLayout.reparsedItems,
+              newLayout.reusedItems);
+          return new IncrementalParser(fileName, newChars, newLineIndex, newLayout, newAst, false);
+        }
+      }
+    }
+    Logger.debug("Parsing the whole edited source again");
+    return parse(fileName, newChars, newLineIndex);
+  }
+
+  /**
+   * Parse again the items of a layout touched by an edit, or only the items of their block if the
+   * edit is inside one.
+   *
+   * @param layout the layout of the items in this source.
+   * @return the layout of the items in the edited source, or null if it has to be parsed as a
+   * whole.
+   */
+  private Layout reparse(Layout layout, char[] newChars, LineIndex newLineIndex, int offset,
+      int removedLength, int delta) throws ParseException {
+    ArrayList<Item> items = layout.items;
+    int editEnd = offset + removedLength;
+    if (layout.isBlock() && (offset <= layout.blockOpen || editEnd > layout.blockClose)) {
+      return null;
+    }
+
+    for (int i = 0; i < items.size() && items.get(i).begin() < offset; i++) {
+      Item item = items.get(i);
+      Layout block = item.block();
+      if (block != null && block.blockOpen < offset && editEnd <= block.blockClose) {
+        Item newItem = reparse(item, newChars, newLineIndex, offset, removedLength, delta);
+        if (newItem == null) {
+          break; // The block is parsed again as a whole
+        }
+        Layout newLayout = layout.edited(delta);
+        newLayout.items.addAll(items.subList(0, i));
+        newLayout.items.add(newItem);
+        for (Item after : items.subList(i + 1, items.size())) {
+          newLayout.items.add(after.moved(delta));
+        }
+        newLayout.reparsedItems = newItem.block().reparsedItems;
+        newLayout.reusedItems = newLayout.itemCount() - newLayout.reparsedItems;
+        return newLayout;
+      }
+    }
+
+    // Items [0, before) end before the edit. The last of them is parsed again all the same, as
+    // where it ends may depend on the tokens after it.
+    int before = 0;
+    while (before < items.size() && items.get(before).end() + 1 < offset) {
+      before++;
+    }
+    before = Math.max(0, before - 1);
+    // Items [after, size) start after the edit : the parser may find its way back to one of them.
+    int after = before;
+    while (after < items.size() && items.get(after).begin() <= editEnd) {
+      after++;
+    }
+    int begin;
+    if (before > 0) {
+      begin = items.get(before - 1).end() + 1;
+    } else {
+      begin = layout.isBlock() ? layout.blockOpen + 1 : 0;
+    }
+
+    JavaCCParserTokenManager scanner = new JavaCCParserTokenManager(
+        new SourceCharStream(newChars, begin, newChars.length, newLineIndex));
+    JavaCCParser parser = new JavaCCParser(scanner);
+    parser.fileName(fileName);
+    Layout region = new Layout();
+    parser.recordLayout(region);
+    int end = layout.isBlock() ? JavaCCParserConstants.RCURLY : JavaCCParserConstants.EOF;
+
+    // The errors found here are not reported : the whole source is parsed again to report them
+    PrintStream log = Logger.output();
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    Logger.redirect(new PrintStream(buffer, true));
+    try {
+      Token next;
+      while ((next = parser.getToken(1)).kind != end && !parser.errorHasOccurred()) {
+        while (after < items.size() && items.get(after).begin() + delta < next.beginOffset) {
+          after++;
+        }
+        if (after < items.size() && items.get(after).begin() + delta == next.beginOffset) {
+          break; // Back to an untouched item : the rest of the source parses as before
+        }
+        if (layout.isBlock()) {
+          parser.declareItem();
+        } else {
+          parser.standaloneStatement(new ArrayList<>());
+        }
+      }
+    } catch (ParseException e) {
+      return null;
+    } finally {
+      Logger.redirect(log);
+    }
+    if (parser.errorHasOccurred()) {
+      return null;
+    }
+    if (parser.getToken(1).kind == end) {
+      after = items.size();
+      if (layout.isBlock() && parser.getToken(1).beginOffset != layout.blockClose + delta) {
+        return null;
+      }
+    }
+    log.print(buffer);
+
+    Layout newLayout = layout.edited(delta);
+    newLayout.items.addAll(items.subList(0, before));
+    newLayout.items.addAll(region.items);
+    for (Item item : items.subList(after, items.size())) {
+      newLayout.items.add(item.moved(delta));
+    }
+    newLayout.reparsedItems = region.itemCount();
+    newLayout.reusedItems = newLayout.itemCount() - newLayout.reparsedItems;
+    return newLayout;
+  }
+
+  /**
+   * Parse again the items of a block touched by an edit inside it.
+   *
+   * @param item the item made of the block, in this source.
+   * @return the item in the edited source, or null if the block has to be parsed as a whole.
+   */
+  private Item reparse(Item item, char[] newChars, LineIndex newLineIndex, int offset,
+      int removedLength, int delta) throws ParseException {
+    Layout block = reparse(item.block(), newChars, newLineIndex, offset, removedLength, delta);
+    ArrayList<Declaration> decls = new ArrayList<>();
+    ArrayList<Statement> statements = new ArrayList<>();
+    if (block == null || !split(block.items, decls, statements)) {
+      return null;
+    }
+    int line = newLineIndex.line(item.begin());
+    return new Item(item.begin(), item.end() + delta, line, null,
+        new InStatement(line, decls, statements, false), block);
+  }
+
+  /**
+   * Split items into their declarations and their statements.
+   *
+   * @return false if a declaration comes after a statement.
+   */
+  private static boolean split(ArrayList<Item> items, ArrayList<Declaration> decls,
+      ArrayList<Statement> statements) {
+    for (Item item : items) {
+      if (item.declaration() != null) {
+        if (!statements.isEmpty()) {
+          return false;
+        }
+        decls.add(item.declaration());
+      } else {
+        statements.add(item.statement());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Move the nodes of items to the lines they are at in this source. The nodes of an item follow
+   * its placement from the first time it is moved : it is then enough to update the placement.
+   */
+  private void place(ArrayList<Item> items) {
+    for (Item item : items) {
+      int line = lineIndex.line(item.begin());
+      Placement placement = item.placement();
+      if (placement.line != line) {
+        if (!placement.followed) {
+          AST node = item.declaration() != null ? item.declaration() : item.statement();
+          if (item.block() != null) {
+            node.follow(placement); // The items of the block have their own placement
+          } else {
+            follow(node, placement);
+          }
+          placement.followed = true;
+        }
+        placement.line = line;
+      }
+      if (item.block() != null) {
+        place(item.block().items);
+      }
+    }
+  }
+
+  /**
+   * The fields of each node class which may hold other nodes.
+   */
+  private static final ClassValue<Field[]> NODE_FIELDS = new ClassValue<>() {
+    @Override
+    protected Field[] computeValue(Class<?> type) {
+      ArrayList<Field> fields = new ArrayList<>();
+      for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+        for (Field field : c.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+      }
+      return fields.toArray(new Field[0]);
+    }
+  };
+
+  /**
+   * Have a node, and all the nodes under it, follow the placement of their item. As the nodes have
+   * no common way to go through their children, these are found through the fields of the nodes,
+   * and the lists and maps they are held in.
+   */
+  private static void follow(AST root, Placement placement) {
+    ArrayDeque<Object> pending = new ArrayDeque<>();
+    pending.push(root);
+    while (!pending.isEmpty()) {
+      Object next = pending.pop();
+      if (next instanceof Collection<?> collection) {
+        collection.forEach(element -> push(pending, element));
+      } else if (next instanceof Map<?, ?> map) {
+        map.forEach((key, value) -> {
+          push(pending, key);
+          push(pending, value);
+        });
+      } else if (!(next instanceof AST node) || node.follow(placement)) {
+        for (Field field : NODE_FIELDS.get(next.getClass())) {
+          try {
+            push(pending, field.get(next));
+          } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Push a value to go through, if it is or may hold a node : the contexts, types and such are
+   * left out.
+   */
+  private static void push(ArrayDeque<Object> pending, Object value) {
+    if (value instanceof AST || value instanceof MethodHead || value instanceof Collection
+        || value instanceof Map) {
+      pending.push(value);
+    }
+  }
+
+  /**
+   * Where an item is : the line of its first character when its nodes were parsed, and in the
+   * source whose AST was asked for last. It is shared by the items of the successive sources the
+   * nodes are reused in.
+   */
+  static final class Placement {
+
+    private final int parsedLine;
+
+    private int line;
+
+    /**
+     * Whether the nodes of the item follow this placement (see {@link AST#line()}).
+     */
+    private boolean followed;
+
+    private Placement(int line) {
+      this.parsedLine = line;
+      this.line = line;
+    }
+
+    /**
+     * @return the number of lines the item was moved by since its nodes were parsed.
+     */
+    int moved() {
+      return line - parsedLine;
+    }
+  }
+
+  /**
+   * A top-level declaration or statement, or one of a block such an item is made of, the offsets
+   * of its first and last characters, the layout of its block if it is one, and the line its nodes
+   * are at.
+   */
+  record Item(int begin, int end, Declaration declaration, Statement statement, Layout block,
+              Placement placement) {
+
+    /**
+     * @param line line of its first character.
+     */
+    Item(int begin, int end, int line, Declaration declaration, Statement statement,
+        Layout block) {
+      this(begin, end, declaration, statement, block, new Placement(line));
+    }
+
+    /**
+     * @return the same item, moved by the passed number of characters.
+     */
+    Item moved(int delta) {
+      return new Item(begin + delta, end + delta, declaration, statement,
+          block == null ? null : block.moved(delta), placement);
+    }
+  }
+
+  /**
+   * Where the items are in a source, or in a block, filled by the parser.
+   */
+  static final class Layout {
+
+    /**
+     * Lines of the DECLARE keyword and of its block, if the items are in a declare block.
+     */
+    int declareLine;
+    int blockLine;
+
+    /**
+     * Offsets of the braces of the block, -1 if the items are stand-alone statements.
+     */
+    int blockOpen = -1;
+    int blockClose = -1;
+
+    final ArrayList<Item> items = new ArrayList<>();
+
+    /**
+     * Numbers of items parsed again and reused to fill this layout after an edit, counting the
+     * items of the blocks instead of the blocks.
+     */
+    int reparsedItems;
+    int reusedItems;
+
+    void declare(int declareLine, int blockLine, int blockOpen) {
+      this.declareLine = declareLine;
+      this.blockLine = blockLine;
+      this.blockOpen = blockOpen;
+    }
+
+    void block(int blockOpen) {
+      this.blockOpen = blockOpen;
+    }
+
+    boolean isBlock() {
+      return blockOpen >= 0;
+    }
+
+    /**
+     * @return the number of items, counting the items of the blocks instead of the blocks.
+     */
+    int itemCount() {
+      int count = 0;
+      for (Item item : items) {
+        count += item.block() == null ? 1 : item.block().itemCount();
+      }
+      return count;
+    }
+
+    /**
+     * @return an empty layout of the same block, edited inside by the passed number of
+     * characters.
+     */
+    Layout edited(int delta) {
+      Layout edited = new Layout();
+      edited.declare(declareLine, blockLine, blockOpen);
+      edited.blockClose = isBlock() ? blockClose + delta : -1;
+      return edited;
+    }
+
+    /**
+     * @return the same layout, moved by the passed number of characters.
+     */
+    Layout moved(int delta) {
+      Layout moved = new Layout();
+      moved.declare(declareLine, blockLine, blockOpen + delta);
+      moved.blockClose = blockClose + delta;
+      for (Item item : items) {
+        moved.items.add(item.moved(delta));
+      }
+      return moved;
+    }
+  }
+}
@@ -1,9 +1,6 @@
 package com.barassolutions;
 
-import com.barassolutions.util.BuiltIns;
-import com.barassolutions.util.Logger;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 /**
  * The abstract syntax tree (AST) node representing an interactive statement, and so the root of the
@@ -21,16 +18,6 @@ public class InterStatement extends AST {
    */
   private InStatement statement;
 
-  /**
-   * The context represented by this block.
-   */
-  private GlobalContext globalContext;
-
-  /**
-   * Whether a semantic error has been found.
-   */
-  private boolean isInError;
-
   /**
    * Construct an AST node for an interactive statement given a line number, declaration parts, and
    * a possible child InterStatement.
@@ -42,7 +29,6 @@ public class InterStatement extends AST {
     super(line);
     this.statement = inStatement;
     this.statements = null;
-    interStatement = this;
   }
 
   /**
@@ -55,81 +41,34 @@ public class InterStatement extends AST {
     super(line);
     this.statement = null;
     this.statements = statements;
-    interStatement = this;
   }
 
   /**
-   * Has a semantic error occurred up to now?
-   *
-   * @return true or false.
+   * @return the declare block of the program, or null if it is made of stand-alone statements.
    */
-  public boolean errorHasOccurred() {
-    return isInError;
+  InStatement block() {
+    return statement;
   }
 
-  public void putInErrorState() {
-    isInError = true;
+  /**
+   * @return the stand-alone statements of the program, or null if it is a declare block.
+   */
+  ArrayList<Statement> statements() {
+    return statements;
   }
 
   /**
-   * Report a semantic error.
+   * Analyze the whole program.
    *
-   * @param line    line in which the error occurred in the source file.
-   * @param message message identifying the error.
+   * @param context the global context of the compilation.
+   * @return this AST.
    */
-  public void reportSemanticError(int line, String message, Object... args) {
-    var arguments = new ArrayList<>();
-    arguments.add(line);
-    arguments.addAll(Arrays.asList(args));
-
-    isInError = true;
-    Logger.error("%d: " + message, arguments.toArray());
-  }
-
-  public void preAnalyze() {
-    globalContext = new GlobalContext();
-
-    for (BuiltIns b : BuiltIns.values()) {
-      switch (b.type()) {
-        case FUNCTION -> {
-          globalContext.addFunctionBuiltIn(new FunctionDef(-1, b.nozString(),
-                  /*Function arguments*/
-                  b.args(),
-                  /*Function content is not important for Nozc*/
-                  null,
-                  /*We don't care if lazy or not*/
-                  false),
-              new MethodContext(null, Type.ANY));
-        }
-        case PROCEDURE -> {
-          globalContext.addProcedureBuiltIn(new ProcedureDef(-1, b.nozString(),
-                  /*Procedure arguments*/
-                  b.args(),
-                  /*Procedure content is not important for Nozc*/
-                  null),
-              new MethodContext(null));
-        }
-        case FUNCTOR -> {
-          //TODO necessary ?
-        }
-        case CLASS -> {
-          globalContext.addClassBuiltIn(new ClassDef(-1, b.nozString(),
-                  /*Class descriptors*/
-                  b.descrs(),
-                  /*Class methods*/
-                  b.meths()),
-              new ClassContext(null));
-        }
-      }
-    }
-  }
-
   @Override
   public AST analyze(Context context) {
     if (statements != null) {
-      statements.forEach(s -> s = (Statement) s.analyze(this.globalContext));
+      statements.forEach(s -> s = (Statement) s.analyze(context));
     } else if (statement != null) {
-      statement = (InStatement) statement.analyze(this.globalContext);
+      statement = (InStatement) statement.analyze(context);
     }
     return this;
   }
@@ -3,10 +3,15 @@ package com.barassolutions;
 
 import com.barassolutions.ClassDescriptor.SubType;
 import com.barassolutions.util.Logger;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.LinkedHashMap;
 
 /**
  * Parser generated by JavaCC. It parses a newOz program file, taking tokens from the scanner
@@ -29,56 +34,242 @@ class JavaCCParser implements JavaCCParserConstants {
     private void reportParserError(String message, Object... args) {
       ArrayList<Object> arguments = new ArrayList<Object>();
       arguments.add(fileName);
-      arguments.add(token.beginLine);
+      arguments.add(token.beginLine());
       arguments.addAll(Arrays.asList(args));
 
       errorHasOccurred = true;
+      diagnostics.add(new Diagnostic(fileName, token.beginLine(), String.format(message, args)));
       Logger.error("%s:%d: "+message, arguments.toArray());
     }
 
     /**
-     * Recover from the parser error that occurred by skipping to
-     * any of the specified tokens.
+     * Syntax errors reported up to now, in the order they were found.
+     */
+    private final ArrayList<Diagnostic> diagnostics = new ArrayList<Diagnostic>();
+
+    /**
+     * @return the syntax errors reported up to now, in the order they were found.
+     */
+    public java.util.List<Diagnostic> diagnostics() {
+        return Collections.unmodifiableList(diagnostics);
+    }
+
+    /**
+     * Number of syntax errors reported up to now.
+     */
+    private int errorCount;
+
+    /**
+     * Number of syntax errors after which parsing gives up.
+     */
+    private int maxErrors = DEFAULT_MAX_ERRORS;
+
+    /**
+     * The token the last error was reported on, and the one the last recovery stopped before. A
+     * single error makes every construct around it fail on the same token : it is only reported
+     * once, and the recoveries after the first one skip at least this token, so that they cannot
+     * loop on it.
+     */
+    private Token reportedAt;
+    private Token recoveredAt;
+
+    static final int DEFAULT_MAX_ERRORS = 100;
+
+    /**
+     * Tokens that may start a declaration or a statement, or end the block around it.
+     */
+    private static final int[] FOLLOW_STATEMENT = {
+        VAL, VAR, DEF, DEFPROC, CLASS, FUNCTOR, SKP, IF, MATCH, FOR, TRY, RAISE, THREAD, LOCK,
+        RCURLY, EOF };
+
+    /**
+     * Tokens that may end an expression or a pattern, or follow it in the construct around it.
+     */
+    private static final int[] FOLLOW_EXPRESSION = {
+        RPAREN, RBRACK, COMMA, SEMI, COLON, DOTDOT, LCURLY, IN, CASE, ELSE, CATCH, FINALLY,
+        VAL, VAR, DEF, DEFPROC, CLASS, FUNCTOR, SKP, IF, MATCH, FOR, TRY, RAISE, THREAD, LOCK,
+        RCURLY, EOF };
+
+    /**
+     * Tokens that may follow a clause of a match or catch block.
+     */
+    private static final int[] FOLLOW_CLAUSE = { CASE, ELSE, RCURLY, EOF };
+
+    /**
+     * Tokens that may start a top-level declaration, statement or block, from which the parser
+     * carries on after a syntax error at the top level.
+     */
+    private static final int[] FOLLOW_ROOT = {
+        DECLARE, LCURLY, VAL, VAR, DEF, DEFPROC, CLASS, FUNCTOR, SKP, IF, MATCH, FOR, TRY, RAISE,
+        THREAD, LOCK, VARIABLE, THIS, SUPER, EOF };
+
+    /**
+     * The closing brace of a block.
+     */
+    private static final int[] FOLLOW_BLOCK = { RCURLY };
+
+    /**
+     * Where a recovery stops, with respect to the tokens of its FOLLOW set.
+     */
+    private enum Recovery {
+        /**
+         * Before the first token of the set found, so that the caller may carry on from there.
+         */
+        BEFORE_FOLLOW,
+        /**
+         * After the closing brace of the block being parsed, which is skipped along with the tokens
+         * before it.
+         */
+        BLOCK_END,
+        /**
+         * After the end of the block or definition being parsed : the first block skipped whole,
+         * when the error is before its body, or else the closing brace of the block, when the error
+         * is in it.
+         */
+        BODY_END
+    }
+
+    /**
+     * Recover from the parser error that occurred, stopping before the FOLLOW set of the construct
+     * being parsed.
+     *
+     * @see #recoverFromError(int[], Recovery, ParseException)
+     */
+    private void recoverFromError(int[] follow, ParseException e) {
+        recoverFromError(follow, Recovery.BEFORE_FOLLOW, e);
+    }
+
+    /**
+     * Recover from the parser error that occurred, by skipping the tokens up to the FOLLOW set of
+     * the construct being parsed (panic mode).
      *
-     * Current error recovery mechanism is rather simple-minded and is
-     * based on skipping all the tokens until a new line or an EOF is
-     * encountered. This scheme can be enhanced by passing in the
-     * FOLLOW-SET of the non-terminal at hand.
+     * The tokens are skipped along with the blocks, parentheses and brackets they open : only a
+     * token of the set found outside of these stops the recovery, where the mode says. Those which
+     * are never closed are not skipped as such, or the recovery would skip the rest of the file. The error
+     * is reported first, unless it was already reported on the same token : the expected tokens
+     * are only described then. Once {@link #maxErrors} errors have been reported, the rest of the
+     * source is skipped.
      *
-     * @param skipTo array of tokens that we could skip to.
+     * @param follow the tokens that may follow the construct being parsed.
+     * @param mode where the recovery stops.
      * @param e exception that is raised by JavaCC in the event
      * of a parser error.
      */
-    private void recoverFromError(int[] skipTo, ParseException e) {
-        // Get the possible expected tokens
-        StringBuffer expected = new StringBuffer();
-        for (int i = 0; i < e.expectedTokenSequences.length; i++) {
-            for (int j = 0; j < e.expectedTokenSequences[ i ].length; j++) {
-                expected.append("\u005cn");
-                expected.append("\u005ct");
-                expected.append(tokenImage[e.expectedTokenSequences[i][j]]);
-                expected.append("...");
+    private void recoverFromError(int[] follow, Recovery mode, ParseException e) {
+        Token next = getToken(1);
+        if (next != reportedAt && errorCount < maxErrors) {
+            reportedAt = next;
+            errorCount++;
+            if (e.expectedTokenSequences.length == 1) {
+                reportParserError("\u005c"%s\u005c" found where %s sought", next, expectedTokens(e));
+            } else {
+                reportParserError("\u005c"%s\u005c" found where one of %s sought", next, expectedTokens(e));
+            }
+            if (errorCount == maxErrors) {
+                reportParserError("Too many errors, giving up");
             }
         }
-
-        // Print error message
-        if (e.expectedTokenSequences.length == 1) {
-            reportParserError("\u005c"%s\u005c" found where %s sought", getToken( 1 ), expected);
-        } else {
-            reportParserError("\u005c"%s\u005c" found where one of %s sought", getToken(1), expected);
+        if (errorCount >= maxErrors) {
+            while (getToken(1).kind != EOF) {
+                getNextToken();
+            }
+            return;
         }
 
         // Recover
-        boolean loop = true;
-        do {
-            token = getNextToken();
-            for (int i : skipTo) {
-                if (token.kind == i) {
-                    loop = false;
+        boolean moved = next != recoveredAt;
+        int depth = 0;
+        while ((next = getToken(1)).kind != EOF) {
+            if (depth == 0 && moved && contains(follow, next.kind)) {
+                if (mode != Recovery.BEFORE_FOLLOW) {
+                    getNextToken();
+                }
+                break;
+            }
+            getNextToken();
+            moved = true;
+            if (opensBlock(next)) {
+                depth++;
+            } else if (next.kind == RCURLY || next.kind == RPAREN || next.kind == RBRACK) {
+                depth = Math.max(0, depth - 1);
+                if (mode == Recovery.BODY_END && depth == 0 && next.kind == RCURLY) {
                     break;
                 }
             }
-        } while(loop);
+        }
+        recoveredAt = getToken(1);
+    }
+
+    /**
+     * The opening braces, parentheses and brackets which are never closed, from the first
+     * recovery on, or null before it.
+     */
+    private Set<Token> unclosed;
+
+    /**
+     * Does the passed token open a block, parentheses or brackets closed further in the source?
+     *
+     * The first call scans the rest of the source once, to find the ones which are never closed :
+     * it is only made on a recovery, whose later tokens are all after this one.
+     *
+     * @param t a token being skipped by a recovery.
+     * @return true or false.
+     */
+    private boolean opensBlock(Token t) {
+        if (t.kind != LCURLY && t.kind != LPAREN && t.kind != LBRACK) {
+            return false;
+        }
+        if (unclosed == null) {
+            ArrayDeque<Token> opened = new ArrayDeque<Token>();
+            for (Token u = t; u.kind != EOF; u = u.next) {
+                if (u.kind == LCURLY || u.kind == LPAREN || u.kind == LBRACK) {
+                    opened.push(u);
+                } else if ((u.kind == RCURLY || u.kind == RPAREN || u.kind == RBRACK)
+                    && !opened.isEmpty()) {
+                    opened.pop();
+                }
+                if (u.next == null) {
+                    u.next = token_source.getNextToken();
+                }
+            }
+            unclosed = new HashSet<Token>(opened);
+        }
+        return !unclosed.contains(t);
+    }
+
+    /**
+     * Describe the tokens the parser was expecting when an error occurred.
+     *
+     * @param e exception that is raised by JavaCC in the event
+     * of a parser error.
+     * @return one line for each expected token.
+     */
+    private String expectedTokens(ParseException e) {
+        StringBuilder expected = new StringBuilder();
+        for (int[] sequence : e.expectedTokenSequences) {
+            for (int kind : sequence) {
+                expected.append("\u005cn\u005ct").append(tokenImage[kind]).append("...");
+            }
+        }
+        return expected.toString();
+    }
+
+    private static boolean contains(int[] kinds, int kind) {
+        for (int k : kinds) {
+            if (k == kind) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Set the number of syntax errors after which parsing gives up.
+     *
+     * @param maxErrors the number of errors, at least 1.
+     */
+    public void maxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
     }
 
     /**
@@ -90,6 +281,125 @@ class JavaCCParser implements JavaCCParserConstants {
         this.fileName = fileName;
     }
 
+    /**
+     * Re-initialize the parser to parse another source, as if it had just been constructed on the
+     * passed scanner : ReInit() only resets the state of the generated code, and not the one of
+     * the methods above. The arrays of the parser are reused.
+     *
+     * @param tm the scanner of the new source.
+     */
+    public void reset(JavaCCParserTokenManager tm) {
+        ReInit(tm);
+        errorHasOccurred = false;
+        fileName = null;
+        errorCount = 0;
+        maxErrors = DEFAULT_MAX_ERRORS;
+        reportedAt = null;
+        recoveredAt = null;
+        unclosed = null;
+        diagnostics.clear();
+        layout = null;
+        openBlock = null;
+        stream = null;
+        parenthesesKinds.clear();
+    }
+
+    /**
+     * Where the top-level declarations and statements are in the source, recorded by
+     * interStatement() if requested.
+     */
+    private IncrementalParser.Layout layout;
+
+    /**
+     * Have interStatement() record where the top-level declarations and statements are in the
+     * source, so that they may be parsed again on their own.
+     *
+     * @param layout the layout to fill.
+     */
+    void recordLayout(IncrementalParser.Layout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Where the declarations and statements of the block an item is made of are in the source,
+     * recorded by inStatement() when it parses this block.
+     */
+    private IncrementalParser.Layout openBlock;
+
+    /**
+     * Have the block the next item is made of, if it is one, record where its declarations and
+     * statements are in the source : they are items too, for IncrementalParser to parse them again
+     * on their own.
+     *
+     * @param first first token of the item.
+     * @return the layout to fill, or null if the item is not a block or no layout is recorded.
+     */
+    private IncrementalParser.Layout openBlock(Token first) {
+        openBlock = layout != null && first.kind == LCURLY ? new IncrementalParser.Layout() : null;
+        if (openBlock != null) {
+            openBlock.block(first.beginOffset);
+        }
+        return openBlock;
+    }
+
+    /**
+     * Where the top-level declarations and statements are handed over to as soon as they are
+     * parsed, if requested, instead of being added to the AST.
+     */
+    private StreamingCodegen stream;
+
+    /**
+     * Have interStatement() hand each top-level declaration and statement over to the passed
+     * stream as soon as it is parsed, as long as no syntax error has been found, rather than adding
+     * it to the AST it returns.
+     *
+     * @param stream the stream to hand the items over to.
+     */
+    void streamTo(StreamingCodegen stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Record a top-level declaration or statement, which has just been parsed, and hand it over to
+     * the stream, if any.
+     *
+     * @param first its first token.
+     * @param block the layout of the block it is made of (see openBlock()), or null.
+     * @param declaration the declaration, or null for a statement.
+     * @param statement the statement, or null for a declaration.
+     */
+    private void recordItem(Token first, IncrementalParser.Layout block, Declaration declaration,
+            Statement statement) {
+        if (layout != null) {
+            addItem(layout, first, block, declaration, statement);
+        }
+        if (stream != null && !errorHasOccurred) {
+            stream.item(declaration, statement);
+        }
+        // The parentheses of the item are behind : only keep the tokens after it reachable
+        parenthesesKinds.clear();
+    }
+
+    /**
+     * Add a declaration or statement, which has just been parsed, to a layout.
+     *
+     * @param to the layout to add it to.
+     * @param first its first token.
+     * @param block the layout of the block it is made of (see openBlock()), or null.
+     * @param declaration the declaration, or null for a statement.
+     * @param statement the statement, or null for a declaration.
+     */
+    private void addItem(IncrementalParser.Layout to, Token first, IncrementalParser.Layout block,
+            Declaration declaration, Statement statement) {
+        // The block may have been left out after an error
+        if (block != null && block.blockClose != token.beginOffset) {
+            block = null;
+        }
+        to.items.add(new IncrementalParser.Item(first.beginOffset, token.endOffset,
+            first.beginLine(), declaration, statement, block));
+        openBlock = null;
+    }
+
     /**
      * Has a parser error occurred up to now?
      *
@@ -99,6 +409,123 @@ class JavaCCParser implements JavaCCParserConstants {
         return errorHasOccurred;
     }
 
+    /**
+     * Kind of the parentheses scanned up to now, by opening token : the first separator found
+     * directly inside them (HASHTAG for a tuple, COLCOL for a list), or RPAREN if there is none.
+     */
+    private final Map<Token, Integer> parenthesesKinds = new HashMap<Token, Integer>();
+
+    /**
+     * Is the next token a parenthesis opening a tuple or a list, that is whose elements are
+     * separated by the passed separator?
+     *
+     * This is a cheap semantic lookahead : instead of parsing the first element again to find the
+     * separator after it, the tokens up to the matching parenthesis are scanned once, and the
+     * kind of all the parentheses nested in between is recorded on the way.
+     *
+     * @param separator HASHTAG or COLCOL.
+     * @return true or false.
+     */
+    private boolean parenthesized(int separator) {
+        Token open = getToken(1);
+        if (open.kind != LPAREN) {
+            return false;
+        }
+        if (!parenthesesKinds.containsKey(open)) {
+            scanParentheses(open);
+        }
+        return parenthesesKinds.get(open) == separator;
+    }
+
+    /**
+     * Scan the tokens from the passed opening parenthesis up to the matching one, recording the
+     * kind of every parenthesis opened in between.
+     *
+     * @param open opening parenthesis.
+     */
+    private void scanParentheses(Token open) {
+        ArrayDeque<Token> opened = new ArrayDeque<Token>();
+        Token t = open;
+        while (true) {
+            switch (t.kind) {
+                case LPAREN:
+                    parenthesesKinds.put(t, RPAREN);
+                    opened.push(t);
+                    break;
+                case LBRACK:
+                case LCURLY:
+                    opened.push(t);
+                    break;
+                case HASHTAG:
+                case COLCOL:
+                    Token inner = opened.peek();
+                    if (inner.kind == LPAREN && parenthesesKinds.get(inner) == RPAREN) {
+                        parenthesesKinds.put(inner, t.kind);
+                    }
+                    break;
+                case RPAREN:
+                case RBRACK:
+                case RCURLY:
+                    opened.pop();
+                    break;
+                default:
+                    break;
+            }
+            if (opened.isEmpty() || t.kind == EOF) {
+                return;
+            }
+            if (t.next == null) {
+                t.next = token_source.getNextToken();
+            }
+            t = t.next;
+        }
+    }
+
+    /**
+     * Do all the passed clauses, parsed as caseExpressionClauses, have no expression to evaluate?
+     *
+     * @param clauses the clauses of a match structure.
+     * @return true or false.
+     */
+    private static boolean areStatementClauses(ArrayList<CaseExpressionClause> clauses) {
+        for (CaseExpressionClause clause : clauses) {
+            if (clause == null || !clause.isStatementClause()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Are all the passed children of a node there? A child is missing (null) when the parser
+     * recovered from a syntax error in it : the node is then not built either, and goes missing
+     * in turn, up to the nearest list of nodes, which leaves it out (see add()).
+     *
+     * @param children the required children of the node.
+     * @return true or false.
+     */
+    private static boolean complete(Object... children) {
+        for (Object child : children) {
+            if (child == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add a node to a list of nodes, unless it is missing because the parser recovered from a
+     * syntax error in it.
+     *
+     * @param nodes the list to add the node to.
+     * @param node the node, or null.
+     */
+    private static <T> void add(ArrayList<T> nodes, T node) {
+        if (node != null) {
+            nodes.add(node);
+        }
+    }
+
 /////////////////////////////////////////////////////////
 //       The newOz syntactic grammar starts here         //
 /////////////////////////////////////////////////////////
@@ -109,26 +536,43 @@ class JavaCCParser implements JavaCCParserConstants {
  * for it. After constructing the Parser, this is its entry point.
  *
  * <pre>
- *   interStatement ::= {nestConStatement}+
- *                      | DECLARE inStatement EOF
+ *   interStatement ::= {standaloneStatement}+ EOF
+ *                      | DECLARE LCURLY declareBody RCURLY EOF
  * </pre>
  *
- * @return an AST for an interStatement.
+ * After a syntax error, whatever is left before the end of the file is reported, and the parser
+ * carries on from the next declaration, statement or block (see FOLLOW_ROOT), adding what it finds
+ * there to the program : only --max-errors stops it before the end of the file.
+ *
+ * @return an AST for an interStatement, without its top-level declarations and statements if
+ * they were handed over to a stream (see streamTo()).
  */
   final public InterStatement interStatement() throws ParseException {
     int line = 0;
-    InStatement s = null;
-    Statement aStatement = null;
+    int blockLine = 0;
+    boolean declare = false;
+    ArrayList<Declaration> decls = new ArrayList<Declaration>();
     ArrayList<Statement> statements = new ArrayList<Statement>();
-    InterStatement out = null;
     try {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case DECLARE:
         jj_consume_token(DECLARE);
-                    line = token.beginLine; Logger.debug("Found an interStatement");
-        s = inStatement();
-        jj_consume_token(0);
-          out = new InterStatement(line, new InStatement(s.line(), s.decls(), s.statements(), true));
+                    line = token.beginLine(); declare = true; Logger.debug("Found an interStatement");
+        try {
+          jj_consume_token(LCURLY);
+              blockLine = token.beginLine();
+              if (layout != null) {
+                  layout.declare(line, blockLine, token.beginOffset);
+              }
+              if (stream != null) {
+                  stream.declareBlock();
+              }
+          declareBody(decls, statements);
+          jj_consume_token(RCURLY);
+                       if (layout != null) { layout.blockClose = token.beginOffset; }
+        } catch (ParseException e) {
+            recoverFromError(FOLLOW_BLOCK, Recovery.BLOCK_END, e);
+        }
         break;
       case FOR:
       case IF:
@@ -143,8 +587,7 @@ class JavaCCParser implements JavaCCParserConstants {
       case VARIABLE:
         label_1:
         while (true) {
-          aStatement = nestConStatement();
-          statements.add(aStatement); Logger.debug("Found a stand-alone statement");
+          standaloneStatement(statements);
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case FOR:
           case IF:
@@ -164,7 +607,6 @@ class JavaCCParser implements JavaCCParserConstants {
             break label_1;
           }
         }
-          out = new InterStatement(line, statements);
         break;
       default:
         jj_la1[1] = jj_gen;
@@ -172,76 +614,256 @@ class JavaCCParser implements JavaCCParserConstants {
         throw new ParseException();
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{EOF}, e);
+        recoverFromError(FOLLOW_ROOT, e);
     }
-      {if (true) return out;}
+    label_2:
+    while (true) {
+      if (getToken(1).kind != EOF) {
+        ;
+      } else {
+        break label_2;
+      }
+      try {
+        jj_consume_token(0);
+      } catch (ParseException e) {
+          recoverFromError(FOLLOW_ROOT, e);
+      }
+      if (declare) {
+        declareBody(decls, statements);
+      } else {
+        label_3:
+        while (true) {
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case FOR:
+          case IF:
+          case LOCK:
+          case MATCH:
+          case RAISE:
+          case SUPER:
+          case THIS:
+          case THREAD:
+          case TRY:
+          case LCURLY:
+          case VARIABLE:
+            ;
+            break;
+          default:
+            jj_la1[2] = jj_gen;
+            break label_3;
+          }
+          standaloneStatement(statements);
+        }
+      }
+    }
+    jj_consume_token(0);
+      {if (true) return declare ? new InterStatement(line, new InStatement(blockLine, decls, statements, true)) //Declare block
+          : new InterStatement(line, statements);}
     throw new Error("Missing return statement in function");
   }
 
-  final private Statement statement() throws ParseException {
-    int line = 0;
-    Statement statement = null;
-    Expression expression = null;
-    try {
+/**
+ * Parse the declarations and statements of the top-level declare block, or of a part of it.
+ *
+ * <pre>
+ *   declareBody ::= {declarationPart} {statement}
+ * </pre>
+ *
+ * @param decls the list to add the declarations to.
+ * @param statements the list to add the statements to.
+ */
+  final public void declareBody(ArrayList<Declaration> decls, ArrayList<Statement> statements) throws ParseException {
+    Token first = null;
+    IncrementalParser.Layout block = null;
+    Declaration aDecl = null;
+    Statement aStatement = null;
+    label_4:
+    while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case SKP:
-        jj_consume_token(SKP);
-            line = token.beginLine;
-          statement = new SkipStatement(line);
+      case CLASS:
+      case DEF:
+      case DEFPROC:
+      case FUNCTOR:
+      case VAL:
+      case VAR:
+        ;
         break;
+      default:
+        jj_la1[3] = jj_gen;
+        break label_4;
+      }
+        first = getToken(1); Logger.debug("Found a declarationPart");
+      aDecl = declarationPart();
+        if (stream == null) { add(decls, aDecl); } recordItem(first, null, aDecl, null);
+    }
+    label_5:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case FOR:
       case IF:
       case LOCK:
       case MATCH:
       case RAISE:
+      case SKP:
       case SUPER:
       case THIS:
       case THREAD:
       case TRY:
       case LCURLY:
       case VARIABLE:
-           Logger.debug("Found a nestConStatement");
-        statement = nestConStatement();
+        ;
         break;
       default:
-        jj_la1[2] = jj_gen;
-        jj_consume_token(-1);
-        throw new ParseException();
+        jj_la1[4] = jj_gen;
+        break label_5;
       }
-    } catch (ParseException e) {
-        recoverFromError(new int[]{EOF}, e);
+        first = getToken(1); block = openBlock(first); Logger.debug("Found a statement");
+      aStatement = statement();
+        if (stream == null) { add(statements, aStatement); }
+        recordItem(first, block, null, aStatement);
     }
-      {if (true) return statement;}
-    throw new Error("Missing return statement in function");
   }
 
-  final private Expression expression() throws ParseException {
-    int line = 0;
-    Expression expression = null;
-    {Logger.debug("Entering expression()");}
-    try {
-      if (jj_2_1(2147483647)) {
-        jj_consume_token(DOLLAR);
-            line = token.beginLine;
-          expression = new AnonymExpression(line);
-      } else if (jj_2_2(2147483647)) {
-           Logger.debug("Found an inExpression");
+/**
+ * Parse a single declaration or statement of the top-level declare block, as when a part of it is
+ * parsed again after an edit.
+ *
+ * <pre>
+ *   declareItem ::= declarationPart | statement
+ * </pre>
+ */
+  final public void declareItem() throws ParseException {
+    Token first = null;
+    IncrementalParser.Layout block = null;
+    Declaration aDecl = null;
+    Statement aStatement = null;
+      first = getToken(1);
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case CLASS:
+    case DEF:
+    case DEFPROC:
+    case FUNCTOR:
+    case VAL:
+    case VAR:
+      aDecl = declarationPart();
+                                  recordItem(first, null, aDecl, null);
+      break;
+    case FOR:
+    case IF:
+    case LOCK:
+    case MATCH:
+    case RAISE:
+    case SKP:
+    case SUPER:
+    case THIS:
+    case THREAD:
+    case TRY:
+    case LCURLY:
+    case VARIABLE:
+        block = openBlock(first);
+      aStatement = statement();
+                                 recordItem(first, block, null, aStatement);
+      break;
+    default:
+      jj_la1[5] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+  }
+
+/**
+ * Parse a stand-alone statement, outside of any declare block.
+ *
+ * <pre>
+ *   standaloneStatement ::= nestConStatement
+ * </pre>
+ *
+ * @param statements the list to add the statement to.
+ */
+  final public void standaloneStatement(ArrayList<Statement> statements) throws ParseException {
+    Token first = null;
+    IncrementalParser.Layout block = null;
+    Statement aStatement = null;
+      first = getToken(1); block = openBlock(first);
+    aStatement = nestConStatement();
+      if (stream == null) { add(statements, aStatement); } recordItem(first, block, null, aStatement);
+      Logger.debug("Found a stand-alone statement");
+  }
+
+  final private Statement statement() throws ParseException {
+    int line = 0;
+    Statement statement = null;
+    Expression expression = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case SKP:
+        jj_consume_token(SKP);
+            line = token.beginLine();
+          statement = new SkipStatement(line);
+        break;
+      case FOR:
+      case IF:
+      case LOCK:
+      case MATCH:
+      case RAISE:
+      case SUPER:
+      case THIS:
+      case THREAD:
+      case TRY:
+      case LCURLY:
+      case VARIABLE:
+           Logger.debug("Found a nestConStatement");
+        statement = nestConStatement();
+        break;
+      default:
+        jj_la1[6] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+        recoverFromError(FOLLOW_STATEMENT, e);
+    }
+      {if (true) return statement;}
+    throw new Error("Missing return statement in function");
+  }
+
+  final private Expression expression() throws ParseException {
+    int line = 0;
+    Expression expression = null;
+    {Logger.debug("Entering expression()");}
+    try {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case DOLLAR:
+        jj_consume_token(DOLLAR);
+            line = token.beginLine();
+          expression = new AnonymExpression(line);
+        break;
+      case LCURLY:
+           Logger.debug("Found an inExpression");
         expression = inExpression();
-      } else if (jj_2_3(2147483647)) {
+        break;
+      case IF:
+      case MATCH:
+      case RAISE:
+      case THREAD:
+      case TRY:
            Logger.debug("Found a nestConExpression");
         expression = nestConExpression();
-      } else if (jj_2_4(2147483647)) {
+        break;
+      default:
+        jj_la1[7] = jj_gen;
+        if (jj_2_1(1)) {
            Logger.debug("Found a term");
-        expression = term();
-      } else if (jj_2_5(2147483647)) {
+          expression = term();
+        } else if (jj_2_2(2147483647)) {
            Logger.debug("Found a nestDecAnonym()");
-        expression = nestDecAnonym();
-      } else {
-        jj_consume_token(-1);
-        throw new ParseException();
+          expression = nestDecAnonym();
+        } else {
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{EOF}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return expression;}
     throw new Error("Missing return statement in function");
@@ -253,18 +875,21 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering parExpression()");}
     try {
       jj_consume_token(LPAREN);
-                   line =token.beginLine;
+                   line =token.beginLine();
       expr = expression();
       jj_consume_token(RPAREN);
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
-      {if (true) return new ParExpression(line, expr);}
+      {if (true) return complete(expr) ? new ParExpression(line, expr) : null;}
     throw new Error("Missing return statement in function");
   }
 
   final private InStatement inStatement() throws ParseException {
     int line = 0;
+    IncrementalParser.Layout block = null;
+    IncrementalParser.Layout innerBlock = null;
+    Token first = null;
     Declaration aDecl = null;
     ArrayList<Declaration> decls = new ArrayList<Declaration>();
     Statement aStatement = null;
@@ -272,8 +897,13 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering inStatement()");}
     try {
       jj_consume_token(LCURLY);
-                   line = token.beginLine;
-      label_2:
+          line = token.beginLine();
+          // The block an item is made of records its own items (see openBlock())
+          if (openBlock != null && openBlock.blockOpen == token.beginOffset) {
+              block = openBlock;
+              openBlock = null;
+          }
+      label_6:
       while (true) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case CLASS:
@@ -285,14 +915,14 @@ class JavaCCParser implements JavaCCParserConstants {
           ;
           break;
         default:
-          jj_la1[3] = jj_gen;
-          break label_2;
+          jj_la1[8] = jj_gen;
+          break label_6;
         }
-            Logger.debug("Found a declarationPart");
+            first = getToken(1); Logger.debug("Found a declarationPart");
         aDecl = declarationPart();
-                                      decls.add(aDecl);
+            add(decls, aDecl); if (block != null) { addItem(block, first, null, aDecl, null); }
       }
-      label_3:
+      label_7:
       while (true) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case FOR:
@@ -310,16 +940,19 @@ class JavaCCParser implements JavaCCParserConstants {
           ;
           break;
         default:
-          jj_la1[4] = jj_gen;
-          break label_3;
+          jj_la1[9] = jj_gen;
+          break label_7;
         }
+            first = getToken(1); innerBlock = block != null ? openBlock(first) : null;
             Logger.debug("Found a statement");
         aStatement = statement();
-                                     statements.add(aStatement);
+            add(statements, aStatement);
+            if (block != null) { addItem(block, first, innerBlock, null, aStatement); }
       }
       jj_consume_token(RCURLY);
+                   if (block != null) { block.blockClose = token.beginOffset; }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_BLOCK, Recovery.BODY_END, e);
     }
       {if (true) return new InStatement(line, decls, statements, false);}
     throw new Error("Missing return statement in function");
@@ -335,30 +968,60 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering inExpression()");}
     try {
       jj_consume_token(LCURLY);
-                   line = token.beginLine;
-      label_4:
+                   line = token.beginLine();
+      label_8:
       while (true) {
-        if (jj_2_6(2147483647)) {
+        if (jj_2_3(2147483647)) {
           ;
         } else {
-          break label_4;
+          break label_8;
         }
             Logger.debug("Found a declarationPart in inExpression()");
         aDecl = declarationPart();
-                                      decls.add(aDecl);
+                                      add(decls, aDecl);
       }
-      label_5:
+      label_9:
       while (true) {
-        if (jj_2_7(2147483647)) {
+        if (jj_2_4(2147483647) && (expression == null)) {
           ;
         } else {
-          break label_5;
+          break label_9;
+        }
+        if (jj_2_5(2147483647)) {
+          statement = nestCon();
+              if (statement instanceof Expression) {
+                Logger.debug("Found the returned expression in inExpression()");
+                expression = (Expression) statement;
+              } else {
+                Logger.debug("Found a statement in inExpression()");
+                add(statements, statement);
+              }
+        } else {
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case FOR:
+          case IF:
+          case LOCK:
+          case MATCH:
+          case RAISE:
+          case SKP:
+          case SUPER:
+          case THIS:
+          case THREAD:
+          case TRY:
+          case LCURLY:
+          case VARIABLE:
+              Logger.debug("Found a statement in inExpression()");
+            statement = statement();
+                                      add(statements, statement);
+            break;
+          default:
+            jj_la1[10] = jj_gen;
+            jj_consume_token(-1);
+            throw new ParseException();
+          }
         }
-            Logger.debug("Found a statement in inExpression()");
-        statement = statement();
-                                    statements.add(statement);
       }
-      if (jj_2_8(2147483647)) {
+      if (expression == null && getToken(1).kind != RCURLY) {
             Logger.debug("Found the returned expression in inExpression()");
         expression = expression();
       } else {
@@ -366,7 +1029,7 @@ class JavaCCParser implements JavaCCParserConstants {
       }
       jj_consume_token(RCURLY);
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_BLOCK, Recovery.BODY_END, e);
     }
       {if (true) return new InExpression(line, decls, statements, expression);}
     throw new Error("Missing return statement in function");
@@ -383,8 +1046,6 @@ class JavaCCParser implements JavaCCParserConstants {
     Expression expression = null;
     Expression expression2 = null;
     ArrayList<Expression> args = new ArrayList<Expression>();
-    ArrayList<Expression> conds = new ArrayList<Expression>();
-    ArrayList<InStatement> consq = new ArrayList<InStatement>();
     boolean firstClausePassed = false;
     CaseStatementClause aClause = null;
     ArrayList<CaseStatementClause> clauses = new ArrayList<CaseStatementClause>();
@@ -392,7 +1053,7 @@ class JavaCCParser implements JavaCCParserConstants {
     ArrayList<LoopDeclaration> loopDecs = new ArrayList<LoopDeclaration>();
     {Logger.debug("Entering nestConStatement()");}
     try {
-      if (jj_2_20(2147483647)) {
+      if (jj_2_7(2147483647)) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case SUPER:
         case THIS:
@@ -412,38 +1073,41 @@ class JavaCCParser implements JavaCCParserConstants {
               jj_consume_token(RPAREN);
               break;
             default:
-              jj_la1[5] = jj_gen;
+              jj_la1[11] = jj_gen;
               ;
             }
             jj_consume_token(DOT);
             break;
           default:
-            jj_la1[6] = jj_gen;
+            jj_la1[12] = jj_gen;
             jj_consume_token(-1);
             throw new ParseException();
           }
           break;
         default:
-          jj_la1[7] = jj_gen;
+          jj_la1[13] = jj_gen;
           ;
         }
         jj_consume_token(VARIABLE);
-                       line = token.beginLine; name = token.image;
-            Logger.debug("Found a CallProcedure to "+name+" at line "+line);
+                       line = token.beginLine(); name = token.image;
+            if (Logger.isDebugEnabled()) { Logger.debug("Found a CallProcedure to "+name+" at line "+line); }
         jj_consume_token(LPAREN);
-        if (jj_2_10(2147483647)) {
+        if (jj_2_6(1)) {
           expression2 = expression();
-                                         args.add(expression2);
-          label_6:
+                                         add(args, expression2);
+          label_10:
           while (true) {
-            if (jj_2_9(2147483647)) {
+            switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+            case COMMA:
               ;
-            } else {
-              break label_6;
+              break;
+            default:
+              jj_la1[14] = jj_gen;
+              break label_10;
             }
             jj_consume_token(COMMA);
             expression2 = expression();
-                                                   args.add(expression2);
+                                                   add(args, expression2);
           }
         } else {
           ;
@@ -458,137 +1122,120 @@ class JavaCCParser implements JavaCCParserConstants {
             } else {
               out = new CallProcedure(line, name, args);
             }
-      } else if (jj_2_21(2147483647)) {
-        statement2 = inStatement();
+      } else {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case LCURLY:
+          statement2 = inStatement();
             out = statement2;
-      } else if (jj_2_22(2147483647)) {
-        jj_consume_token(IF);
-                 line = token.beginLine;
-        expression = parExpression();
-        statement2 = inStatement();
-            conds.add(expression); consq.add(statement2);
-        label_7:
-        while (true) {
-          if (jj_2_11(2147483647)) {
-            ;
-          } else {
-            break label_7;
-          }
-          jj_consume_token(ELSE);
+          break;
+        case IF:
           jj_consume_token(IF);
+                 line = token.beginLine();
           expression = parExpression();
           statement2 = inStatement();
-              conds.add(expression); consq.add(statement2);
-        }
-        if (jj_2_12(2147483647)) {
-          jj_consume_token(ELSE);
-          statement2 = inStatement();
-              consq.add(statement2);
-        } else {
-          ;
-        }
-            out = new ConditionalStatement(line, conds, consq);
-      } else if (jj_2_23(2147483647)) {
-        jj_consume_token(MATCH);
-                    line = token.beginLine;
-        expression = expression();
-        jj_consume_token(LCURLY);
-        label_8:
-        while (true) {
-          jj_consume_token(CASE);
-          aClause = caseStatementClause(firstClausePassed);
-                                                                      firstClausePassed = true; clauses.add(aClause);
-          if (jj_2_13(2147483647)) {
-            ;
-          } else {
-            break label_8;
-          }
-        }
-        if (jj_2_14(2147483647)) {
-          jj_consume_token(ELSE);
-          statement2 = inStatement();
-        } else {
-          ;
-        }
-            out = new CaseStructStatement(line, expression, clauses, statement2);
-        jj_consume_token(RCURLY);
-      } else if (jj_2_24(2147483647)) {
-        jj_consume_token(FOR);
-                  line = token.beginLine;
-        jj_consume_token(LPAREN);
-        label_9:
-        while (true) {
-          loopDec = loopDeclaration();
-              loopDecs.add(loopDec);
-          if (jj_2_15(2147483647)) {
-            ;
-          } else {
-            break label_9;
-          }
-        }
-        jj_consume_token(RPAREN);
-        statement2 = inStatement();
-            out = new LoopStructure(line, loopDecs, statement2);
-      } else if (jj_2_25(2147483647)) {
-        jj_consume_token(TRY);
-                  line = token.beginLine;
-        statement = inStatement();
-        if (jj_2_17(2147483647)) {
-          jj_consume_token(CATCH);
+          out = conditionalStatementRest(line, expression, statement2);
+          break;
+        case MATCH:
+          jj_consume_token(MATCH);
+                    line = token.beginLine();
+          expression = expression();
           jj_consume_token(LCURLY);
-          label_10:
+          label_11:
           while (true) {
             jj_consume_token(CASE);
             aClause = caseStatementClause(firstClausePassed);
-                                                                        firstClausePassed = true; clauses.add(aClause);
-            if (jj_2_16(2147483647)) {
+                                                                      firstClausePassed = true; add(clauses, aClause);
+            switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+            case CASE:
               ;
-            } else {
-              break label_10;
+              break;
+            default:
+              jj_la1[15] = jj_gen;
+              break label_11;
             }
           }
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case ELSE:
+            jj_consume_token(ELSE);
+            statement2 = inStatement();
+            break;
+          default:
+            jj_la1[16] = jj_gen;
+            ;
+          }
+            if (complete(expression)) {
+              out = new CaseStructStatement(line, expression, clauses, statement2);
+            }
           jj_consume_token(RCURLY);
-        } else {
-          ;
-        }
-        if (jj_2_18(2147483647)) {
-          jj_consume_token(FINALLY);
+          break;
+        case FOR:
+          jj_consume_token(FOR);
+                  line = token.beginLine();
+          jj_consume_token(LPAREN);
+          label_12:
+          while (true) {
+            loopDec = loopDeclaration();
+              add(loopDecs, loopDec);
+            switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+            case VARIABLE:
+              ;
+              break;
+            default:
+              jj_la1[17] = jj_gen;
+              break label_12;
+            }
+          }
+          jj_consume_token(RPAREN);
           statement2 = inStatement();
-        } else {
-          ;
-        }
-            out = new TryStructure(line, statement, clauses, statement2);
-      } else if (jj_2_26(2147483647)) {
-        jj_consume_token(RAISE);
-                    line = token.beginLine;
-        expression = inExpression();
+            out = new LoopStructure(line, loopDecs, statement2);
+          break;
+        case TRY:
+          jj_consume_token(TRY);
+                  line = token.beginLine();
+          statement = inStatement();
+          out = tryStatementRest(line, statement);
+          break;
+        case RAISE:
+          jj_consume_token(RAISE);
+                    line = token.beginLine();
+          expression = inExpression();
             out = new RaiseStructure(line, expression);
-      } else if (jj_2_27(2147483647)) {
-        jj_consume_token(THREAD);
-                     line = token.beginLine;
-        statement2 = inStatement();
+          break;
+        case THREAD:
+          jj_consume_token(THREAD);
+                     line = token.beginLine();
+          statement2 = inStatement();
             out = new ThreadStructure(line, statement2);
-      } else if (jj_2_28(2147483647)) {
-        jj_consume_token(LOCK);
-                   line = token.beginLine;
-        if (jj_2_19(2147483647)) {
-          jj_consume_token(LPAREN);
-          expression = expression();
-          jj_consume_token(RPAREN);
-        } else {
-          ;
-        }
-        statement2 = inStatement();
+          break;
+        case LOCK:
+          jj_consume_token(LOCK);
+                   line = token.beginLine();
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case LPAREN:
+            jj_consume_token(LPAREN);
+            expression = expression();
+            jj_consume_token(RPAREN);
+            break;
+          default:
+            jj_la1[18] = jj_gen;
+            ;
+          }
+          statement2 = inStatement();
             out = new LockStructure(line, expression, statement2);
-      } else if (jj_2_29(2147483647)) {
+          break;
+        default:
+          jj_la1[19] = jj_gen;
+          if (jj_2_8(2147483647)) {
             Logger.debug("Found an assignmentStatement()");
-        out = assignmentStatement();
-      } else {
-        jj_consume_token(-1);
-        throw new ParseException();
+            out = assignmentStatement();
+          } else {
+            jj_consume_token(-1);
+            throw new ParseException();
+          }
+        }
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_STATEMENT, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -597,117 +1244,355 @@ class JavaCCParser implements JavaCCParserConstants {
   final private Expression nestConExpression() throws ParseException {
     int line = 0;
     Expression out = null;
-    String name = null;
-    InStatement statement = null;
     Expression expression = null;
     InExpression expression2 = null;
-    ArrayList<Expression> args = new ArrayList<Expression>();
-    ArrayList<Expression> conds = new ArrayList<Expression>();
-    ArrayList<InExpression> consq = new ArrayList<InExpression>();
     boolean firstClausePassed = false;
     CaseExpressionClause aClause = null;
     ArrayList<CaseExpressionClause> clauses = new ArrayList<CaseExpressionClause>();
     try {
-      if (jj_2_37(2147483647)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case IF:
         jj_consume_token(IF);
-                   line = token.beginLine;
+                 line = token.beginLine();
             Logger.debug("Found if expression");
         expression = parExpression();
         expression2 = inExpression();
-              conds.add(expression); consq.add(expression2);
-        label_11:
+        out = conditionalExpressionRest(line, expression, expression2);
+        break;
+      case MATCH:
+        jj_consume_token(MATCH);
+                    line = token.beginLine();
+        expression = expression();
+        jj_consume_token(LCURLY);
+        label_13:
         while (true) {
-          if (jj_2_30(2147483647)) {
+          jj_consume_token(CASE);
+          aClause = caseExpressionClause(firstClausePassed);
+                                                                       firstClausePassed = true; add(clauses, aClause);
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case CASE:
             ;
-          } else {
-            break label_11;
+            break;
+          default:
+            jj_la1[20] = jj_gen;
+            break label_13;
           }
-                Logger.debug("Found else if block");
-          jj_consume_token(ELSE);
-          jj_consume_token(IF);
-          expression = parExpression();
-          expression2 = inExpression();
-                conds.add(expression); consq.add(expression2);
         }
-              Logger.debug("Done with elseif blocks");
-        if (jj_2_31(2147483647)) {
-                Logger.debug("Found else block");
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case ELSE:
           jj_consume_token(ELSE);
           expression2 = inExpression();
-                consq.add(expression2);
-        } else {
+          break;
+        default:
+          jj_la1[21] = jj_gen;
           ;
         }
-              out = new ConditionalExpression(line, conds, consq);
-      } else if (jj_2_38(2147483647)) {
+            if (complete(expression)) {
+              out = new CaseStructExpression(line, expression, clauses, expression2);
+            }
+        jj_consume_token(RCURLY);
+        break;
+      case TRY:
+        jj_consume_token(TRY);
+                  line = token.beginLine();
+        expression2 = inExpression();
+        out = tryExpressionRest(line, expression2);
+        break;
+      case RAISE:
+        jj_consume_token(RAISE);
+                    line = token.beginLine();
+        expression = inExpression();
+            out = new RaiseExpression(line, expression);
+        break;
+      case THREAD:
+        jj_consume_token(THREAD);
+                     line = token.beginLine();
+        expression2 = inExpression();
+            out = new ThreadExpression(line, expression2);
+        break;
+      default:
+        jj_la1[22] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+        recoverFromError(FOLLOW_EXPRESSION, e);
+    }
+      {if (true) return out;}
+    throw new Error("Missing return statement in function");
+  }
+
+  final private Statement nestCon() throws ParseException {
+    int line = 0;
+    Statement out = null;
+    Expression expression = null;
+    InExpression block = null;
+    InExpression elseBlock = null;
+    boolean firstClausePassed = false;
+    CaseExpressionClause aClause = null;
+    ArrayList<CaseExpressionClause> clauses = new ArrayList<CaseExpressionClause>();
+    ArrayList<CaseStatementClause> statementClauses = new ArrayList<CaseStatementClause>();
+    {Logger.debug("Entering nestCon()");}
+    try {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case LCURLY:
+        block = inExpression();
+            out = block.isInStatement() ? block.toInStatement() : block;
+        break;
+      case IF:
+        jj_consume_token(IF);
+                 line = token.beginLine();
+        expression = parExpression();
+        block = inExpression();
+        if (block.isInStatement()) {
+          out = conditionalStatementRest(line, expression, block.toInStatement());
+        } else {
+          out = conditionalExpressionRest(line, expression, block);
+        }
+        break;
+      case MATCH:
         jj_consume_token(MATCH);
-                      line = token.beginLine;
+                    line = token.beginLine();
         expression = expression();
         jj_consume_token(LCURLY);
-        label_12:
+        label_14:
         while (true) {
           jj_consume_token(CASE);
           aClause = caseExpressionClause(firstClausePassed);
-                                                                       firstClausePassed = true; clauses.add(aClause);
-          if (jj_2_32(2147483647)) {
+                                                                       firstClausePassed = true; add(clauses, aClause);
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case CASE:
             ;
-          } else {
-            break label_12;
+            break;
+          default:
+            jj_la1[23] = jj_gen;
+            break label_14;
           }
         }
-        if (jj_2_33(2147483647)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case ELSE:
           jj_consume_token(ELSE);
-          expression2 = inExpression();
-        } else {
+          elseBlock = inExpression();
+          break;
+        default:
+          jj_la1[24] = jj_gen;
           ;
         }
-            out = new CaseStructExpression(line, expression, clauses, expression2);
-        jj_consume_token(RCURLY);
-      } else if (jj_2_39(2147483647)) {
-        jj_consume_token(TRY);
-                  line = token.beginLine;
-        expression = inExpression();
-        if (jj_2_35(2147483647)) {
-          jj_consume_token(CATCH);
-          jj_consume_token(LCURLY);
-          label_13:
-          while (true) {
-            jj_consume_token(CASE);
-            aClause = caseExpressionClause(firstClausePassed);
-                                                                         firstClausePassed = true; clauses.add(aClause);
-            if (jj_2_34(2147483647)) {
-              ;
+            if (!complete(expression)) {
+              out = null;
+            } else if (areStatementClauses(clauses)
+                && (elseBlock == null || elseBlock.isInStatement())) {
+              for (CaseExpressionClause clause : clauses) {
+                statementClauses.add(clause.toStatementClause());
+              }
+              out = new CaseStructStatement(line, expression, statementClauses,
+                  elseBlock == null ? null : elseBlock.toInStatement());
             } else {
-              break label_13;
+              out = new CaseStructExpression(line, expression, clauses, elseBlock);
             }
-          }
-          jj_consume_token(RCURLY);
-        } else {
-          ;
-        }
-        if (jj_2_36(2147483647)) {
-          jj_consume_token(FINALLY);
-          statement = inStatement();
+        jj_consume_token(RCURLY);
+        break;
+      case TRY:
+        jj_consume_token(TRY);
+                  line = token.beginLine();
+        block = inExpression();
+        if (block.isInStatement()) {
+          out = tryStatementRest(line, block.toInStatement());
         } else {
-          ;
+          out = tryExpressionRest(line, block);
         }
-            out = new TryExpression(line, (InExpression) expression, clauses, statement);
-      } else if (jj_2_40(2147483647)) {
-        jj_consume_token(RAISE);
-                    line = token.beginLine;
-        expression = inExpression();
-            out = new RaiseExpression(line, expression);
-      } else if (jj_2_41(2147483647)) {
+        break;
+      case THREAD:
         jj_consume_token(THREAD);
-                     line = token.beginLine;
-        expression = inExpression();
-            out = new ThreadExpression(line, (InExpression) expression);
-      } else {
+                     line = token.beginLine();
+        block = inExpression();
+            out = block.isInStatement() ? new ThreadStructure(line, block.toInStatement())
+              : new ThreadExpression(line, block);
+        break;
+      default:
+        jj_la1[25] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_STATEMENT, e);
+    }
+      {if (true) return out;}
+    throw new Error("Missing return statement in function");
+  }
+
+  final private Statement conditionalStatementRest(int line, Expression cond, InStatement statement) throws ParseException {
+    Statement out = null;
+    Expression expression = null;
+    InStatement statement2 = null;
+    ArrayList<Expression> conds = new ArrayList<Expression>();
+    ArrayList<InStatement> consq = new ArrayList<InStatement>();
+    try {
+            conds.add(cond); consq.add(statement);
+      label_15:
+      while (true) {
+        if (jj_2_9(2147483647)) {
+          ;
+        } else {
+          break label_15;
+        }
+        jj_consume_token(ELSE);
+        jj_consume_token(IF);
+        expression = parExpression();
+        statement2 = inStatement();
+              if (complete(expression)) { conds.add(expression); consq.add(statement2); }
+      }
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case ELSE:
+        jj_consume_token(ELSE);
+        statement2 = inStatement();
+              consq.add(statement2);
+        break;
+      default:
+        jj_la1[26] = jj_gen;
+        ;
+      }
+            if (complete(cond)) { out = new ConditionalStatement(line, conds, consq); }
+    } catch (ParseException e) {
+        recoverFromError(FOLLOW_STATEMENT, e);
+    }
+      {if (true) return out;}
+    throw new Error("Missing return statement in function");
+  }
+
+  final private Expression conditionalExpressionRest(int line, Expression cond, InExpression expression) throws ParseException {
+    Expression out = null;
+    Expression expression1 = null;
+    InExpression expression2 = null;
+    ArrayList<Expression> conds = new ArrayList<Expression>();
+    ArrayList<InExpression> consq = new ArrayList<InExpression>();
+    try {
+              conds.add(cond); consq.add(expression);
+      label_16:
+      while (true) {
+        if (jj_2_10(2147483647)) {
+          ;
+        } else {
+          break label_16;
+        }
+                Logger.debug("Found else if block");
+        jj_consume_token(ELSE);
+        jj_consume_token(IF);
+        expression1 = parExpression();
+        expression2 = inExpression();
+                if (complete(expression1)) { conds.add(expression1); consq.add(expression2); }
+      }
+              Logger.debug("Done with elseif blocks");
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case ELSE:
+                Logger.debug("Found else block");
+        jj_consume_token(ELSE);
+        expression2 = inExpression();
+                consq.add(expression2);
+        break;
+      default:
+        jj_la1[27] = jj_gen;
+        ;
+      }
+              if (complete(cond)) { out = new ConditionalExpression(line, conds, consq); }
+    } catch (ParseException e) {
+        recoverFromError(FOLLOW_EXPRESSION, e);
+    }
+      {if (true) return out;}
+    throw new Error("Missing return statement in function");
+  }
+
+  final private Statement tryStatementRest(int line, InStatement statement) throws ParseException {
+    Statement out = null;
+    InStatement statement2 = null;
+    boolean firstClausePassed = false;
+    CaseStatementClause aClause = null;
+    ArrayList<CaseStatementClause> clauses = new ArrayList<CaseStatementClause>();
+    try {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case CATCH:
+        jj_consume_token(CATCH);
+        jj_consume_token(LCURLY);
+        label_17:
+        while (true) {
+          jj_consume_token(CASE);
+          aClause = caseStatementClause(firstClausePassed);
+                                                                        firstClausePassed = true; add(clauses, aClause);
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case CASE:
+            ;
+            break;
+          default:
+            jj_la1[28] = jj_gen;
+            break label_17;
+          }
+        }
+        jj_consume_token(RCURLY);
+        break;
+      default:
+        jj_la1[29] = jj_gen;
+        ;
+      }
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case FINALLY:
+        jj_consume_token(FINALLY);
+        statement2 = inStatement();
+        break;
+      default:
+        jj_la1[30] = jj_gen;
+        ;
+      }
+            out = new TryStructure(line, statement, clauses, statement2);
+    } catch (ParseException e) {
+        recoverFromError(FOLLOW_BLOCK, Recovery.BODY_END, e);
+    }
+      {if (true) return out;}
+    throw new Error("Missing return statement in function");
+  }
+
+  final private Expression tryExpressionRest(int line, InExpression expression) throws ParseException {
+    Expression out = null;
+    InStatement statement = null;
+    boolean firstClausePassed = false;
+    CaseExpressionClause aClause = null;
+    ArrayList<CaseExpressionClause> clauses = new ArrayList<CaseExpressionClause>();
+    try {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case CATCH:
+        jj_consume_token(CATCH);
+        jj_consume_token(LCURLY);
+        label_18:
+        while (true) {
+          jj_consume_token(CASE);
+          aClause = caseExpressionClause(firstClausePassed);
+                                                                         firstClausePassed = true; add(clauses, aClause);
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case CASE:
+            ;
+            break;
+          default:
+            jj_la1[31] = jj_gen;
+            break label_18;
+          }
+        }
+        jj_consume_token(RCURLY);
+        break;
+      default:
+        jj_la1[32] = jj_gen;
+        ;
+      }
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case FINALLY:
+        jj_consume_token(FINALLY);
+        statement = inStatement();
+        break;
+      default:
+        jj_la1[33] = jj_gen;
+        ;
+      }
+            out = new TryExpression(line, expression, clauses, statement);
+    } catch (ParseException e) {
+        recoverFromError(FOLLOW_BLOCK, Recovery.BODY_END, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -732,118 +1617,88 @@ class JavaCCParser implements JavaCCParserConstants {
     ArrayList<MethodDef> methods = new ArrayList<MethodDef>();
     {Logger.debug("Entering nestDecVariable()");}
     try {
-      if (jj_2_42(2147483647)) {
+      if (jj_2_13(2147483647)) {
             Logger.debug("Found a Procedure definition");
         jj_consume_token(DEFPROC);
-                      line = token.beginLine;
+                      line = token.beginLine();
         jj_consume_token(VARIABLE);
                        name = token.image;
         jj_consume_token(LPAREN);
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case FALSE:
-        case NIL:
-        case TRUE:
-        case UNIT:
-        case UNDERSCORE:
-        case LBRACK:
-        case LPAREN:
-        case VARIABLE:
-        case ATOMLISP:
-        case STRING:
-        case CHARACTER:
-        case INT:
-        case FLOAT:
+        if (jj_2_11(1)) {
           aPattern = pattern();
-                                 args.add(aPattern);
-          label_14:
+                                 add(args, aPattern);
+          label_19:
           while (true) {
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
             case COMMA:
               ;
               break;
             default:
-              jj_la1[8] = jj_gen;
-              break label_14;
+              jj_la1[34] = jj_gen;
+              break label_19;
             }
             jj_consume_token(COMMA);
             aPattern = pattern();
-                                           args.add(aPattern);
+                                           add(args, aPattern);
           }
-          break;
-        default:
-          jj_la1[9] = jj_gen;
+        } else {
           ;
         }
         jj_consume_token(RPAREN);
         statement = inStatement();
             out = new ProcedureDef(line, name, args, statement);
-      } else if (jj_2_43(2147483647)) {
+      } else if (jj_2_14(2147483647)) {
             Logger.debug("Found a Function definition");
         jj_consume_token(DEF);
-                  line = token.beginLine;
+                  line = token.beginLine();
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case LAZY:
           jj_consume_token(LAZY);
                     lazy = true;
           break;
         default:
-          jj_la1[10] = jj_gen;
+          jj_la1[35] = jj_gen;
           ;
         }
         jj_consume_token(VARIABLE);
                        name = token.image;
         jj_consume_token(LPAREN);
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case FALSE:
-        case NIL:
-        case TRUE:
-        case UNIT:
-        case UNDERSCORE:
-        case LBRACK:
-        case LPAREN:
-        case VARIABLE:
-        case ATOMLISP:
-        case STRING:
-        case CHARACTER:
-        case INT:
-        case FLOAT:
+        if (jj_2_12(1)) {
           aPattern = pattern();
-                                 args.add(aPattern);
-          label_15:
+                                 add(args, aPattern);
+          label_20:
           while (true) {
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
             case COMMA:
               ;
               break;
             default:
-              jj_la1[11] = jj_gen;
-              break label_15;
+              jj_la1[36] = jj_gen;
+              break label_20;
             }
             jj_consume_token(COMMA);
             aPattern = pattern();
-                                           args.add(aPattern);
+                                           add(args, aPattern);
           }
-          break;
-        default:
-          jj_la1[12] = jj_gen;
+        } else {
           ;
         }
         jj_consume_token(RPAREN);
         expression = inExpression();
             out = new FunctionDef(line, name, args, expression, lazy);
-      } else if (jj_2_44(2147483647)) {
+      } else if (jj_2_15(2147483647)) {
         jj_consume_token(FUNCTOR);
-                      line = token.beginLine;
+                      line = token.beginLine();
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case VARIABLE:
           jj_consume_token(VARIABLE);
                          name = token.image;
           break;
         default:
-          jj_la1[13] = jj_gen;
+          jj_la1[37] = jj_gen;
           ;
         }
-        label_16:
+        label_21:
         while (true) {
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case EXPORT:
@@ -851,62 +1706,62 @@ class JavaCCParser implements JavaCCParserConstants {
             ;
             break;
           default:
-            jj_la1[14] = jj_gen;
-            break label_16;
+            jj_la1[38] = jj_gen;
+            break label_21;
           }
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case IMPORT:
             jj_consume_token(IMPORT);
             importClause = importClause();
-                                                       imports.add(importClause);
-            label_17:
+                                                       add(imports, importClause);
+            label_22:
             while (true) {
               switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
               case COMMA:
                 ;
                 break;
               default:
-                jj_la1[15] = jj_gen;
-                break label_17;
+                jj_la1[39] = jj_gen;
+                break label_22;
               }
               jj_consume_token(COMMA);
               importClause = importClause();
-                                                        imports.add(importClause);
+                                                        add(imports, importClause);
             }
             break;
           case EXPORT:
             jj_consume_token(EXPORT);
             exportClause = exportClause();
-                                                       exports.add(exportClause);
-            label_18:
+                                                       add(exports, exportClause);
+            label_23:
             while (true) {
               switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
               case COMMA:
                 ;
                 break;
               default:
-                jj_la1[16] = jj_gen;
-                break label_18;
+                jj_la1[40] = jj_gen;
+                break label_23;
               }
               jj_consume_token(COMMA);
               exportClause = exportClause();
-                                                        exports.add(exportClause);
+                                                        add(exports, exportClause);
             }
             break;
           default:
-            jj_la1[17] = jj_gen;
+            jj_la1[41] = jj_gen;
             jj_consume_token(-1);
             throw new ParseException();
           }
         }
         statement = inStatement();
             out = new FunctorDef(line, name, imports, exports, statement);
-      } else if (jj_2_45(2147483647)) {
+      } else if (jj_2_16(2147483647)) {
         jj_consume_token(CLASS);
-                    line = token.beginLine;
+                    line = token.beginLine();
         jj_consume_token(VARIABLE);
                        name = token.image;
-        label_19:
+        label_24:
         while (true) {
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case ATTR:
@@ -915,26 +1770,26 @@ class JavaCCParser implements JavaCCParserConstants {
             ;
             break;
           default:
-            jj_la1[18] = jj_gen;
-            break label_19;
+            jj_la1[42] = jj_gen;
+            break label_24;
           }
           aDescriptor = classDescriptor();
-                                              descriptors.add(aDescriptor);
+                                              add(descriptors, aDescriptor);
         }
         jj_consume_token(LCURLY);
-        label_20:
+        label_25:
         while (true) {
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case DEFPROC:
             ;
             break;
           default:
-            jj_la1[19] = jj_gen;
-            break label_20;
+            jj_la1[43] = jj_gen;
+            break label_25;
           }
           classElement = classElementDef();
               //if(classElement instanceof MethodDef){
-                methods.add((MethodDef) classElement);
+                add(methods, (MethodDef) classElement);
               //} else if(classElement instanceof ClassDescriptor) {
               //  descriptors.add((ClassDescriptor) classElement);
               //}
@@ -947,7 +1802,7 @@ class JavaCCParser implements JavaCCParserConstants {
         throw new ParseException();
       }
     } catch (ParseException e) {
-       recoverFromError(new int[]{RCURLY}, e);
+       recoverFromError(FOLLOW_BLOCK, Recovery.BODY_END, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -973,42 +1828,27 @@ class JavaCCParser implements JavaCCParserConstants {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case DEFPROC:
         jj_consume_token(DEFPROC);
-                    line = token.beginLine;
+                    line = token.beginLine();
         jj_consume_token(DOLLAR);
         jj_consume_token(LPAREN);
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case FALSE:
-        case NIL:
-        case TRUE:
-        case UNIT:
-        case UNDERSCORE:
-        case LBRACK:
-        case LPAREN:
-        case VARIABLE:
-        case ATOMLISP:
-        case STRING:
-        case CHARACTER:
-        case INT:
-        case FLOAT:
+        if (jj_2_17(1)) {
           aPattern = pattern();
-                                 args.add(aPattern);
-          label_21:
+                                 add(args, aPattern);
+          label_26:
           while (true) {
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
             case COMMA:
               ;
               break;
             default:
-              jj_la1[20] = jj_gen;
-              break label_21;
+              jj_la1[44] = jj_gen;
+              break label_26;
             }
             jj_consume_token(COMMA);
             aPattern = pattern();
-                                           args.add(aPattern);
+                                           add(args, aPattern);
           }
-          break;
-        default:
-          jj_la1[21] = jj_gen;
+        } else {
           ;
         }
         jj_consume_token(RPAREN);
@@ -1017,51 +1857,36 @@ class JavaCCParser implements JavaCCParserConstants {
         break;
       case DEF:
         jj_consume_token(DEF);
-                  line = token.beginLine;
+                  line = token.beginLine();
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case LAZY:
           jj_consume_token(LAZY);
                     lazy = true;
           break;
         default:
-          jj_la1[22] = jj_gen;
+          jj_la1[45] = jj_gen;
           ;
         }
         jj_consume_token(DOLLAR);
         jj_consume_token(LPAREN);
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case FALSE:
-        case NIL:
-        case TRUE:
-        case UNIT:
-        case UNDERSCORE:
-        case LBRACK:
-        case LPAREN:
-        case VARIABLE:
-        case ATOMLISP:
-        case STRING:
-        case CHARACTER:
-        case INT:
-        case FLOAT:
+        if (jj_2_18(1)) {
           aPattern = pattern();
-                                 args.add(aPattern);
-          label_22:
+                                 add(args, aPattern);
+          label_27:
           while (true) {
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
             case COMMA:
               ;
               break;
             default:
-              jj_la1[23] = jj_gen;
-              break label_22;
+              jj_la1[46] = jj_gen;
+              break label_27;
             }
             jj_consume_token(COMMA);
             aPattern = pattern();
-                                           args.add(aPattern);
+                                           add(args, aPattern);
           }
-          break;
-        default:
-          jj_la1[24] = jj_gen;
+        } else {
           ;
         }
         jj_consume_token(RPAREN);
@@ -1070,16 +1895,16 @@ class JavaCCParser implements JavaCCParserConstants {
         break;
       case FUNCTOR:
         jj_consume_token(FUNCTOR);
-                      line = token.beginLine;
+                      line = token.beginLine();
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case DOLLAR:
           jj_consume_token(DOLLAR);
           break;
         default:
-          jj_la1[25] = jj_gen;
+          jj_la1[47] = jj_gen;
           ;
         }
-        label_23:
+        label_28:
         while (true) {
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case EXPORT:
@@ -1087,50 +1912,50 @@ class JavaCCParser implements JavaCCParserConstants {
             ;
             break;
           default:
-            jj_la1[26] = jj_gen;
-            break label_23;
+            jj_la1[48] = jj_gen;
+            break label_28;
           }
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case IMPORT:
             jj_consume_token(IMPORT);
             importClause = importClause();
-                                                       imports.add(importClause);
-            label_24:
+                                                       add(imports, importClause);
+            label_29:
             while (true) {
               switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
               case COMMA:
                 ;
                 break;
               default:
-                jj_la1[27] = jj_gen;
-                break label_24;
+                jj_la1[49] = jj_gen;
+                break label_29;
               }
               jj_consume_token(COMMA);
               importClause = importClause();
-                                                        imports.add(importClause);
+                                                        add(imports, importClause);
             }
             break;
           case EXPORT:
             jj_consume_token(EXPORT);
             exportClause = exportClause();
-                                                       exports.add(exportClause);
-            label_25:
+                                                       add(exports, exportClause);
+            label_30:
             while (true) {
               switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
               case COMMA:
                 ;
                 break;
               default:
-                jj_la1[28] = jj_gen;
-                break label_25;
+                jj_la1[50] = jj_gen;
+                break label_30;
               }
               jj_consume_token(COMMA);
               exportClause = exportClause();
-                                                        exports.add(exportClause);
+                                                        add(exports, exportClause);
             }
             break;
           default:
-            jj_la1[29] = jj_gen;
+            jj_la1[51] = jj_gen;
             jj_consume_token(-1);
             throw new ParseException();
           }
@@ -1140,9 +1965,9 @@ class JavaCCParser implements JavaCCParserConstants {
         break;
       case CLASS:
         jj_consume_token(CLASS);
-                    line = token.beginLine;
+                    line = token.beginLine();
         jj_consume_token(DOLLAR);
-        label_26:
+        label_31:
         while (true) {
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case ATTR:
@@ -1151,22 +1976,22 @@ class JavaCCParser implements JavaCCParserConstants {
             ;
             break;
           default:
-            jj_la1[30] = jj_gen;
-            break label_26;
+            jj_la1[52] = jj_gen;
+            break label_31;
           }
           aDescriptor = classDescriptor();
-                                              descriptors.add(aDescriptor);
+                                              add(descriptors, aDescriptor);
         }
         jj_consume_token(LCURLY);
-        label_27:
+        label_32:
         while (true) {
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case DEFPROC:
             ;
             break;
           default:
-            jj_la1[31] = jj_gen;
-            break label_27;
+            jj_la1[53] = jj_gen;
+            break label_32;
           }
           classElement = classElementDef();
               if(classElement instanceof MethodDef){
@@ -1179,12 +2004,12 @@ class JavaCCParser implements JavaCCParserConstants {
             out = new ClassDefAnonym(line, descriptors, methods, null);
         break;
       default:
-        jj_la1[32] = jj_gen;
+        jj_la1[54] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
     } catch (ParseException e) {
-       recoverFromError(new int[]{RCURLY}, e);
+       recoverFromError(FOLLOW_BLOCK, Recovery.BODY_END, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -1195,11 +2020,11 @@ class JavaCCParser implements JavaCCParserConstants {
     String name = null;
     String label = null;
     Variable var = null;
-    Map<String, Variable> map = new HashMap<String, Variable>();
+    Map<String, Variable> map = new LinkedHashMap<String, Variable>();
     String source = null;
     try {
       jj_consume_token(VARIABLESTRICT);
-                           line = token.beginLine; name = token.image;
+                           line = token.beginLine(); name = token.image;
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case LPAREN:
         jj_consume_token(LPAREN);
@@ -1211,7 +2036,7 @@ class JavaCCParser implements JavaCCParserConstants {
           jj_consume_token(INT);
           break;
         default:
-          jj_la1[33] = jj_gen;
+          jj_la1[55] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
@@ -1220,19 +2045,19 @@ class JavaCCParser implements JavaCCParserConstants {
         case COLON:
           jj_consume_token(COLON);
           jj_consume_token(VARIABLE);
-                                  var = new Variable(token.beginLine, token.image, true, false);
+                                  var = new Variable(token.beginLine(), token.image, true, false);
           break;
         default:
-          jj_la1[34] = jj_gen;
+          jj_la1[56] = jj_gen;
           ;
         }
               map.put(label, var);
-        label_28:
+        label_33:
         while (true) {
-          if (jj_2_46(2147483647)) {
+          if (jj_2_19(2147483647)) {
             ;
           } else {
-            break label_28;
+            break label_33;
           }
           jj_consume_token(COMMA);
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -1243,7 +2068,7 @@ class JavaCCParser implements JavaCCParserConstants {
             jj_consume_token(INT);
             break;
           default:
-            jj_la1[35] = jj_gen;
+            jj_la1[57] = jj_gen;
             jj_consume_token(-1);
             throw new ParseException();
           }
@@ -1252,17 +2077,17 @@ class JavaCCParser implements JavaCCParserConstants {
           case COLON:
             jj_consume_token(COLON);
             jj_consume_token(VARIABLE);
-                                  var = new Variable(token.beginLine, token.image, true, false);
+                                  var = new Variable(token.beginLine(), token.image, true, false);
             break;
           default:
-            jj_la1[36] = jj_gen;
+            jj_la1[58] = jj_gen;
             ;
           }
               map.put(label, var);
         }
         break;
       default:
-        jj_la1[37] = jj_gen;
+        jj_la1[59] = jj_gen;
         ;
       }
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -1272,13 +2097,13 @@ class JavaCCParser implements JavaCCParserConstants {
                           source = token.image;
         break;
       default:
-        jj_la1[38] = jj_gen;
+        jj_la1[60] = jj_gen;
         ;
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
-      {if (true) return new ImportClause(line, name, map, source);}
+      {if (true) return complete(name) ? new ImportClause(line, name, map, source) : null;}
     throw new Error("Missing return statement in function");
   }
 
@@ -1298,23 +2123,23 @@ class JavaCCParser implements JavaCCParserConstants {
           jj_consume_token(INT);
           break;
         default:
-          jj_la1[39] = jj_gen;
+          jj_la1[61] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
-                           line = token.beginLine; label = token.image;
+                           line = token.beginLine(); label = token.image;
         break;
       default:
-        jj_la1[40] = jj_gen;
+        jj_la1[62] = jj_gen;
         ;
       }
       jj_consume_token(VARIABLE);
-          line = (line!=0 ? line : token.beginLine);
-          var = new Variable(token.beginLine, token.image, false, true);
+          line = (line!=0 ? line : token.beginLine());
+          var = new Variable(token.beginLine(), token.image, false, true);
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
-      {if (true) return new ExportClause(line, label, var);}
+      {if (true) return complete(var) ? new ExportClause(line, label, var) : null;}
     throw new Error("Missing return statement in function");
   }
 
@@ -1328,7 +2153,7 @@ class JavaCCParser implements JavaCCParserConstants {
     ClassDescriptor descriptor = null;
     try {
       jj_consume_token(DEFPROC);
-                      line = token.beginLine;
+                      line = token.beginLine();
            Logger.debug("Found a class method declaration");
       aMethodHead = methHead();
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -1338,7 +2163,7 @@ class JavaCCParser implements JavaCCParserConstants {
                                  name = new Variable(line, token.image, true, false);
         break;
       default:
-        jj_la1[41] = jj_gen;
+        jj_la1[63] = jj_gen;
         ;
       }
       //LOOKAHEAD( inExpression() )
@@ -1346,16 +2171,17 @@ class JavaCCParser implements JavaCCParserConstants {
                 //| //TODO find a way to re-add this later-on
                   //LOOKAHEAD( inStatement() )
                   statement = inStatement();
-            out = new MethodDef(line, aMethodHead, name, expression, statement);
+            if (complete(aMethodHead)) {
+              out = new MethodDef(line, aMethodHead, name, expression, statement);
+            }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_STATEMENT, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
   }
 
   final private CaseStatementClause caseStatementClause(boolean firstClausePassed) throws ParseException {
-    int line = 0;
     CaseStatementClause out = null;
     InStatement statement = null;
     Pattern pattern = null;
@@ -1365,8 +2191,7 @@ class JavaCCParser implements JavaCCParserConstants {
     ArrayList<Expression> exprs = new ArrayList<Expression>();
     try {
       pattern = pattern();
-                              line = pattern.line();
-      label_29:
+      label_34:
       while (true) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case LAND:
@@ -1374,8 +2199,8 @@ class JavaCCParser implements JavaCCParserConstants {
           ;
           break;
         default:
-          jj_la1[42] = jj_gen;
-          break label_29;
+          jj_la1[64] = jj_gen;
+          break label_34;
         }
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case LAND:
@@ -1387,25 +2212,27 @@ class JavaCCParser implements JavaCCParserConstants {
                     op = Operator.LOR;
           break;
         default:
-          jj_la1[43] = jj_gen;
+          jj_la1[65] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
         expression = conditionalExpression();
-            ops.add(op); exprs.add(expression);
+            if (complete(expression)) { ops.add(op); exprs.add(expression); }
       }
       jj_consume_token(IMPL);
       statement = inStatement();
-          out = new CaseStatementClause(line, pattern, ops, exprs, statement, !firstClausePassed);
+          if (complete(pattern)) {
+            out = new CaseStatementClause(pattern.line(), pattern, ops, exprs, statement,
+                !firstClausePassed);
+          }
     } catch (ParseException e) {
-       recoverFromError(new int[]{RCURLY}, e);
+       recoverFromError(FOLLOW_CLAUSE, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
   }
 
   final private CaseExpressionClause caseExpressionClause(boolean firstClausePassed) throws ParseException {
-    int line = 0;
     CaseExpressionClause out = null;
     InExpression expression = null;
     Pattern pattern = null;
@@ -1416,13 +2243,16 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering caseExpressionClause()");}
     try {
       pattern = pattern();
-                              line = pattern.line();
-      label_30:
+      label_35:
       while (true) {
-        if (jj_2_47(2147483647)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case LAND:
+        case LOR:
           ;
-        } else {
-          break label_30;
+          break;
+        default:
+          jj_la1[66] = jj_gen;
+          break label_35;
         }
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case LAND:
@@ -1434,18 +2264,21 @@ class JavaCCParser implements JavaCCParserConstants {
                     op = Operator.LOR;
           break;
         default:
-          jj_la1[44] = jj_gen;
+          jj_la1[67] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
         aExpression = expression();
-            ops.add(op); exprs.add(aExpression);
+            if (complete(aExpression)) { ops.add(op); exprs.add(aExpression); }
       }
       jj_consume_token(IMPL);
       expression = inExpression();
-          out = new CaseExpressionClause(line, pattern, ops, exprs, expression, !firstClausePassed);
+          if (complete(pattern)) {
+            out = new CaseExpressionClause(pattern.line(), pattern, ops, exprs, expression,
+                !firstClausePassed);
+          }
     } catch (ParseException e) {
-       recoverFromError(new int[]{RCURLY}, e);
+       recoverFromError(FOLLOW_CLAUSE, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -1458,16 +2291,23 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering assignmentExpression()");}
     try {
       lhs = conditionalExpression();
-                                        line = token.beginLine;
-      if (jj_2_48(2147483647)) {
+                                        line = token.beginLine();
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case ASSIGN:
         jj_consume_token(ASSIGN);
         rhs = assignmentExpression();
-                  lhs = new OperationAssignment(line, lhs, rhs);
-      } else {
+                  if (lhs != null && !(lhs instanceof Variable)) {
+                    reportParserError("Only a variable can be assigned to");
+                  }
+                  lhs = lhs instanceof Variable && complete(rhs)
+                      ? new OperationAssignment(line, lhs, rhs) : null;
+        break;
+      default:
+        jj_la1[68] = jj_gen;
         ;
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return lhs;}
     throw new Error("Missing return statement in function");
@@ -1481,12 +2321,12 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering assignmentStatement()");}
     try {
       jj_consume_token(VARIABLE);
-          lhs = new Variable(token.beginLine, token.image, false, false);
+          lhs = new Variable(token.beginLine(), token.image, false, false);
       jj_consume_token(ASSIGN);
       rhs = expression();
-          out = new OperationAssignment(line, lhs, rhs);
+          if (complete(rhs)) { out = new OperationAssignment(line, lhs, rhs); }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_STATEMENT, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -1499,7 +2339,7 @@ class JavaCCParser implements JavaCCParserConstants {
     try {
       lhs = conditionalOrExpression();
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return lhs;}
     throw new Error("Missing return statement in function");
@@ -1512,20 +2352,23 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering conditionalOrExpression()");}
     try {
       lhs = conditionalAndExpression();
-                                           line = token.beginLine;
-      label_31:
+                                           line = token.beginLine();
+      label_36:
       while (true) {
-        if (jj_2_49(2147483647)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case LOR:
           ;
-        } else {
-          break label_31;
+          break;
+        default:
+          jj_la1[69] = jj_gen;
+          break label_36;
         }
         jj_consume_token(LOR);
         rhs = conditionalAndExpression();
-              lhs = new OperationLogicalOr(line, lhs, rhs);
+              lhs = complete(lhs, rhs) ? new OperationLogicalOr(line, lhs, rhs) : null;
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return lhs;}
     throw new Error("Missing return statement in function");
@@ -1538,20 +2381,23 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering conditionalAndExpression()");}
     try {
       lhs = equalityExpression();
-                                     line = token.beginLine;
-      label_32:
+                                     line = token.beginLine();
+      label_37:
       while (true) {
-        if (jj_2_50(2147483647)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case LAND:
           ;
-        } else {
-          break label_32;
+          break;
+        default:
+          jj_la1[70] = jj_gen;
+          break label_37;
         }
         jj_consume_token(LAND);
         rhs = equalityExpression();
-              lhs = new OperationLogicalAnd(line, lhs, rhs);
+              lhs = complete(lhs, rhs) ? new OperationLogicalAnd(line, lhs, rhs) : null;
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return lhs;}
     throw new Error("Missing return statement in function");
@@ -1564,20 +2410,23 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering equalityExpression()");}
     try {
       lhs = relationalExpression();
-                                       line = token.beginLine;
-      label_33:
+                                       line = token.beginLine();
+      label_38:
       while (true) {
-        if (jj_2_51(2147483647)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case EQUAL:
           ;
-        } else {
-          break label_33;
+          break;
+        default:
+          jj_la1[71] = jj_gen;
+          break label_38;
         }
         jj_consume_token(EQUAL);
         rhs = relationalExpression();
-              lhs = new OperationEqual(line, lhs, rhs);
+              lhs = complete(lhs, rhs) ? new OperationEqual(line, lhs, rhs) : null;
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return lhs;}
     throw new Error("Missing return statement in function");
@@ -1590,39 +2439,45 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering relationalExpression()");}
     try {
       lhs = additiveExpression();
-                                     line = token.beginLine;
-      if (jj_2_52(2147483647)) {
+                                     line = token.beginLine();
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case LT:
+      case GT:
+      case LE:
+      case GE:
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case GT:
           jj_consume_token(GT);
           rhs = additiveExpression();
-                                               lhs = new OperationGreaterThan(line, lhs, rhs);
+                  lhs = complete(lhs, rhs) ? new OperationGreaterThan(line, lhs, rhs) : null;
           break;
         case GE:
           jj_consume_token(GE);
           rhs = additiveExpression();
-                                                lhs = new OperationGreaterEqual(line, lhs, rhs);
+                  lhs = complete(lhs, rhs) ? new OperationGreaterEqual(line, lhs, rhs) : null;
           break;
         case LT:
           jj_consume_token(LT);
           rhs = additiveExpression();
-                                                lhs = new OperationSmallerThan(line, lhs, rhs);
+                  lhs = complete(lhs, rhs) ? new OperationSmallerThan(line, lhs, rhs) : null;
           break;
         case LE:
           jj_consume_token(LE);
           rhs = additiveExpression();
-                                                lhs = new OperationSmallerEqual(line, lhs, rhs);
+                  lhs = complete(lhs, rhs) ? new OperationSmallerEqual(line, lhs, rhs) : null;
           break;
         default:
-          jj_la1[45] = jj_gen;
+          jj_la1[72] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
-      } else {
+        break;
+      default:
+        jj_la1[73] = jj_gen;
         ;
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return lhs;}
     throw new Error("Missing return statement in function");
@@ -1635,34 +2490,38 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering additiveExpression()");}
     try {
       lhs = multiplicativeExpression();
-                                           line = token.beginLine;
-      label_34:
+                                           line = token.beginLine();
+      label_39:
       while (true) {
-        if (jj_2_53(2147483647)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case MINUS:
+        case PLUS:
           ;
-        } else {
-          break label_34;
+          break;
+        default:
+          jj_la1[74] = jj_gen;
+          break label_39;
         }
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case PLUS:
           jj_consume_token(PLUS);
           rhs = multiplicativeExpression();
               Logger.debug("Found an additiveExpression");
-              lhs = new OperationPlus(line, lhs, rhs);
+              lhs = complete(lhs, rhs) ? new OperationPlus(line, lhs, rhs) : null;
           break;
         case MINUS:
           jj_consume_token(MINUS);
           rhs = multiplicativeExpression();
-                  lhs = new OperationMinus(line, lhs, rhs);
+                  lhs = complete(lhs, rhs) ? new OperationMinus(line, lhs, rhs) : null;
           break;
         default:
-          jj_la1[46] = jj_gen;
+          jj_la1[75] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return lhs;}
     throw new Error("Missing return statement in function");
@@ -1675,38 +2534,43 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering multiplicativeExpression()");}
     try {
       lhs = unaryExpression();
-                                  line = token.beginLine;
-      label_35:
+                                  line = token.beginLine();
+      label_40:
       while (true) {
-        if (jj_2_54(2147483647)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case STAR:
+        case SLASH:
+        case MODULO:
           ;
-        } else {
-          break label_35;
+          break;
+        default:
+          jj_la1[76] = jj_gen;
+          break label_40;
         }
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case STAR:
           jj_consume_token(STAR);
           rhs = unaryExpression();
-                  lhs = new OperationMultiplication(line, lhs, rhs);
+                  lhs = complete(lhs, rhs) ? new OperationMultiplication(line, lhs, rhs) : null;
           break;
         case SLASH:
           jj_consume_token(SLASH);
           rhs = unaryExpression();
-                  lhs = new OperationDivision(line, lhs, rhs);
+                  lhs = complete(lhs, rhs) ? new OperationDivision(line, lhs, rhs) : null;
           break;
         case MODULO:
           jj_consume_token(MODULO);
           rhs = unaryExpression();
-                  lhs = new OperationModulo(line, lhs, rhs);
+                  lhs = complete(lhs, rhs) ? new OperationModulo(line, lhs, rhs) : null;
           break;
         default:
-          jj_la1[47] = jj_gen;
+          jj_la1[77] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return lhs;}
     throw new Error("Missing return statement in function");
@@ -1718,30 +2582,42 @@ class JavaCCParser implements JavaCCParserConstants {
     Expression expr2 = null;
     {Logger.debug("Entering unaryExpression()");}
     try {
-      if (jj_2_55(2147483647)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case FALSE:
+      case NIL:
+      case SUPER:
+      case THIS:
+      case TRUE:
+      case UNIT:
+      case LNOT:
+      case UNDERSCORE:
+      case LPAREN:
+      case VARIABLE:
+      case STRING:
+      case CHARACTER:
+      case INT:
+      case FLOAT:
         expr = simpleUnaryExpression();
-      } else {
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case PLUS:
-          jj_consume_token(PLUS);
-                  line = token.beginLine;
-          expr2 = unaryExpression();
-              expr = new OperationValidate(line, expr2);
-          break;
-        case MINUS:
-          jj_consume_token(MINUS);
-                    line = token.beginLine;
-          expr2 = unaryExpression();
-              expr = new OperationNegate(line, expr2);
-          break;
-        default:
-          jj_la1[48] = jj_gen;
-          jj_consume_token(-1);
-          throw new ParseException();
-        }
+        break;
+      case PLUS:
+        jj_consume_token(PLUS);
+                  line = token.beginLine();
+        expr2 = unaryExpression();
+              expr = complete(expr2) ? new OperationValidate(line, expr2) : null;
+        break;
+      case MINUS:
+        jj_consume_token(MINUS);
+                    line = token.beginLine();
+        expr2 = unaryExpression();
+              expr = complete(expr2) ? new OperationNegate(line, expr2) : null;
+        break;
+      default:
+        jj_la1[78] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return expr;}
     throw new Error("Missing return statement in function");
@@ -1752,19 +2628,35 @@ class JavaCCParser implements JavaCCParserConstants {
     Expression expr = null;
     Expression expr2 = null;
     try {
-      if (jj_2_56(2147483647)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case FALSE:
+      case NIL:
+      case SUPER:
+      case THIS:
+      case TRUE:
+      case UNIT:
+      case UNDERSCORE:
+      case LPAREN:
+      case VARIABLE:
+      case STRING:
+      case CHARACTER:
+      case INT:
+      case FLOAT:
         expr = postfixExpression();
-      } else if (jj_2_57(2147483647)) {
+        break;
+      case LNOT:
         jj_consume_token(LNOT);
-                 line = token.beginLine;
+                 line = token.beginLine();
         expr2 = unaryExpression();
-          expr = new OperationLogicalNot(line, expr2);
-      } else {
+          expr = complete(expr2) ? new OperationLogicalNot(line, expr2) : null;
+        break;
+      default:
+        jj_la1[79] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return expr;}
     throw new Error("Missing return statement in function");
@@ -1779,7 +2671,7 @@ class JavaCCParser implements JavaCCParserConstants {
     try {
       out = primary();
     } catch (ParseException e) {
-        recoverFromError( new int[]{RCURLY}, e );
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -1795,285 +2687,221 @@ class JavaCCParser implements JavaCCParserConstants {
     ArrayList<Expression> args = new ArrayList<Expression>();
     {Logger.debug("Entering primary()");}
     try {
-      if (jj_2_61(2147483647)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case LPAREN:
         out = parExpression();
-      } else if (jj_2_62(2147483647)) {
+        break;
+      case UNIT:
         jj_consume_token(UNIT);
-                                       out = new Literal(token.beginLine, Type.UNIT, false);
-      } else if (jj_2_63(2147483647)) {
+                   out = new Literal(token.beginLine(), Type.UNIT, false);
+        break;
+      case TRUE:
         jj_consume_token(TRUE);
-                                       out = new Literal(token.beginLine, Type.BOOLEAN, true, false);
-      } else if (jj_2_64(2147483647)) {
+                   out = new Literal(token.beginLine(), Type.BOOLEAN, true, false);
+        break;
+      case FALSE:
         jj_consume_token(FALSE);
-                                         out = new Literal(token.beginLine, Type.BOOLEAN, false, false);
-      } else if (jj_2_65(2147483647)) {
+                    out = new Literal(token.beginLine(), Type.BOOLEAN, false, false);
+        break;
+      case UNDERSCORE:
         jj_consume_token(UNDERSCORE);
-                                                   out = new Literal(token.beginLine, Type.UNDERSCORE, false);
-      } else if (jj_2_66(2147483647)) {
+                         out = new Literal(token.beginLine(), Type.UNDERSCORE, false);
+        break;
+      case NIL:
         jj_consume_token(NIL);
-                                     out = new Literal(token.beginLine, Type.NIL, false);
-      } else if (jj_2_67(2147483647)) {
+                  out = new Literal(token.beginLine(), Type.NIL, false);
+        break;
+      case INT:
         jj_consume_token(INT);
-                                     out = new Literal(token.beginLine, Type.INT, token.image, false);
-      } else if (jj_2_68(2147483647)) {
+                  out = new Literal(token.beginLine(), Type.INT, token.image, false);
+        break;
+      case FLOAT:
         jj_consume_token(FLOAT);
-                                         out = new Literal(token.beginLine, Type.FLOAT, token.image, false);
-      } else if (jj_2_69(2147483647)) {
+                    out = new Literal(token.beginLine(), Type.FLOAT, token.image, false);
+        break;
+      case CHARACTER:
         jj_consume_token(CHARACTER);
-                                                 out = new Literal(token.beginLine, Type.CHAR, token.image, false);
-      } else if (jj_2_70(2147483647)) {
+                        out = new Literal(token.beginLine(), Type.CHAR, token.image, false);
+        break;
+      case STRING:
         jj_consume_token(STRING);
-                                           out = new Literal(token.beginLine, Type.STRING, token.image, false);
-      } else if (jj_2_71(2147483647)) {
-        jj_consume_token(VARIABLE);
-                       variable = new Variable(token.beginLine, token.image, false, false);
-        jj_consume_token(DOT);
-        jj_consume_token(VARIABLE);
+                     out = new Literal(token.beginLine(), Type.STRING, token.image, false);
+        break;
+      default:
+        jj_la1[88] = jj_gen;
+        if (jj_2_24(2147483647)) {
+          jj_consume_token(VARIABLE);
+                       variable = new Variable(token.beginLine(), token.image, false, false);
+          jj_consume_token(DOT);
+          jj_consume_token(VARIABLE);
             name = token.image;
             out = new ExpressionSelectionFeature(line, variable, name);
-        if (jj_2_58(2147483647)) {
-          jj_consume_token(LPAREN);
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-          case CLASS:
-          case DEF:
-          case DEFPROC:
-          case FALSE:
-          case FUNCTOR:
-          case IF:
-          case MATCH:
-          case NIL:
-          case RAISE:
-          case SUPER:
-          case THIS:
-          case THREAD:
-          case TRUE:
-          case TRY:
-          case UNIT:
-          case LNOT:
-          case MINUS:
-          case PLUS:
-          case UNDERSCORE:
-          case DOLLAR:
-          case LBRACK:
-          case LCURLY:
           case LPAREN:
-          case VARIABLE:
-          case ATOMLISP:
-          case STRING:
-          case CHARACTER:
-          case INT:
-          case FLOAT:
-            arg = expression();
-                                     args.add(arg);
-            label_36:
+            jj_consume_token(LPAREN);
+            if (jj_2_20(1)) {
+              arg = expression();
+                                     add(args, arg);
+              label_41:
+              while (true) {
+                switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+                case COMMA:
+                  ;
+                  break;
+                default:
+                  jj_la1[80] = jj_gen;
+                  break label_41;
+                }
+                jj_consume_token(COMMA);
+                arg = expression();
+                                               add(args, arg);
+              }
+            } else {
+              ;
+            }
+            jj_consume_token(RPAREN);
+                out = new ExpressionSelectionMethod(line, variable, name, args);
+            break;
+          default:
+            jj_la1[81] = jj_gen;
+            ;
+          }
+        } else if (jj_2_25(2147483647)) {
+          jj_consume_token(VARIABLE);
+                       line = token.beginLine(); name = token.image;
+            if (Logger.isDebugEnabled()) { Logger.debug("Found a CallFunction to "+name+" at line "+line); }
+          jj_consume_token(LPAREN);
+          if (jj_2_21(1)) {
+            expr = expression();
+                                  add(args, expr);
+            label_42:
             while (true) {
               switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
               case COMMA:
                 ;
                 break;
               default:
-                jj_la1[49] = jj_gen;
-                break label_36;
+                jj_la1[82] = jj_gen;
+                break label_42;
               }
               jj_consume_token(COMMA);
-              arg = expression();
-                                               args.add(arg);
+              expr = expression();
+                                            add(args, expr);
             }
-            break;
-          default:
-            jj_la1[50] = jj_gen;
+          } else {
             ;
           }
           jj_consume_token(RPAREN);
-                out = new ExpressionSelectionMethod(line, variable, name, args);
+            out = new CallFunction(line, name, args);
         } else {
-          ;
-        }
-      } else if (jj_2_72(2147483647)) {
-        jj_consume_token(VARIABLE);
-                       line = token.beginLine; name = token.image;
-            Logger.debug("Found a CallFunction to "+name+" at line "+line);
-        jj_consume_token(LPAREN);
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case CLASS:
-        case DEF:
-        case DEFPROC:
-        case FALSE:
-        case FUNCTOR:
-        case IF:
-        case MATCH:
-        case NIL:
-        case RAISE:
-        case SUPER:
-        case THIS:
-        case THREAD:
-        case TRUE:
-        case TRY:
-        case UNIT:
-        case LNOT:
-        case MINUS:
-        case PLUS:
-        case UNDERSCORE:
-        case DOLLAR:
-        case LBRACK:
-        case LCURLY:
-        case LPAREN:
-        case VARIABLE:
-        case ATOMLISP:
-        case STRING:
-        case CHARACTER:
-        case INT:
-        case FLOAT:
-          expr = expression();
-                                  args.add(expr);
-          label_37:
-          while (true) {
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case THIS:
+            jj_consume_token(THIS);
+                   line = token.beginLine(); out = new ThisExpression(line);
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-            case COMMA:
-              ;
+            case DOT:
+              jj_consume_token(DOT);
+              jj_consume_token(VARIABLE);
+                               variable = new Variable(line, token.image, false, false);
+              jj_consume_token(LPAREN);
+              if (jj_2_22(1)) {
+                arg = expression();
+                                     add(args, arg);
+                label_43:
+                while (true) {
+                  switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+                  case COMMA:
+                    ;
+                    break;
+                  default:
+                    jj_la1[83] = jj_gen;
+                    break label_43;
+                  }
+                  jj_consume_token(COMMA);
+                  arg = expression();
+                                                 add(args, arg);
+                }
+              } else {
+                ;
+              }
+              jj_consume_token(RPAREN);
+              out = new Call(line, variable.name(), args);
               break;
             default:
-              jj_la1[51] = jj_gen;
-              break label_37;
+              jj_la1[84] = jj_gen;
+              ;
             }
-            jj_consume_token(COMMA);
-            expr = expression();
-                                            args.add(expr);
-          }
-          break;
-        default:
-          jj_la1[52] = jj_gen;
-          ;
-        }
-        jj_consume_token(RPAREN);
-            out = new CallFunction(line, name, args);
-      } else if (jj_2_73(2147483647)) {
-        jj_consume_token(THIS);
-                   line = token.beginLine; out = new ThisExpression(line);
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case DOT:
-          jj_consume_token(DOT);
-          jj_consume_token(VARIABLE);
-                               variable = new Variable(line, token.image, false, false);
-          jj_consume_token(LPAREN);
-          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-          case CLASS:
-          case DEF:
-          case DEFPROC:
-          case FALSE:
-          case FUNCTOR:
-          case IF:
-          case MATCH:
-          case NIL:
-          case RAISE:
+            break;
           case SUPER:
-          case THIS:
-          case THREAD:
-          case TRUE:
-          case TRY:
-          case UNIT:
-          case LNOT:
-          case MINUS:
-          case PLUS:
-          case UNDERSCORE:
-          case DOLLAR:
-          case LBRACK:
-          case LCURLY:
-          case LPAREN:
-          case VARIABLE:
-          case ATOMLISP:
-          case STRING:
-          case CHARACTER:
-          case INT:
-          case FLOAT:
-            arg = expression();
-                                     args.add(arg);
-            label_38:
-            while (true) {
-              switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-              case COMMA:
-                ;
-                break;
-              default:
-                jj_la1[53] = jj_gen;
-                break label_38;
-              }
-              jj_consume_token(COMMA);
+            jj_consume_token(SUPER);
+                    line = token.beginLine();
+            switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+            case LPAREN:
+              jj_consume_token(LPAREN);
+              jj_consume_token(VARIABLE);
+                                    name = token.image;
+              jj_consume_token(RPAREN);
+              break;
+            default:
+              jj_la1[85] = jj_gen;
+              ;
+            }
+            jj_consume_token(DOT);
+            jj_consume_token(VARIABLE);
+                               variable = new Variable(token.beginLine(), token.image, false, false);
+            jj_consume_token(LPAREN);
+            if (jj_2_23(1)) {
               arg = expression();
-                                                 args.add(arg);
+                                     add(args, arg);
+              label_44:
+              while (true) {
+                switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+                case COMMA:
+                  ;
+                  break;
+                default:
+                  jj_la1[86] = jj_gen;
+                  break label_44;
+                }
+                jj_consume_token(COMMA);
+                arg = expression();
+                                                 add(args, arg);
+              }
+            } else {
+              ;
             }
+            jj_consume_token(RPAREN);
+              out = new Call(line, variable.name(), args, name);
             break;
-          default:
-            jj_la1[54] = jj_gen;
-            ;
-          }
-          jj_consume_token(RPAREN);
-              out = new Call(line, variable.name(), args);
-          break;
-        default:
-          jj_la1[55] = jj_gen;
-          ;
-        }
-      } else if (jj_2_74(2147483647)) {
-        jj_consume_token(SUPER);
-                    line = token.beginLine;
-        if (jj_2_59(2147483647)) {
-          jj_consume_token(LPAREN);
-          jj_consume_token(VARIABLE);
-                                    name = token.image;
-          jj_consume_token(RPAREN);
-        } else {
-          ;
-        }
-        jj_consume_token(DOT);
-        jj_consume_token(VARIABLE);
-                               variable = new Variable(token.beginLine, token.image, false, false);
-        jj_consume_token(LPAREN);
-        if (jj_2_60(2147483647)) {
-          arg = expression();
-                                     args.add(arg);
-          label_39:
-          while (true) {
+          case VARIABLE:
+            jj_consume_token(VARIABLE);
+                       variable = new Variable(token.beginLine(), token.image, false, true); out=variable;
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-            case COMMA:
-              ;
+            case DOT:
+              jj_consume_token(DOT);
+              expr = expression();
+            out = complete(expr) ? new ExpressionSelectionList(line, variable, expr) : null; //TODO make this more generic for all selections
+            if (Logger.isDebugEnabled()) { Logger.debug("Found a list selection arg:"+variable.name()); }
               break;
             default:
-              jj_la1[56] = jj_gen;
-              break label_39;
+              jj_la1[87] = jj_gen;
+              ;
             }
-            jj_consume_token(COMMA);
-            arg = expression();
-                                                 args.add(arg);
+            break;
+          default:
+            jj_la1[89] = jj_gen;
+            jj_consume_token(-1);
+            throw new ParseException();
           }
-        } else {
-          ;
-        }
-        jj_consume_token(RPAREN);
-              out = new Call(line, variable.name(), args, name);
-      } else if (jj_2_75(2147483647)) {
-        jj_consume_token(VARIABLE);
-                       variable = new Variable(token.beginLine, token.image, false, true); out=variable;
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case DOT:
-          jj_consume_token(DOT);
-          expr = expression();
-            out = new ExpressionSelectionList(line, variable, expr); //TODO make this more generic for all selections
-            Logger.debug("Found a list selection arg:"+variable.name());
-          break;
-        default:
-          jj_la1[57] = jj_gen;
-          ;
         }
-      } else {
-        jj_consume_token(-1);
-        throw new ParseException();
       }
     } catch (ParseException e) {
-        recoverFromError( new int[]{RCURLY}, e );
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
-      Logger.debug("Returning primary "+((out instanceof Variable) ? ((Variable)out).name() :
-        ((out instanceof Literal) ? ((Literal)out).image() : "")));
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("Returning primary "+((out instanceof Variable) ? ((Variable)out).name() :
+          ((out instanceof Literal) ? ((Literal)out).image() : "")));
+      }
 
     {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -2085,47 +2913,18 @@ class JavaCCParser implements JavaCCParserConstants {
     String value = null;
     Feature aFeature = null;
     Expression val = null;
-    Map<Feature, Expression> map = new HashMap<Feature, Expression>();
+    Map<Feature, Expression> map = new LinkedHashMap<Feature, Expression>();
     int lostLabelsCounter = 0;
     boolean more = false;
     ArrayList<Expression> args = new ArrayList<Expression>();
     {Logger.debug("Entering term()");}
     try {
-      if (jj_2_79(2147483647)) {
+      if (jj_2_30(2147483647)) {
         jj_consume_token(ATOMLISP);
-                       line = token.beginLine; value = token.image;
+                       line = token.beginLine(); value = token.image;
         jj_consume_token(LPAREN);
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case CLASS:
-        case DEF:
-        case DEFPROC:
-        case FALSE:
-        case FUNCTOR:
-        case IF:
-        case MATCH:
-        case NIL:
-        case RAISE:
-        case SUPER:
-        case THIS:
-        case THREAD:
-        case TRUE:
-        case TRY:
-        case UNIT:
-        case LNOT:
-        case MINUS:
-        case PLUS:
-        case UNDERSCORE:
-        case DOLLAR:
-        case LBRACK:
-        case LCURLY:
-        case LPAREN:
-        case VARIABLE:
-        case ATOMLISP:
-        case STRING:
-        case CHARACTER:
-        case INT:
-        case FLOAT:
-          if (jj_2_76(2147483647)) {
+        if (jj_2_29(1)) {
+          if (jj_2_26(2147483647)) {
             aFeature = feature();
             jj_consume_token(COLON);
               map.put(aFeature, null);
@@ -2139,16 +2938,16 @@ class JavaCCParser implements JavaCCParserConstants {
             } else {
               map.put(aFeature, val);
             }
-          label_40:
+          label_45:
           while (true) {
-            if (jj_2_77(2147483647)) {
+            if (jj_2_27(2147483647)) {
               ;
             } else {
-              break label_40;
+              break label_45;
             }
             jj_consume_token(COMMA);
                      aFeature = null;
-            if (jj_2_78(2147483647)) {
+            if (jj_2_28(2147483647)) {
               aFeature = feature();
               jj_consume_token(COLON);
                 map.put(aFeature, null);
@@ -2170,87 +2969,106 @@ class JavaCCParser implements JavaCCParserConstants {
                                  more = true;
             break;
           default:
-            jj_la1[58] = jj_gen;
+            jj_la1[90] = jj_gen;
             ;
           }
-          break;
-        default:
-          jj_la1[59] = jj_gen;
+        } else {
           ;
         }
         jj_consume_token(RPAREN);
-            out = new Record(line, value, map, more);
-      } else if (jj_2_80(2147483647)) {
+            if (!map.containsValue(null)) { out = new Record(line, value, map, more); }
+      } else if (parenthesized(HASHTAG)) {
         jj_consume_token(LPAREN);
-                     line = token.beginLine;
+                     line = token.beginLine();
         val = expression();
-                               args.add(val);
-        label_41:
+                               add(args, val);
+        label_46:
         while (true) {
           jj_consume_token(HASHTAG);
           val = expression();
-                                          args.add(val);
+                                          add(args, val);
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case HASHTAG:
             ;
             break;
           default:
-            jj_la1[60] = jj_gen;
-            break label_41;
+            jj_la1[91] = jj_gen;
+            break label_46;
           }
         }
         jj_consume_token(RPAREN);
             out = new Tuple(line, args);
-      } else if (jj_2_81(2147483647)) {
+      } else if (parenthesized(COLCOL)) {
         jj_consume_token(LPAREN);
-                     line = token.beginLine;
+                     line = token.beginLine();
         val = expression();
-                               args.add(val);
-        label_42:
+                               add(args, val);
+        label_47:
         while (true) {
           jj_consume_token(COLCOL);
           val = expression();
-                                         args.add(val);
+                                         add(args, val);
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case COLCOL:
             ;
             break;
           default:
-            jj_la1[61] = jj_gen;
-            break label_42;
+            jj_la1[92] = jj_gen;
+            break label_47;
           }
         }
         jj_consume_token(RPAREN);
             out = new List(line, args, true);
-      } else if (jj_2_82(2147483647)) {
-        jj_consume_token(LBRACK);
-                     line = token.beginLine;
-        val = expression();
-                               args.add(val);
-        label_43:
-        while (true) {
-          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-          case COMMA:
-            ;
-            break;
-          default:
-            jj_la1[62] = jj_gen;
-            break label_43;
-          }
-          jj_consume_token(COMMA);
+      } else {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case LBRACK:
+          jj_consume_token(LBRACK);
+                     line = token.beginLine();
           val = expression();
-                                 args.add(val);
-        }
-        jj_consume_token(RBRACK);
+                               add(args, val);
+          label_48:
+          while (true) {
+            switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+            case COMMA:
+              ;
+              break;
+            default:
+              jj_la1[93] = jj_gen;
+              break label_48;
+            }
+            jj_consume_token(COMMA);
+            val = expression();
+                                 add(args, val);
+          }
+          jj_consume_token(RBRACK);
            out = new List(line, args, false);
-      } else if (jj_2_83(2147483647)) {
-        out = assignmentExpression();
-      } else {
-        jj_consume_token(-1);
-        throw new ParseException();
+          break;
+        case FALSE:
+        case NIL:
+        case SUPER:
+        case THIS:
+        case TRUE:
+        case UNIT:
+        case LNOT:
+        case MINUS:
+        case PLUS:
+        case UNDERSCORE:
+        case LPAREN:
+        case VARIABLE:
+        case STRING:
+        case CHARACTER:
+        case INT:
+        case FLOAT:
+          out = assignmentExpression();
+          break;
+        default:
+          jj_la1[94] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -2263,7 +3081,7 @@ class JavaCCParser implements JavaCCParserConstants {
     String value = null;
     Feature aFeature = null;
     Pattern val = null;
-    Map<Feature, Pattern> map = new HashMap<Feature, Pattern>();
+    Map<Feature, Pattern> map = new LinkedHashMap<Feature, Pattern>();
     boolean more = false;
     ArrayList<Pattern> patterns = new ArrayList<Pattern>();
     int lostLabelsCounter = 0;
@@ -2272,63 +3090,50 @@ class JavaCCParser implements JavaCCParserConstants {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case UNIT:
         jj_consume_token(UNIT);
-                   out = new Literal(token.beginLine, Type.UNIT, true);
+                   out = new Literal(token.beginLine(), Type.UNIT, true);
         break;
       case TRUE:
         jj_consume_token(TRUE);
-                   out = new Literal(token.beginLine, Type.BOOLEAN, true, true);
+                   out = new Literal(token.beginLine(), Type.BOOLEAN, true, true);
         break;
       case FALSE:
         jj_consume_token(FALSE);
-                    out = new Literal(token.beginLine, Type.BOOLEAN, false, true);
+                    out = new Literal(token.beginLine(), Type.BOOLEAN, false, true);
         break;
       case UNDERSCORE:
         jj_consume_token(UNDERSCORE);
-                         out = new Literal(token.beginLine, Type.UNDERSCORE, true);
+                         out = new Literal(token.beginLine(), Type.UNDERSCORE, true);
         break;
       case NIL:
         jj_consume_token(NIL);
-                  out = new Literal(token.beginLine, Type.NIL, true);
+                  out = new Literal(token.beginLine(), Type.NIL, true);
         break;
       case INT:
         jj_consume_token(INT);
-                  out = new Literal(token.beginLine, Type.INT, token.image, true);
+                  out = new Literal(token.beginLine(), Type.INT, token.image, true);
         break;
       case FLOAT:
         jj_consume_token(FLOAT);
-                    out = new Literal(token.beginLine, Type.FLOAT, token.image, true);
+                    out = new Literal(token.beginLine(), Type.FLOAT, token.image, true);
         break;
       case CHARACTER:
         jj_consume_token(CHARACTER);
-                        out = new Literal(token.beginLine, Type.CHAR, token.image, true);
+                        out = new Literal(token.beginLine(), Type.CHAR, token.image, true);
         break;
       case STRING:
         jj_consume_token(STRING);
-                     out = new Literal(token.beginLine, Type.STRING, token.image, true);
+                     out = new Literal(token.beginLine(), Type.STRING, token.image, true);
         break;
       case VARIABLE:
         jj_consume_token(VARIABLE);
-                       out = new Variable(token.beginLine, token.image, true, true, false);
+                       out = new Variable(token.beginLine(), token.image, true, true, false);
         break;
       case ATOMLISP:
         jj_consume_token(ATOMLISP);
-                       line = token.beginLine; value = token.image;
+                       line = token.beginLine(); value = token.image;
         jj_consume_token(LPAREN);
-        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case FALSE:
-        case NIL:
-        case TRUE:
-        case UNIT:
-        case UNDERSCORE:
-        case LBRACK:
-        case LPAREN:
-        case VARIABLE:
-        case ATOMLISP:
-        case STRING:
-        case CHARACTER:
-        case INT:
-        case FLOAT:
-          if (jj_2_84(2147483647)) {
+        if (jj_2_34(1)) {
+          if (jj_2_31(2147483647)) {
             aFeature = feature();
             jj_consume_token(COLON);
               map.put(aFeature, null);
@@ -2342,15 +3147,15 @@ class JavaCCParser implements JavaCCParserConstants {
            } else {
                map.put(aFeature, val);
            }
-          label_44:
+          label_49:
           while (true) {
-            if (jj_2_85(2147483647)) {
+            if (jj_2_32(2)) {
               ;
             } else {
-              break label_44;
+              break label_49;
             }
             jj_consume_token(COMMA);
-            if (jj_2_86(2147483647)) {
+            if (jj_2_33(2147483647)) {
               aFeature = feature();
               jj_consume_token(COLON);
                 map.put(aFeature, null);
@@ -2372,94 +3177,98 @@ class JavaCCParser implements JavaCCParserConstants {
                                  more = true;
             break;
           default:
-            jj_la1[63] = jj_gen;
+            jj_la1[95] = jj_gen;
             ;
           }
-          break;
-        default:
-          jj_la1[64] = jj_gen;
+        } else {
           ;
         }
         jj_consume_token(RPAREN);
-             out = new Record(line, value, map, more, true);
+             if (!map.containsValue(null)) { out = new Record(line, value, map, more, true); }
         break;
       default:
-        jj_la1[68] = jj_gen;
-        if (jj_2_87(2147483647)) {
+        jj_la1[99] = jj_gen;
+        if (parenthesized(HASHTAG)) {
           jj_consume_token(LPAREN);
-                     line = token.beginLine;
+                     line = token.beginLine();
           val = pattern();
-                            patterns.add(val);
-          label_45:
+                            add(patterns, val);
+          label_50:
           while (true) {
             jj_consume_token(HASHTAG);
             val = pattern();
-                                       patterns.add(val);
+                                       add(patterns, val);
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
             case HASHTAG:
               ;
               break;
             default:
-              jj_la1[65] = jj_gen;
-              break label_45;
+              jj_la1[96] = jj_gen;
+              break label_50;
             }
           }
           jj_consume_token(RPAREN);
             out = new Tuple(line, patterns, true);
-        } else if (jj_2_88(2147483647)) {
+        } else if (parenthesized(COLCOL)) {
           jj_consume_token(LPAREN);
-                     line = token.beginLine;
+                     line = token.beginLine();
           val = pattern();
-                            patterns.add(val);
-          label_46:
+                            add(patterns, val);
+          label_51:
           while (true) {
             jj_consume_token(COLCOL);
             val = pattern();
-                                      patterns.add(val);
+                                      add(patterns, val);
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
             case COLCOL:
               ;
               break;
             default:
-              jj_la1[66] = jj_gen;
-              break label_46;
+              jj_la1[97] = jj_gen;
+              break label_51;
             }
           }
           jj_consume_token(RPAREN);
             out = new List(line, patterns, true, true); Logger.debug("Returning List pattern");
-        } else if (jj_2_89(2147483647)) {
-          jj_consume_token(LBRACK);
-                     line = token.beginLine;
-          val = pattern();
-                            patterns.add(val);
-          label_47:
-          while (true) {
-            switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-            case COMMA:
-              ;
-              break;
-            default:
-              jj_la1[67] = jj_gen;
-              break label_47;
-            }
-            jj_consume_token(COMMA);
+        } else {
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case LBRACK:
+            jj_consume_token(LBRACK);
+                     line = token.beginLine();
             val = pattern();
-                              patterns.add(val);
-          }
-          jj_consume_token(RBRACK);
+                            add(patterns, val);
+            label_52:
+            while (true) {
+              switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+              case COMMA:
+                ;
+                break;
+              default:
+                jj_la1[98] = jj_gen;
+                break label_52;
+              }
+              jj_consume_token(COMMA);
+              val = pattern();
+                              add(patterns, val);
+            }
+            jj_consume_token(RBRACK);
             out = new List(line, patterns, false, true);
-        } else if (jj_2_90(2147483647)) {
-          jj_consume_token(LPAREN);
-          val = pattern();
+            break;
+          case LPAREN:
+            jj_consume_token(LPAREN);
+            val = pattern();
                             out = val;
-          jj_consume_token(RPAREN);
-        } else {
-          jj_consume_token(-1);
-          throw new ParseException();
+            jj_consume_token(RPAREN);
+            break;
+          default:
+            jj_la1[100] = jj_gen;
+            jj_consume_token(-1);
+            throw new ParseException();
+          }
         }
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -2471,28 +3280,28 @@ class JavaCCParser implements JavaCCParserConstants {
     Declaration out = null;
     Variable variable = null;
     Expression value = null;
-    Map<Variable, Expression> map = new HashMap<Variable, Expression>();
+    Map<Variable, Expression> map = new LinkedHashMap<Variable, Expression>();
     {Logger.debug("Entering declarationPart()");}
     try {
-      if (jj_2_92(2147483647)) {
+      if (jj_2_36(2147483647)) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case VAL:
           jj_consume_token(VAL);
-                line = token.beginLine; constant = true;
+                line = token.beginLine(); constant = true;
           break;
         case VAR:
           jj_consume_token(VAR);
-                line = token.beginLine; constant = false;
+                line = token.beginLine(); constant = false;
           break;
         default:
-          jj_la1[69] = jj_gen;
+          jj_la1[101] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
         jj_consume_token(VARIABLE);
                    variable = new Variable(line, token.image, constant, true, false);
           map.put(variable, null);
-          Logger.debug("Declaring variable "+token.image+" as a constant("+constant+")");
+          if (Logger.isDebugEnabled()) { Logger.debug("Declaring variable "+token.image+" as a constant("+constant+")"); }
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case ASSIGN:
           jj_consume_token(ASSIGN);
@@ -2500,21 +3309,21 @@ class JavaCCParser implements JavaCCParserConstants {
         map.put(variable, value);
           break;
         default:
-          jj_la1[70] = jj_gen;
+          jj_la1[102] = jj_gen;
           ;
         }
-        label_48:
+        label_53:
         while (true) {
-          if (jj_2_91(2147483647)) {
+          if (jj_2_35(2147483647)) {
             ;
           } else {
-            break label_48;
+            break label_53;
           }
           jj_consume_token(COMMA);
           jj_consume_token(VARIABLE);
                              variable = new Variable(line, token.image, constant, true, false);
            map.put(variable, null);
-           Logger.debug("Declaring variable "+token.image+" as a constant("+constant+")");
+           if (Logger.isDebugEnabled()) { Logger.debug("Declaring variable "+token.image+" as a constant("+constant+")"); }
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case ASSIGN:
             jj_consume_token(ASSIGN);
@@ -2522,19 +3331,27 @@ class JavaCCParser implements JavaCCParserConstants {
           map.put(variable, value);
             break;
           default:
-            jj_la1[71] = jj_gen;
+            jj_la1[103] = jj_gen;
             ;
           }
         }
         out = new Declaration(line, map, constant);
-      } else if (jj_2_93(2147483647)) {
-        out = nestDecVariable();
       } else {
-        jj_consume_token(-1);
-        throw new ParseException();
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case CLASS:
+        case DEF:
+        case DEFPROC:
+        case FUNCTOR:
+          out = nestDecVariable();
+          break;
+        default:
+          jj_la1[104] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
       }
     } catch (ParseException e) {
-      recoverFromError(new int[]{RCURLY}, e);
+      recoverFromError(FOLLOW_STATEMENT, e);
     }
     {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -2544,60 +3361,56 @@ class JavaCCParser implements JavaCCParserConstants {
     int line = 0;
     LoopDeclaration out = null;
     Variable var = null;
-    Expression generator = null;
     Expression init = null;
     Expression cond = null;
     Expression step = null;
     Expression end = null;
     try {
-      if (jj_2_94(2147483647)) {
-        jj_consume_token(VARIABLE);
-                     line = token.beginLine; var = new Variable(line, token.image, true, true, false);
-        jj_consume_token(IN);
-        init = expression();
+      jj_consume_token(VARIABLE);
+                     line = token.beginLine(); var = new Variable(line, token.image, true, true, false);
+      jj_consume_token(IN);
+      init = expression();
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case DOTDOT:
         jj_consume_token(DOTDOT);
         end = expression();
-            out = new LoopDeclaration(line, var, init, null, null, end);
+            out = complete(init, end)
+              ? new LoopDeclaration(line, var, init, null, null, end) : null;
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case SEMI:
           jj_consume_token(SEMI);
           step = expression();
-              out = new LoopDeclaration(line, var, init, null, step, end);
+              out = complete(init, step, end)
+                ? new LoopDeclaration(line, var, init, null, step, end) : null;
           break;
         default:
-          jj_la1[72] = jj_gen;
+          jj_la1[105] = jj_gen;
           ;
         }
-      } else if (jj_2_95(2147483647)) {
-        jj_consume_token(VARIABLE);
-                     line = token.beginLine; var = new Variable(line, token.image, true, true, false);
-        jj_consume_token(IN);
-        init = expression();
+        break;
+      case SEMI:
         jj_consume_token(SEMI);
         step = expression();
-            out = new LoopDeclaration(line, var, init, null, step, null);
+            out = complete(init, step)
+              ? new LoopDeclaration(line, var, init, null, step, null) : null;
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case SEMI:
           jj_consume_token(SEMI);
           end = expression();
-              out = new LoopDeclaration(line, var, init, step, end, null);
+              out = complete(init, step, end)
+                ? new LoopDeclaration(line, var, init, step, end, null) : null;
           break;
         default:
-          jj_la1[73] = jj_gen;
+          jj_la1[106] = jj_gen;
           ;
         }
-      } else if (jj_2_96(2147483647)) {
-        jj_consume_token(VARIABLE);
-                     line = token.beginLine; var = new Variable(line, token.image, true, true, false);
-        jj_consume_token(IN);
-        generator = expression();
-            out = new LoopDeclaration(line, var, generator);
-      } else {
-        jj_consume_token(-1);
-        throw new ParseException();
+        break;
+      default:
+        jj_la1[107] = jj_gen;
+            out = complete(init) ? new LoopDeclaration(line, var, init) : null;
       }
     } catch (ParseException e) {
-        recoverFromError( new int[]{RCURLY}, e );
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -2608,11 +3421,11 @@ class JavaCCParser implements JavaCCParserConstants {
     String image = null;
     try {
       jj_consume_token(ATOMLISP);
-                     line = token.beginLine; image = token.image;
+                     line = token.beginLine(); image = token.image;
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
-      {if (true) return new Feature(line, image);}
+      {if (true) return complete(image) ? new Feature(line, image) : null;}
     throw new Error("Missing return statement in function");
   }
 
@@ -2626,18 +3439,18 @@ class JavaCCParser implements JavaCCParserConstants {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case EXTENDS:
         jj_consume_token(EXTENDS);
-                    line = token.beginLine;
+                    line = token.beginLine();
         jj_consume_token(VARIABLE);
                        extensions.add(token.image);
-        label_49:
+        label_54:
         while (true) {
           switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
           case COMMA:
             ;
             break;
           default:
-            jj_la1[74] = jj_gen;
-            break label_49;
+            jj_la1[108] = jj_gen;
+            break label_54;
           }
           jj_consume_token(COMMA);
           jj_consume_token(VARIABLE);
@@ -2647,7 +3460,7 @@ class JavaCCParser implements JavaCCParserConstants {
         break;
       case ATTR:
         jj_consume_token(ATTR);
-                   line = token.beginLine;
+                   line = token.beginLine();
         jj_consume_token(VARIABLE);
                        var = new Variable(line, token.image, false, true, false, true);
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -2656,25 +3469,25 @@ class JavaCCParser implements JavaCCParserConstants {
           expr = expression();
           break;
         default:
-          jj_la1[75] = jj_gen;
+          jj_la1[109] = jj_gen;
           ;
         }
             out = new ClassDescriptor(line, SubType.ATTRIBUTE, var, expr);
         break;
       case PROP:
         jj_consume_token(PROP);
-                   line = token.beginLine;
+                   line = token.beginLine();
         jj_consume_token(VARIABLE);
             var = new Variable(line, token.image, true, false);
             out = new ClassDescriptor(line, SubType.PROPERTY, var, null);
         break;
       default:
-        jj_la1[76] = jj_gen;
+        jj_la1[110] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
       {if (true) return out;}
     throw new Error("Missing return statement in function");
@@ -2689,24 +3502,24 @@ class JavaCCParser implements JavaCCParserConstants {
     {Logger.debug("Entering methHead()");}
     try {
       jj_consume_token(VARIABLE);
-          line = token.beginLine; name = token.image;
+          line = token.beginLine(); name = token.image;
       jj_consume_token(LPAREN);
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case UNDERSCORE:
       case VARIABLE:
       case ATOMLISP:
         arg = methArg();
-                            args.add(arg);
-        label_50:
+                            add(args, arg);
+        label_55:
         while (true) {
-          if (jj_2_97(2147483647)) {
+          if (jj_2_37(2147483647)) {
             ;
           } else {
-            break label_50;
+            break label_55;
           }
           jj_consume_token(COMMA);
           arg = methArg();
-                                      args.add(arg);
+                                      add(args, arg);
         }
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case COMMA:
@@ -2715,19 +3528,19 @@ class JavaCCParser implements JavaCCParserConstants {
               moreArgs = true;
           break;
         default:
-          jj_la1[77] = jj_gen;
+          jj_la1[111] = jj_gen;
           ;
         }
         break;
       default:
-        jj_la1[78] = jj_gen;
+        jj_la1[112] = jj_gen;
         ;
       }
       jj_consume_token(RPAREN);
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
-      {if (true) return new MethodHead(line, name, args, moreArgs);}
+      {if (true) return complete(name) ? new MethodHead(line, name, args, moreArgs) : null;}
     throw new Error("Missing return statement in function");
   }
 
@@ -2741,24 +3554,23 @@ class JavaCCParser implements JavaCCParserConstants {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case ATOMLISP:
         feature = feature();
-                              feature.line();
         jj_consume_token(COLON);
         break;
       default:
-        jj_la1[79] = jj_gen;
+        jj_la1[113] = jj_gen;
         ;
       }
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case VARIABLE:
         jj_consume_token(VARIABLE);
-                       name = token.image; Logger.debug("Found methArg called "+name);
+                       name = token.image; if (Logger.isDebugEnabled()) { Logger.debug("Found methArg called "+name); }
         break;
       case UNDERSCORE:
         jj_consume_token(UNDERSCORE);
                            name = token.image;
         break;
       default:
-        jj_la1[80] = jj_gen;
+        jj_la1[114] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -2768,13 +3580,13 @@ class JavaCCParser implements JavaCCParserConstants {
         defaultValue = expression();
         break;
       default:
-        jj_la1[81] = jj_gen;
+        jj_la1[115] = jj_gen;
         ;
       }
     } catch (ParseException e) {
-        recoverFromError(new int[]{RCURLY}, e);
+        recoverFromError(FOLLOW_EXPRESSION, e);
     }
-      {if (true) return new MethodArg(line, feature, name, defaultValue);}
+      {if (true) return complete(name) ? new MethodArg(line, feature, name, defaultValue) : null;}
     throw new Error("Missing return statement in function");
   }
 
@@ -2967,2764 +3779,296 @@ class JavaCCParser implements JavaCCParserConstants {
     finally { jj_save(26, xla); }
   }
 
-  private boolean jj_2_28(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_28(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(27, xla); }
-  }
-
-  private boolean jj_2_29(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_29(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(28, xla); }
-  }
-
-  private boolean jj_2_30(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_30(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(29, xla); }
-  }
-
-  private boolean jj_2_31(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_31(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(30, xla); }
-  }
-
-  private boolean jj_2_32(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_32(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(31, xla); }
-  }
-
-  private boolean jj_2_33(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_33(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(32, xla); }
-  }
-
-  private boolean jj_2_34(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_34(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(33, xla); }
-  }
-
-  private boolean jj_2_35(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_35(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(34, xla); }
-  }
-
-  private boolean jj_2_36(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_36(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(35, xla); }
-  }
-
-  private boolean jj_2_37(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_37(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(36, xla); }
-  }
-
-  private boolean jj_2_38(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_38(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(37, xla); }
-  }
-
-  private boolean jj_2_39(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_39(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(38, xla); }
-  }
-
-  private boolean jj_2_40(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_40(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(39, xla); }
-  }
-
-  private boolean jj_2_41(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_41(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(40, xla); }
-  }
-
-  private boolean jj_2_42(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_42(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(41, xla); }
-  }
-
-  private boolean jj_2_43(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_43(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(42, xla); }
-  }
-
-  private boolean jj_2_44(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_44(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(43, xla); }
-  }
-
-  private boolean jj_2_45(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_45(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(44, xla); }
-  }
-
-  private boolean jj_2_46(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_46(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(45, xla); }
-  }
-
-  private boolean jj_2_47(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_47(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(46, xla); }
-  }
-
-  private boolean jj_2_48(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_48(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(47, xla); }
-  }
-
-  private boolean jj_2_49(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_49(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(48, xla); }
-  }
-
-  private boolean jj_2_50(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_50(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(49, xla); }
-  }
-
-  private boolean jj_2_51(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_51(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(50, xla); }
-  }
-
-  private boolean jj_2_52(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_52(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(51, xla); }
-  }
-
-  private boolean jj_2_53(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_53(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(52, xla); }
-  }
-
-  private boolean jj_2_54(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_54(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(53, xla); }
-  }
-
-  private boolean jj_2_55(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_55(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(54, xla); }
-  }
-
-  private boolean jj_2_56(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_56(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(55, xla); }
-  }
-
-  private boolean jj_2_57(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_57(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(56, xla); }
-  }
-
-  private boolean jj_2_58(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_58(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(57, xla); }
-  }
-
-  private boolean jj_2_59(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_59(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(58, xla); }
-  }
-
-  private boolean jj_2_60(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_60(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(59, xla); }
-  }
-
-  private boolean jj_2_61(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_61(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(60, xla); }
-  }
-
-  private boolean jj_2_62(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_62(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(61, xla); }
-  }
-
-  private boolean jj_2_63(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_63(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(62, xla); }
-  }
-
-  private boolean jj_2_64(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_64(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(63, xla); }
-  }
-
-  private boolean jj_2_65(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_65(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(64, xla); }
-  }
-
-  private boolean jj_2_66(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_66(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(65, xla); }
-  }
-
-  private boolean jj_2_67(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_67(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(66, xla); }
-  }
-
-  private boolean jj_2_68(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_68(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(67, xla); }
-  }
-
-  private boolean jj_2_69(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_69(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(68, xla); }
-  }
-
-  private boolean jj_2_70(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_70(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(69, xla); }
-  }
-
-  private boolean jj_2_71(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_71(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(70, xla); }
-  }
-
-  private boolean jj_2_72(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_72(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(71, xla); }
-  }
-
-  private boolean jj_2_73(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_73(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(72, xla); }
-  }
-
-  private boolean jj_2_74(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_74(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(73, xla); }
-  }
-
-  private boolean jj_2_75(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_75(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(74, xla); }
-  }
-
-  private boolean jj_2_76(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_76(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(75, xla); }
-  }
-
-  private boolean jj_2_77(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_77(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(76, xla); }
-  }
-
-  private boolean jj_2_78(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_78(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(77, xla); }
-  }
-
-  private boolean jj_2_79(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_79(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(78, xla); }
-  }
-
-  private boolean jj_2_80(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_80(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(79, xla); }
-  }
-
-  private boolean jj_2_81(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_81(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(80, xla); }
-  }
-
-  private boolean jj_2_82(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_82(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(81, xla); }
-  }
-
-  private boolean jj_2_83(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_83(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(82, xla); }
-  }
-
-  private boolean jj_2_84(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_84(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(83, xla); }
-  }
-
-  private boolean jj_2_85(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_85(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(84, xla); }
-  }
-
-  private boolean jj_2_86(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_86(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(85, xla); }
-  }
-
-  private boolean jj_2_87(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_87(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(86, xla); }
-  }
-
-  private boolean jj_2_88(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_88(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(87, xla); }
-  }
-
-  private boolean jj_2_89(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_89(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(88, xla); }
-  }
-
-  private boolean jj_2_90(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_90(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(89, xla); }
-  }
-
-  private boolean jj_2_91(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_91(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(90, xla); }
-  }
-
-  private boolean jj_2_92(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_92(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(91, xla); }
-  }
-
-  private boolean jj_2_93(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_93(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(92, xla); }
-  }
-
-  private boolean jj_2_94(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_94(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(93, xla); }
-  }
-
-  private boolean jj_2_95(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_95(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(94, xla); }
-  }
-
-  private boolean jj_2_96(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_96(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(95, xla); }
-  }
-
-  private boolean jj_2_97(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_97(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(96, xla); }
-  }
-
-  private boolean jj_3_40() {
-    if (jj_scan_token(RAISE)) return true;
-    return false;
-  }
-
-  private boolean jj_3_36() {
-    if (jj_scan_token(FINALLY)) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_77() {
-    if (jj_3R_121()) return true;
-    return false;
-  }
-
-  private boolean jj_3_34() {
-    if (jj_scan_token(CASE)) return true;
-    if (jj_3R_65()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_160() {
-    if (jj_scan_token(THREAD)) return true;
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3_35() {
-    if (jj_scan_token(CATCH)) return true;
-    if (jj_scan_token(LCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_159() {
-    if (jj_scan_token(RAISE)) return true;
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_228() {
-    if (jj_scan_token(FINALLY)) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_262() {
-    if (jj_scan_token(CASE)) return true;
-    if (jj_3R_65()) return true;
-    return false;
-  }
-
-  private boolean jj_3_39() {
-    if (jj_scan_token(TRY)) return true;
-    return false;
-  }
-
-  private boolean jj_3_57() {
-    if (jj_scan_token(LNOT)) return true;
-    return false;
-  }
-
-  private boolean jj_3_33() {
-    if (jj_scan_token(ELSE)) return true;
-    return false;
-  }
-
-  private boolean jj_3_56() {
-    if (jj_3R_77()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_227() {
-    if (jj_scan_token(CATCH)) return true;
-    if (jj_scan_token(LCURLY)) return true;
-    Token xsp;
-    if (jj_3R_262()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_262()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3_32() {
-    if (jj_scan_token(CASE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_158() {
-    if (jj_scan_token(TRY)) return true;
-    if (jj_3R_68()) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_227()) jj_scanpos = xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_228()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_120() {
-    if (jj_scan_token(LNOT)) return true;
-    if (jj_3R_75()) return true;
-    return false;
-  }
-
-  private boolean jj_3_38() {
-    if (jj_scan_token(MATCH)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_226() {
-    if (jj_scan_token(ELSE)) return true;
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_119() {
-    if (jj_3R_77()) return true;
-    return false;
-  }
-
-  private boolean jj_3_31() {
-    if (jj_scan_token(ELSE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_225() {
-    if (jj_scan_token(CASE)) return true;
-    if (jj_3R_65()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_76() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_119()) {
-    jj_scanpos = xsp;
-    if (jj_3R_120()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3_30() {
-    if (jj_scan_token(ELSE)) return true;
-    if (jj_scan_token(IF)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_157() {
-    if (jj_scan_token(MATCH)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(LCURLY)) return true;
-    Token xsp;
-    if (jj_3R_225()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_225()) { jj_scanpos = xsp; break; }
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_226()) jj_scanpos = xsp;
-    if (jj_scan_token(RCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_224() {
-    if (jj_scan_token(ELSE)) return true;
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3_37() {
-    if (jj_scan_token(IF)) return true;
-    if (jj_3R_67()) return true;
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_223() {
-    if (jj_scan_token(ELSE)) return true;
-    if (jj_scan_token(IF)) return true;
-    if (jj_3R_67()) return true;
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_118() {
-    if (jj_scan_token(MINUS)) return true;
-    if (jj_3R_75()) return true;
-    return false;
-  }
-
-  private boolean jj_3_55() {
-    if (jj_3R_76()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_156() {
-    if (jj_scan_token(IF)) return true;
-    if (jj_3R_67()) return true;
-    if (jj_3R_68()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_223()) { jj_scanpos = xsp; break; }
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_224()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_117() {
-    if (jj_scan_token(PLUS)) return true;
-    if (jj_3R_75()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_94() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_156()) {
-    jj_scanpos = xsp;
-    if (jj_3R_157()) {
-    jj_scanpos = xsp;
-    if (jj_3R_158()) {
-    jj_scanpos = xsp;
-    if (jj_3R_159()) {
-    jj_scanpos = xsp;
-    if (jj_3R_160()) return true;
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_116() {
-    if (jj_3R_76()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_75() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_116()) {
-    jj_scanpos = xsp;
-    if (jj_3R_117()) {
-    jj_scanpos = xsp;
-    if (jj_3R_118()) return true;
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3_54() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(66)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(67)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(68)) return true;
-    }
-    }
-    if (jj_3R_75()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_187() {
-    if (jj_scan_token(MODULO)) return true;
-    if (jj_3R_75()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_186() {
-    if (jj_scan_token(SLASH)) return true;
-    if (jj_3R_75()) return true;
-    return false;
-  }
-
-  private boolean jj_3_29() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(ASSIGN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_185() {
-    if (jj_scan_token(STAR)) return true;
-    if (jj_3R_75()) return true;
-    return false;
-  }
-
-  private boolean jj_3_19() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_115() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_185()) {
-    jj_scanpos = xsp;
-    if (jj_3R_186()) {
-    jj_scanpos = xsp;
-    if (jj_3R_187()) return true;
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3_28() {
-    if (jj_scan_token(LOCK)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_155() {
-    if (jj_3R_222()) return true;
-    return false;
-  }
-
-  private boolean jj_3_27() {
-    if (jj_scan_token(THREAD)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_74() {
-    if (jj_3R_75()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_115()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_221() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3_26() {
-    if (jj_scan_token(RAISE)) return true;
-    return false;
-  }
-
-  private boolean jj_3_18() {
-    if (jj_scan_token(FINALLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_154() {
-    if (jj_scan_token(LOCK)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_221()) jj_scanpos = xsp;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3_16() {
-    if (jj_scan_token(CASE)) return true;
-    if (jj_3R_63()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_153() {
-    if (jj_scan_token(THREAD)) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3_17() {
-    if (jj_scan_token(CATCH)) return true;
-    if (jj_scan_token(LCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_152() {
-    if (jj_scan_token(RAISE)) return true;
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3_53() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(65)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(64)) return true;
-    }
-    if (jj_3R_74()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_220() {
-    if (jj_scan_token(FINALLY)) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_184() {
-    if (jj_scan_token(MINUS)) return true;
-    if (jj_3R_74()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_261() {
-    if (jj_scan_token(CASE)) return true;
-    if (jj_3R_63()) return true;
-    return false;
-  }
-
-  private boolean jj_3_25() {
-    if (jj_scan_token(TRY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_183() {
-    if (jj_scan_token(PLUS)) return true;
-    if (jj_3R_74()) return true;
-    return false;
-  }
-
-  private boolean jj_3_15() {
-    if (jj_3R_62()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_219() {
-    if (jj_scan_token(CATCH)) return true;
-    if (jj_scan_token(LCURLY)) return true;
-    Token xsp;
-    if (jj_3R_261()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_261()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_114() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_183()) {
-    jj_scanpos = xsp;
-    if (jj_3R_184()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3_24() {
-    if (jj_scan_token(FOR)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_151() {
-    if (jj_scan_token(TRY)) return true;
-    if (jj_3R_66()) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_219()) jj_scanpos = xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_220()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3_14() {
-    if (jj_scan_token(ELSE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_73() {
-    if (jj_3R_74()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_114()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_218() {
-    if (jj_3R_62()) return true;
-    return false;
-  }
-
-  private boolean jj_3_13() {
-    if (jj_scan_token(CASE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_150() {
-    if (jj_scan_token(FOR)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    if (jj_3R_218()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_218()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RPAREN)) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3_23() {
-    if (jj_scan_token(MATCH)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_217() {
-    if (jj_scan_token(ELSE)) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3_12() {
-    if (jj_scan_token(ELSE)) return true;
-    return false;
-  }
-
-  private boolean jj_3_52() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(57)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(59)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(56)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(58)) return true;
-    }
-    }
-    }
-    if (jj_3R_73()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_216() {
-    if (jj_scan_token(CASE)) return true;
-    if (jj_3R_63()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_182() {
-    if (jj_scan_token(LE)) return true;
-    if (jj_3R_73()) return true;
-    return false;
-  }
-
-  private boolean jj_3_11() {
-    if (jj_scan_token(ELSE)) return true;
-    if (jj_scan_token(IF)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_181() {
-    if (jj_scan_token(LT)) return true;
-    if (jj_3R_73()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_180() {
-    if (jj_scan_token(GE)) return true;
-    if (jj_3R_73()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_149() {
-    if (jj_scan_token(MATCH)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(LCURLY)) return true;
-    Token xsp;
-    if (jj_3R_216()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_216()) { jj_scanpos = xsp; break; }
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_217()) jj_scanpos = xsp;
-    if (jj_scan_token(RCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_179() {
-    if (jj_scan_token(GT)) return true;
-    if (jj_3R_73()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_215() {
-    if (jj_scan_token(ELSE)) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3_22() {
-    if (jj_scan_token(IF)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_113() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_179()) {
-    jj_scanpos = xsp;
-    if (jj_3R_180()) {
-    jj_scanpos = xsp;
-    if (jj_3R_181()) {
-    jj_scanpos = xsp;
-    if (jj_3R_182()) return true;
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3_21() {
-    if (jj_scan_token(LCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_214() {
-    if (jj_scan_token(ELSE)) return true;
-    if (jj_scan_token(IF)) return true;
-    if (jj_3R_67()) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_72() {
-    if (jj_3R_73()) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_113()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_148() {
-    if (jj_scan_token(IF)) return true;
-    if (jj_3R_67()) return true;
-    if (jj_3R_66()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_214()) { jj_scanpos = xsp; break; }
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_215()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_140() {
-    if (jj_scan_token(LE)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_139() {
-    if (jj_scan_token(UNDERSCORE)) return true;
-    return false;
-  }
-
-  private boolean jj_3_9() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_147() {
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_174() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_138() {
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3_51() {
-    if (jj_scan_token(EQUAL)) return true;
-    if (jj_3R_72()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_61() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_95()) return true;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3_10() {
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_137() {
-    if (jj_3R_80()) return true;
-    if (jj_scan_token(COLON)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_260() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_102() {
-    if (jj_scan_token(SUPER)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_174()) jj_scanpos = xsp;
-    if (jj_scan_token(DOT)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_85() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_137()) jj_scanpos = xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_138()) {
-    jj_scanpos = xsp;
-    if (jj_3R_139()) return true;
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_140()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_112() {
-    if (jj_scan_token(EQUAL)) return true;
-    if (jj_3R_72()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_213() {
-    if (jj_3R_51()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_260()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_281() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_259() {
-    if (jj_scan_token(SUPER)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_281()) jj_scanpos = xsp;
-    if (jj_scan_token(DOT)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_60() {
-    if (jj_3R_96()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_71() {
-    if (jj_3R_72()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_112()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_258() {
-    if (jj_scan_token(THIS)) return true;
-    if (jj_scan_token(DOT)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_212() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_258()) {
-    jj_scanpos = xsp;
-    if (jj_3R_259()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3R_64() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_101()) {
-    jj_scanpos = xsp;
-    if (jj_3R_102()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3R_101() {
-    if (jj_scan_token(THIS)) return true;
-    if (jj_scan_token(DOT)) return true;
-    return false;
-  }
-
-  private boolean jj_3_97() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_85()) return true;
-    return false;
-  }
-
-  private boolean jj_3_20() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_64()) jj_scanpos = xsp;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_59() {
-    if (jj_3R_95()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_146() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_212()) jj_scanpos = xsp;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    xsp = jj_scanpos;
-    if (jj_3R_213()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3_50() {
-    if (jj_scan_token(LAND)) return true;
-    if (jj_3R_71()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_305() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_scan_token(ELLIPSIS)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_304() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_85()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_93() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_146()) {
-    jj_scanpos = xsp;
-    if (jj_3R_147()) {
-    jj_scanpos = xsp;
-    if (jj_3R_148()) {
-    jj_scanpos = xsp;
-    if (jj_3R_149()) {
-    jj_scanpos = xsp;
-    if (jj_3R_150()) {
-    jj_scanpos = xsp;
-    if (jj_3R_151()) {
-    jj_scanpos = xsp;
-    if (jj_3R_152()) {
-    jj_scanpos = xsp;
-    if (jj_3R_153()) {
-    jj_scanpos = xsp;
-    if (jj_3R_154()) {
-    jj_scanpos = xsp;
-    if (jj_3R_155()) return true;
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_301() {
-    if (jj_3R_85()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_304()) { jj_scanpos = xsp; break; }
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_305()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_111() {
-    if (jj_scan_token(LAND)) return true;
-    if (jj_3R_71()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_70() {
-    if (jj_3R_71()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_111()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_290() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_301()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_58() {
-    if (jj_3R_94()) return true;
-    return false;
-  }
-
-  private boolean jj_3_49() {
-    if (jj_scan_token(LOR)) return true;
-    if (jj_3R_70()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_57() {
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_241() {
-    if (jj_scan_token(LOR)) return true;
-    if (jj_3R_70()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_289() {
-    if (jj_scan_token(PROP)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_300() {
-    if (jj_scan_token(ASSIGN)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_56() {
-    if (jj_3R_93()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_178() {
-    if (jj_3R_70()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_241()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3_8() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(71)) {
-    jj_scanpos = xsp;
-    if (jj_3R_57()) {
-    jj_scanpos = xsp;
-    if (jj_3R_58()) {
-    jj_scanpos = xsp;
-    if (jj_3R_59()) {
-    jj_scanpos = xsp;
-    if (jj_3R_60()) {
-    jj_scanpos = xsp;
-    if (jj_3R_61()) return true;
-    }
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_288() {
-    if (jj_scan_token(ATTR)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_300()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_299() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3_7() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(41)) {
-    jj_scanpos = xsp;
-    if (jj_3R_56()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3_6() {
-    if (jj_3R_55()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_287() {
-    if (jj_scan_token(EXTENDS)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_299()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_108() {
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_270() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_287()) {
-    jj_scanpos = xsp;
-    if (jj_3R_288()) {
-    jj_scanpos = xsp;
-    if (jj_3R_289()) return true;
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_107() {
-    if (jj_3R_177()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_106() {
-    if (jj_3R_55()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_109() {
-    if (jj_3R_178()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_68() {
-    if (jj_scan_token(LCURLY)) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_106()) { jj_scanpos = xsp; break; }
-    }
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_107()) { jj_scanpos = xsp; break; }
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_108()) jj_scanpos = xsp;
-    if (jj_scan_token(RCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_54() {
-    if (jj_3R_69()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_80() {
-    if (jj_scan_token(ATOMLISP)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_222() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(ASSIGN)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_105() {
-    if (jj_3R_177()) return true;
-    return false;
-  }
-
-  private boolean jj_3_96() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(IN)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_104() {
-    if (jj_3R_55()) return true;
-    return false;
-  }
-
-  private boolean jj_3_95() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(IN)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(SEMI)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_171() {
-    if (jj_scan_token(SEMI)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_99() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(IN)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_66() {
-    if (jj_scan_token(LCURLY)) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_104()) { jj_scanpos = xsp; break; }
-    }
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_105()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_53() {
-    if (jj_scan_token(LBRACK)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3_48() {
-    if (jj_scan_token(ASSIGN)) return true;
-    if (jj_3R_69()) return true;
-    return false;
-  }
-
-  private boolean jj_3_94() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(IN)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(DOTDOT)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_170() {
-    if (jj_scan_token(SEMI)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_98() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(IN)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(SEMI)) return true;
-    if (jj_3R_51()) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_171()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_110() {
-    if (jj_scan_token(ASSIGN)) return true;
-    if (jj_3R_69()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_97() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(IN)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(DOTDOT)) return true;
-    if (jj_3R_51()) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_170()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_69() {
-    if (jj_3R_109()) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_110()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_62() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_97()) {
-    jj_scanpos = xsp;
-    if (jj_3R_98()) {
-    jj_scanpos = xsp;
-    if (jj_3R_99()) return true;
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_52() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_67() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3_5() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(20)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(19)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(29)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(16)) return true;
-    }
-    }
-    }
-    if (jj_scan_token(DOLLAR)) return true;
-    return false;
-  }
-
-  private boolean jj_3_47() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(61)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(62)) return true;
-    }
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3_4() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(91)) {
-    jj_scanpos = xsp;
-    if (jj_3R_52()) {
-    jj_scanpos = xsp;
-    if (jj_3R_53()) {
-    jj_scanpos = xsp;
-    if (jj_3R_54()) return true;
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3_3() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(30)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(35)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(46)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(39)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(44)) return true;
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_176() {
-    if (jj_scan_token(LOR)) return true;
-    return false;
-  }
-
-  private boolean jj_3_2() {
-    if (jj_scan_token(LCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_175() {
-    if (jj_scan_token(LAND)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_90() {
-    if (jj_3R_96()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_103() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_175()) {
-    jj_scanpos = xsp;
-    if (jj_3R_176()) return true;
-    }
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3_1() {
-    if (jj_scan_token(DOLLAR)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_89() {
-    if (jj_3R_95()) return true;
-    return false;
-  }
-
-  private boolean jj_3_93() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(20)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(19)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(16)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(29)) return true;
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_88() {
-    if (jj_3R_94()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_87() {
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_65() {
-    if (jj_3R_84()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_103()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(IMPL)) return true;
-    if (jj_3R_68()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_86() {
-    if (jj_scan_token(DOLLAR)) return true;
-    return false;
-  }
-
-  private boolean jj_3_91() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_92() {
-    if (jj_3R_145()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_207() {
-    if (jj_scan_token(ASSIGN)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_51() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_86()) {
-    jj_scanpos = xsp;
-    if (jj_3R_87()) {
-    jj_scanpos = xsp;
-    if (jj_3R_88()) {
-    jj_scanpos = xsp;
-    if (jj_3R_89()) {
-    jj_scanpos = xsp;
-    if (jj_3R_90()) return true;
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_144() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_207()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3_92() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(48)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(49)) return true;
-    }
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_143() {
-    if (jj_scan_token(ASSIGN)) return true;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_142() {
-    if (jj_scan_token(VAR)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_141() {
-    if (jj_scan_token(VAL)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_173() {
-    if (jj_scan_token(LOR)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_91() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_141()) {
-    jj_scanpos = xsp;
-    if (jj_3R_142()) return true;
-    }
-    if (jj_scan_token(VARIABLE)) return true;
-    xsp = jj_scanpos;
-    if (jj_3R_143()) jj_scanpos = xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_144()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_172() {
-    if (jj_scan_token(LAND)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_100() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_172()) {
-    jj_scanpos = xsp;
-    if (jj_3R_173()) return true;
-    }
-    if (jj_3R_109()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_55() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_91()) {
-    jj_scanpos = xsp;
-    if (jj_3R_92()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3R_240() {
-    if (jj_3R_93()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_63() {
-    if (jj_3R_84()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_100()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(IMPL)) return true;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_239() {
-    if (jj_scan_token(SKP)) return true;
-    return false;
-  }
-
-  private boolean jj_3_90() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_84()) return true;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_177() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_239()) {
-    jj_scanpos = xsp;
-    if (jj_3R_240()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3_89() {
-    if (jj_scan_token(LBRACK)) return true;
-    if (jj_3R_84()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_136() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_84()) return true;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_206() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_84()) return true;
-    return false;
-  }
-
-  private boolean jj_3_88() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_84()) return true;
-    if (jj_scan_token(COLCOL)) return true;
-    if (jj_3R_84()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_135() {
-    if (jj_scan_token(LBRACK)) return true;
-    if (jj_3R_84()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_206()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RBRACK)) return true;
-    return false;
-  }
-
-  private boolean jj_3_87() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_84()) return true;
-    if (jj_scan_token(HASHTAG)) return true;
-    if (jj_3R_84()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_205() {
-    if (jj_scan_token(COLCOL)) return true;
-    if (jj_3R_84()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_291() {
-    if (jj_scan_token(ASSIGN)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_83() {
-    if (jj_3R_80()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_134() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_84()) return true;
-    Token xsp;
-    if (jj_3R_205()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_205()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_204() {
-    if (jj_scan_token(HASHTAG)) return true;
-    if (jj_3R_84()) return true;
-    return false;
-  }
-
-  private boolean jj_3_86() {
-    if (jj_3R_80()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_133() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_84()) return true;
-    Token xsp;
-    if (jj_3R_204()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_204()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_250() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_scan_token(ELLIPSIS)) return true;
-    return false;
-  }
-
-  private boolean jj_3_85() {
-    if (jj_scan_token(COMMA)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_83()) jj_scanpos = xsp;
-    if (jj_3R_84()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_271() {
-    if (jj_scan_token(DEFPROC)) return true;
-    if (jj_3R_290()) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_291()) jj_scanpos = xsp;
-    if (jj_3R_66()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_276() {
-    if (jj_3R_80()) return true;
-    if (jj_scan_token(COLON)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_249() {
-    if (jj_scan_token(COMMA)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_276()) jj_scanpos = xsp;
-    if (jj_3R_84()) return true;
-    return false;
-  }
-
-  private boolean jj_3_84() {
-    if (jj_3R_80()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_248() {
-    if (jj_3R_80()) return true;
-    if (jj_scan_token(COLON)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_203() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_248()) jj_scanpos = xsp;
-    if (jj_3R_84()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_249()) { jj_scanpos = xsp; break; }
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_250()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_298() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(90)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(94)) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3R_132() {
-    if (jj_scan_token(ATOMLISP)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_203()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_131() {
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_130() {
-    if (jj_scan_token(STRING)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_129() {
-    if (jj_scan_token(CHARACTER)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_285() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_298()) jj_scanpos = xsp;
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_128() {
-    if (jj_scan_token(FLOAT)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_127() {
-    if (jj_scan_token(INT)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_126() {
-    if (jj_scan_token(NIL)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_125() {
-    if (jj_scan_token(UNDERSCORE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_124() {
-    if (jj_scan_token(FALSE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_123() {
-    if (jj_scan_token(TRUE)) return true;
-    return false;
-  }
-
-  private boolean jj_3_46() {
-    if (jj_scan_token(COMMA)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(90)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(94)) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3R_122() {
-    if (jj_scan_token(UNIT)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_297() {
-    if (jj_scan_token(FROM)) return true;
-    if (jj_scan_token(ATOM)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_84() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_122()) {
-    jj_scanpos = xsp;
-    if (jj_3R_123()) {
-    jj_scanpos = xsp;
-    if (jj_3R_124()) {
-    jj_scanpos = xsp;
-    if (jj_3R_125()) {
-    jj_scanpos = xsp;
-    if (jj_3R_126()) {
-    jj_scanpos = xsp;
-    if (jj_3R_127()) {
-    jj_scanpos = xsp;
-    if (jj_3R_128()) {
-    jj_scanpos = xsp;
-    if (jj_3R_129()) {
-    jj_scanpos = xsp;
-    if (jj_3R_130()) {
-    jj_scanpos = xsp;
-    if (jj_3R_131()) {
-    jj_scanpos = xsp;
-    if (jj_3R_132()) {
-    jj_scanpos = xsp;
-    if (jj_3R_133()) {
-    jj_scanpos = xsp;
-    if (jj_3R_134()) {
-    jj_scanpos = xsp;
-    if (jj_3R_135()) {
-    jj_scanpos = xsp;
-    if (jj_3R_136()) return true;
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_306() {
-    if (jj_scan_token(COLON)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_303() {
-    if (jj_scan_token(COMMA)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(90)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(94)) return true;
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_306()) jj_scanpos = xsp;
-    return false;
-  }
-
-  private boolean jj_3R_302() {
-    if (jj_scan_token(COLON)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_296() {
-    if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(90)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(94)) return true;
-    }
-    xsp = jj_scanpos;
-    if (jj_3R_302()) jj_scanpos = xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_303()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_82() {
-    if (jj_scan_token(COLCOL)) return true;
-    if (jj_3R_51()) return true;
-    return false;
+  private boolean jj_2_28(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_28(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(27, xla); }
   }
 
-  private boolean jj_3R_283() {
-    if (jj_scan_token(VARIABLESTRICT)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_296()) jj_scanpos = xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_297()) jj_scanpos = xsp;
-    return false;
+  private boolean jj_2_29(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_29(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(28, xla); }
   }
 
-  private boolean jj_3R_81() {
-    if (jj_scan_token(HASHTAG)) return true;
-    if (jj_3R_51()) return true;
-    return false;
+  private boolean jj_2_30(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_30(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(29, xla); }
   }
 
-  private boolean jj_3_83() {
-    if (jj_3R_69()) return true;
-    return false;
+  private boolean jj_2_31(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_31(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(30, xla); }
   }
 
-  private boolean jj_3_82() {
-    if (jj_scan_token(LBRACK)) return true;
-    if (jj_3R_51()) return true;
-    return false;
+  private boolean jj_2_32(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_32(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(31, xla); }
   }
 
-  private boolean jj_3R_165() {
-    if (jj_3R_69()) return true;
-    return false;
+  private boolean jj_2_33(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_33(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(32, xla); }
   }
 
-  private boolean jj_3R_232() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_51()) return true;
-    return false;
+  private boolean jj_2_34(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_34(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(33, xla); }
   }
 
-  private boolean jj_3_81() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
-    Token xsp;
-    if (jj_3R_82()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_82()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
+  private boolean jj_2_35(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_35(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(34, xla); }
   }
 
-  private boolean jj_3R_164() {
-    if (jj_scan_token(LBRACK)) return true;
-    if (jj_3R_51()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_232()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RBRACK)) return true;
-    return false;
+  private boolean jj_2_36(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_36(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(35, xla); }
   }
 
-  private boolean jj_3_80() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
-    Token xsp;
-    if (jj_3R_81()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_81()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RPAREN)) return true;
-    return false;
+  private boolean jj_2_37(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_37(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(36, xla); }
   }
 
-  private boolean jj_3R_231() {
-    if (jj_scan_token(COLCOL)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_117() {
+    if (jj_3R_118()) return true;
     return false;
   }
 
-  private boolean jj_3R_238() {
-    if (jj_3R_271()) return true;
+  private boolean jj_3R_114() {
+    if (jj_scan_token(CLASS)) return true;
     return false;
   }
 
-  private boolean jj_3R_163() {
+  private boolean jj_3R_145() {
     if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
-    Token xsp;
-    if (jj_3R_231()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_231()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_230() {
-    if (jj_scan_token(HASHTAG)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3_26() {
+    if (jj_3R_66()) return true;
+    if (jj_scan_token(COLON)) return true;
     return false;
   }
 
-  private boolean jj_3R_237() {
-    if (jj_3R_270()) return true;
+  private boolean jj_3_36() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(48)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(49)) return true;
+    }
+    if (jj_scan_token(VARIABLE)) return true;
     return false;
   }
 
-  private boolean jj_3R_162() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3_2() {
     Token xsp;
-    if (jj_3R_230()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_230()) { jj_scanpos = xsp; break; }
+    xsp = jj_scanpos;
+    if (jj_scan_token(20)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(19)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(29)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(16)) return true;
     }
-    if (jj_scan_token(RPAREN)) return true;
+    }
+    }
+    if (jj_scan_token(DOLLAR)) return true;
     return false;
   }
 
-  private boolean jj_3R_286() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_285()) return true;
+  private boolean jj_3_30() {
+    if (jj_scan_token(ATOMLISP)) return true;
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_169() {
-    if (jj_scan_token(CLASS)) return true;
-    if (jj_scan_token(DOLLAR)) return true;
+  private boolean jj_3_37() {
+    if (jj_scan_token(COMMA)) return true;
     Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_237()) { jj_scanpos = xsp; break; }
+    xsp = jj_scanpos;
+    if (jj_scan_token(91)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(89)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(70)) return true;
     }
-    if (jj_scan_token(LCURLY)) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_238()) { jj_scanpos = xsp; break; }
     }
-    if (jj_scan_token(RCURLY)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_265() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_scan_token(ELLIPSIS)) return true;
     return false;
   }
 
-  private boolean jj_3_78() {
-    if (jj_3R_80()) return true;
-    if (jj_scan_token(COLON)) return true;
+  private boolean jj_3R_64() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_80()) {
+    jj_scanpos = xsp;
+    if (jj_3R_81()) return true;
+    }
     return false;
   }
 
-  private boolean jj_3_77() {
-    if (jj_scan_token(COMMA)) return true;
+  private boolean jj_3R_80() {
+    if (jj_scan_token(THIS)) return true;
+    if (jj_scan_token(DOT)) return true;
     return false;
   }
 
-  private boolean jj_3R_284() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_283()) return true;
+  private boolean jj_3R_127() {
+    if (jj_scan_token(LNOT)) return true;
     return false;
   }
 
-  private boolean jj_3R_269() {
-    if (jj_scan_token(EXPORT)) return true;
-    if (jj_3R_285()) return true;
+  private boolean jj_3_7() {
     Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_286()) { jj_scanpos = xsp; break; }
-    }
+    xsp = jj_scanpos;
+    if (jj_3R_64()) jj_scanpos = xsp;
+    if (jj_scan_token(VARIABLE)) return true;
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_282() {
-    if (jj_3R_80()) return true;
-    if (jj_scan_token(COLON)) return true;
+  private boolean jj_3R_126() {
+    if (jj_3R_128()) return true;
     return false;
   }
 
-  private boolean jj_3R_268() {
-    if (jj_scan_token(IMPORT)) return true;
-    if (jj_3R_283()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_284()) { jj_scanpos = xsp; break; }
-    }
+  private boolean jj_3R_67() {
+    if (jj_3R_66()) return true;
     return false;
   }
 
-  private boolean jj_3R_236() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_268()) {
-    jj_scanpos = xsp;
-    if (jj_3R_269()) return true;
-    }
+  private boolean jj_3R_113() {
+    if (jj_scan_token(FUNCTOR)) return true;
     return false;
   }
 
-  private boolean jj_3R_264() {
-    if (jj_scan_token(COMMA)) return true;
+  private boolean jj_3_29() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_282()) jj_scanpos = xsp;
-    if (jj_3R_51()) return true;
-    return false;
-  }
-
-  private boolean jj_3_76() {
-    if (jj_3R_80()) return true;
-    if (jj_scan_token(COLON)) return true;
+    if (jj_3R_67()) jj_scanpos = xsp;
+    if (jj_3R_63()) return true;
     return false;
   }
 
-  private boolean jj_3R_168() {
-    if (jj_scan_token(FUNCTOR)) return true;
+  private boolean jj_3R_125() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_scan_token(71)) jj_scanpos = xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_236()) { jj_scanpos = xsp; break; }
+    if (jj_3R_126()) {
+    jj_scanpos = xsp;
+    if (jj_3R_127()) return true;
     }
-    if (jj_3R_66()) return true;
     return false;
   }
 
-  private boolean jj_3R_267() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_84()) return true;
+  private boolean jj_3R_79() {
+    if (jj_3R_102()) return true;
     return false;
   }
 
-  private boolean jj_3_79() {
+  private boolean jj_3R_70() {
     if (jj_scan_token(ATOMLISP)) return true;
-    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_235() {
-    if (jj_3R_84()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_267()) { jj_scanpos = xsp; break; }
-    }
+  private boolean jj_3_1() {
+    if (jj_3R_56()) return true;
     return false;
   }
 
-  private boolean jj_3R_263() {
-    if (jj_3R_80()) return true;
-    if (jj_scan_token(COLON)) return true;
+  private boolean jj_3R_78() {
+    if (jj_3R_101()) return true;
     return false;
   }
 
-  private boolean jj_3R_234() {
-    if (jj_scan_token(LAZY)) return true;
+  private boolean jj_3_18() {
+    if (jj_3R_65()) return true;
     return false;
   }
 
-  private boolean jj_3R_167() {
-    if (jj_scan_token(DEF)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_234()) jj_scanpos = xsp;
-    if (jj_scan_token(DOLLAR)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    xsp = jj_scanpos;
-    if (jj_3R_235()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
-    if (jj_3R_68()) return true;
+  private boolean jj_3R_77() {
+    if (jj_3R_100()) return true;
     return false;
   }
 
-  private boolean jj_3R_229() {
+  private boolean jj_3R_56() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_263()) jj_scanpos = xsp;
-    if (jj_3R_51()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_264()) { jj_scanpos = xsp; break; }
+    if (jj_3R_70()) {
+    jj_scanpos = xsp;
+    jj_lookingAhead = true;
+    jj_semLA = parenthesized(HASHTAG);
+    jj_lookingAhead = false;
+    if (!jj_semLA || jj_3R_71()) {
+    jj_scanpos = xsp;
+    jj_lookingAhead = true;
+    jj_semLA = parenthesized(COLCOL);
+    jj_lookingAhead = false;
+    if (!jj_semLA || jj_3R_72()) {
+    jj_scanpos = xsp;
+    if (jj_3R_73()) {
+    jj_scanpos = xsp;
+    if (jj_3R_74()) return true;
+    }
+    }
+    }
     }
-    xsp = jj_scanpos;
-    if (jj_3R_265()) jj_scanpos = xsp;
     return false;
   }
 
-  private boolean jj_3R_161() {
-    if (jj_scan_token(ATOMLISP)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_229()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
+  private boolean jj_3R_116() {
+    if (jj_3R_117()) return true;
     return false;
   }
 
-  private boolean jj_3R_266() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_84()) return true;
+  private boolean jj_3R_112() {
+    if (jj_scan_token(DEF)) return true;
     return false;
   }
 
-  private boolean jj_3R_233() {
-    if (jj_3R_84()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_266()) { jj_scanpos = xsp; break; }
-    }
+  private boolean jj_3R_76() {
+    if (jj_scan_token(DOLLAR)) return true;
     return false;
   }
 
-  private boolean jj_3R_95() {
+  private boolean jj_3R_59() {
+    if (jj_scan_token(CLASS)) return true;
+    if (jj_scan_token(VARIABLE)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_63() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_161()) {
+    if (jj_3R_76()) {
     jj_scanpos = xsp;
-    if (jj_3R_162()) {
+    if (jj_3R_77()) {
     jj_scanpos = xsp;
-    if (jj_3R_163()) {
+    if (jj_3R_78()) {
     jj_scanpos = xsp;
-    if (jj_3R_164()) {
+    if (jj_3_1()) {
     jj_scanpos = xsp;
-    if (jj_3R_165()) return true;
+    if (jj_3R_79()) return true;
     }
     }
     }
@@ -5732,561 +4076,663 @@ class JavaCCParser implements JavaCCParserConstants {
     return false;
   }
 
-  private boolean jj_3R_166() {
+  private boolean jj_3_17() {
+    if (jj_3R_65()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_124() {
+    if (jj_scan_token(MINUS)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_111() {
     if (jj_scan_token(DEFPROC)) return true;
-    if (jj_scan_token(DOLLAR)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_233()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
-    if (jj_3R_66()) return true;
     return false;
   }
 
-  private boolean jj_3R_96() {
+  private boolean jj_3R_123() {
+    if (jj_scan_token(PLUS)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_102() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_166()) {
+    if (jj_3R_111()) {
     jj_scanpos = xsp;
-    if (jj_3R_167()) {
+    if (jj_3R_112()) {
     jj_scanpos = xsp;
-    if (jj_3R_168()) {
+    if (jj_3R_113()) {
     jj_scanpos = xsp;
-    if (jj_3R_169()) return true;
+    if (jj_3R_114()) return true;
     }
     }
     }
     return false;
   }
 
-  private boolean jj_3R_79() {
-    if (jj_scan_token(DOT)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_96() {
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3_75() {
-    if (jj_scan_token(VARIABLE)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_79()) jj_scanpos = xsp;
+  private boolean jj_3R_122() {
+    if (jj_3R_125()) return true;
     return false;
   }
 
-  private boolean jj_3_60() {
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_95() {
+    if (jj_scan_token(LBRACK)) return true;
     return false;
   }
 
-  private boolean jj_3R_275() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_121() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_122()) {
+    jj_scanpos = xsp;
+    if (jj_3R_123()) {
+    jj_scanpos = xsp;
+    if (jj_3R_124()) return true;
+    }
+    }
     return false;
   }
 
-  private boolean jj_3R_247() {
-    if (jj_scan_token(DOT)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_61() {
+    if (jj_scan_token(VARIABLE)) return true;
+    if (jj_scan_token(ASSIGN)) return true;
     return false;
   }
 
-  private boolean jj_3_59() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(RPAREN)) return true;
+  private boolean jj_3R_115() {
+    if (jj_3R_116()) return true;
     return false;
   }
 
-  private boolean jj_3R_202() {
-    if (jj_scan_token(VARIABLE)) return true;
+  private boolean jj_3R_58() {
+    if (jj_scan_token(DEF)) return true;
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_247()) jj_scanpos = xsp;
+    if (jj_scan_token(33)) jj_scanpos = xsp;
+    if (jj_scan_token(VARIABLE)) return true;
     return false;
   }
 
-  private boolean jj_3R_246() {
-    if (jj_3R_51()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_275()) { jj_scanpos = xsp; break; }
-    }
+  private boolean jj_3R_105() {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_scan_token(VARIABLE)) return true;
+    if (jj_scan_token(RPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3_74() {
-    if (jj_scan_token(SUPER)) return true;
+  private boolean jj_3R_94() {
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_245() {
-    if (jj_scan_token(LPAREN)) return true;
+  private boolean jj_3R_144() {
     if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(RPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_78() {
-    if (jj_scan_token(DOT)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
+  private boolean jj_3_33() {
+    if (jj_3R_66()) return true;
     return false;
   }
 
-  private boolean jj_3R_293() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_93() {
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3_45() {
-    if (jj_scan_token(CLASS)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
+  private boolean jj_3_23() {
+    if (jj_3R_63()) return true;
     return false;
   }
 
-  private boolean jj_3R_257() {
-    if (jj_3R_271()) return true;
+  private boolean jj_3R_110() {
+    if (jj_scan_token(THREAD)) return true;
     return false;
   }
 
-  private boolean jj_3R_201() {
+  private boolean jj_3R_99() {
     if (jj_scan_token(SUPER)) return true;
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_245()) jj_scanpos = xsp;
+    if (jj_3R_105()) jj_scanpos = xsp;
     if (jj_scan_token(DOT)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    xsp = jj_scanpos;
-    if (jj_3R_246()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_274() {
-    if (jj_3R_51()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_293()) { jj_scanpos = xsp; break; }
-    }
+  private boolean jj_3R_109() {
+    if (jj_scan_token(RAISE)) return true;
     return false;
   }
 
-  private boolean jj_3R_256() {
-    if (jj_3R_270()) return true;
+  private boolean jj_3R_108() {
+    if (jj_scan_token(TRY)) return true;
     return false;
   }
 
-  private boolean jj_3_73() {
-    if (jj_scan_token(THIS)) return true;
+  private boolean jj_3_5() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_78()) jj_scanpos = xsp;
+    if (jj_scan_token(78)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(30)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(35)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(46)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(44)) return true;
+    }
+    }
+    }
+    }
     return false;
   }
 
-  private boolean jj_3R_295() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_285()) return true;
+  private boolean jj_3R_68() {
+    if (jj_3R_66()) return true;
     return false;
   }
 
-  private boolean jj_3R_244() {
-    if (jj_scan_token(DOT)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
+  private boolean jj_3R_143() {
+    if (jj_scan_token(SUPER)) return true;
+    return false;
+  }
+
+  private boolean jj_3_10() {
+    if (jj_scan_token(ELSE)) return true;
+    if (jj_scan_token(IF)) return true;
+    return false;
+  }
+
+  private boolean jj_3_32() {
+    if (jj_scan_token(COMMA)) return true;
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_274()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
+    if (jj_3R_68()) jj_scanpos = xsp;
+    if (jj_3R_65()) return true;
     return false;
   }
 
-  private boolean jj_3R_211() {
-    if (jj_scan_token(CLASS)) return true;
+  private boolean jj_3R_57() {
+    if (jj_scan_token(DEFPROC)) return true;
     if (jj_scan_token(VARIABLE)) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_256()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(LCURLY)) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_257()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(RCURLY)) return true;
     return false;
   }
 
-  private boolean jj_3R_200() {
-    if (jj_scan_token(THIS)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_244()) jj_scanpos = xsp;
+  private boolean jj_3_22() {
+    if (jj_3R_63()) return true;
     return false;
   }
 
-  private boolean jj_3R_294() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_283()) return true;
+  private boolean jj_3R_104() {
+    if (jj_3R_115()) return true;
     return false;
   }
 
-  private boolean jj_3R_280() {
-    if (jj_scan_token(EXPORT)) return true;
-    if (jj_3R_285()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_295()) { jj_scanpos = xsp; break; }
-    }
+  private boolean jj_3_31() {
+    if (jj_3R_66()) return true;
     return false;
   }
 
-  private boolean jj_3R_273() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_107() {
+    if (jj_scan_token(MATCH)) return true;
     return false;
   }
 
-  private boolean jj_3_72() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_98() {
+    if (jj_scan_token(THIS)) return true;
+    if (jj_scan_token(DOT)) return true;
     return false;
   }
 
-  private boolean jj_3_44() {
-    if (jj_scan_token(FUNCTOR)) return true;
+  private boolean jj_3R_75() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_scan_token(89)) jj_scanpos = xsp;
+    if (jj_3R_98()) {
+    jj_scanpos = xsp;
+    if (jj_3R_99()) return true;
+    }
     return false;
   }
 
-  private boolean jj_3R_243() {
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_62() {
     Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_273()) { jj_scanpos = xsp; break; }
-    }
+    xsp = jj_scanpos;
+    if (jj_3R_75()) jj_scanpos = xsp;
+    if (jj_scan_token(VARIABLE)) return true;
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_279() {
-    if (jj_scan_token(IMPORT)) return true;
-    if (jj_3R_283()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_294()) { jj_scanpos = xsp; break; }
-    }
+  private boolean jj_3_16() {
+    if (jj_scan_token(CLASS)) return true;
+    if (jj_scan_token(VARIABLE)) return true;
     return false;
   }
 
-  private boolean jj_3R_255() {
+  private boolean jj_3R_120() {
+    if (jj_3R_121()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_106() {
+    if (jj_scan_token(IF)) return true;
+    return false;
+  }
+
+  private boolean jj_3_4() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_279()) {
+    if (jj_scan_token(41)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(27)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(39)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(34)) {
     jj_scanpos = xsp;
-    if (jj_3R_280()) return true;
+    if (jj_3R_61()) {
+    jj_scanpos = xsp;
+    if (jj_3R_62()) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(78)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(30)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(35)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(46)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(44)) return true;
+    }
+    }
+    }
+    }
+    }
+    }
     }
+    }
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_142() {
+    if (jj_scan_token(THIS)) return true;
     return false;
   }
 
-  private boolean jj_3R_254() {
+  private boolean jj_3_25() {
     if (jj_scan_token(VARIABLE)) return true;
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_292() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_69() {
+    if (jj_3R_66()) return true;
     return false;
   }
 
-  private boolean jj_3_58() {
-    if (jj_scan_token(LPAREN)) return true;
+  private boolean jj_3R_60() {
+    if (jj_scan_token(FUNCTOR)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(89)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(31)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(23)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(78)) return true;
+    }
+    }
+    }
     return false;
   }
 
-  private boolean jj_3R_199() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
+  private boolean jj_3_34() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_243()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
+    if (jj_3R_69()) jj_scanpos = xsp;
+    if (jj_3R_65()) return true;
     return false;
   }
 
-  private boolean jj_3R_210() {
-    if (jj_scan_token(FUNCTOR)) return true;
+  private boolean jj_3_3() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_254()) jj_scanpos = xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_255()) { jj_scanpos = xsp; break; }
+    if (jj_scan_token(48)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(49)) {
+    jj_scanpos = xsp;
+    if (jj_3R_57()) {
+    jj_scanpos = xsp;
+    if (jj_3R_58()) {
+    jj_scanpos = xsp;
+    if (jj_3R_59()) {
+    jj_scanpos = xsp;
+    if (jj_3R_60()) return true;
     }
-    if (jj_3R_66()) return true;
+    }
+    }
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3_21() {
+    if (jj_3R_63()) return true;
     return false;
   }
 
-  private boolean jj_3R_272() {
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_101() {
     Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_292()) { jj_scanpos = xsp; break; }
+    xsp = jj_scanpos;
+    if (jj_3R_106()) {
+    jj_scanpos = xsp;
+    if (jj_3R_107()) {
+    jj_scanpos = xsp;
+    if (jj_3R_108()) {
+    jj_scanpos = xsp;
+    if (jj_3R_109()) {
+    jj_scanpos = xsp;
+    if (jj_3R_110()) return true;
+    }
+    }
     }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_92() {
+    if (jj_scan_token(ATOMLISP)) return true;
     return false;
   }
 
-  private boolean jj_3R_278() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_84()) return true;
+  private boolean jj_3R_91() {
+    if (jj_scan_token(VARIABLE)) return true;
     return false;
   }
 
-  private boolean jj_3_43() {
-    if (jj_scan_token(DEF)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(33)) jj_scanpos = xsp;
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
+  private boolean jj_3R_90() {
+    if (jj_scan_token(STRING)) return true;
     return false;
   }
 
-  private boolean jj_3_71() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(DOT)) return true;
+  private boolean jj_3R_141() {
     if (jj_scan_token(VARIABLE)) return true;
     return false;
   }
 
-  private boolean jj_3_70() {
-    if (jj_scan_token(STRING)) return true;
+  private boolean jj_3R_89() {
+    if (jj_scan_token(CHARACTER)) return true;
     return false;
   }
 
-  private boolean jj_3_69() {
-    if (jj_scan_token(CHARACTER)) return true;
+  private boolean jj_3_20() {
+    if (jj_3R_63()) return true;
     return false;
   }
 
-  private boolean jj_3_68() {
+  private boolean jj_3R_88() {
     if (jj_scan_token(FLOAT)) return true;
     return false;
   }
 
-  private boolean jj_3R_253() {
-    if (jj_3R_84()) return true;
+  private boolean jj_3_15() {
+    if (jj_scan_token(FUNCTOR)) return true;
     Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_278()) { jj_scanpos = xsp; break; }
-    }
+    xsp = jj_scanpos;
+    if (jj_scan_token(89)) jj_scanpos = xsp;
     return false;
   }
 
-  private boolean jj_3R_242() {
-    if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_272()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
+  private boolean jj_3R_100() {
+    if (jj_scan_token(LCURLY)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_66() {
+    if (jj_scan_token(ATOMLISP)) return true;
     return false;
   }
 
-  private boolean jj_3_67() {
+  private boolean jj_3R_87() {
     if (jj_scan_token(INT)) return true;
     return false;
   }
 
-  private boolean jj_3_66() {
-    if (jj_scan_token(NIL)) return true;
+  private boolean jj_3_24() {
+    if (jj_scan_token(VARIABLE)) return true;
+    if (jj_scan_token(DOT)) return true;
+    if (jj_scan_token(VARIABLE)) return true;
     return false;
   }
 
-  private boolean jj_3_65() {
-    if (jj_scan_token(UNDERSCORE)) return true;
+  private boolean jj_3R_86() {
+    if (jj_scan_token(NIL)) return true;
     return false;
   }
 
-  private boolean jj_3R_252() {
-    if (jj_scan_token(LAZY)) return true;
+  private boolean jj_3R_85() {
+    if (jj_scan_token(UNDERSCORE)) return true;
     return false;
   }
 
-  private boolean jj_3_64() {
+  private boolean jj_3R_84() {
     if (jj_scan_token(FALSE)) return true;
     return false;
   }
 
-  private boolean jj_3_63() {
+  private boolean jj_3R_83() {
     if (jj_scan_token(TRUE)) return true;
     return false;
   }
 
-  private boolean jj_3_62() {
+  private boolean jj_3R_82() {
     if (jj_scan_token(UNIT)) return true;
     return false;
   }
 
-  private boolean jj_3R_209() {
-    if (jj_scan_token(DEF)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_252()) jj_scanpos = xsp;
+  private boolean jj_3R_140() {
     if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
-    xsp = jj_scanpos;
-    if (jj_3R_253()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
-    if (jj_3R_68()) return true;
     return false;
   }
 
-  private boolean jj_3_61() {
-    if (jj_3R_67()) return true;
+  private boolean jj_3R_139() {
+    if (jj_scan_token(STRING)) return true;
     return false;
   }
 
-  private boolean jj_3R_198() {
-    if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(DOT)) return true;
-    if (jj_scan_token(VARIABLE)) return true;
+  private boolean jj_3_9() {
+    if (jj_scan_token(ELSE)) return true;
+    if (jj_scan_token(IF)) return true;
+    return false;
+  }
+
+  private boolean jj_3_14() {
+    if (jj_scan_token(DEF)) return true;
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_242()) jj_scanpos = xsp;
+    if (jj_scan_token(33)) jj_scanpos = xsp;
+    if (jj_scan_token(VARIABLE)) return true;
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_197() {
-    if (jj_scan_token(STRING)) return true;
+  private boolean jj_3R_138() {
+    if (jj_scan_token(CHARACTER)) return true;
     return false;
   }
 
-  private boolean jj_3R_196() {
-    if (jj_scan_token(CHARACTER)) return true;
+  private boolean jj_3R_137() {
+    if (jj_scan_token(FLOAT)) return true;
     return false;
   }
 
-  private boolean jj_3_42() {
-    if (jj_scan_token(DEFPROC)) return true;
+  private boolean jj_3R_136() {
+    if (jj_scan_token(INT)) return true;
+    return false;
+  }
+
+  private boolean jj_3_8() {
     if (jj_scan_token(VARIABLE)) return true;
-    if (jj_scan_token(LPAREN)) return true;
+    if (jj_scan_token(ASSIGN)) return true;
     return false;
   }
 
-  private boolean jj_3R_195() {
-    if (jj_scan_token(FLOAT)) return true;
+  private boolean jj_3R_135() {
+    if (jj_scan_token(NIL)) return true;
     return false;
   }
 
-  private boolean jj_3R_277() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_3R_84()) return true;
+  private boolean jj_3R_119() {
+    if (jj_3R_120()) return true;
     return false;
   }
 
-  private boolean jj_3R_194() {
-    if (jj_scan_token(INT)) return true;
+  private boolean jj_3_12() {
+    if (jj_3R_65()) return true;
     return false;
   }
 
-  private boolean jj_3R_193() {
-    if (jj_scan_token(NIL)) return true;
+  private boolean jj_3R_65() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_82()) {
+    jj_scanpos = xsp;
+    if (jj_3R_83()) {
+    jj_scanpos = xsp;
+    if (jj_3R_84()) {
+    jj_scanpos = xsp;
+    if (jj_3R_85()) {
+    jj_scanpos = xsp;
+    if (jj_3R_86()) {
+    jj_scanpos = xsp;
+    if (jj_3R_87()) {
+    jj_scanpos = xsp;
+    if (jj_3R_88()) {
+    jj_scanpos = xsp;
+    if (jj_3R_89()) {
+    jj_scanpos = xsp;
+    if (jj_3R_90()) {
+    jj_scanpos = xsp;
+    if (jj_3R_91()) {
+    jj_scanpos = xsp;
+    if (jj_3R_92()) {
+    jj_scanpos = xsp;
+    jj_lookingAhead = true;
+    jj_semLA = parenthesized(HASHTAG);
+    jj_lookingAhead = false;
+    if (!jj_semLA || jj_3R_93()) {
+    jj_scanpos = xsp;
+    jj_lookingAhead = true;
+    jj_semLA = parenthesized(COLCOL);
+    jj_lookingAhead = false;
+    if (!jj_semLA || jj_3R_94()) {
+    jj_scanpos = xsp;
+    if (jj_3R_95()) {
+    jj_scanpos = xsp;
+    if (jj_3R_96()) return true;
+    }
+    }
+    }
+    }
+    }
+    }
+    }
+    }
+    }
+    }
+    }
+    }
+    }
+    }
     return false;
   }
 
-  private boolean jj_3R_192() {
+  private boolean jj_3R_134() {
     if (jj_scan_token(UNDERSCORE)) return true;
     return false;
   }
 
-  private boolean jj_3R_191() {
+  private boolean jj_3R_133() {
     if (jj_scan_token(FALSE)) return true;
     return false;
   }
 
-  private boolean jj_3R_251() {
-    if (jj_3R_84()) return true;
+  private boolean jj_3_19() {
+    if (jj_scan_token(COMMA)) return true;
     Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_277()) { jj_scanpos = xsp; break; }
+    xsp = jj_scanpos;
+    if (jj_scan_token(90)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(94)) return true;
     }
     return false;
   }
 
-  private boolean jj_3R_190() {
+  private boolean jj_3R_132() {
     if (jj_scan_token(TRUE)) return true;
     return false;
   }
 
-  private boolean jj_3R_189() {
+  private boolean jj_3R_131() {
     if (jj_scan_token(UNIT)) return true;
     return false;
   }
 
-  private boolean jj_3R_188() {
-    if (jj_3R_67()) return true;
+  private boolean jj_3R_130() {
+    if (jj_3R_145()) return true;
     return false;
   }
 
-  private boolean jj_3R_208() {
+  private boolean jj_3_13() {
     if (jj_scan_token(DEFPROC)) return true;
     if (jj_scan_token(VARIABLE)) return true;
     if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_251()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
-    if (jj_3R_66()) return true;
     return false;
   }
 
-  private boolean jj_3R_121() {
+  private boolean jj_3R_129() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_188()) {
+    if (jj_3R_130()) {
     jj_scanpos = xsp;
-    if (jj_3R_189()) {
+    if (jj_3R_131()) {
     jj_scanpos = xsp;
-    if (jj_3R_190()) {
+    if (jj_3R_132()) {
     jj_scanpos = xsp;
-    if (jj_3R_191()) {
+    if (jj_3R_133()) {
     jj_scanpos = xsp;
-    if (jj_3R_192()) {
+    if (jj_3R_134()) {
     jj_scanpos = xsp;
-    if (jj_3R_193()) {
+    if (jj_3R_135()) {
     jj_scanpos = xsp;
-    if (jj_3R_194()) {
+    if (jj_3R_136()) {
     jj_scanpos = xsp;
-    if (jj_3R_195()) {
+    if (jj_3R_137()) {
     jj_scanpos = xsp;
-    if (jj_3R_196()) {
+    if (jj_3R_138()) {
     jj_scanpos = xsp;
-    if (jj_3R_197()) {
+    if (jj_3R_139()) {
     jj_scanpos = xsp;
-    if (jj_3R_198()) {
+    if (jj_3R_140()) {
     jj_scanpos = xsp;
-    if (jj_3R_199()) {
+    if (jj_3R_141()) {
     jj_scanpos = xsp;
-    if (jj_3R_200()) {
+    if (jj_3R_142()) {
     jj_scanpos = xsp;
-    if (jj_3R_201()) {
+    if (jj_3R_143()) {
     jj_scanpos = xsp;
-    if (jj_3R_202()) return true;
+    if (jj_3R_144()) return true;
     }
     }
     }
@@ -6304,30 +4750,86 @@ class JavaCCParser implements JavaCCParserConstants {
     return false;
   }
 
-  private boolean jj_3R_145() {
+  private boolean jj_3_11() {
+    if (jj_3R_65()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_97() {
+    if (jj_3R_104()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_74() {
+    if (jj_3R_97()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_118() {
+    if (jj_3R_119()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_73() {
+    if (jj_scan_token(LBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_72() {
+    if (jj_scan_token(LPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_103() {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_scan_token(VARIABLE)) return true;
+    if (jj_scan_token(RPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_71() {
+    if (jj_scan_token(LPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_128() {
+    if (jj_3R_129()) return true;
+    return false;
+  }
+
+  private boolean jj_3_28() {
+    if (jj_3R_66()) return true;
+    if (jj_scan_token(COLON)) return true;
+    return false;
+  }
+
+  private boolean jj_3_27() {
+    if (jj_scan_token(COMMA)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_81() {
+    if (jj_scan_token(SUPER)) return true;
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_208()) {
-    jj_scanpos = xsp;
-    if (jj_3R_209()) {
-    jj_scanpos = xsp;
-    if (jj_3R_210()) {
-    jj_scanpos = xsp;
-    if (jj_3R_211()) return true;
-    }
-    }
-    }
+    if (jj_3R_103()) jj_scanpos = xsp;
+    if (jj_scan_token(DOT)) return true;
     return false;
   }
 
-  private boolean jj_3_41() {
-    if (jj_scan_token(THREAD)) return true;
+  private boolean jj_3_35() {
+    if (jj_scan_token(COMMA)) return true;
+    if (jj_scan_token(VARIABLE)) return true;
+    return false;
+  }
+
+  private boolean jj_3_6() {
+    if (jj_3R_63()) return true;
     return false;
   }
 
   /** Generated Token Manager. */
   public JavaCCParserTokenManager token_source;
-  SimpleCharStream jj_input_stream;
   /** Current token. */
   public Token token;
   /** Next token. */
@@ -6335,8 +4837,11 @@ class JavaCCParser implements JavaCCParserConstants {
   private int jj_ntk;
   private Token jj_scanpos, jj_lastpos;
   private int jj_la;
+  /** Whether we are looking ahead. */
+  private boolean jj_lookingAhead = false;
+  private boolean jj_semLA;
   private int jj_gen;
-  final private int[] jj_la1 = new int[82];
+  final private int[] jj_la1 = new int[116];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static private int[] jj_la1_2;
@@ -6348,70 +4853,39 @@ class JavaCCParser implements JavaCCParserConstants {
       jj_la1_init_3();
    }
    private static void jj_la1_init_0() {
-      jj_la1_0 = new int[] {0x48000000,0x48040000,0x48000000,0x20190000,0x48000000,0x0,0x0,0x0,0x0,0x2000000,0x0,0x0,0x2000000,0x0,0x80800000,0x0,0x0,0x80800000,0x1001000,0x100000,0x0,0x2000000,0x0,0x0,0x2000000,0x0,0x80800000,0x0,0x0,0x80800000,0x1001000,0x100000,0x20190000,0x0,0x0,0x0,0x0,0x0,0x10000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x62190000,0x0,0x62190000,0x0,0x62190000,0x0,0x0,0x0,0x0,0x62190000,0x0,0x0,0x0,0x0,0x2000000,0x0,0x0,0x0,0x2000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1001000,0x0,0x0,0x0,0x0,0x0,};
+      jj_la1_0 = new int[] {0x48000000,0x48040000,0x48000000,0x20190000,0x48000000,0x68190000,0x48000000,0x40000000,0x20190000,0x48000000,0x48000000,0x0,0x0,0x0,0x0,0x4000,0x400000,0x0,0x0,0x48000000,0x4000,0x400000,0x40000000,0x4000,0x400000,0x40000000,0x400000,0x400000,0x4000,0x8000,0x4000000,0x4000,0x8000,0x4000000,0x0,0x0,0x0,0x0,0x80800000,0x0,0x0,0x80800000,0x1001000,0x100000,0x0,0x0,0x0,0x0,0x80800000,0x0,0x0,0x80800000,0x1001000,0x100000,0x20190000,0x0,0x0,0x0,0x0,0x0,0x10000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2000000,0x2000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2000000,0x0,0x0,0x0,0x0,0x0,0x2000000,0x0,0x0,0x0,0x0,0x2000000,0x0,0x0,0x0,0x0,0x20190000,0x0,0x0,0x0,0x0,0x0,0x1001000,0x0,0x0,0x0,0x0,0x0,};
    }
    private static void jj_la1_init_1() {
-      jj_la1_1 = new int[] {0x5c8c,0x5c8c,0x5e8c,0x30000,0x5e8c,0x0,0xc00,0xc00,0x0,0xa010,0x2,0x0,0xa010,0x0,0x0,0x0,0x0,0x0,0x40,0x0,0x0,0xa010,0x2,0x0,0xa010,0x0,0x0,0x0,0x0,0x0,0x40,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x40000,0x60000000,0x60000000,0x60000000,0xf000000,0x0,0x0,0x0,0x0,0x8000fc98,0x0,0x8000fc98,0x0,0x8000fc98,0x0,0x0,0x0,0x0,0x8000fc98,0x0,0x0,0x0,0x0,0xa010,0x0,0x0,0x0,0xa010,0x30000,0x40000,0x40000,0x0,0x0,0x0,0x40000,0x40,0x0,0x0,0x0,0x0,0x4000000,};
+      jj_la1_1 = new int[] {0x5c8c,0x5c8c,0x5c8c,0x30000,0x5e8c,0x35e8c,0x5e8c,0x5088,0x30000,0x5e8c,0x5e8c,0x0,0xc00,0xc00,0x0,0x0,0x0,0x0,0x0,0x508c,0x0,0x0,0x5088,0x0,0x0,0x5008,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2,0x0,0x0,0x0,0x0,0x0,0x0,0x40,0x0,0x0,0x2,0x0,0x0,0x0,0x0,0x0,0x0,0x40,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x40000,0x60000000,0x60000000,0x60000000,0x60000000,0x40000,0x40000000,0x20000000,0x400000,0xf000000,0xf000000,0x0,0x0,0x0,0x0,0x8000ac10,0x8000ac10,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xa010,0xc00,0x0,0x0,0x0,0x0,0x8000ac10,0x0,0x0,0x0,0x0,0xa010,0x0,0x30000,0x40000,0x40000,0x0,0x0,0x0,0x0,0x0,0x40000,0x40,0x0,0x0,0x0,0x0,0x4000000,};
    }
    private static void jj_la1_init_2() {
-      jj_la1_2 = new int[] {0x2004000,0x2004000,0x2004000,0x0,0x2004000,0x8000,0x0,0x0,0x1000,0xfa00a040,0x0,0x1000,0xfa00a040,0x2000000,0x0,0x1000,0x1000,0x0,0x0,0x0,0x1000,0xfa00a040,0x0,0x1000,0xfa00a040,0x80,0x0,0x1000,0x1000,0x0,0x0,0x0,0x0,0x44000000,0x100000,0x44000000,0x100000,0x8000,0x0,0x44000000,0x44000000,0x0,0x0,0x0,0x0,0x0,0x3,0x1c,0x3,0x1000,0xfa00e0c3,0x1000,0xfa00e0c3,0x1000,0xfa00e0c3,0x200000,0x1000,0x200000,0x1000,0xfa00e0c3,0x20,0x800,0x1000,0x1000,0xfa00a040,0x20,0x800,0x1000,0xfa000040,0x0,0x0,0x0,0x80000,0x80000,0x1000,0x0,0x0,0x1000,0xa000040,0x8000000,0x2000040,0x0,};
+      jj_la1_2 = new int[] {0x2004000,0x2004000,0x2004000,0x0,0x2004000,0x2004000,0x2004000,0x4080,0x0,0x2004000,0x2004000,0x8000,0x0,0x0,0x1000,0x0,0x0,0x2000000,0x8000,0x4000,0x0,0x0,0x0,0x0,0x0,0x4000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000,0x0,0x1000,0x2000000,0x0,0x1000,0x1000,0x0,0x0,0x0,0x1000,0x0,0x1000,0x80,0x0,0x1000,0x1000,0x0,0x0,0x0,0x0,0x44000000,0x100000,0x44000000,0x100000,0x8000,0x0,0x44000000,0x44000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3,0x3,0x1c,0x1c,0xf2008043,0xf2008040,0x1000,0x8000,0x1000,0x1000,0x200000,0x8000,0x1000,0x200000,0xf0008040,0x2000000,0x1000,0x20,0x800,0x1000,0xf200a043,0x1000,0x20,0x800,0x1000,0xfa000040,0xa000,0x0,0x0,0x0,0x0,0x80000,0x80000,0x480000,0x1000,0x0,0x0,0x1000,0xa000040,0x8000000,0x2000040,0x0,};
    }
    private static void jj_la1_init_3() {
-      jj_la1_3 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,};
+      jj_la1_3 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,};
    }
-  final private JJCalls[] jj_2_rtns = new JJCalls[97];
+  final private JJCalls[] jj_2_rtns = new JJCalls[37];
   private boolean jj_rescan = false;
   private int jj_gc = 0;
 
-  /** Constructor with InputStream. */
-  public JavaCCParser(java.io.InputStream stream) {
-     this(stream, null);
-  }
-  /** Constructor with InputStream and supplied encoding */
-  public JavaCCParser(java.io.InputStream stream, String encoding) {
-    try { jj_input_stream = new SimpleCharStream(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
-    token_source = new JavaCCParserTokenManager(jj_input_stream);
-    token = new Token();
-    jj_ntk = -1;
-    jj_gen = 0;
-    for (int i = 0; i < 82; i++) jj_la1[i] = -1;
-    for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
-  }
-
-  /** Reinitialise. */
-  public void ReInit(java.io.InputStream stream) {
-     ReInit(stream, null);
-  }
-  /** Reinitialise. */
-  public void ReInit(java.io.InputStream stream, String encoding) {
-    try { jj_input_stream.ReInit(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
-    token_source.ReInit(jj_input_stream);
-    token = new Token();
-    jj_ntk = -1;
-    jj_gen = 0;
-    for (int i = 0; i < 82; i++) jj_la1[i] = -1;
-    for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
-  }
-
-  /** Constructor. */
-  public JavaCCParser(java.io.Reader stream) {
-    jj_input_stream = new SimpleCharStream(stream, 1, 1);
-    token_source = new JavaCCParserTokenManager(jj_input_stream);
+  /** Constructor with user supplied CharStream. */
+  public JavaCCParser(CharStream stream) {
+    token_source = new JavaCCParserTokenManager(stream);
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 82; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 116; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
   /** Reinitialise. */
-  public void ReInit(java.io.Reader stream) {
-    jj_input_stream.ReInit(stream, 1, 1);
-    token_source.ReInit(jj_input_stream);
+  public void ReInit(CharStream stream) {
+    token_source.ReInit(stream);
     token = new Token();
     jj_ntk = -1;
+    jj_lookingAhead = false;
     jj_gen = 0;
-    for (int i = 0; i < 82; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 116; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -6421,7 +4895,7 @@ class JavaCCParser implements JavaCCParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 82; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 116; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -6431,7 +4905,7 @@ class JavaCCParser implements JavaCCParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 82; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 116; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -6494,7 +4968,7 @@ class JavaCCParser implements JavaCCParserConstants {
 
 /** Get the specific Token. */
   final public Token getToken(int index) {
-    Token t = token;
+    Token t = jj_lookingAhead ? jj_scanpos : token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
       else t = t.next = token_source.getNextToken();
@@ -6548,7 +5022,7 @@ class JavaCCParser implements JavaCCParserConstants {
       la1tokens[jj_kind] = true;
       jj_kind = -1;
     }
-    for (int i = 0; i < 82; i++) {
+    for (int i = 0; i < 116; i++) {
       if (jj_la1[i] == jj_gen) {
         for (int j = 0; j < 32; j++) {
           if ((jj_la1_0[i] & (1<<j)) != 0) {
@@ -6593,7 +5067,7 @@ class JavaCCParser implements JavaCCParserConstants {
 
   private void jj_rescan_token() {
     jj_rescan = true;
-    for (int i = 0; i < 97; i++) {
+    for (int i = 0; i < 37; i++) {
     try {
       JJCalls p = jj_2_rtns[i];
       do {
@@ -6637,66 +5111,6 @@ class JavaCCParser implements JavaCCParserConstants {
             case 34: jj_3_35(); break;
             case 35: jj_3_36(); break;
             case 36: jj_3_37(); break;
-            case 37: jj_3_38(); break;
-            case 38: jj_3_39(); break;
-            case 39: jj_3_40(); break;
-            case 40: jj_3_41(); break;
-            case 41: jj_3_42(); break;
-            case 42: jj_3_43(); break;
-            case 43: jj_3_44(); break;
-            case 44: jj_3_45(); break;
-            case 45: jj_3_46(); break;
-            case 46: jj_3_47(); break;
-            case 47: jj_3_48(); break;
-            case 48: jj_3_49(); break;
-            case 49: jj_3_50(); break;
-            case 50: jj_3_51(); break;
-            case 51: jj_3_52(); break;
-            case 52: jj_3_53(); break;
-            case 53: jj_3_54(); break;
-            case 54: jj_3_55(); break;
-            case 55: jj_3_56(); break;
-            case 56: jj_3_57(); break;
-            case 57: jj_3_58(); break;
-            case 58: jj_3_59(); break;
-            case 59: jj_3_60(); break;
-            case 60: jj_3_61(); break;
-            case 61: jj_3_62(); break;
-            case 62: jj_3_63(); break;
-            case 63: jj_3_64(); break;
-            case 64: jj_3_65(); break;
-            case 65: jj_3_66(); break;
-            case 66: jj_3_67(); break;
-            case 67: jj_3_68(); break;
-            case 68: jj_3_69(); break;
-            case 69: jj_3_70(); break;
-            case 70: jj_3_71(); break;
-            case 71: jj_3_72(); break;
-            case 72: jj_3_73(); break;
-            case 73: jj_3_74(); break;
-            case 74: jj_3_75(); break;
-            case 75: jj_3_76(); break;
-            case 76: jj_3_77(); break;
-            case 77: jj_3_78(); break;
-            case 78: jj_3_79(); break;
-            case 79: jj_3_80(); break;
-            case 80: jj_3_81(); break;
-            case 81: jj_3_82(); break;
-            case 82: jj_3_83(); break;
-            case 83: jj_3_84(); break;
-            case 84: jj_3_85(); break;
-            case 85: jj_3_86(); break;
-            case 86: jj_3_87(); break;
-            case 87: jj_3_88(); break;
-            case 88: jj_3_89(); break;
-            case 89: jj_3_90(); break;
-            case 90: jj_3_91(); break;
-            case 91: jj_3_92(); break;
-            case 92: jj_3_93(); break;
-            case 93: jj_3_94(); break;
-            case 94: jj_3_95(); break;
-            case 95: jj_3_96(); break;
-            case 96: jj_3_97(); break;
           }
         }
         p = p.next;
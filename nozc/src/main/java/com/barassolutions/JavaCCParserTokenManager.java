@@ -2,14 +2,31 @@
 package com.barassolutions;
 import com.barassolutions.ClassDescriptor.SubType;
 import com.barassolutions.util.Logger;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.LinkedHashMap;
 
 /** Token Manager. */
 public class JavaCCParserTokenManager implements JavaCCParserConstants
 {
+    /**
+     * Record the position of a token, as offsets in the source : its line and column are only
+     * computed when asked for.
+     *
+     * @param t the token just scanned.
+     */
+    void CommonTokenAction(Token t) {
+        SourceCharStream source = (SourceCharStream) input_stream;
+        t.beginOffset = source.beginOffset();
+        t.endOffset = source.endOffset();
+        t.lineIndex = source.lineIndex();
+    }
 
   /** Debug output. */
   public  java.io.PrintStream debugStream = System.out;
@@ -1289,25 +1306,23 @@ static final long[] jjtoToken = {
 static final long[] jjtoSkip = {
    0x7feL, 0x0L, 
 };
-protected SimpleCharStream input_stream;
+protected CharStream input_stream;
 private final int[] jjrounds = new int[73];
 private final int[] jjstateSet = new int[146];
 protected char curChar;
 /** Constructor. */
-public JavaCCParserTokenManager(SimpleCharStream stream){
-   if (SimpleCharStream.staticFlag)
-      throw new Error("ERROR: Cannot use a static CharStream class with a non-static lexical analyzer.");
+public JavaCCParserTokenManager(CharStream stream){
    input_stream = stream;
 }
 
 /** Constructor. */
-public JavaCCParserTokenManager(SimpleCharStream stream, int lexState){
+public JavaCCParserTokenManager(CharStream stream, int lexState){
    this(stream);
    SwitchTo(lexState);
 }
 
 /** Reinitialise parser. */
-public void ReInit(SimpleCharStream stream)
+public void ReInit(CharStream stream)
 {
    jjmatchedPos = jjnewStateCnt = 0;
    curLexState = defaultLexState;
@@ -1323,7 +1338,7 @@ private void ReInitRounds()
 }
 
 /** Reinitialise parser. */
-public void ReInit(SimpleCharStream stream, int lexState)
+public void ReInit(CharStream stream, int lexState)
 {
    ReInit(stream);
    SwitchTo(lexState);
@@ -1342,23 +1357,10 @@ protected Token jjFillToken()
 {
    final Token t;
    final String curTokenImage;
-   final int beginLine;
-   final int endLine;
-   final int beginColumn;
-   final int endColumn;
    String im = jjstrLiteralImages[jjmatchedKind];
    curTokenImage = (im == null) ? input_stream.GetImage() : im;
-   beginLine = input_stream.getBeginLine();
-   beginColumn = input_stream.getBeginColumn();
-   endLine = input_stream.getEndLine();
-   endColumn = input_stream.getEndColumn();
    t = Token.newToken(jjmatchedKind, curTokenImage);
 
-   t.beginLine = beginLine;
-   t.endLine = endLine;
-   t.beginColumn = beginColumn;
-   t.endColumn = endColumn;
-
    return t;
 }
 
@@ -1386,6 +1388,7 @@ public Token getNextToken()
    {
       jjmatchedKind = 0;
       matchedToken = jjFillToken();
+      CommonTokenAction(matchedToken);
       return matchedToken;
    }
 
@@ -1424,6 +1427,7 @@ public Token getNextToken()
            matchedToken = jjFillToken();
        if (jjnewLexState[jjmatchedKind] != -1)
          curLexState = jjnewLexState[jjmatchedKind];
+           CommonTokenAction(matchedToken);
            return matchedToken;
         }
         else
@@ -0,0 +1,148 @@
+package com.barassolutions;
+
+import java.util.Arrays;
+
+/**
+ * The offsets at which each line of a source starts, to find the line and column of a character
+ * from its offset in the source.
+ * <p>
+ * The scanner only records offsets in the {@link Token}s : their lines and columns are computed
+ * here when asked for, by a binary search among the line starts. Both start at 1, "\n", "\r" and
+ * "\r\n" all end a line, and tabs stop every {@link #TAB_SIZE} columns, as in the scanners JavaCC
+ * generates.
+ */
+public final class LineIndex {
+
+  private static final int TAB_SIZE = 8;
+
+  /**
+   * The content of the source. Only the first {@link #length} characters are used.
+   */
+  private final char[] chars;
+
+  private final int length;
+
+  /**
+   * Offsets at which each line starts. Only the first {@link #lineCount} ones are used.
+   */
+  private int[] lineStarts;
+
+  private int lineCount;
+
+  /**
+   * Index of the line of the last offset looked up. The positions are mostly asked for in order,
+   * so that the next one is most often on the same line, and does not need a binary search. This is
+   * only a hint, checked before being used : the index may thus be shared by several threads.
+   */
+  private int lastLine;
+
+  /**
+   * Index the lines of a source.
+   *
+   * @param chars  the content of the source.
+   * @param length number of characters of the source, at the start of the array.
+   */
+  LineIndex(char[] chars, int length) {
+    this(chars, length, new int[Math.max(16, length / 32)]);
+    lineStarts[lineCount++] = 0;
+    for (int i = 0; i < length; i++) {
+      char c = chars[i];
+      if (c == '\n' || (c == '\r' && (i + 1 == length || chars[i + 1] != '\n'))) {
+        if (lineCount == lineStarts.length) {
+          lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+        }
+        lineStarts[lineCount++] = i + 1;
+      }
+    }
+  }
+
+  private LineIndex(char[] chars, int length, int[] lineStarts) {
+    this.chars = chars;
+    this.length = length;
+    this.lineStarts = lineStarts;
+  }
+
+  /**
+   * Index the lines of a source resulting from an edit of this one. Only the edited part of the
+   * source is looked through again : the lines before it are kept, and the ones after it are moved.
+   *
+   * @param newChars       the content of the edited source.
+   * @param newLength      number of characters of the edited source.
+   * @param offset         offset at which the edit starts.
+   * @param removedLength  number of characters removed from this source at the offset.
+   * @param insertedLength number of characters inserted instead.
+   * @return the index of the edited source.
+   */
+  LineIndex edit(char[] newChars, int newLength, int offset, int removedLength,
+      int insertedLength) {
+    int delta = insertedLength - removedLength;
+    // The character before the edit may be a "\r" which ended a line before, and no longer does
+    // (or the other way round) : the lines ended from this character on are looked for again.
+    int from = Math.max(0, offset - 1);
+    int to = Math.min(newLength, offset + insertedLength + 1); // Exclusive
+    int kept = lineIndex(from) + 1; // Lines which start at or before the first rescanned character
+    int moved = lineCount;
+    while (moved > kept && lineStarts[moved - 1] + delta > to) {
+      moved--;
+    }
+    LineIndex edited = new LineIndex(newChars, newLength, new int[lineCount + insertedLength + 2]);
+    System.arraycopy(lineStarts, 0, edited.lineStarts, 0, kept);
+    edited.lineCount = kept;
+    for (int i = from; i < to; i++) {
+      char c = newChars[i];
+      if (c == '\n' || (c == '\r' && (i + 1 == newLength || newChars[i + 1] != '\n'))) {
+        edited.lineStarts[edited.lineCount++] = i + 1;
+      }
+    }
+    for (int i = moved; i < lineCount; i++) {
+      edited.lineStarts[edited.lineCount++] = lineStarts[i] + delta;
+    }
+    return edited;
+  }
+
+  /**
+   * @return the number of lines of the source.
+   */
+  int lineCount() {
+    return lineCount;
+  }
+
+  /**
+   * @return the line (starting at 1) of the character at the passed offset.
+   */
+  public int line(int offset) {
+    return lineIndex(offset) + 1;
+  }
+
+  /**
+   * @return the column (starting at 1) of the character at the passed offset.
+   */
+  public int column(int offset) {
+    if (offset < 0 || offset >= length) {
+      return 0;
+    }
+    int column = 0;
+    for (int i = lineStarts[lineIndex(offset)]; i <= offset; i++) {
+      column++;
+      if (chars[i] == '\t') {
+        column--;
+        column += TAB_SIZE - column % TAB_SIZE;
+      }
+    }
+    return column;
+  }
+
+  /**
+   * @return the index in {@link #lineStarts} of the line of the character at the passed offset.
+   */
+  private int lineIndex(int offset) {
+    int line = lastLine;
+    if (offset >= lineStarts[line] && (line + 1 == lineCount || offset < lineStarts[line + 1])) {
+      return line;
+    }
+    int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+    line = index >= 0 ? index : Math.max(0, -index - 2);
+    lastLine = line;
+    return line;
+  }
+}
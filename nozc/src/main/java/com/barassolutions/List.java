@@ -36,13 +36,13 @@ public class List extends Pattern {
       if (args != null) {
         args.forEach(a -> a = a.analyze(context));
       } else {
-        interStatement.reportSemanticError(line(), "Ill-formed list found.");
+        context.session().reportSemanticError(line(), "Ill-formed list found.");
       }
     } else {
       if (patterns != null) {
         patterns.forEach(p -> p = (Pattern) p.analyze(context));
       } else {
-        interStatement.reportSemanticError(line(), "Ill-formed list found.");
+        context.session().reportSemanticError(line(), "Ill-formed list found.");
       }
     }
 
@@ -53,36 +53,16 @@ public class List extends Pattern {
   public void codegen(Emitter output) {
     if (pipeStyle) { // We received something like "(1::2::_::3)"
       if (args != null) {
-        args.forEach(arg -> {
-          arg.codegen(output);
-          if (args.indexOf(arg) != args.size() - 1) {
-            output.token(TokenOz.PIPE);
-          }
-        });
+        output.list(args, () -> output.token(TokenOz.PIPE));
       } else if (patterns != null) {
-        patterns.forEach(p -> {
-          p.codegen(output);
-          if (patterns.indexOf(p) != patterns.size() - 1) {
-            output.token(TokenOz.PIPE);
-          }
-        });
+        output.list(patterns, () -> output.token(TokenOz.PIPE));
       } //Ok because of checks done before
     } else { // We received something like "[1,2,_,3]"
       output.token(TokenOz.LBRACK);
       if (args != null) {
-        args.forEach(arg -> {
-          arg.codegen(output);
-          if (args.indexOf(arg) != args.size() - 1) {
-            output.space();
-          }
-        });
+        output.list(args, output::space);
       } else if (patterns != null) {
-        patterns.forEach(p -> {
-          p.codegen(output);
-          if (patterns.indexOf(p) != patterns.size() - 1) {
-            output.space();
-          }
-        });
+        output.list(patterns, output::space);
       } //Ok because of checks done before
       output.token(TokenOz.RBRACK);
     }
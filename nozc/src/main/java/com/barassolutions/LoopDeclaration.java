@@ -94,29 +94,29 @@ public class LoopDeclaration extends AST {
 
     if (!generatorMode) {
       initialValue = initialValue.analyze(loopContext);
-      initialValue.type().mustMatchExpected(line(), Type.INT, Type.FLOAT);
+      initialValue.type().mustMatchExpected(loopContext, line(), Type.INT, Type.FLOAT);
 
       if (continuationCondition != null) {
         continuationCondition = continuationCondition.analyze(loopContext);
-        continuationCondition.type().mustMatchExpected(line(), Type.BOOLEAN);
+        continuationCondition.type().mustMatchExpected(loopContext, line(), Type.BOOLEAN);
       }
 
       if (stepValue != null) {
         stepValue = stepValue.analyze(loopContext);
-        stepValue.type().mustMatchExpected(line(), initialValue.type());
+        stepValue.type().mustMatchExpected(loopContext, line(), initialValue.type());
       }
 
       if (endValue != null) { //Form E1..E2[;E3]
         endValue = endValue.analyze(loopContext);
-        initialValue.type().mustMatchExpected(line(), Type.INT);
+        initialValue.type().mustMatchExpected(loopContext, line(), Type.INT);
         if (stepValue != null) {
-          stepValue.type().mustMatchExpected(line(), Type.INT);
+          stepValue.type().mustMatchExpected(loopContext, line(), Type.INT);
         }
-        endValue.type().mustMatchExpected(line(), Type.INT);
+        endValue.type().mustMatchExpected(loopContext, line(), Type.INT);
       }
     } else {
       generator = generator.analyze(loopContext);
-      generator.type().mustMatchExpected(line(),
+      generator.type().mustMatchExpected(loopContext, line(),
           Type.LIST); //TODO problem : we never create expressions of type LIST
     }
 
@@ -27,10 +27,6 @@ public class MethodDef extends Declaration implements ClassElement {
   public MethodDef(int line, MethodHead head, @Nullable Variable name,
       @Nullable InExpression expression, @Nullable InStatement statement) {
     super(line);
-    if ((expression == null && statement == null) || (expression != null && statement != null)) {
-      interStatement.reportSemanticError(line,
-          "Invalid structure for method definition. You should wrote a statement or an expression, but not both.");
-    }
     this.head = head;
     this.statement = statement;
     this.expression = expression;
@@ -64,13 +60,25 @@ public class MethodDef extends Declaration implements ClassElement {
     return returnType;
   }
 
+  @Override
+  void releaseCode() {
+    statement = null;
+    expression = null;
+  }
+
   @Override
   public AST analyze(Context context) {
-    Logger.debug("Launching methDef analysis for " + name());
+    if (Logger.isDebugEnabled()) {
+      Logger.debug("Launching methDef analysis for " + name());
+    }
+    if ((expression == null && statement == null) || (expression != null && statement != null)) {
+      context.session().reportSemanticError(line(),
+          "Invalid structure for method definition. You should wrote a statement or an expression, but not both.");
+    }
     MethodContext methContext = new MethodContext(context);
     ClassContext classContext = context.asClassContext();
     if (classContext == null) {
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Definition of a method is only allowed in the context of a Class.");
     }
 
@@ -123,13 +131,11 @@ public class MethodDef extends Declaration implements ClassElement {
     }
 
     output.newLine();
-    output.indentRight();
     if (statement != null) {
       statement.codegen(output);
     } else if (expression != null) {
       expression.codegen(output);
     }
-    output.indentLeft();
     //output.newLine();
     output.token(TokenOz.END);
     output.newLine();
@@ -3,24 +3,39 @@ package com.barassolutions;
 import com.barassolutions.util.Logger;
 import com.barassolutions.util.Logger.LogLevel;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Help.Ansi;
 import picocli.CommandLine.Help.Ansi.Style;
 import picocli.CommandLine.Help.ColorScheme;
 import picocli.CommandLine.IVersionProvider;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
 
 /* Read the Picocli documentation at https://picocli.info/ */
 @Command(name = "nozc", //name = "main/java/nozc",
@@ -38,11 +53,38 @@ import picocli.CommandLine.Parameters;
     usageHelpAutoWidth = true)
 public class Nozc implements Callable<Integer> {
 
-  public static boolean errorHasOccurred;
-
   private static final Ansi usedAnsi = Ansi.AUTO;
 
-  public static LogLevel loglevel;
+  /**
+   * Size (in characters) of the buffer the tokens are printed through.
+   */
+  private static final int TOKENS_BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Formats in which --tokenize may print the tokens.
+   */
+  enum TokenFormat {
+    TEXT,
+    TSV
+  }
+
+  /**
+   * Scanners which may read the input files.
+   */
+  public enum Scanner {
+    /**
+     * The scanner generated by JavaCC from the lexical grammar in newoz.jj.
+     */
+    JAVACC,
+    /**
+     * The hand-written {@link DfaTokenManager}, giving the same tokens faster.
+     */
+    DFA;
+
+    JavaCCParserTokenManager create(SourceCharStream source) {
+      return this == DFA ? new DfaTokenManager(source) : new JavaCCParserTokenManager(source);
+    }
+  }
 
   @Option(names = {
       "--no-keep"}, negatable = true, description = "Keep the intermediary Oz files in the output folder. True by default")
@@ -53,11 +95,17 @@ public class Nozc implements Callable<Integer> {
   @Option(names = {"-t",
       "--tokenize"}, description = "Tokenize the NewOz input, print the tokens to STDOUT, and then stop the compilation")
   boolean stopAtTokenizer;
+  @Option(names = {
+      "--token-format"}, description = "Format of the tokens printed by --tokenize : TEXT for people, or TSV for tools, with one \"kind<TAB>offset<TAB>length<TAB>line\" line per token, each file starting with a \"# file\" line (default: TEXT)", arity = "1", defaultValue = "TEXT")
+  TokenFormat tokenFormat;
+  @Option(names = {
+      "--scanner"}, description = "Scanner reading the NewOz input : JAVACC for the one generated from the grammar, or DFA for the hand-written one (default: JAVACC)", arity = "1", defaultValue = "JAVACC")
+  Scanner scannerKind;
   @Option(names = {"-s",
       "--scan"}, description = "Scan/parse the NewOz input, print the AST to STDOUT, and then stop the compilation")
   boolean stopAtParser;
   @Option(names = {"-p",
-      "--preAnalyze"}, description = "Pre-analyze the NewOz input, print the AST to STDOUT, and then stop the compilation")
+      "--preAnalyze"}, description = "Same as --scan : the built-ins are defined once for all the compilations, so there is nothing left to pre-analyze")
   boolean stopAtPreAnalysis;
   @Option(names = {"-a",
       "--analyze"}, description = "Analyze the NewOz input, print the AST to STDOUT, and then stop the compilation")
@@ -65,9 +113,26 @@ public class Nozc implements Callable<Integer> {
   @Option(names = {"-v",
       "--verbosity"}, description = "The verbosity you want to see in output.\nAvailable levels : [OFF, FATAL, ERROR, WARN, INFO, DEBUG, TRACE, ALL] (default: INFO)", arity = "1", defaultValue = "INFO")
   String verbosity;
-  @Parameters(description = "The .noz file(s) to compile or translate.", paramLabel = "FILE", arity = "1..*")
-  private String[] inputFilesNames;
-  // TODO multi-thread this if multiple files ?
+  @Parameters(description = "The .noz file(s) to compile or translate.", paramLabel = "FILE", arity = "0..*")
+  private String[] inputFilesNames = new String[0];
+  @Option(names = {"-j",
+      "--jobs"}, description = "Number of input files to compile concurrently (default: 1)", arity = "1", defaultValue = "1")
+  private int jobs;
+  @Option(names = {
+      "--max-errors"}, description = "Number of syntax errors after which the parser gives up on a file (default: 100)", arity = "1", defaultValue = "100")
+  private int maxErrors;
+  @Option(names = {
+      "--parse-threads"}, description = "Number of threads parsing the top-level declarations of each large input file at the same time (default: 1)", arity = "1", defaultValue = "1")
+  private int parseThreads;
+  @Option(names = {
+      "--codegen-threads"}, description = "Number of threads generating the code of the top-level declarations of each large input file at the same time (default: 1)", arity = "1", defaultValue = "1")
+  private int codegenThreads;
+  @Option(names = {
+      "--stream"}, description = "Analyze and generate the code of each top-level declaration and statement as soon as it is parsed, rather than once the whole input file is parsed, so that the AST of a large file never has to fit in memory at once. Ignores --parse-threads and --codegen-threads")
+  private boolean streaming;
+  @Option(names = {
+      "--compact"}, description = "Generate Oz code with as little white space as the Oz compiler allows, rather than a readable one. The code is written in UTF-8, and is the same on every platform for the same source text")
+  private boolean compact;
   @Option(names = {"-o",
       "--out"}, description = "Name of the output file (WITHOUT ANY EXTENSION !). This option will be ignored if you pass more than one input file.")
   //TODO enforce non-extension
@@ -75,8 +140,46 @@ public class Nozc implements Callable<Integer> {
   @Option(names = {"-d",
       "--directory"}, description = "Output directory for compiled and/or translated files (default: .)", arity = "1", defaultValue = ".")
   private File destDirectory;
+  @Option(names = {
+      "--daemon"}, description = "Keep running in the background, and compile the files sent by \"nozc --client\" (see --socket). Put \"--client\" as the first argument of nozc to send the rest of the arguments to a running daemon, instead of compiling in a new JVM")
+  private boolean daemon;
+  @Option(names = {
+      "--socket"}, description = "Unix-domain socket the daemon listens on (default: nozc-<user>.sock in the temporary directory)", arity = "1")
+  private Path socket;
+
+  @Spec
+  private CommandSpec spec;
+
+  /**
+   * Stream the tokens, the AST and the logs of concurrent compilations are printed to.
+   */
+  private PrintStream out = System.out;
+
+  /**
+   * Stream the parser exceptions are printed to.
+   */
+  private PrintStream err = System.err;
+
+  /**
+   * Directory relative paths are resolved against, or null for the working directory of the JVM.
+   */
+  private File workingDirectory;
+
+  /**
+   * Have the next compilations run on behalf of another process, which runs in the passed
+   * directory and reads the passed streams.
+   */
+  void redirect(File workingDirectory, PrintStream out, PrintStream err) {
+    this.workingDirectory = workingDirectory;
+    this.out = out;
+    this.err = err;
+  }
 
   public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals(NozcClient.CLIENT_OPTION)) {
+      // Skip picocli altogether : the daemon does all the work
+      System.exit(NozcClient.run(Arrays.copyOfRange(args, 1, args.length)));
+    }
     PrintWriter out = new PrintWriter(System.out);
     PrintWriter err = new PrintWriter(System.err);
     ColorScheme colorScheme = new ColorScheme.Builder()
@@ -108,161 +211,60 @@ public class Nozc implements Callable<Integer> {
     long startTime = System.nanoTime();
     long time;
     switch (verbosity) {
-      case "OFF" -> loglevel = LogLevel.OFF;
-      case "FATAL" -> loglevel = LogLevel.FATAL;
-      case "ERROR" -> loglevel = LogLevel.ERROR;
-      case "WARN" -> loglevel = LogLevel.WARN;
-      case "INFO" -> loglevel = LogLevel.INFO;
-      case "DEBUG" -> loglevel = LogLevel.DEBUG;
-      case "TRACE" -> loglevel = LogLevel.TRACE;
-      case "ALL" -> loglevel = LogLevel.ALL;
+      case "OFF" -> Logger.setLevel(LogLevel.OFF);
+      case "FATAL" -> Logger.setLevel(LogLevel.FATAL);
+      case "ERROR" -> Logger.setLevel(LogLevel.ERROR);
+      case "WARN" -> Logger.setLevel(LogLevel.WARN);
+      case "INFO" -> Logger.setLevel(LogLevel.INFO);
+      case "DEBUG" -> Logger.setLevel(LogLevel.DEBUG);
+      case "TRACE" -> Logger.setLevel(LogLevel.TRACE);
+      case "ALL" -> Logger.setLevel(LogLevel.ALL);
       default -> {
-        loglevel = LogLevel.INFO;
+        Logger.setLevel(LogLevel.INFO);
         Logger.warn("Invalid verbosity level. Defaulting to INFO");
       }
     }
 
+    if (daemon) {
+      return new NozcDaemon(socket != null ? socket : NozcClient.defaultSocket()).serve();
+    }
+    if (inputFilesNames.length == 0) {
+      throw new ParameterException(spec.commandLine(), "Missing required parameter: 'FILE'");
+    }
+    if (maxErrors < 1) {
+      throw new ParameterException(spec.commandLine(), "--max-errors must be at least 1");
+    }
+
     Logger.info(
         "Compiling " + inputFilesNames.length + " NewOz file(s) to destination directory \""
             + destDirectory
             .getPath() + "\"");
     File[] ozFiles = new File[inputFilesNames.length];
-    File outputFile;
-
     for (int i = 0; i < inputFilesNames.length; i++) {
-      errorHasOccurred = false;
       if (outputFileName == null || inputFilesNames.length > 1) {
-        outputFile = new File(destDirectory,
+        ozFiles[i] = new File(resolve(destDirectory),
             inputFilesNames[i].substring(inputFilesNames[i].lastIndexOf(File.separatorChar) + 1,
                 inputFilesNames[i].lastIndexOf('.')) + ".oz");
-        ozFiles[i] = outputFile;
       } else {
-        outputFile = new File(destDirectory, outputFileName + ".oz");
-        ozFiles[i] = outputFile;
+        ozFiles[i] = new File(resolve(destDirectory), outputFileName + ".oz");
       }
-      Logger.info(getSuccessString("Created output file " + outputFile.toString()));
-
-      /* Create the Scanner */
-      Logger.info("==========Scanning started==========");
-      time = System.nanoTime();
-      JavaCCParserTokenManager scanner;
-      try {
-        scanner = new JavaCCParserTokenManager(new SimpleCharStream(
-            new FileInputStream(inputFilesNames[i]),
-            1,
-            1)
-        );
-      } catch (FileNotFoundException e) {
-        return 1;
-      }
-      if (scanner == null) {
-        Logger.error(getErrorString("Error in scanner initialization"));
-        return 1;
-      }
-
-      // Tokenize the NewOz input, print the tokens to STDOUT, and then stop the compilation
-      if (stopAtTokenizer) {
-        Token token;
-        PrettyPrinter p = new PrettyPrinter();
-        do {
-          token = scanner.getNextToken();
-          if (token.kind == JavaCCParserConstants.ERROR) {
-            Logger.error(getErrorString(
-                inputFilesNames[i] + ":" + token.beginLine + ": Unidentified input token: '"
-                    + token.image
-                    + "'"));
-            errorHasOccurred = true;
-          } else {
-            p.printf("%d\t : %s = %s\n", token.beginLine,
-                JavaCCParserConstants.tokenImage[token.kind],
-                token.image);
-          }
-        } while (token.kind != JavaCCParserConstants.EOF);
-        Logger.info("==========Scanning done in %s==========", getTimeString(time));
-        return 0;
-      }
-      Logger.info("==========Scanning done in %s==========", getTimeString(time));
-
-      /* Create the Parser */
-      Logger.info("==========Parsing input==========");
-      time = System.nanoTime();
-      InterStatement ast = null;
-      JavaCCParser parser;
-      try {
-        //This is not actually an error : IntelliJ just tries to match this with the class
-        // in newoz.jj, instead of the valid constructor in JavaCC.java (for some reason).
-        // This does not cause an error at runtime.
-        parser = new JavaCCParser(scanner);
-        parser.fileName(inputFilesNames[i]);
-        ast = parser.interStatement();
-        errorHasOccurred |= parser.errorHasOccurred();
-      } catch (ParseException e) {
-        System.err.println(e.getMessage());
-      }
-      if (ast == null) {
-        Logger.error(getErrorString("Error in parser initialization"));
-        return 1;
-      }
-
-      // Scan/parse the NewOz input, print the AST to STDOUT, and then stop the compilation
-      if (stopAtParser) {
-        ast.writeToStdOut(new PrettyPrinter());
-        Logger.info("==========Parsing done in %s==========", getTimeString(time));
-        return 0;
-      }
-      if (errorHasOccurred) {
-        return 1;
-      }
-      Logger.info("==========Parsing done in %s==========", getTimeString(time));
-
-      /* Pre-analyze the input */
-      Logger.info("==========Pre-analyzing input==========");
-      time = System.nanoTime();
-      ast.setFileName(inputFilesNames[i]);
-      ast.preAnalyze();
-      errorHasOccurred |= ast.errorHasOccurred();
+    }
 
-      if (stopAtPreAnalysis) {
-        ast.writeToStdOut(new PrettyPrinter());
-        Logger.info("==========Pre-analyzing done in %s==========", getTimeString(time));
-        return 0;
+    if (jobs > 1 && inputFilesNames.length > 1) {
+      int exitCode = compileConcurrently(ozFiles, startTime);
+      if (exitCode != 0 || stopsBeforeCodegen()) {
+        return exitCode;
       }
-      if (errorHasOccurred) {
-        return 1;
+    } else {
+      for (int i = 0; i < inputFilesNames.length; i++) {
+        int exitCode = compile(inputFilesNames[i], ozFiles[i], startTime, out, err);
+        if (exitCode != 0) {
+          return exitCode;
+        }
       }
-      Logger.info("==========Pre-analyzing done in %s==========", getTimeString(time));
-
-      /* Analyze the input */
-      Logger.info("==========Analyzing input==========");
-      time = System.nanoTime();
-      ast.analyze(null);
-      errorHasOccurred |= ast.errorHasOccurred();
-
-      if (stopAtAnalysis) {
-        ast.writeToStdOut(new PrettyPrinter());
-        Logger.info("==========Analyzing done in %s==========", getTimeString(time));
+      if (stopsBeforeCodegen()) {
         return 0;
       }
-      if (errorHasOccurred) {
-        return 1;
-      }
-      Logger.info("==========Analyzing done in %s==========", getTimeString(time));
-
-      /* Generate Oz code */
-      Logger.info("==========Code generation started==========");
-      time = System.nanoTime();
-      Emitter emitter = new Emitter(outputFile);
-      ast.codegen(emitter);
-      emitter.close();
-      errorHasOccurred |= ast.errorHasOccurred();
-      if (errorHasOccurred) {
-        return 1;
-      }
-      Logger.info("==========Code generation done %s==========", getTimeString(time));
-
-      Logger
-          .info(getSuccessString("Translation of file %s completed in " + getTimeString(startTime)),
-              inputFilesNames[i]);
     }
 
     // Part of this code has been found on https://stackabuse.com/executing-shell-commands-with-java/
@@ -289,7 +291,7 @@ public class Nozc implements Callable<Integer> {
         BufferedReader bfr = new BufferedReader(new InputStreamReader(process.getErrorStream()));
         String line;
         while ((line = bfr.readLine()) != null) {
-          System.out.println(line);
+          out.println(line);
         }
 
         Logger.debug("Waiting for Mozart compiler to exit...");
@@ -316,6 +318,297 @@ public class Nozc implements Callable<Integer> {
     return 0;
   }
 
+  /**
+   * Compile the input files on a pool of {@link #jobs} threads. The logs of each file are buffered
+   * while it compiles, and printed in the order of the input files.
+   *
+   * @param ozFiles   the output file of each input file.
+   * @param startTime time at which the whole compilation started.
+   * @return the exit code of the first input file that failed, or 0 if all of them succeeded.
+   */
+  private int compileConcurrently(File[] ozFiles, long startTime) throws Exception {
+    ExecutorService executor = Executors
+        .newFixedThreadPool(Math.min(jobs, inputFilesNames.length));
+    ArrayList<Future<Integer>> results = new ArrayList<>(inputFilesNames.length);
+    ByteArrayOutputStream[] logs = new ByteArrayOutputStream[inputFilesNames.length];
+
+    for (int i = 0; i < inputFilesNames.length; i++) {
+      int index = i;
+      logs[index] = new ByteArrayOutputStream();
+      results.add(executor.submit(() -> {
+        PrintStream log = new PrintStream(logs[index], true);
+        Logger.redirect(log);
+        try {
+          return compile(inputFilesNames[index], ozFiles[index], startTime, log, log);
+        } finally {
+          Logger.reset();
+          log.flush();
+        }
+      }));
+    }
+    executor.shutdown();
+
+    int exitCode = 0;
+    try {
+      for (int i = 0; i < inputFilesNames.length; i++) {
+        int fileExitCode;
+        try {
+          fileExitCode = results.get(i).get();
+        } finally {
+          out.print(logs[i]);
+          out.flush();
+        }
+        if (exitCode == 0) {
+          exitCode = fileExitCode;
+        }
+      }
+    } catch (ExecutionException e) {
+      executor.shutdownNow();
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    return exitCode;
+  }
+
+  /**
+   * Run the whole pipeline (scan, parse, analyze, codegen) on a single input file.
+   * Everything this method creates, down to its {@link CompilationSession}, is local to this
+   * compilation, so that several files may be compiled at the same time on different threads.
+   *
+   * @param inputFileName name of the NewOz file to compile.
+   * @param outputFile    the Oz file to generate.
+   * @param startTime     time at which the whole compilation started.
+   * @param out           stream the tokens and the AST are printed to, if requested.
+   * @param err           stream the parser exceptions are printed to.
+   * @return the exit code of this compilation.
+   */
+  private int compile(String inputFileName, File outputFile, long startTime, PrintStream out,
+      PrintStream err) throws FileNotFoundException {
+    long time;
+    boolean errorHasOccurred = false;
+    Logger.info(getSuccessString("Created output file " + outputFile.toString()));
+
+    /* Create the Scanner */
+    Logger.info("==========Scanning started==========");
+    time = System.nanoTime();
+    SourceCharStream source;
+    JavaCCParserTokenManager scanner;
+    try {
+      source = new SourceCharStream(resolve(new File(inputFileName)));
+      scanner = ParserPipeline.current().scanner(scannerKind, source);
+    } catch (IOException e) {
+      return 1;
+    }
+    if (scanner == null) {
+      Logger.error(getErrorString("Error in scanner initialization"));
+      return 1;
+    }
+
+    // Tokenize the NewOz input, print the tokens to STDOUT, and then stop the compilation
+    if (stopAtTokenizer) {
+      try {
+        printTokens(scanner, inputFileName, out);
+      } catch (IOException e) {
+        Logger.error(getErrorString("Could not print the tokens: " + e.getMessage()));
+        return 1;
+      }
+      Logger.info("==========Scanning done in %s==========", getTimeString(time));
+      return 0;
+    }
+    Logger.info("==========Scanning done in %s==========", getTimeString(time));
+
+    if (streaming && !stopsBeforeCodegen()) {
+      return compileStreaming(inputFileName, outputFile, scanner, startTime, err);
+    }
+
+    /* Create the Parser */
+    Logger.info("==========Parsing input==========");
+    time = System.nanoTime();
+    // Large declare blocks may be parsed in chunks, on several threads
+    InterStatement ast = ParallelParser.parse(inputFileName, source, parseThreads,
+        scannerKind);
+    JavaCCParser parser;
+    if (ast == null) {
+      try {
+        parser = ParserPipeline.current().parser(scanner);
+        parser.fileName(inputFileName);
+        parser.maxErrors(maxErrors);
+        ast = parser.interStatement();
+        errorHasOccurred |= parser.errorHasOccurred();
+      } catch (ParseException e) {
+        err.println(e.getMessage());
+      }
+    }
+    if (ast == null) {
+      Logger.error(getErrorString("Error in parser initialization"));
+      return 1;
+    }
+
+    // Scan/parse the NewOz input, print the AST to STDOUT, and then stop the compilation. After a
+    // syntax error, the AST printed lacks the constructs the parser recovered from.
+    if (stopAtParser || stopAtPreAnalysis) {
+      ast.writeToStdOut(new PrettyPrinter(out));
+      Logger.info("==========Parsing done in %s==========", getTimeString(time));
+      return errorHasOccurred ? 1 : 0;
+    }
+    if (errorHasOccurred) {
+      return 1;
+    }
+    Logger.info("==========Parsing done in %s==========", getTimeString(time));
+
+    /* Analyze the input */
+    Logger.info("==========Analyzing input==========");
+    time = System.nanoTime();
+    CompilationSession session = new CompilationSession(inputFileName);
+    ast.setFileName(inputFileName);
+    ast.analyze(session.globalContext());
+    errorHasOccurred |= session.errorHasOccurred();
+
+    if (stopAtAnalysis) {
+      ast.writeToStdOut(new PrettyPrinter(out));
+      Logger.info("==========Analyzing done in %s==========", getTimeString(time));
+      return 0;
+    }
+    if (errorHasOccurred) {
+      return 1;
+    }
+    Logger.info("==========Analyzing done in %s==========", getTimeString(time));
+
+    /* Generate Oz code */
+    Logger.info("==========Code generation started==========");
+    time = System.nanoTime();
+    Emitter emitter = new Emitter(outputFile, session, compact);
+    // The declarations of large blocks may be generated on several threads
+    ParallelCodegen.codegen(ast, emitter, codegenThreads);
+    emitter.close();
+    errorHasOccurred |= session.errorHasOccurred();
+    if (errorHasOccurred) {
+      return 1;
+    }
+    Logger.info("==========Code generation done %s==========", getTimeString(time));
+
+    Logger
+        .info(getSuccessString("Translation of file %s completed in " + getTimeString(startTime)),
+            inputFileName);
+    return 0;
+  }
+
+  /**
+   * Run the rest of the pipeline on a single input file, analyzing and generating the code of each
+   * top-level declaration and statement as soon as it is parsed (see {@link StreamingCodegen}).
+   * The output file is deleted if anything goes wrong, as its code would be incomplete.
+   *
+   * @param inputFileName name of the NewOz file to compile.
+   * @param outputFile    the Oz file to generate.
+   * @param scanner       the scanner of the input file.
+   * @param startTime     time at which the whole compilation started.
+   * @param err           stream the parser exceptions are printed to.
+   * @return the exit code of this compilation.
+   */
+  private int compileStreaming(String inputFileName, File outputFile,
+      JavaCCParserTokenManager scanner, long startTime, PrintStream err)
+      throws FileNotFoundException {
+    Logger.info("==========Parsing, analyzing and generating code==========");
+    long time = System.nanoTime();
+    CompilationSession session = new CompilationSession(inputFileName);
+    Emitter emitter = new Emitter(outputFile, session, compact);
+    StreamingCodegen stream = new StreamingCodegen(session, emitter);
+    boolean completed = false;
+    try {
+      JavaCCParser parser = ParserPipeline.current().parser(scanner);
+      parser.fileName(inputFileName);
+      parser.maxErrors(maxErrors);
+      parser.streamTo(stream);
+      completed = parser.interStatement() != null && !parser.errorHasOccurred();
+      stream.close();
+    } catch (ParseException e) {
+      err.println(e.getMessage());
+    } finally {
+      emitter.close();
+      completed &= !session.errorHasOccurred();
+      if (!completed && !outputFile.delete()) {
+        Logger.warn("Could not delete the incomplete output file " + outputFile);
+      }
+    }
+    if (!completed) {
+      return 1;
+    }
+    Logger.info("==========Parsing, analyzing and generating code done in %s==========",
+        getTimeString(time));
+
+    Logger
+        .info(getSuccessString("Translation of file %s completed in " + getTimeString(startTime)),
+            inputFileName);
+    return 0;
+  }
+
+  /**
+   * Resolve the passed file against the {@link #workingDirectory}.
+   */
+  private File resolve(File file) {
+    if (workingDirectory == null || file.isAbsolute()) {
+      return file;
+    }
+    return new File(workingDirectory, file.getPath());
+  }
+
+  /**
+   * Print all the tokens of a file, in the requested {@link #tokenFormat}. The lines are gathered in
+   * a buffer, which is only written out when full, rather than formatting and printing each token
+   * on its own.
+   *
+   * @param scanner       the scanner of the file.
+   * @param inputFileName name of the file.
+   * @param out           stream to print the tokens to.
+   */
+  private void printTokens(JavaCCParserTokenManager scanner, String inputFileName,
+      PrintStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()),
+        TOKENS_BUFFER_SIZE);
+    if (tokenFormat == TokenFormat.TSV) {
+      writer.write("# ");
+      writer.write(inputFileName);
+      writer.write('\n');
+    }
+    Token token;
+    do {
+      token = scanner.getNextToken();
+      if (token.kind == JavaCCParserConstants.ERROR) {
+        Logger.error(getErrorString(
+            inputFileName + ":" + token.beginLine() + ": Unidentified input token: '"
+                + token.image
+                + "'"));
+      }
+      if (tokenFormat == TokenFormat.TSV) {
+        writer.write(Integer.toString(token.kind));
+        writer.write('\t');
+        writer.write(Integer.toString(token.beginOffset));
+        writer.write('\t');
+        writer.write(Integer.toString(token.image.length()));
+        writer.write('\t');
+        writer.write(Integer.toString(token.beginLine()));
+        writer.write('\n');
+      } else if (token.kind != JavaCCParserConstants.ERROR) {
+        writer.write(Integer.toString(token.beginLine()));
+        writer.write("\t : ");
+        writer.write(JavaCCParserConstants.tokenImage[token.kind]);
+        writer.write(" = ");
+        writer.write(token.image);
+        writer.write('\n');
+      }
+    } while (token.kind != JavaCCParserConstants.EOF);
+    writer.flush();
+  }
+
+  /**
+   * Does the user want us to stop before generating any Oz code ?
+   */
+  private boolean stopsBeforeCodegen() {
+    return stopAtTokenizer || stopAtParser || stopAtPreAnalysis || stopAtAnalysis;
+  }
+
   private static String getErrorString(String s) {
     return usedAnsi.string("@|bold,red " + s + "|@");
   }
@@ -326,7 +619,7 @@ public class Nozc implements Callable<Integer> {
 
   private static String getTimeString(long startTime) {
     long diffNano = System.nanoTime() - startTime;
-    Logger.trace("Printing " + diffNano + " nanoseconds");
+    Logger.trace(() -> "Printing " + diffNano + " nanoseconds");
 
     long nbNano = diffNano % 1000;
     long diffMicro = (diffNano - nbNano) / 1000;
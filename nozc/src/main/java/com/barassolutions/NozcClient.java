@@ -0,0 +1,93 @@
+package com.barassolutions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * The thin client of a {@link NozcDaemon} : sends the arguments of the command-line to the daemon,
+ * and prints what the compilation outputs as it comes.
+ * <p>
+ * The client and the daemon talk through a Unix-domain socket. The client first sends its working
+ * directory, the number of arguments and the arguments themselves. The daemon then answers with
+ * frames, each one made of a byte telling its kind ({@link #STDOUT}, {@link #STDERR} or {@link
+ * #EXIT}), followed by either the length and content of the output, or the exit code of the
+ * compilation for the last frame.
+ */
+final class NozcClient {
+
+  /**
+   * First argument of the command-line which selects the client mode.
+   */
+  static final String CLIENT_OPTION = "--client";
+
+  static final byte EXIT = 0;
+  static final byte STDOUT = 1;
+  static final byte STDERR = 2;
+
+  private NozcClient() {
+  }
+
+  /**
+   * @return the socket the daemon listens on when none is specified.
+   */
+  static Path defaultSocket() {
+    return Path.of(System.getProperty("java.io.tmpdir"),
+        "nozc-" + System.getProperty("user.name") + ".sock");
+  }
+
+  /**
+   * Have the daemon run the passed command-line.
+   *
+   * @param args the arguments to send. The socket of the daemon may be chosen with "--socket".
+   * @return the exit code of the compilation.
+   */
+  static int run(String[] args) {
+    Path socket = defaultSocket();
+    ArrayList<String> forwarded = new ArrayList<>(args.length);
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--socket") && i + 1 < args.length) {
+        socket = Path.of(args[++i]);
+      } else if (args[i].startsWith("--socket=")) {
+        socket = Path.of(args[i].substring("--socket=".length()));
+      } else {
+        forwarded.add(args[i]);
+      }
+    }
+
+    try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+      DataOutputStream request = new DataOutputStream(
+          new BufferedOutputStream(Channels.newOutputStream(channel)));
+      request.writeUTF(System.getProperty("user.dir"));
+      request.writeInt(forwarded.size());
+      for (String arg : forwarded) {
+        request.writeUTF(arg);
+      }
+      request.flush();
+
+      DataInputStream response = new DataInputStream(
+          new BufferedInputStream(Channels.newInputStream(channel)));
+      while (true) {
+        byte kind = response.readByte();
+        if (kind == EXIT) {
+          return response.readInt();
+        }
+        PrintStream stream = kind == STDERR ? System.err : System.out;
+        stream.write(response.readNBytes(response.readInt()));
+        stream.flush();
+      }
+    } catch (IOException e) {
+      System.err.println("Could not reach the nozc daemon on " + socket + " (" + e.getMessage()
+          + "). Start one with \"nozc --daemon\".");
+      return 1;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.barassolutions;
+
+import java.util.ArrayList;
+
+/**
+ * Entry point for using NOzC as a library : compiles a NewOz program held in memory to Oz code, also
+ * held in memory, without reading or writing any file, nor exiting the JVM.
+ * <p>
+ * The program goes through the same pipeline as the files compiled by {@link Nozc} (scan, parse,
+ * analyze, codegen), on the scanner and parser of the calling thread (see {@link ParserPipeline}),
+ * so that compiling many small programs does not construct them again for each of them. Several
+ * programs may be compiled at the same time on different threads. The errors found are returned
+ * along with the result, and logged as usual through the {@link com.barassolutions.util.Logger}
+ * of the calling thread.
+ */
+public final class NozcCompiler {
+
+  private NozcCompiler() {
+  }
+
+  /**
+   * Compile a NewOz program.
+   *
+   * @param source  the program.
+   * @param options how to compile it.
+   * @return the generated Oz code, or the errors found in the program.
+   */
+  public static Result compile(CharSequence source, Options options) {
+    ParserPipeline pipeline = ParserPipeline.current();
+    JavaCCParser parser = pipeline.parser(
+        pipeline.scanner(options.scanner, new SourceCharStream(source)));
+    parser.fileName(options.fileName);
+    parser.maxErrors(options.maxErrors);
+    InterStatement ast;
+    try {
+      ast = parser.interStatement();
+    } catch (ParseException e) {
+      // The parser is reset on the next compilation of this thread : keep its errors apart
+      ArrayList<Diagnostic> diagnostics = new ArrayList<>(parser.diagnostics());
+      diagnostics.add(new Diagnostic(options.fileName,
+          e.currentToken != null ? e.currentToken.next.beginLine() : 0, e.getMessage()));
+      return Result.failure(diagnostics);
+    }
+    if (parser.errorHasOccurred()) {
+      return Result.failure(parser.diagnostics());
+    }
+
+    CompilationSession session = new CompilationSession(options.fileName);
+    ast.setFileName(options.fileName);
+    ast.analyze(session.globalContext());
+    if (session.errorHasOccurred()) {
+      return Result.failure(session.diagnostics());
+    }
+
+    StringBuilder code = new StringBuilder();
+    Emitter emitter = new Emitter(code, session, options.compact);
+    ast.codegen(emitter);
+    emitter.close();
+    if (session.errorHasOccurred()) {
+      return Result.failure(session.diagnostics());
+    }
+    return new Result(code.toString(), java.util.List.of());
+  }
+
+  /**
+   * How to compile a program. The default options are the ones of the nozc command.
+   */
+  public static final class Options {
+
+    private String fileName = "<input>";
+    private Nozc.Scanner scanner = Nozc.Scanner.JAVACC;
+    private int maxErrors = JavaCCParser.DEFAULT_MAX_ERRORS;
+    private boolean compact;
+
+    /**
+     * @param fileName name of the program, which the errors found in it refer to.
+     */
+    public Options fileName(String fileName) {
+      this.fileName = fileName;
+      return this;
+    }
+
+    /**
+     * @param scanner the scanner reading the program.
+     */
+    public Options scanner(Nozc.Scanner scanner) {
+      this.scanner = scanner;
+      return this;
+    }
+
+    /**
+     * @param maxErrors number of syntax errors after which the parser gives up (at least 1).
+     */
+    public Options maxErrors(int maxErrors) {
+      if (maxErrors < 1) {
+        throw new IllegalArgumentException("maxErrors must be at least 1");
+      }
+      this.maxErrors = maxErrors;
+      return this;
+    }
+
+    /**
+     * @param compact whether to generate the Oz code with as little white space as possible.
+     */
+    public Options compact(boolean compact) {
+      this.compact = compact;
+      return this;
+    }
+  }
+
+  /**
+   * The outcome of the compilation of a program.
+   *
+   * @param code        the generated Oz code, or null if errors were found in the program.
+   * @param diagnostics the errors found in the program, in the order they were found.
+   */
+  public record Result(String code, java.util.List<Diagnostic> diagnostics) {
+
+    private static Result failure(java.util.List<Diagnostic> diagnostics) {
+      return new Result(null, java.util.List.copyOf(diagnostics));
+    }
+
+    /**
+     * @return whether the program compiled without errors.
+     */
+    public boolean succeeded() {
+      return code != null;
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package com.barassolutions;
+
+import com.barassolutions.util.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import picocli.CommandLine;
+
+/**
+ * A compiler running in the background, which compiles the command-lines sent by {@link
+ * NozcClient}s (see there for the protocol).
+ * <p>
+ * Each client is thus spared the start of a JVM, the building of the picocli model and of the
+ * built-in context, and runs already JIT-compiled code. The requests are compiled one at a time, in
+ * the order they are received, as Nozc keeps its verbosity level in a static field. Each request is
+ * read on a thread of its own, within {@link #REQUEST_TIMEOUT_SECONDS} : a client which is slow to
+ * send its request, or never does, is hung up on without holding the other clients back.
+ */
+class NozcDaemon {
+
+  /**
+   * Time a client has to send its whole request once connected.
+   */
+  static final long REQUEST_TIMEOUT_SECONDS = 10;
+
+  /**
+   * The socket to listen on.
+   */
+  private final Path socket;
+
+  /**
+   * The compiler, and its picocli model, reused from one request to the next. Picocli resets the
+   * options to their default value before parsing each command-line.
+   */
+  private final Nozc nozc = new Nozc();
+  private final CommandLine commandLine = new CommandLine(nozc);
+
+  /**
+   * Read the requests of the clients, hang up on the clients which are too slow at it, and compile
+   * the requests received.
+   */
+  private final ExecutorService readers = Executors.newCachedThreadPool(daemonThreads("reader"));
+  private final ScheduledExecutorService deadlines =
+      Executors.newSingleThreadScheduledExecutor(daemonThreads("deadline"));
+  private final ExecutorService compiler =
+      Executors.newSingleThreadExecutor(daemonThreads("compiler"));
+
+  NozcDaemon(Path socket) {
+    this.socket = socket;
+  }
+
+  /**
+   * Serve the clients, until the JVM is stopped.
+   *
+   * @return 1 if the socket could not be opened. Never returns otherwise.
+   */
+  int serve() throws IOException {
+    if (Files.exists(socket)) {
+      try {
+        SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+        Logger.error("A nozc daemon is already listening on %s", socket);
+        return 1;
+      } catch (IOException e) { // Left behind by a daemon which did not stop properly
+        Files.delete(socket);
+      }
+    }
+
+    // Do once and for all what each compilation would do first
+    Context.defineBuiltIns();
+
+    try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+      server.bind(UnixDomainSocketAddress.of(socket));
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          Files.deleteIfExists(socket);
+        } catch (IOException ignored) {
+          // Nothing more we can do
+        }
+      }));
+      Logger.info("Listening on %s", socket);
+
+      while (true) {
+        SocketChannel client;
+        try {
+          client = server.accept();
+        } catch (IOException e) {
+          Logger.warn("Could not accept a client : %s", e.getMessage());
+          continue;
+        }
+        readers.execute(() -> read(client));
+      }
+    }
+  }
+
+  /**
+   * Read the request of the passed client, and queue its compilation. The client is hung up on if
+   * it does not send its whole request in time.
+   */
+  private void read(SocketChannel client) {
+    ScheduledFuture<?> deadline = deadlines.schedule(() -> hangUp(client),
+        REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    Request request;
+    try {
+      request = Request.readFrom(client);
+    } catch (IOException e) {
+      if (deadline.isDone()) {
+        Logger.warn("Hung up on a client which did not send its request within %d seconds",
+            REQUEST_TIMEOUT_SECONDS);
+      } else {
+        Logger.warn("Lost the connection with a client : %s", e.getMessage());
+      }
+      hangUp(client);
+      return;
+    } finally {
+      deadline.cancel(false);
+    }
+    if (!client.isOpen()) { // The deadline passed right after the request was read
+      return;
+    }
+    compiler.execute(() -> {
+      try (client) {
+        serve(client, request);
+      } catch (IOException e) {
+        Logger.warn("Lost the connection with a client : %s", e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Run the command-line sent by the passed client, and send it the output and the exit code.
+   */
+  private void serve(SocketChannel client, Request request) throws IOException {
+    File workingDirectory = request.workingDirectory();
+    String[] args = request.args();
+
+    DataOutputStream response = new DataOutputStream(
+        new BufferedOutputStream(Channels.newOutputStream(client)));
+    PrintStream out = new PrintStream(
+        new BufferedOutputStream(new FrameOutputStream(response, NozcClient.STDOUT)), true);
+    PrintStream err = new PrintStream(
+        new BufferedOutputStream(new FrameOutputStream(response, NozcClient.STDERR)), true);
+    int exitCode;
+    if (Arrays.asList(args).contains("--daemon")) {
+      err.println("This is already a daemon.");
+      exitCode = 2;
+    } else {
+      Logger.redirect(out);
+      try {
+        nozc.redirect(workingDirectory, out, err);
+        exitCode = commandLine
+            .setOut(new PrintWriter(out, true))
+            .setErr(new PrintWriter(err, true))
+            .execute(args);
+      } finally {
+        Logger.reset();
+      }
+    }
+    out.flush();
+    err.flush();
+    synchronized (response) {
+      response.writeByte(NozcClient.EXIT);
+      response.writeInt(exitCode);
+      response.flush();
+    }
+  }
+
+  private static void hangUp(SocketChannel client) {
+    try {
+      client.close();
+    } catch (IOException ignored) {
+      // The client is gone anyway
+    }
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    return task -> {
+      Thread thread = new Thread(task, "nozc-daemon-" + name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * The command-line sent by a client.
+   *
+   * @param workingDirectory the directory the client runs in.
+   * @param args             the arguments of the command-line.
+   */
+  private record Request(File workingDirectory, String[] args) {
+
+    /**
+     * Read a request, blocking until the client sends it whole.
+     */
+    static Request readFrom(SocketChannel client) throws IOException {
+      DataInputStream in = new DataInputStream(
+          new BufferedInputStream(Channels.newInputStream(client)));
+      File workingDirectory = new File(in.readUTF());
+      int count = in.readInt();
+      if (count < 0) {
+        throw new IOException("Malformed request");
+      }
+      String[] args = new String[count];
+      for (int i = 0; i < args.length; i++) {
+        args[i] = in.readUTF();
+      }
+      return new Request(workingDirectory, args);
+    }
+  }
+
+  /**
+   * Sends what is written to it to the client, as frames of the given kind.
+   */
+  private static class FrameOutputStream extends OutputStream {
+
+    private final DataOutputStream response;
+    private final byte kind;
+
+    FrameOutputStream(DataOutputStream response, byte kind) {
+      this.response = response;
+      this.kind = kind;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      synchronized (response) {
+        response.writeByte(kind);
+        response.writeInt(len);
+        response.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      synchronized (response) {
+        response.flush();
+      }
+    }
+  }
+}
@@ -32,10 +32,10 @@ public class OperationAssignment extends Expression {
     lhs = (Variable) lhs.analyze(context);
     rhs = rhs.analyze(context);
 
-    lhs.tryAssign(rhs);
+    lhs.tryAssign(context, rhs);
 
     //if (!lhs.type().equals(rhs.type())) {
-    //  interStatement.reportSemanticError(line(),
+    //  context.session().reportSemanticError(line(),
     //      "Incompatible types : trying to assign %s to a %s value.",
     //      lhs.type().toString(), rhs.type().toString());
     //} //Actually we don't care, we already checked that lhs is not a val
@@ -11,7 +11,7 @@ public class OperationMinusAssignment extends OperationAssignment {
     lhs = (Variable) lhs.analyze(context);
     rhs = (Expression) rhs.analyze(context);
 
-    lhs.tryMinusAssign(rhs);
+    lhs.tryMinusAssign(context, rhs);
 
     return this;
   }
@@ -11,7 +11,7 @@ public class OperationPlusAssignment extends OperationAssignment {
     lhs = (Variable) lhs.analyze(context);
     rhs = rhs.analyze(context);
 
-    lhs.tryPlusAssign(rhs);
+    lhs.tryPlusAssign(context, rhs);
 
     return this;
   }
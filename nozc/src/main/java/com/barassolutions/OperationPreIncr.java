@@ -29,7 +29,7 @@ public class OperationPreIncr extends UnaryExpression {
   @Override
   public Expression analyze(Context context) {
     arg = arg.analyze(context);
-    arg.type().mustMatchExpected(line(), Type.INT, Type.FLOAT);
+    arg.type().mustMatchExpected(context, line(), Type.INT, Type.FLOAT);
     type = arg.type;
 
     return this;
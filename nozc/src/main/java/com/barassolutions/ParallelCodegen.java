@@ -0,0 +1,133 @@
+package com.barassolutions;
+
+import com.barassolutions.InStatement.CodeStream;
+import com.barassolutions.util.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Code generator of a large analyzed program, generating the code of its top-level declarations at
+ * the same time.
+ * <p>
+ * Once the program is analyzed, generating the code of a declaration only reads the AST and the
+ * contexts : the declarations of a block may thus be generated independently of each other. The
+ * declarations of the declare block (or of each stand-alone block) are cut into runs of about the
+ * same number of declarations, whose code is generated on an Emitter forked from the one of the
+ * program, in a {@link ForkJoinPool}. The code of the runs is then appended, in order, at the
+ * place of the declarations in the block. The statements of the block are generated as usual.
+ * <p>
+ * Blocks with few declarations are generated as usual, as well as whatever is not a block.
+ */
+final class ParallelCodegen {
+
+  /**
+   * Smallest number of declarations in a block, below which forking costs more than it saves.
+   */
+  private static final int MIN_DECLARATIONS = 64;
+
+  /**
+   * Number of runs of declarations per thread of the pool, so that a run slower than the others
+   * does not hold the whole codegen back.
+   */
+  private static final int RUNS_PER_THREAD = 4;
+
+  private ParallelCodegen() {
+  }
+
+  /**
+   * Generate the code of a program, the declarations of its large blocks on several threads.
+   *
+   * @param ast     the analyzed program.
+   * @param output  where to generate the code.
+   * @param threads number of threads to generate the declarations on.
+   */
+  static void codegen(InterStatement ast, Emitter output, int threads) {
+    if (threads < 2) {
+      ast.codegen(output);
+    } else if (ast.block() != null) {
+      codegen(ast.block(), output, threads);
+    } else if (ast.statements() != null) {
+      for (Statement statement : ast.statements()) {
+        if (statement instanceof InStatement block) {
+          codegen(block, output, threads);
+        } else {
+          statement.codegen(output);
+        }
+      }
+    }
+  }
+
+  private static void codegen(InStatement block, Emitter output, int threads) {
+    ArrayList<Declaration> decls = block.decls();
+    if (decls.size() < MIN_DECLARATIONS) {
+      block.codegen(output);
+      return;
+    }
+    CodeStream stream = block.codeStream(output);
+
+    // Generate the runs of declarations, each on an Emitter of its own
+    int runLength = Math.max(MIN_DECLARATIONS / 4,
+        (decls.size() + threads * RUNS_PER_THREAD - 1) / (threads * RUNS_PER_THREAD));
+    ArrayList<Callable<Run>> tasks = new ArrayList<>();
+    for (int begin = 0; begin < decls.size(); begin += runLength) {
+      java.util.List<Declaration> run = decls.subList(begin,
+          Math.min(decls.size(), begin + runLength));
+      Emitter fork = stream.forkDeclarations();
+      tasks.add(() -> generateRun(run, fork));
+    }
+    ForkJoinPool pool = new ForkJoinPool(Math.min(threads, tasks.size()));
+    ArrayList<Run> runs = new ArrayList<>(tasks.size());
+    try {
+      for (Future<Run> result : pool.invokeAll(tasks)) {
+        runs.add(result.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while generating code", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+
+    PrintStream log = Logger.output();
+    for (Run run : runs) {
+      stream.declarations(run.code());
+      log.print(run.log());
+    }
+    Logger.debug("Generated the code of %d declarations in %d runs", decls.size(), runs.size());
+    block.statements().forEach(stream::statement);
+    stream.close();
+  }
+
+  /**
+   * Generate the code of a run of declarations, on the current thread. Its logs are kept aside, to
+   * be printed in the order of the runs.
+   */
+  private static Run generateRun(java.util.List<Declaration> decls, Emitter fork) {
+    PrintStream log = Logger.output();
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    Logger.redirect(new PrintStream(buffer, true));
+    try {
+      decls.forEach(d -> d.codegen(fork));
+      return new Run(fork, buffer);
+    } finally {
+      Logger.redirect(log);
+    }
+  }
+
+  /**
+   * The code of a run of declarations, and the logs emitted while generating it.
+   */
+  private record Run(Emitter code, ByteArrayOutputStream log) {
+
+  }
+}
@@ -0,0 +1,194 @@
+package com.barassolutions;
+
+import com.barassolutions.IncrementalParser.Item;
+import com.barassolutions.IncrementalParser.Layout;
+import com.barassolutions.util.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parser of the declare block of a large NewOz source, in chunks parsed at the same time.
+ * <p>
+ * A first scan of the tokens follows the nesting of the braces, parentheses and brackets, and
+ * finds where the top-level declarations start : a VAL or VAR, or a DEF, DEFPROC, CLASS or FUNCTOR
+ * followed by a name, right inside the declare block. None of these may carry on the item before
+ * them. The block is cut at some of these starts into chunks of about the same size, which are
+ * scanned and parsed on their own parser, one item after another, in a {@link ForkJoinPool}. Their
+ * declarations and statements are then put back together, in order, in the {@link InStatement} of
+ * the block.
+ * <p>
+ * Small sources are left to the plain parser, as well as sources which are not a declare block, or
+ * whose chunks do not all parse cleanly : the whole source is then parsed again in one go, which
+ * reports the syntax errors as usual.
+ */
+final class ParallelParser {
+
+  /**
+   * Smallest number of characters in a chunk, below which splitting costs more than it saves.
+   */
+  private static final int MIN_CHUNK_LENGTH = 1 << 15;
+
+  /**
+   * Number of chunks per thread of the pool, so that a chunk slower than the others does not hold
+   * the whole parse back.
+   */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private ParallelParser() {
+  }
+
+  /**
+   * Parse a source in chunks, if it is large enough.
+   *
+   * @param fileName name of the file the source comes from.
+   * @param source   the source, not read yet.
+   * @param threads  number of threads to parse the chunks on.
+   * @param scanner  the scanner to read the source with.
+   * @return the AST of the source, or null if it has to be parsed by the plain parser.
+   */
+  static InterStatement parse(String fileName, SourceCharStream source, int threads,
+      Nozc.Scanner scanner) {
+    if (threads < 2 || source.length() < 2 * MIN_CHUNK_LENGTH) {
+      return null;
+    }
+    JavaCCParserTokenManager tokens = scanner.create(source.slice(0, source.length()));
+    Token declare = tokens.getNextToken();
+    Token blockOpen = tokens.getNextToken();
+    if (declare.kind != JavaCCParserConstants.DECLARE
+        || blockOpen.kind != JavaCCParserConstants.LCURLY) {
+      return null;
+    }
+
+    // Find the top-level declarations, and cut the block before some of them
+    int chunkLength = Math.max(MIN_CHUNK_LENGTH,
+        source.length() / (threads * CHUNKS_PER_THREAD));
+    ArrayList<Integer> cuts = new ArrayList<>();
+    cuts.add(blockOpen.endOffset + 1);
+    int depth = 0;
+    Token previous = blockOpen;
+    Token token;
+    while ((token = tokens.getNextToken()).kind != JavaCCParserConstants.RCURLY || depth > 0) {
+      int start = -1;
+      switch (token.kind) {
+        case JavaCCParserConstants.EOF, JavaCCParserConstants.ERROR -> {
+          return null;
+        }
+        case JavaCCParserConstants.LCURLY, JavaCCParserConstants.LPAREN,
+            JavaCCParserConstants.LBRACK -> depth++;
+        case JavaCCParserConstants.RCURLY, JavaCCParserConstants.RPAREN,
+            JavaCCParserConstants.RBRACK -> depth--;
+        case JavaCCParserConstants.VAL, JavaCCParserConstants.VAR -> start = token.beginOffset;
+        case JavaCCParserConstants.VARIABLE -> {
+          if (previous.kind == JavaCCParserConstants.DEF
+              || previous.kind == JavaCCParserConstants.DEFPROC
+              || previous.kind == JavaCCParserConstants.CLASS
+              || previous.kind == JavaCCParserConstants.FUNCTOR) {
+            start = previous.beginOffset;
+          }
+        }
+        default -> {
+        }
+      }
+      if (depth < 0) {
+        return null;
+      }
+      if (depth == 0 && start >= 0 && start - cuts.get(cuts.size() - 1) >= chunkLength) {
+        cuts.add(start);
+      }
+      previous = token;
+    }
+    int blockClose = token.beginOffset;
+    if (tokens.getNextToken().kind != JavaCCParserConstants.EOF || cuts.size() == 1) {
+      return null;
+    }
+    cuts.add(blockClose);
+
+    // Parse the chunks, and put their items back together
+    ArrayList<Callable<Chunk>> tasks = new ArrayList<>(cuts.size() - 1);
+    for (int i = 0; i + 1 < cuts.size(); i++) {
+      SourceCharStream part = source.slice(cuts.get(i), cuts.get(i + 1));
+      tasks.add(() -> parseChunk(fileName, scanner.create(part)));
+    }
+    ArrayList<Chunk> chunks = new ArrayList<>(tasks.size());
+    ForkJoinPool pool = new ForkJoinPool(Math.min(threads, tasks.size()));
+    try {
+      for (Future<Chunk> result : pool.invokeAll(tasks)) {
+        chunks.add(result.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+
+    ArrayList<Declaration> decls = new ArrayList<>();
+    ArrayList<Statement> statements = new ArrayList<>();
+    for (Chunk chunk : chunks) {
+      if (chunk == null) {
+        return null;
+      }
+      for (Item item : chunk.items()) {
+        if (item.declaration() != null) {
+          if (!statements.isEmpty()) { // A declaration after a statement
+            return null;
+          }
+          decls.add(item.declaration());
+        } else {
+          statements.add(item.statement());
+        }
+      }
+    }
+    PrintStream log = Logger.output();
+    for (Chunk chunk : chunks) {
+      log.print(chunk.log());
+    }
+    Logger.debug("Parsed the declare block in %d chunks", chunks.size());
+    return new InterStatement(declare.beginLine(),
+        new InStatement(blockOpen.beginLine(), decls, statements, true));
+  }
+
+  /**
+   * Parse the items of a chunk, on the current thread. Its logs are kept aside, to be printed in
+   * the order of the chunks.
+   *
+   * @return the parsed chunk, or null if it does not parse cleanly.
+   */
+  private static Chunk parseChunk(String fileName, JavaCCParserTokenManager tokens) {
+    PrintStream log = Logger.output();
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    Logger.redirect(new PrintStream(buffer, true));
+    try {
+      JavaCCParser parser = new JavaCCParser(tokens);
+      parser.fileName(fileName);
+      Layout layout = new Layout();
+      parser.recordLayout(layout);
+      while (parser.getToken(1).kind != JavaCCParserConstants.EOF
+          && !parser.errorHasOccurred()) {
+        parser.declareItem();
+      }
+      return parser.errorHasOccurred() ? null : new Chunk(layout.items, buffer);
+    } catch (ParseException e) {
+      return null;
+    } finally {
+      Logger.redirect(log);
+    }
+  }
+
+  /**
+   * The items of a chunk, and the logs emitted while parsing them.
+   */
+  private record Chunk(ArrayList<Item> items, ByteArrayOutputStream log) {
+
+  }
+}
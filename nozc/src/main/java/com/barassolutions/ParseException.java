@@ -31,7 +31,7 @@ public class ParseException extends Exception {
                         String[] tokenImageVal
                        )
   {
-    super(initialise(currentTokenVal, expectedTokenSequencesVal, tokenImageVal));
+    super();
     currentToken = currentTokenVal;
     expectedTokenSequences = expectedTokenSequencesVal;
     tokenImage = tokenImageVal;
@@ -78,6 +78,21 @@ public class ParseException extends Exception {
    */
   public String[] tokenImage;
 
+  /**
+   * The message built from the fields above, only when first asked for : the parser recovers from
+   * most errors, and only describes the ones it reports.
+   */
+  private String message;
+
+  @Override
+  public String getMessage() {
+    if (message == null) {
+      message = currentToken != null
+          ? initialise(currentToken, expectedTokenSequences, tokenImage) : super.getMessage();
+    }
+    return message;
+  }
+
   /**
    * It uses "currentToken" and "expectedTokenSequences" to generate a parse
    * error message and returns it.  If this object has been created
@@ -117,7 +132,7 @@ public class ParseException extends Exception {
       retval += " \"";
       tok = tok.next;
     }
-    retval += "\" at line " + currentToken.next.beginLine + ", column " + currentToken.next.beginColumn;
+    retval += "\" at line " + currentToken.next.beginLine() + ", column " + currentToken.next.beginColumn();
     retval += "." + eol;
     if (expectedTokenSequences.length == 1) {
       retval += "Was expecting:" + eol + "    ";
@@ -0,0 +1,70 @@
+package com.barassolutions;
+
+/**
+ * The scanners and the parser of a thread, re-initialized with each source it compiles, instead of
+ * being constructed again for each of them.
+ * <p>
+ * The parser allocates its lookahead arrays when constructed, and the JavaCC scanner its state
+ * tables : compiling many small files, in a batch or in the daemon, would allocate them all again
+ * for each file. Each thread rather gets its own pipeline, whose instances are re-initialized on
+ * the next source. The instances are thus only used by one compilation at a time, as a thread
+ * compiles one file after another. They keep referencing the last source they read until the next
+ * one.
+ */
+final class ParserPipeline {
+
+  private static final ThreadLocal<ParserPipeline> PIPELINES =
+      ThreadLocal.withInitial(ParserPipeline::new);
+
+  /**
+   * The instances, created on first use.
+   */
+  private JavaCCParserTokenManager javaccScanner;
+  private DfaTokenManager dfaScanner;
+  private JavaCCParser parser;
+
+  private ParserPipeline() {
+  }
+
+  /**
+   * @return the pipeline of the current thread.
+   */
+  static ParserPipeline current() {
+    return PIPELINES.get();
+  }
+
+  /**
+   * @param kind   the kind of scanner.
+   * @param source the source to read.
+   * @return the scanner of the passed kind of this pipeline, set to read the passed source.
+   */
+  JavaCCParserTokenManager scanner(Nozc.Scanner kind, SourceCharStream source) {
+    if (kind == Nozc.Scanner.DFA) {
+      if (dfaScanner == null) {
+        dfaScanner = new DfaTokenManager(source);
+      } else {
+        dfaScanner.ReInit(source);
+      }
+      return dfaScanner;
+    }
+    if (javaccScanner == null) {
+      javaccScanner = new JavaCCParserTokenManager(source);
+    } else {
+      javaccScanner.ReInit(source);
+    }
+    return javaccScanner;
+  }
+
+  /**
+   * @param scanner the scanner of the source to parse.
+   * @return the parser of this pipeline, set to parse the tokens of the passed scanner.
+   */
+  JavaCCParser parser(JavaCCParserTokenManager scanner) {
+    if (parser == null) {
+      parser = new JavaCCParser(scanner);
+    } else {
+      parser.reset(scanner);
+    }
+    return parser;
+  }
+}
@@ -8,6 +8,17 @@ import org.jetbrains.annotations.NotNull;
  */
 public class PrettyPrinter {
 
+  /**
+   * Strings of blank spaces, by length, so that indenting costs a single print.
+   */
+  private static final String[] indentations = new String[64];
+
+  static {
+    for (int i = 0; i < indentations.length; i++) {
+      indentations[i] = " ".repeat(i);
+    }
+  }
+
   private final PrintStream out;
 
   /**
@@ -153,8 +164,10 @@ public class PrettyPrinter {
    * Indent by printing spaces to the output stream.
    */
   private void doIndent() {
-    for (int i = 0; i < indent; i++) {
-      out.print(" ");
+    if (indent < indentations.length) {
+      out.print(indentations[indent]);
+    } else {
+      out.print(" ".repeat(indent));
     }
   }
 
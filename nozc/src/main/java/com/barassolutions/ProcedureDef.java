@@ -39,6 +39,11 @@ public class ProcedureDef extends Declaration {
     return args.size();
   }
 
+  @Override
+  void releaseCode() {
+    statement = null;
+  }
+
   @Override
   public AST analyze(Context context) {
     MethodContext methContext = new MethodContext(context);
@@ -68,12 +73,10 @@ public class ProcedureDef extends Declaration {
     });
     output.token(TokenOz.RCURLY);
     output.newLine();
-    output.indentRight();
 
     statement.codegen(output);
 
     output.newLine();
-    output.indentLeft();
     output.token(TokenOz.END);
   }
 
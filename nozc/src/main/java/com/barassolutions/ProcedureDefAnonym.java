@@ -70,12 +70,10 @@ public class ProcedureDefAnonym extends DeclarationAnonym {
     });
     output.token(TokenOz.RCURLY);
     output.newLine();
-    output.indentRight();
 
     statement.codegen(output);
 
     output.newLine();
-    output.indentLeft();
     output.token(TokenOz.END);
   }
 
@@ -46,7 +46,7 @@ public class Record extends Pattern {
     if (!usedAsPattern) {
       Record var = context.recordFor(name);
       if (var == null) {
-        interStatement.reportSemanticError(line(),
+        context.session().reportSemanticError(line(),
             "Could not find record for: <name:" + name + ">");
       } else {
         members.values().forEach(v -> v = v.analyze(context));
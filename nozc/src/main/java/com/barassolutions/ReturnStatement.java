@@ -34,17 +34,17 @@ public class ReturnStatement extends Statement {
     if (expr != null) {
       if (returnType == Type.ANY) {
         // Can't return a value from void method
-        interStatement.reportSemanticError(line(),
+        context.session().reportSemanticError(line(),
             "cannot return a value from a procedure");
       } else {
         // There's a (non-void) return expression.
         // Its type must match the return type of the
         // method
         expr = expr.analyze(context);
-        expr.type().mustMatchExpected(line(), returnType);
+        expr.type().mustMatchExpected(context, line(), returnType);
       }
     } else {
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "missing return value for function");
     }
     return this;
@@ -0,0 +1,231 @@
+package com.barassolutions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A {@link CharStream} over a whole source file held in memory.
+ * <p>
+ * The file is memory-mapped and decoded in one go, so that the scanner reads straight from a
+ * single array : backing up is a mere move of the position, and token images are taken from the
+ * array, instead of going through a sliding window which has to be copied whenever a token spans
+ * it. Lines and columns are not tracked while reading either : the scanner records the offsets of
+ * the tokens, which the {@link LineIndex} of the source turns into lines and columns when asked.
+ */
+public class SourceCharStream implements CharStream {
+
+  /**
+   * The content of the source. Only the first {@link #length} characters are used.
+   */
+  private final char[] chars;
+
+  private final int length;
+
+  private final LineIndex lineIndex;
+
+  /**
+   * The images of the tokens scanned up to now, so that equal images are the same String.
+   */
+  private final SymbolTable symbols = new SymbolTable();
+
+  /**
+   * Offset of the last character read, -1 if none was.
+   */
+  private int position = -1;
+
+  /**
+   * Offset of the first character of the current token.
+   */
+  private int tokenBegin;
+
+  /**
+   * Construct a stream over the content of a file, decoded with the default charset (as {@link
+   * java.io.InputStreamReader} would).
+   *
+   * @param file the file to read.
+   */
+  public SourceCharStream(File file) throws IOException {
+    this(decode(file, Charset.defaultCharset()));
+  }
+
+  /**
+   * Construct a stream over a source held in memory, which is copied : the stream does not see
+   * later changes to it.
+   *
+   * @param source the source.
+   */
+  public SourceCharStream(CharSequence source) {
+    this(CharBuffer.wrap(source.toString().toCharArray()));
+  }
+
+  private SourceCharStream(CharBuffer source) {
+    this.chars = source.array();
+    this.length = source.limit();
+    this.lineIndex = new LineIndex(chars, length);
+  }
+
+  /**
+   * Construct a stream over a part of a source, the offsets of its tokens being the ones in the
+   * whole source.
+   *
+   * @param chars     the content of the whole source.
+   * @param begin     offset of the first character to read.
+   * @param end       offset of the character after the last one to read.
+   * @param lineIndex the index of the lines of the whole source.
+   */
+  SourceCharStream(char[] chars, int begin, int end, LineIndex lineIndex) {
+    this.chars = chars;
+    this.length = end;
+    this.lineIndex = lineIndex;
+    this.position = begin - 1;
+  }
+
+  private static CharBuffer decode(File file, Charset charset) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer bytes = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      return charset.decode(bytes);
+    }
+  }
+
+  /**
+   * @return the index of the lines of the source, to resolve the offsets of its tokens.
+   */
+  public LineIndex lineIndex() {
+    return lineIndex;
+  }
+
+  /**
+   * @return the offset of the character after the last one to read.
+   */
+  int length() {
+    return length;
+  }
+
+  /**
+   * @return a new stream over a part of the same source, the offsets of its tokens being the ones
+   * in the whole source.
+   */
+  SourceCharStream slice(int begin, int end) {
+    return new SourceCharStream(chars, begin, end, lineIndex);
+  }
+
+  /**
+   * @return the content of the source, for the {@link DfaTokenManager} to scan it in place. Only
+   * the characters from {@link #next()} to {@link #length()} are to be read.
+   */
+  char[] chars() {
+    return chars;
+  }
+
+  /**
+   * @return the offset of the next character to read.
+   */
+  int next() {
+    return position + 1;
+  }
+
+  /**
+   * @return the image of the token at the passed offset, interned in the {@link SymbolTable} of
+   * the source as by {@link #GetImage()}.
+   */
+  String image(int begin, int length) {
+    return symbols.intern(chars, begin, length);
+  }
+
+  /**
+   * @return the offset of the first character of the current token.
+   */
+  public int beginOffset() {
+    return tokenBegin;
+  }
+
+  /**
+   * @return the offset of the last character read, which ends the current token once scanned.
+   */
+  public int endOffset() {
+    return position;
+  }
+
+  @Override
+  public char readChar() throws IOException {
+    if (position + 1 >= length) {
+      throw new IOException("End of the source");
+    }
+    return chars[++position];
+  }
+
+  @Override
+  public char BeginToken() throws IOException {
+    if (position + 1 >= length) {
+      tokenBegin = position; // The end of file token is put on the last character
+      throw new IOException("End of the source");
+    }
+    tokenBegin = ++position;
+    return chars[position];
+  }
+
+  @Override
+  public void backup(int amount) {
+    position -= amount;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The images are interned in the {@link SymbolTable} of the source : all the occurrences of an
+   * identifier share the same String, which is only created for the first one.
+   */
+  @Override
+  public String GetImage() {
+    return symbols.intern(chars, tokenBegin, position - tokenBegin + 1);
+  }
+
+  @Override
+  public char[] GetSuffix(int len) {
+    return Arrays.copyOfRange(chars, position - len + 1, position + 1);
+  }
+
+  @Override
+  public void Done() {
+    // Nothing to release : the source is only referenced by this stream and its tokens
+  }
+
+  @Override
+  public int getBeginLine() {
+    return lineIndex.line(tokenBegin);
+  }
+
+  @Override
+  public int getBeginColumn() {
+    return lineIndex.column(tokenBegin);
+  }
+
+  @Override
+  public int getEndLine() {
+    return lineIndex.line(position);
+  }
+
+  @Override
+  public int getEndColumn() {
+    return lineIndex.column(position);
+  }
+
+  @Override
+  @Deprecated
+  public int getLine() {
+    return getEndLine();
+  }
+
+  @Override
+  @Deprecated
+  public int getColumn() {
+    return getEndColumn();
+  }
+}
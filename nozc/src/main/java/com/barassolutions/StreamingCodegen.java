@@ -0,0 +1,80 @@
+package com.barassolutions;
+
+/**
+ * Analyzes and generates the code of each top-level declaration and statement of a program as
+ * soon as the parser gives it (see {@link JavaCCParser#streamTo}), instead of waiting for the AST
+ * of the whole program. Once its code is generated, the item is let go of, and the context only
+ * keeps what the next items may need from it (see {@link Declaration#releaseCode()}) : only the
+ * largest item has to fit in memory at once, along with the names declared by the items before it.
+ * <p>
+ * The items are analyzed in the same order and contexts as in the AST of the whole program, so
+ * that the same names are visible to each of them : an item only sees the names declared by the
+ * items before it, whether or not the program is streamed. The code generated is the same as well.
+ * After the first semantic error, the next items are still analyzed to report their errors, but no
+ * more code is generated. After the first syntax error, the parser does not give any more items.
+ */
+final class StreamingCodegen {
+
+  private final CompilationSession session;
+
+  private final Emitter output;
+
+  /**
+   * The context and the code of the declare block, or null if the program is made of stand-alone
+   * statements.
+   */
+  private Context blockContext;
+  private InStatement.CodeStream block;
+
+  /**
+   * @param session the compilation of the program.
+   * @param output  where to generate the code of the program.
+   */
+  StreamingCodegen(CompilationSession session, Emitter output) {
+    this.session = session;
+    this.output = output;
+  }
+
+  /**
+   * The next items are in the declare block, which has just been opened.
+   */
+  void declareBlock() {
+    blockContext = new Context(session.globalContext());
+    block = new InStatement.CodeStream(output, true);
+  }
+
+  /**
+   * Analyze and generate the code of the next top-level item.
+   *
+   * @param declaration the item if it is a declaration, or else null.
+   * @param statement   the item if it is a statement, or else null.
+   */
+  void item(Declaration declaration, Statement statement) {
+    if (declaration != null) {
+      declaration.analyze(blockContext);
+      if (!session.errorHasOccurred()) {
+        block.declaration(declaration);
+      }
+      declaration.releaseCode(); // The context may keep referencing the declaration
+    } else if (block != null) {
+      statement.analyze(blockContext);
+      if (!session.errorHasOccurred()) {
+        block.statement(statement);
+      }
+    } else {
+      statement.analyze(session.globalContext());
+      if (!session.errorHasOccurred()) {
+        statement.codegen(output);
+      }
+    }
+  }
+
+  /**
+   * Generate the end of the program, once all its items are given.
+   */
+  void close() {
+    if (block != null && !session.errorHasOccurred()) {
+      block.close();
+    }
+  }
+}
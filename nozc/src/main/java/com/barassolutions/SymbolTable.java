@@ -0,0 +1,92 @@
+package com.barassolutions;
+
+/**
+ * The images of the tokens of a source, each kept once.
+ * <p>
+ * The keywords and operators of NewOz already share the constant images of the scanner, but the
+ * image of every other token (identifiers, atoms, numbers and strings) is taken from the source.
+ * The same variable name would thus be held by as many Strings as it has occurrences, in the
+ * tokens as in the AST. The table instead looks the characters of the token up directly in the
+ * source, and only creates a String the first time they are found.
+ */
+final class SymbolTable {
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  /**
+   * Open-addressing hash table of the images, with their hash codes alongside. Its size is a power
+   * of two, and it is kept at most half full.
+   */
+  private String[] images = new String[INITIAL_CAPACITY];
+  private int[] hashes = new int[INITIAL_CAPACITY];
+
+  private int size;
+
+  /**
+   * Get the image made of the passed characters.
+   *
+   * @param chars  the array holding the characters.
+   * @param offset offset of the first character.
+   * @param length number of characters.
+   * @return the String equal to these characters, the same one for all equal images.
+   */
+  String intern(char[] chars, int offset, int length) {
+    int hash = 0;
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    int mask = images.length - 1;
+    int slot = mix(hash) & mask;
+    String image;
+    while ((image = images[slot]) != null) {
+      if (hashes[slot] == hash && matches(image, chars, offset, length)) {
+        return image;
+      }
+      slot = (slot + 1) & mask;
+    }
+    image = new String(chars, offset, length);
+    images[slot] = image;
+    hashes[slot] = hash;
+    if (++size > images.length / 2) {
+      grow();
+    }
+    return image;
+  }
+
+  private static boolean matches(String image, char[] chars, int offset, int length) {
+    if (image.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (image.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Spread the high bits of the hash codes onto the low ones, which pick the slot.
+   */
+  private static int mix(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private void grow() {
+    String[] oldImages = images;
+    int[] oldHashes = hashes;
+    images = new String[oldImages.length * 2];
+    hashes = new int[oldImages.length * 2];
+    int mask = images.length - 1;
+    for (int i = 0; i < oldImages.length; i++) {
+      if (oldImages[i] != null) {
+        int slot = mix(oldHashes[i]) & mask;
+        while (images[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        images[slot] = oldImages[i];
+        hashes[slot] = oldHashes[i];
+      }
+    }
+  }
+}
@@ -22,14 +22,32 @@ public class Token implements java.io.Serializable {
    */
   public int kind;
 
-  /** The line number of the first character of this Token. */
-  public int beginLine;
-  /** The column number of the first character of this Token. */
-  public int beginColumn;
-  /** The line number of the last character of this Token. */
-  public int endLine;
-  /** The column number of the last character of this Token. */
-  public int endColumn;
+  /** The offset in the source of the first character of this Token. */
+  public int beginOffset;
+  /** The offset in the source of the last character of this Token. */
+  public int endOffset;
+  /** The index of the lines of the source, turning the offsets into lines and columns. */
+  public transient LineIndex lineIndex;
+
+  /** The line number of the first character of this Token, 0 if unknown. */
+  public int beginLine() {
+    return lineIndex == null ? 0 : lineIndex.line(beginOffset);
+  }
+
+  /** The column number of the first character of this Token, 0 if unknown. */
+  public int beginColumn() {
+    return lineIndex == null ? 0 : lineIndex.column(beginOffset);
+  }
+
+  /** The line number of the last character of this Token, 0 if unknown. */
+  public int endLine() {
+    return lineIndex == null ? 0 : lineIndex.line(endOffset);
+  }
+
+  /** The column number of the last character of this Token, 0 if unknown. */
+  public int endColumn() {
+    return lineIndex == null ? 0 : lineIndex.column(endOffset);
+  }
 
   /**
    * The string image of the token.
@@ -60,9 +60,7 @@ public class TryStructure extends Statement {
     output.space();
     output.token(TokenOz.CATCH);
     output.newLine();
-    output.indentRight();
     clauses.forEach(c -> c.codegen(output));
-    output.indentLeft();
     if (finallyStatement != null) {
       output.token(TokenOz.FINALLY);
       finallyStatement.codegen(output);
@@ -39,12 +39,7 @@ public class Tuple extends Pattern {
 
   @Override
   public void codegen(Emitter output) {
-    for (int i = 0; i < args.size(); i++) {
-      args.get(i).codegen(output);
-      if (i != args.size() - 1) {
-        output.token(TokenOz.HASHTAG);
-      }
-    }
+    output.list(args, () -> output.token(TokenOz.HASHTAG));
   }
 
   @Override
@@ -30,12 +30,13 @@ public enum Type {
    * An assertion that this type matches the specified type. If there is no match, an error message
    * is written.
    *
+   * @param context      the context in which the mismatch occurs.
    * @param line         the line near which the mismatch occurs.
    * @param expectedType type with which to match.
    */
-  public void mustMatchExpected(int line, Type expectedType) {
+  public void mustMatchExpected(Context context, int line, Type expectedType) {
     if (!matchesExpected(expectedType)) {
-      AST.interStatement.reportSemanticError(line,
+      context.session().reportSemanticError(line,
           "Type %s doesn't match type %s", this, expectedType);
     }
   }
@@ -44,10 +45,11 @@ public enum Type {
    * An assertion that this type matches one of the specified types. If there is no match, an error
    * message is returned.
    *
+   * @param context       the context in which the mismatch occurs.
    * @param line          the line near which the mismatch occurs.
    * @param expectedTypes expected types.
    */
-  public void mustMatchExpected(int line, Type... expectedTypes) {
+  public void mustMatchExpected(Context context, int line, Type... expectedTypes) {
     if (this == Type.ANY) {
       return;
     }
@@ -56,7 +58,7 @@ public enum Type {
         return;
       }
     }
-    AST.interStatement.reportSemanticError(line,
+    context.session().reportSemanticError(line,
         "Type %s doesn't match any of the expected types %s", this,
         Arrays.toString(expectedTypes));
   }
@@ -67,7 +67,7 @@ class OperationNegate extends UnaryExpression {
   @Override
   public Expression analyze(Context context) {
     arg = arg.analyze(context);
-    arg.type().mustMatchExpected(line(), Type.INT, Type.FLOAT);
+    arg.type().mustMatchExpected(context, line(), Type.INT, Type.FLOAT);
     type = arg.type();
     return this;
   }
@@ -99,7 +99,7 @@ class OperationValidate extends UnaryExpression {
   @Override
   public Expression analyze(Context context) {
     arg = arg.analyze(context);
-    arg.type().mustMatchExpected(line(), Type.INT, Type.FLOAT);
+    arg.type().mustMatchExpected(context, line(), Type.INT, Type.FLOAT);
     type = arg.type();
     return this;
   }
@@ -131,7 +131,7 @@ class OperationLogicalNot extends UnaryExpression {
   @Override
   public Expression analyze(Context context) {
     arg = arg.analyze(context);
-    arg.type().mustMatchExpected(line(), Type.BOOLEAN);
+    arg.type().mustMatchExpected(context, line(), Type.BOOLEAN);
     type = Type.BOOLEAN;
     return this;
   }
@@ -92,68 +92,69 @@ public class Variable extends Pattern implements Lhs {
    * Tries to assign the passed value to this Variable. If it is successful, this method also
    * updates this Variable's <code>Type</code>.
    *
+   * @param context  the context in which the assignment occurs.
    * @param newValue the new value to assign to this Variable.
    */
-  public void tryAssign(Expression newValue) {
+  public void tryAssign(Context context, Expression newValue) {
     if (!constant || !isAssigned) {
       this.type = newValue.type();
       isAssigned = true;
     } else {
-      interStatement
+      context.session()
           .reportSemanticError(line(), "Trying to assign value <" + newValue.toString()
               + "> to a Variable of type VAL. You might want to use VAR instead.");
     }
   }
 
-  public void tryPlusAssign(Expression newValue) {
+  public void tryPlusAssign(Context context, Expression newValue) {
     if (constant) {
-      interStatement
+      context.session()
           .reportSemanticError(line(), "Trying to assign a value <" + newValue.toString()
               + "> to a Variable of type VAL. You might want to use VAR instead.");
     } else if (!isAssigned) {
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Trying to compute using a not-yet assigned variable as an operand."); //TODO do this check for all computations
     } else {
       if (type.equals(Type.INT)) {
-        newValue.type.mustMatchExpected(line(), Type.INT);
+        newValue.type.mustMatchExpected(context, line(), Type.INT);
         type = Type.INT;
         isAssigned = true;
       } else if (type.equals(Type.FLOAT)) {
-        newValue.type.mustMatchExpected(line(), Type.FLOAT);
+        newValue.type.mustMatchExpected(context, line(), Type.FLOAT);
         type = Type.FLOAT;
         isAssigned = true;
       } else if (type.equals(Type.STRING)) {
-        newValue.type.mustMatchExpected(line(), Type.STRING);
+        newValue.type.mustMatchExpected(context, line(), Type.STRING);
         type = Type.STRING;
         isAssigned = true;
       } else {
         type = Type.ANY;
-        interStatement.reportSemanticError(line(),
+        context.session().reportSemanticError(line(),
             "This operation is not allowed for variables of type " + this.type().toString() + ".");
       }
     }
   }
 
-  public void tryMinusAssign(Expression newValue) {
+  public void tryMinusAssign(Context context, Expression newValue) {
     if (constant) {
-      interStatement
+      context.session()
           .reportSemanticError(line(), "Trying to assign a value <" + newValue.toString()
               + "> to a Variable of type VAL. You might want to use VAR instead.");
     } else if (!isAssigned) {
-      interStatement.reportSemanticError(line(),
+      context.session().reportSemanticError(line(),
           "Trying to compute using a not-yet assigned variable as an operand.");
     } else {
       if (type.equals(Type.INT)) {
-        newValue.type.mustMatchExpected(line(), Type.INT);
+        newValue.type.mustMatchExpected(context, line(), Type.INT);
         type = Type.INT;
         isAssigned = true;
       } else if (type.equals(Type.FLOAT)) {
-        newValue.type.mustMatchExpected(line(), Type.FLOAT);
+        newValue.type.mustMatchExpected(context, line(), Type.FLOAT);
         type = Type.FLOAT;
         isAssigned = true;
       } else {
         type = Type.ANY;
-        interStatement.reportSemanticError(line(),
+        context.session().reportSemanticError(line(),
             "This operation is not allowed for variables of type " + this.type().toString() + ".");
       }
     }
@@ -164,12 +165,14 @@ public class Variable extends Pattern implements Lhs {
     if (!usedAsPattern) {
       Variable var = context.variableFor(this.name);
       if (var == null) {
-        interStatement.reportSemanticError(line(),
+        context.session().reportSemanticError(line(),
             "Could not find variable for: <name:" + name + ">");
       } else {
-        Logger.debug(
-            "Retrieved Variable in context <name:" + var.name() + " constant:" + var.isConstant()
-                + " readMode:" + var.readMode() + " type:" + var.type() + ">");
+        if (Logger.isDebugEnabled()) {
+          Logger.debug(
+              "Retrieved Variable in context <name:" + var.name() + " constant:" + var.isConstant()
+                  + " readMode:" + var.readMode() + " type:" + var.type() + ">");
+        }
         //Copy general data about the variable found in the context, which are required to have correct code output.
         this.constant = var.constant;
         this.type = var.type();
@@ -189,9 +192,11 @@ public class Variable extends Pattern implements Lhs {
    */
   @Override
   public void codegen(Emitter output) {
-    Logger.debug(
-        "Generating code for a Variable <name:" + name + " constant:" + constant + " readMode:"
-            + readMode + ">");
+    if (Logger.isDebugEnabled()) {
+      Logger.debug(
+          "Generating code for a Variable <name:" + name + " constant:" + constant + " readMode:"
+              + readMode + ">");
+    }
     if (!constant && readMode) {
       output.token(TokenOz.COMMERCAT);
     }
@@ -1,9 +1,22 @@
 package com.barassolutions.util;
 
-import com.barassolutions.Nozc;
+import java.io.PrintStream;
+import java.util.function.Supplier;
 
 public class Logger {
 
+  /**
+   * Stream the logs of the current thread are written to. Compilations running concurrently
+   * redirect it to their own buffer, so that their output can be printed in order afterwards.
+   */
+  private static final ThreadLocal<PrintStream> output =
+      ThreadLocal.withInitial(() -> System.out);
+
+  /**
+   * The most verbose level of messages that are logged.
+   */
+  private static LogLevel level = LogLevel.INFO;
+
   // Convention on Logging levels taken from https://logging.apache.org/log4j/2.x/log4j-api/apidocs/index.html
   public enum LogLevel {
     OFF(""), //No logging whatsoever
@@ -27,53 +40,177 @@ public class Logger {
     }
   }
 
+  public static LogLevel level() {
+    return level;
+  }
+
+  /**
+   * Set the most verbose level of messages that will be logged, by all threads. This should be done
+   * before any compilation starts.
+   *
+   * @param newLevel the new level.
+   */
+  public static void setLevel(LogLevel newLevel) {
+    level = newLevel;
+  }
+
+  /**
+   * Would a message of the passed level be logged ? Use this (or one of its shorthands below) to
+   * avoid building messages that would not be printed anyway.
+   *
+   * @param messageLevel the level of the message.
+   * @return true or false.
+   */
+  public static boolean isEnabled(LogLevel messageLevel) {
+    return level.ordinal() >= messageLevel.ordinal();
+  }
+
+  public static boolean isDebugEnabled() {
+    return isEnabled(LogLevel.DEBUG);
+  }
+
+  public static boolean isTraceEnabled() {
+    return isEnabled(LogLevel.TRACE);
+  }
+
+  /**
+   * Redirect the logs emitted by the current thread to the passed stream.
+   *
+   * @param out the stream to write to.
+   */
+  public static void redirect(PrintStream out) {
+    output.set(out);
+  }
+
+  /**
+   * @return the stream the logs emitted by the current thread are written to.
+   */
+  public static PrintStream output() {
+    return output.get();
+  }
+
+  /**
+   * Send the logs emitted by the current thread back to STDOUT.
+   */
+  public static void reset() {
+    output.remove();
+  }
+
+  public static void fatal(String message) {
+    if (isEnabled(LogLevel.FATAL)) {
+      output.get().printf(LogLevel.FATAL + message);
+      output.get().println();
+    }
+  }
+
   public static void fatal(String message, Object... args) {
-    if (Nozc.loglevel.ordinal() >= LogLevel.FATAL.ordinal()) {
-      System.out.printf(LogLevel.FATAL + message, args);
-      System.out.println();
+    if (isEnabled(LogLevel.FATAL)) {
+      output.get().printf(LogLevel.FATAL + message, args);
+      output.get().println();
+    }
+  }
+
+  public static void error(String message) {
+    if (isEnabled(LogLevel.ERROR)) {
+      output.get().printf(LogLevel.ERROR + message);
+      output.get().println();
     }
   }
 
   public static void error(String message, Object... args) {
-    if (Nozc.loglevel.ordinal() >= LogLevel.ERROR.ordinal()) {
-      System.out.printf(LogLevel.ERROR + message, args);
-      System.out.println();
+    if (isEnabled(LogLevel.ERROR)) {
+      output.get().printf(LogLevel.ERROR + message, args);
+      output.get().println();
+    }
+  }
+
+  public static void warn(String message) {
+    if (isEnabled(LogLevel.WARN)) {
+      output.get().printf(LogLevel.WARN + message);
+      output.get().println();
     }
   }
 
   public static void warn(String message, Object... args) {
-    if (Nozc.loglevel.ordinal() >= LogLevel.WARN.ordinal()) {
-      System.out.printf(LogLevel.WARN + message, args);
-      System.out.println();
+    if (isEnabled(LogLevel.WARN)) {
+      output.get().printf(LogLevel.WARN + message, args);
+      output.get().println();
+    }
+  }
+
+  public static void info(String message) {
+    if (isEnabled(LogLevel.INFO)) {
+      output.get().printf(LogLevel.INFO + message);
+      output.get().println();
     }
   }
 
   public static void info(String message, Object... args) {
-    if (Nozc.loglevel.ordinal() >= LogLevel.INFO.ordinal()) {
-      System.out.printf(LogLevel.INFO + message, args);
-      System.out.println();
+    if (isEnabled(LogLevel.INFO)) {
+      output.get().printf(LogLevel.INFO + message, args);
+      output.get().println();
+    }
+  }
+
+  public static void debug(String message) {
+    if (isEnabled(LogLevel.DEBUG)) {
+      output.get().printf(LogLevel.DEBUG + message);
+      output.get().println();
     }
   }
 
   public static void debug(String message, Object... args) {
-    if (Nozc.loglevel.ordinal() >= LogLevel.DEBUG.ordinal()) {
-      System.out.printf(LogLevel.DEBUG + message, args);
-      System.out.println();
+    if (isEnabled(LogLevel.DEBUG)) {
+      output.get().printf(LogLevel.DEBUG + message, args);
+      output.get().println();
+    }
+  }
+
+  /**
+   * Log the message built by the passed supplier, which is only called if the message is actually
+   * logged. Unlike the other methods, the message is printed as is, and not used as a format.
+   *
+   * @param message supplier of the message to log.
+   */
+  public static void debug(Supplier<String> message) {
+    if (isEnabled(LogLevel.DEBUG)) {
+      output.get().print(LogLevel.DEBUG);
+      output.get().println(message.get());
+    }
+  }
+
+  public static void trace(String message) {
+    if (isEnabled(LogLevel.TRACE)) {
+      output.get().printf(LogLevel.TRACE + message);
+      output.get().println();
     }
   }
 
   public static void trace(String message, Object... args) {
-    if (Nozc.loglevel.ordinal() >= LogLevel.TRACE.ordinal()) {
-      System.out.printf(LogLevel.TRACE + message, args);
-      System.out.println();
+    if (isEnabled(LogLevel.TRACE)) {
+      output.get().printf(LogLevel.TRACE + message, args);
+      output.get().println();
+    }
+  }
+
+  /**
+   * Log the message built by the passed supplier, which is only called if the message is actually
+   * logged. Unlike the other methods, the message is printed as is, and not used as a format.
+   *
+   * @param message supplier of the message to log.
+   */
+  public static void trace(Supplier<String> message) {
+    if (isEnabled(LogLevel.TRACE)) {
+      output.get().print(LogLevel.TRACE);
+      output.get().println(message.get());
     }
   }
 
   @Deprecated
   public static void log(String message, Object... args) {
-    if (Nozc.loglevel.ordinal() >= LogLevel.ALL.ordinal()) {
-      System.out.printf(LogLevel.ALL + message, args);
-      System.out.println();
+    if (isEnabled(LogLevel.ALL)) {
+      output.get().printf(LogLevel.ALL + message, args);
+      output.get().println();
     }
   }
 }
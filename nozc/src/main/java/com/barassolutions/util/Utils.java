@@ -2,11 +2,40 @@ package com.barassolutions.util;
 
 import com.barassolutions.ClassDescriptor;
 import com.barassolutions.ClassDescriptor.SubType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.jetbrains.annotations.NotNull;
 
 public class Utils {
 
+  /**
+   * The built-ins, by category and then by NewOz name. Computed once, as they never change.
+   */
+  private static final Map<BuiltInType, Map<String, BuiltIns>> builtInsByNozString =
+      new EnumMap<>(BuiltInType.class);
+
+  /**
+   * The built-ins, by Oz name. Several built-ins may share the same Oz name (typically a function
+   * and its procedure version).
+   */
+  private static final Map<String, List<BuiltIns>> builtInsByOzString = new HashMap<>();
+
+  static {
+    for (BuiltInType type : BuiltInType.values()) {
+      builtInsByNozString.put(type, new HashMap<>());
+    }
+    for (BuiltIns b : BuiltIns.values()) {
+      // Keep the first one declared, should two built-ins of the same category share a name
+      builtInsByNozString.get(b.type()).putIfAbsent(b.nozString(), b);
+      builtInsByOzString.computeIfAbsent(b.ozString(), k -> new ArrayList<>()).add(b);
+    }
+    builtInsByOzString.replaceAll((k, v) -> Collections.unmodifiableList(v));
+  }
+
   /**
    * Escape the special XML characters in the specified string and return the escaped string.
    *
@@ -35,12 +64,16 @@ public class Utils {
    * @return the built-in matching this description
    */
   public static BuiltIns findBuiltIn(String name, BuiltInType type) {
-    for (BuiltIns b : BuiltIns.values()) {
-      if (b.type()==type && b.nozString().equals(name)) {
-        return b;
-      }
-    }
-    return null; //Not found in built-ins of this category
+    return builtInsByNozString.get(type).get(name); //null if not found in built-ins of this category
+  }
+
+  /**
+   * @hidden
+   * @return the built-ins known under this name in Oz, in their order of declaration, or an empty
+   * list if there is none.
+   */
+  public static List<BuiltIns> findBuiltInsByOzString(String ozName) {
+    return builtInsByOzString.getOrDefault(ozName, Collections.emptyList());
   }
 
   /**
@@ -0,0 +1,110 @@
+package junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.barassolutions.Diagnostic;
+import com.barassolutions.Nozc;
+import com.barassolutions.NozcCompiler;
+import com.barassolutions.NozcCompiler.Options;
+import com.barassolutions.NozcCompiler.Result;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+
+/**
+ * JUnit test case for compiling NewOz programs held in memory through the {@link NozcCompiler}
+ * API, without any file.
+ */
+public class NozcCompilerTestCase {
+
+  /**
+   * The code generated in memory is the one nozc writes to the Oz files of the pass-tests.
+   */
+  @Test
+  public void testPassSameCodeAsFiles() throws IOException {
+    for (String name : new String[]{"HelloWorld", "Recursion", "Classes", "Maths", "Fibo"}) {
+      for (Nozc.Scanner scanner : Nozc.Scanner.values()) {
+        Result result = NozcCompiler.compile(read(name + ".noz"),
+            new Options().fileName(name + ".noz").scanner(scanner));
+        assertTrue(result.diagnostics().toString(), result.succeeded());
+        assertEquals(name, read(name + ".oz"), result.code());
+      }
+    }
+  }
+
+  /**
+   * The source may be any CharSequence.
+   */
+  @Test
+  public void testPassStringBuilder() {
+    Result result = NozcCompiler.compile(new StringBuilder("browse(\"Hello !\")"), new Options());
+    assertTrue(result.succeeded());
+    assertTrue(result.diagnostics().isEmpty());
+  }
+
+  /**
+   * The compact code is the readable one without most of its white space, and is the same each
+   * time the program is compiled.
+   */
+  @Test
+  public void testPassCompact() throws IOException {
+    for (String name : new String[]{"HelloWorld", "Recursion", "Classes", "Maths", "Fibo"}) {
+      Result compact = NozcCompiler.compile(read(name + ".noz"), new Options().compact(true));
+      assertTrue(compact.diagnostics().toString(), compact.succeeded());
+      assertEquals(name, withoutWhiteSpace(read(name + ".oz")), withoutWhiteSpace(compact.code()));
+      assertTrue(name, compact.code().length() < read(name + ".oz").length());
+      assertFalse(name, compact.code().contains("\n"));
+      assertEquals(name, compact.code(),
+          NozcCompiler.compile(read(name + ".noz"), new Options().compact(true)).code());
+    }
+    assertEquals("local X={NewCell 0}fun{F A B}A+B end in{Browse{F@X 1}}end",
+        NozcCompiler.compile("{\n  var x=0\n  def f(a, b) {\n    a+b\n  }\n  browse(f(x, 1))\n}\n",
+            new Options().compact(true)).code());
+  }
+
+  /**
+   * Syntax errors are returned, up to the requested number of them.
+   */
+  @Test
+  public void testFailSyntaxErrors() throws IOException {
+    String source = Files.readString(Path.of("src/test/java/fail/HelloWorldFailing.noz"),
+        Charset.defaultCharset());
+    Result result = NozcCompiler.compile(source, new Options().fileName("failing.noz"));
+    assertFalse(result.succeeded());
+    assertNull(result.code());
+    assertFalse(result.diagnostics().isEmpty());
+    for (Diagnostic diagnostic : result.diagnostics()) {
+      assertEquals("failing.noz", diagnostic.fileName());
+      assertTrue(diagnostic.line() > 0);
+    }
+
+    Result first = NozcCompiler.compile(source, new Options().maxErrors(1));
+    assertEquals(2, first.diagnostics().size()); // The error, and the notice of giving up
+  }
+
+  /**
+   * Semantic errors are returned, and do not leak into the next compilation of the thread.
+   */
+  @Test
+  public void testFailSemanticErrors() {
+    Result result = NozcCompiler.compile("{\n  var x=0\n  browse(y)\n}\n", new Options());
+    assertFalse(result.succeeded());
+    assertEquals(3, result.diagnostics().get(0).line());
+
+    assertTrue(NozcCompiler.compile("browse(1)", new Options()).succeeded());
+    assertFalse(result.diagnostics().isEmpty());
+  }
+
+  private static String withoutWhiteSpace(String code) {
+    return code.replaceAll("\\s", "");
+  }
+
+  private static String read(String name) throws IOException {
+    return Files.readString(Path.of("src/test/java/pass", name), Charset.defaultCharset());
+  }
+}
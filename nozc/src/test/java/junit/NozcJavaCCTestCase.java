@@ -1,11 +1,28 @@
 package junit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.barassolutions.IncrementalParser;
+import com.barassolutions.InterStatement;
 import com.barassolutions.Nozc;
+import com.barassolutions.ParseException;
+import com.barassolutions.PrettyPrinter;
 import com.barassolutions.util.Logger;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.contrib.java.lang.system.ExpectedSystemExit;
+import picocli.CommandLine;
 
 /**
  * JUnit test case for running the nozc compiler on the NewOz test programs under tests/pass and
@@ -139,6 +156,306 @@ public class NozcJavaCCTestCase {
     Nozc.main(args);
   }
 
+  /**
+   * Run the nozc compiler against several pass-test files at once, on multiple threads.
+   */
+  @Test
+  public void testPassConcurrently() {
+    File genClassDir = new File("src/test/java/pass");
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on several files to test and compile concurrently.");
+
+    args = new String[]{"-v", "DEBUG", "-j", "4", "-d", genClassDir.getAbsolutePath(),
+        "src/test/java/pass/HelloWorld.noz", "src/test/java/pass/Recursion.noz",
+        "src/test/java/pass/Fibo.noz", "src/test/java/pass/Classes.noz"};
+
+    exit.expectSystemExitWithStatus(0);
+    Nozc.main(args);
+  }
+
+  /**
+   * Run the nozc compiler against several pass-test files one after the other, on the same thread,
+   * reusing the same parser for all of them.
+   */
+  @Test
+  public void testPassReusedParser() {
+    File genClassDir = new File("src/test/java/pass");
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on several files to test and compile with the same parser.");
+
+    args = new String[]{"-v", "DEBUG", "-d", genClassDir.getAbsolutePath(),
+        "src/test/java/pass/Classes.noz", "src/test/java/pass/HelloWorld.noz",
+        "src/test/java/pass/Recursion.noz", "src/test/java/pass/Fibo.noz"};
+
+    exit.expectSystemExitWithStatus(0);
+    Nozc.main(args);
+  }
+
+  /**
+   * Tokenize several pass-test files at once, in the format meant for tools.
+   */
+  @Test
+  public void testPassTokenizeTsv() {
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on several files to tokenize.");
+
+    args = new String[]{"-v", "DEBUG", "-t", "--token-format", "TSV",
+        "src/test/java/pass/HelloWorld.noz", "src/test/java/pass/Fibo.noz"};
+
+    exit.expectSystemExitWithStatus(0);
+    Nozc.main(args);
+  }
+
+  /**
+   * Run the nozc compiler against a pass-test file, scanned by the hand-written scanner.
+   */
+  @Test
+  public void testPassDfaScanner() {
+    File passTest = new File("src/test/java/pass/Classes.noz");
+    File genClassDir = new File("src/test/java/pass");
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on " + passTest.toString() + " to scan with the DFA scanner.");
+
+    args = new String[]{"-v", "DEBUG", "--scanner", "DFA", "-d", genClassDir.getAbsolutePath(),
+        passTest.toString()};
+
+    exit.expectSystemExitWithStatus(0);
+    Nozc.main(args);
+  }
+
+  /**
+   * Run a nozc daemon, and have it compile a pass-test file on behalf of a client.
+   */
+  @Test
+  public void testPassDaemon() throws Exception {
+    File passTest = new File("src/test/java/pass/HelloWorld.noz");
+    File genClassDir = new File("src/test/java/pass");
+    File socket = new File(System.getProperty("java.io.tmpdir"), "nozc-test-" + System.nanoTime() + ".sock");
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on " + passTest.toString() + " to test and compile through a daemon.");
+
+    Thread daemon = new Thread(() -> new CommandLine(new Nozc()).execute("--daemon", "--socket", socket.getPath()));
+    daemon.setDaemon(true); // Don't keep the JVM running once the tests are done
+    daemon.start();
+    for (int i = 0; i < 100 && !socket.exists(); i++) {
+      Thread.sleep(100);
+    }
+
+    args = new String[]{"--client", "--socket", socket.getPath(), "-v", "DEBUG", "-d", genClassDir.getAbsolutePath(), passTest.toString()};
+
+    exit.expectSystemExitWithStatus(0);
+    Nozc.main(args);
+  }
+
+  /**
+   * Have a nozc daemon compile a pass-test file, while another client is connected to it but never
+   * sends its request.
+   */
+  @Test
+  public void testPassDaemonSilentClient() throws Exception {
+    File passTest = new File("src/test/java/pass/HelloWorld.noz");
+    File genClassDir = new File("src/test/java/pass");
+    File socket = new File(System.getProperty("java.io.tmpdir"), "nozc-test-" + System.nanoTime() + ".sock");
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on " + passTest.toString() + " to compile through a daemon busy with a silent client.");
+
+    Thread daemon = new Thread(() -> new CommandLine(new Nozc()).execute("--daemon", "--socket", socket.getPath()));
+    daemon.setDaemon(true); // Don't keep the JVM running once the tests are done
+    daemon.start();
+    for (int i = 0; i < 100 && !socket.exists(); i++) {
+      Thread.sleep(100);
+    }
+    SocketChannel silent = SocketChannel.open(UnixDomainSocketAddress.of(socket.getPath()));
+    exit.checkAssertionAfterwards(silent::close);
+
+    args = new String[]{"--client", "--socket", socket.getPath(), "-v", "DEBUG", "-d", genClassDir.getAbsolutePath(), passTest.toString()};
+
+    exit.expectSystemExitWithStatus(0);
+    Nozc.main(args);
+  }
+
+  /**
+   * Parse a large generated program in chunks, on several threads : the AST is the same as when
+   * it is parsed on a single thread.
+   */
+  @Test
+  public void testPassParallelParse() throws Exception {
+    File passTest = File.createTempFile("nozc-parallel", ".noz");
+    passTest.deleteOnExit();
+    new ProgramGenerator().functions(2000).classes(500).writeTo(passTest);
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on " + passTest.toString() + " to parse on several threads.");
+
+    String serial = runNozc(0, "-v", "OFF", "-s", passTest.toString());
+    String parallel = runNozc(0, "-v", "OFF", "-s", "--parse-threads", "4", passTest.toString());
+    assertTrue(serial.contains("f1999"));
+    assertEquals(serial, parallel);
+  }
+
+  /**
+   * Compile a large generated program, generating the code of each top-level declaration as soon
+   * as it is parsed : the code is the same as when the whole AST is built first. After a semantic
+   * error, no output file is left behind.
+   */
+  @Test
+  public void testPassStreaming() throws Exception {
+    File passTest = File.createTempFile("nozc-streaming", ".noz");
+    passTest.deleteOnExit();
+    String program = new ProgramGenerator().functions(2000).classes(500).matches(100, 20)
+        .generate();
+    Files.writeString(passTest.toPath(), program);
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on " + passTest.toString() + " to compile as a stream.");
+
+    String streamed = compileTo("streamed", passTest, "--stream");
+    assertEquals(compileTo("whole", passTest), streamed);
+
+    Files.writeString(passTest.toPath(),
+        program.replace("  def f1000(", "  val broken = undefinedName\n  def f1000("));
+    File genClassDir = Files.createTempDirectory("nozc-streaming").toFile();
+    genClassDir.deleteOnExit();
+    runNozc(1, "-v", "OFF", "--stream", "-d", genClassDir.getAbsolutePath(),
+        passTest.toString());
+    assertFalse(ozFile(genClassDir, passTest).exists());
+  }
+
+  /**
+   * Compile a large generated program, generating the code of its declarations on several threads :
+   * the code is the same as when it is generated on a single thread.
+   */
+  @Test
+  public void testPassParallelCodegen() throws Exception {
+    File passTest = File.createTempFile("nozc-codegen", ".noz");
+    passTest.deleteOnExit();
+    new ProgramGenerator().functions(2000).classes(500).matches(100, 20).writeTo(passTest);
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testPass on " + passTest.toString() + " to generate on several threads.");
+
+    String parallel = compileTo("parallel", passTest, "--codegen-threads", "4");
+    assertEquals(compileTo("serial", passTest), parallel);
+  }
+
+  /**
+   * Compile a file with nozc, into a new temporary folder.
+   *
+   * @return the Oz code generated.
+   */
+  private static String compileTo(String folder, File passTest, String... options)
+      throws IOException {
+    File genClassDir = Files.createTempDirectory("nozc-" + folder).toFile();
+    genClassDir.deleteOnExit();
+    java.util.List<String> arguments = new ArrayList<>(Arrays.asList(options));
+    arguments.addAll(
+        Arrays.asList("-v", "OFF", "-d", genClassDir.getAbsolutePath(), passTest.toString()));
+    runNozc(0, arguments.toArray(new String[0]));
+    File ozFile = ozFile(genClassDir, passTest);
+    ozFile.deleteOnExit();
+    return Files.readString(ozFile.toPath());
+  }
+
+  private static File ozFile(File genClassDir, File passTest) {
+    return new File(genClassDir, passTest.getName().replace(".noz", ".oz"));
+  }
+
+  /**
+   * Run nozc without exiting the JVM, checking its exit status. The log level it sets is restored
+   * afterwards, as it is shared by the whole JVM.
+   *
+   * @return what nozc printed to STDOUT.
+   */
+  private static String runNozc(int expectedStatus, String... arguments) {
+    PrintStream stdout = System.out;
+    Logger.LogLevel level = Logger.level();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(out, true));
+    try {
+      assertEquals(expectedStatus, new CommandLine(new Nozc()).execute(arguments));
+    } finally {
+      System.setOut(stdout);
+      Logger.setLevel(level);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Parse a pass-test file again after a few edits, only re-parsing the items they touch, and
+   * compare the ASTs with the ones of the whole edited sources.
+   */
+  @Test
+  public void testPassIncremental() throws Exception {
+    File passTest = new File("src/test/java/pass/Fibo.noz");
+    IncrementalParser parsed = IncrementalParser.parse(passTest.getName(),
+        Files.readString(passTest.toPath()));
+    assertFalse(parsed.errorHasOccurred());
+    assertEquals(6, parsed.reparsedItems());
+    String fibo = print(parsed.ast());
+
+    // The item edited and the one before it are parsed again, the others are reused
+    IncrementalParser edited = edit(parsed, "fibo(30)", 5, 2, "25", 2, 4);
+    assertTrue(print(edited.ast()).contains("<Literal image=\"25\">"));
+    // Even when they are moved to other lines
+    IncrementalParser moved = edit(edited, "val show", 8, 0, "\n\n", 2, 4);
+    moved = edit(moved, "if(n<2) {", 9, 0, "\n", 2, 4);
+    moved = edit(moved, "val show", 8, 2, "", 2, 4);
+    moved = edit(moved, "val fibo", 0, 0, "// Fibonacci\n  ", 1, 5);
+    // The source edited is left as it is
+    assertEquals(fibo, print(parsed.ast()));
+
+    IncrementalParser broken = edited.edit(edited.source().indexOf("fibo(25)") + 4, 1, "");
+    assertTrue(broken.errorHasOccurred());
+    IncrementalParser fixed = broken.edit(edited.source().indexOf("fibo(25)") + 4, 0, "(");
+    assertFalse(fixed.errorHasOccurred());
+    assertEquals(edited.source(), fixed.source());
+
+    // A program made of a single block is parsed again by the items of the block
+    IncrementalParser block = IncrementalParser.parse(passTest.getName(),
+        parsed.source().replace("declare {", "{"));
+    assertEquals(6, block.reparsedItems());
+    block = edit(block, "fibo(30)", 5, 2, "25", 2, 4);
+    block = edit(block, "val show", 8, 0, "\n  show(out)\n", 3, 4);
+    block = edit(block, "{", 1, 0, "\n", 0, 7);
+    edit(block, "{", 0, 0, "\n", 7, 0);
+  }
+
+  /**
+   * Edit a source, and check that the new source is parsed as a whole source would be.
+   *
+   * @param parsed   the source to edit.
+   * @param at       text at which the edit is done.
+   * @param shift    number of characters from the start of the text to the edit.
+   * @param removed  number of characters removed.
+   * @param inserted text inserted instead.
+   * @param reparsed number of items to be parsed again.
+   * @param reused   number of items to be reused.
+   * @return the edited source.
+   */
+  private static IncrementalParser edit(IncrementalParser parsed, String at, int shift,
+      int removed, String inserted, int reparsed, int reused) throws ParseException {
+    IncrementalParser edited = parsed.edit(parsed.source().indexOf(at) + shift, removed,
+        inserted);
+    assertFalse(edited.errorHasOccurred());
+    assertEquals(print(IncrementalParser.parse("Fibo.noz", edited.source()).ast()),
+        print(edited.ast()));
+    assertEquals(reparsed, edited.reparsedItems());
+    assertEquals(reused, edited.reusedItems());
+    return edited;
+  }
+
+  private static String print(InterStatement ast) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ast.writeToStdOut(new PrettyPrinter(new PrintStream(out, true)));
+    return out.toString();
+  }
+
   /**
    * Run the nozc compiler against a fail-test file.
    */
@@ -157,4 +474,24 @@ public class NozcJavaCCTestCase {
     exit.expectSystemExitWithStatus(1);
     Nozc.main(args);
   }
+
+  /**
+   * Run the nozc compiler against a fail-test file, giving up at the first syntax error.
+   */
+  @Test
+  public void testFailMaxErrors() {
+    String testedFile = "HelloWorldFailing.noz";
+
+    File failTest = new File("src/test/java/fail/"+testedFile);
+    File genClassDir = new File("src/test/java/fail");
+    System.out.print("\n\n");
+    System.out.println("================================================");
+    System.out.println("Starting testFail on " + failTest.toString() + " to stop at the first error.");
+
+    args = new String[]{"-v", "DEBUG", "--max-errors", "1", "-d", genClassDir.getAbsolutePath(),
+        failTest.toString()};
+
+    exit.expectSystemExitWithStatus(1);
+    Nozc.main(args);
+  }
 }
@@ -0,0 +1,128 @@
+package junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.barassolutions.Diagnostic;
+import com.barassolutions.Nozc;
+import com.barassolutions.NozcCompiler;
+import com.barassolutions.NozcCompiler.Options;
+import com.barassolutions.NozcCompiler.Result;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import picocli.CommandLine;
+
+/**
+ * JUnit test case for compiling malformed NewOz programs : the syntax errors are reported, and the
+ * constructs the parser recovered from are left out of the AST, so that the compiler never
+ * crashes on them.
+ */
+public class NozcRecoveryTestCase {
+
+  /**
+   * Programs with syntax errors in every kind of construct.
+   */
+  private static final String[] GARBAGE = {
+      "}}}",
+      "{ def f(",
+      "{ val x = }",
+      "{ val x = 1 + }\n",
+      "{ browse((1 + 2) = 3) }",
+      "{ class c { defproc (x) { skip } } }",
+      "{ class c extends { attr x = } }",
+      "{ match x { case => { skip } case (a # ) => { skip } } }",
+      "{ val y = match x { case => { 1 } } }",
+      "{ val l = [1, , 3] val r = 'r(a: , 2) }",
+      "{ if () { skip } else if (x ==) { skip } else { skip } }",
+      "{ for (i in 1 .. ) { skip } }",
+      "{ try { skip } catch { case => { skip } } finally { skip } }",
+      "functor f import { skip }",
+      "{ val y = !(x && ) val z = -( ) }",
+  };
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * The example with a syntax error, the programs of the pass-tests cut short, and garbage are all
+   * reported on through the API.
+   */
+  @Test
+  public void testFailRecovery() throws IOException {
+    for (String source : malformedSources()) {
+      Result result = NozcCompiler.compile(source, new Options());
+      assertFalse(source, result.succeeded());
+      assertNull(source, result.code());
+      assertFalse(source, result.diagnostics().isEmpty());
+    }
+  }
+
+  /**
+   * After a block closed too early, or any other error at the top level, the parser carries on up
+   * to the end of the file, even past parentheses which are never closed : only the maximum number
+   * of errors stops it before.
+   */
+  @Test
+  public void testFailRecoveryTopLevel() {
+    StringBuilder source = new StringBuilder("declare {\n  val x = 1\n}\n");
+    for (int i = 0; i < 50; i++) {
+      source.append("  val y").append(i).append(" = (1 +\n");
+    }
+    java.util.List<Diagnostic> diagnostics = NozcCompiler.compile(source, new Options())
+        .diagnostics();
+    assertTrue(diagnostics.size() > 20);
+    assertTrue(diagnostics.get(diagnostics.size() - 1).line() > 50);
+
+    // The errors, and the notice of giving up
+    assertEquals(11,
+        NozcCompiler.compile(source, new Options().maxErrors(10)).diagnostics().size());
+  }
+
+  /**
+   * The same programs make nozc exit with 1 instead of throwing, whether they are compiled or
+   * their AST is printed.
+   */
+  @Test
+  public void testFailRecoveryCommandLine() throws IOException {
+    java.util.List<String> sources = malformedSources();
+    for (int i = 0; i < sources.size(); i++) {
+      File input = folder.newFile("malformed" + i + ".noz");
+      Files.writeString(input.toPath(), sources.get(i), Charset.defaultCharset());
+      String dir = folder.getRoot().getAbsolutePath();
+      assertEquals(sources.get(i), 1, nozc().execute("-d", dir, input.getPath()));
+      assertEquals(sources.get(i), 1, nozc().execute("-s", "-d", dir, input.getPath()));
+    }
+  }
+
+  /**
+   * @return nozc, rethrowing the exceptions instead of turning them into an exit code.
+   */
+  private static CommandLine nozc() {
+    return new CommandLine(new Nozc()).setExecutionExceptionHandler((e, command, parsed) -> {
+      throw e;
+    });
+  }
+
+  private static java.util.List<String> malformedSources() throws IOException {
+    java.util.List<String> sources = new ArrayList<>();
+    sources.add(Files.readString(Path.of("../examples/Classes.noz"), Charset.defaultCharset()));
+    for (String name : new String[]{"Classes", "Counter", "Fibo", "Maths", "Recursion"}) {
+      String source = Files.readString(Path.of("src/test/java/pass", name + ".noz"),
+          Charset.defaultCharset());
+      for (int cut = 1; cut < 4; cut++) {
+        sources.add(source.substring(0, source.length() * cut / 4));
+      }
+    }
+    sources.addAll(java.util.List.of(GARBAGE));
+    return sources;
+  }
+}
@@ -0,0 +1,119 @@
+package junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.barassolutions.Nozc;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.function.IntFunction;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import picocli.CommandLine;
+
+/**
+ * JUnit test case checking that the memory allocated by the nozc compiler grows about linearly
+ * with the size of its input, using programs from the {@link ProgramGenerator}.
+ * <p>
+ * Each test compiles a program, and the same program grown {@link #GROWTH} times larger along one
+ * dimension. The larger program may not allocate more than {@link #SLACK} times what a linear
+ * growth would give : a quadratic behaviour would allocate {@link #GROWTH} times more than that.
+ * Unlike the allocated memory, the time taken depends on the JIT and the GC, and on whatever else
+ * the machine is running : it is measured by the CompilerScalingBenchmark of nozc-bench instead.
+ */
+public class NozcScalingTestCase {
+
+  private static final int GROWTH = 8;
+
+  private static final int SLACK = 3;
+
+  /**
+   * Number of compilations of each program. The one allocating the least is kept, to leave out
+   * what is only allocated once (classes loaded, caches filled).
+   */
+  private static final int RUNS = 3;
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Thousands of functions, each one calling the previous.
+   */
+  @Test
+  public void testScalingFunctions() throws IOException {
+    assertScalesLinearly("functions", n -> new ProgramGenerator().functions(n), 250);
+  }
+
+  /**
+   * Thousands of classes.
+   */
+  @Test
+  public void testScalingClasses() throws IOException {
+    assertScalesLinearly("classes", n -> new ProgramGenerator().functions(0).classes(n), 250);
+  }
+
+  /**
+   * Deeply nested conditionals.
+   */
+  @Test
+  public void testScalingNesting() throws IOException {
+    assertScalesLinearly("nesting", n -> new ProgramGenerator().functions(10).depth(n), 25);
+  }
+
+  /**
+   * Functions taking a lot of arguments.
+   */
+  @Test
+  public void testScalingArguments() throws IOException {
+    assertScalesLinearly("arguments", n -> new ProgramGenerator().functions(10).arity(n), 25);
+  }
+
+  /**
+   * Huge match structures.
+   */
+  @Test
+  public void testScalingCaseClauses() throws IOException {
+    assertScalesLinearly("clauses",
+        n -> new ProgramGenerator().functions(0).matches(10, n), 25);
+  }
+
+  private void assertScalesLinearly(String dimension, IntFunction<ProgramGenerator> generator,
+      int size) throws IOException {
+    File small = folder.newFile(dimension + "Small.noz");
+    File large = folder.newFile(dimension + "Large.noz");
+    generator.apply(size).writeTo(small);
+    generator.apply(size * GROWTH).writeTo(large);
+
+    allocatedBy(large); // Warm-up
+    long smallBytes = allocatedBy(small);
+    long largeBytes = allocatedBy(large);
+    System.out.printf("Scaling %s by %d : allocated memory x%.1f%n", dimension, GROWTH,
+        (double) largeBytes / smallBytes);
+
+    assertTrue("Allocated memory grows faster than the size of the input",
+        largeBytes < smallBytes * GROWTH * SLACK);
+  }
+
+  /**
+   * Compile the passed file, as the command-line would, but without exiting the JVM.
+   *
+   * @return the number of bytes allocated by the compilation.
+   */
+  private long allocatedBy(File file) {
+    String[] args = new String[]{"-v", "OFF", "-d", folder.getRoot().getAbsolutePath(),
+        file.getAbsolutePath()};
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    long bytes = Long.MAX_VALUE;
+    for (int i = 0; i < RUNS; i++) {
+      long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+      int exitCode = new CommandLine(new Nozc()).execute(args);
+      bytes = Math.min(bytes, threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+      assertEquals("Compilation of " + file.getName() + " failed", 0, exitCode);
+    }
+    return bytes;
+  }
+}
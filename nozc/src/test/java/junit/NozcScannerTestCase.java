@@ -0,0 +1,97 @@
+package junit;
+
+import static org.junit.Assert.assertEquals;
+
+import com.barassolutions.DfaTokenManager;
+import com.barassolutions.JavaCCParserConstants;
+import com.barassolutions.JavaCCParserTokenManager;
+import com.barassolutions.SourceCharStream;
+import com.barassolutions.Token;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * JUnit test case checking that the hand-written {@link DfaTokenManager} gives the same tokens as
+ * the scanner generated by JavaCC, with the same kinds, images and offsets.
+ */
+public class NozcScannerTestCase {
+
+  /**
+   * Pieces of NewOz sources random inputs are made of : mostly the starts and ends of tokens, and
+   * the characters which may follow them.
+   */
+  private static final String[] FRAGMENTS = {"a", "z", "at", "attr", "atx", "val", "A", "Z_1",
+      "_", "0", "1", "7", "8", "9", "x", "X", "b", "B", "e", "E", "f", "F", "~", ".", "..", "'",
+      "\"", "`", "\u00b4", "\u00b0", "\\", "\\a", "\\n", "\\\\", "\\\"", "\\'", "\\\u00b0",
+      "\\x4", "\\101", "/", "*", "//", "/*", "*/", "\n", "\r", "\r\n", " ", "\t", "\u000b",
+      "\u0000", "=", "+", "-", ":", "<", ">", "&", "|", "!", "%", "#", "$", ",", "[", "{", "(",
+      "]", "}", ")", ";", "\u20ac"};
+
+  private static final int RANDOM_INPUTS = 50000;
+
+  /**
+   * The sample programs shipped with the project.
+   */
+  @Test
+  public void testSameTokensOnSamples() throws IOException {
+    for (String folder : new String[]{"../examples", "src/test/java/pass"}) {
+      File[] files = new File(folder).listFiles((dir, name) -> name.endsWith(".noz"));
+      for (File file : files) {
+        assertSameTokens(file.getName(), Files.readString(file.toPath(), StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  /**
+   * A large generated program.
+   */
+  @Test
+  public void testSameTokensOnGeneratedProgram() {
+    assertSameTokens("generated", new ProgramGenerator()
+        .functions(500)
+        .depth(3)
+        .classes(50)
+        .matches(50, 20)
+        .generate());
+  }
+
+  /**
+   * Random inputs, mostly invalid, made of pieces of tokens.
+   */
+  @Test
+  public void testSameTokensOnRandomInputs() {
+    Random random = new Random(42);
+    for (int i = 0; i < RANDOM_INPUTS; i++) {
+      StringBuilder input = new StringBuilder();
+      int fragments = random.nextInt(16);
+      for (int j = 0; j < fragments; j++) {
+        input.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+      }
+      assertSameTokens(input.toString(), input.toString());
+    }
+  }
+
+  private static void assertSameTokens(String name, String source) {
+    assertEquals("Tokens of " + name,
+        tokens(new JavaCCParserTokenManager(new SourceCharStream(source))),
+        tokens(new DfaTokenManager(new SourceCharStream(source))));
+  }
+
+  /**
+   * @return one line for each token the scanner gives, with its kind, offsets and image.
+   */
+  private static String tokens(JavaCCParserTokenManager scanner) {
+    StringBuilder tokens = new StringBuilder();
+    Token token;
+    do {
+      token = scanner.getNextToken();
+      tokens.append(token.kind).append('\t').append(token.beginOffset).append('\t')
+          .append(token.endOffset).append('\t').append(token.image).append('\n');
+    } while (token.kind != JavaCCParserConstants.EOF);
+    return tokens.toString();
+  }
+}
@@ -8,7 +8,8 @@ import org.junit.runners.Suite.SuiteClasses;
  * JUnit test suite for running the newOz programs in tests/pass.
  */
 @RunWith(Suite.class)
-@SuiteClasses(NozcJavaCCTestCase.class)
+@SuiteClasses({NozcJavaCCTestCase.class, NozcScalingTestCase.class, NozcScannerTestCase.class,
+    NozcCompilerTestCase.class, NozcRecoveryTestCase.class})
 public class NozcTestSuite {
 
 
@@ -0,0 +1,173 @@
+package junit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Generates valid NewOz programs of arbitrary size and shape, to see how the compiler scales
+ * beyond the few dozen lines of the test programs.
+ * <p>
+ * The generated program only depends on the configured shape : generating twice with the same
+ * settings gives the same program. It contains :
+ * <ul>
+ *   <li>functions taking the configured number of arguments, whose body is a conditional nested
+ *   the configured number of times. Each function calls the previous one, with its arguments
+ *   rotated;</li>
+ *   <li>classes, each with an attribute and two methods;</li>
+ *   <li>functions made of a single match structure with the configured number of clauses.</li>
+ * </ul>
+ * All the names are unique across the program.
+ */
+public class ProgramGenerator {
+
+  private int functions = 10;
+  private int arity = 2;
+  private int depth = 1;
+  private int classes = 0;
+  private int matches = 0;
+  private int clauses = 0;
+
+  /**
+   * @param functions number of functions with nested conditionals.
+   */
+  public ProgramGenerator functions(int functions) {
+    this.functions = functions;
+    return this;
+  }
+
+  /**
+   * @param arity number of arguments of the functions with nested conditionals (at least 1).
+   */
+  public ProgramGenerator arity(int arity) {
+    this.arity = Math.max(1, arity);
+    return this;
+  }
+
+  /**
+   * @param depth number of nested conditionals in the body of each function (at least 1).
+   */
+  public ProgramGenerator depth(int depth) {
+    this.depth = Math.max(1, depth);
+    return this;
+  }
+
+  /**
+   * @param classes number of classes.
+   */
+  public ProgramGenerator classes(int classes) {
+    this.classes = classes;
+    return this;
+  }
+
+  /**
+   * @param matches number of functions made of a match structure.
+   * @param clauses number of case clauses of each of these match structures.
+   */
+  public ProgramGenerator matches(int matches, int clauses) {
+    this.matches = matches;
+    this.clauses = clauses;
+    return this;
+  }
+
+  /**
+   * @return the source of the program.
+   */
+  public String generate() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("declare {\n");
+    for (int i = 0; i < classes; i++) {
+      appendClass(sb, i);
+    }
+    for (int i = 0; i < functions; i++) {
+      appendFunction(sb, i);
+    }
+    for (int i = 0; i < matches; i++) {
+      appendMatch(sb, i);
+    }
+    if (functions > 0) {
+      sb.append("  browse(f").append(functions - 1).append('(');
+      for (int k = 0; k < arity; k++) {
+        sb.append(k > 0 ? ", " : "").append(k);
+      }
+      sb.append("))\n");
+    }
+    if (matches > 0) {
+      sb.append("  browse(g").append(matches - 1).append('(').append(clauses / 2).append("))\n");
+    }
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  /**
+   * Generate the program, and write it to the passed file.
+   *
+   * @param file the file to write to.
+   */
+  public void writeTo(File file) throws IOException {
+    Files.writeString(file.toPath(), generate(), StandardCharsets.UTF_8);
+  }
+
+  private void appendClass(StringBuilder sb, int i) {
+    sb.append("  class c").append(i).append('\n');
+    sb.append("    attr x").append(i).append("=0\n");
+    sb.append("  {\n");
+    sb.append("    defproc init").append(i).append("(c").append(i).append("a) {\n");
+    sb.append("      x").append(i).append("=c").append(i).append("a\n");
+    sb.append("    }\n");
+    sb.append("    defproc get").append(i).append("(c").append(i).append("o) {\n");
+    sb.append("      c").append(i).append("o = x").append(i).append('\n');
+    sb.append("    }\n");
+    sb.append("  }\n");
+  }
+
+  private void appendFunction(StringBuilder sb, int i) {
+    String prefix = "f" + i + "a";
+    sb.append("  def f").append(i).append('(');
+    for (int k = 0; k < arity; k++) {
+      sb.append(k > 0 ? ", " : "").append(prefix).append(k);
+    }
+    sb.append(") {\n");
+    appendConditional(sb, i, prefix, 0);
+    sb.append("  }\n");
+  }
+
+  /**
+   * Append a conditional, whose consequence is the next nested conditional (or a call to the
+   * previous function for the innermost one), and whose alternative is an arithmetic expression.
+   */
+  private void appendConditional(StringBuilder sb, int i, String prefix, int level) {
+    String indent = "    " + "  ".repeat(level);
+    String arg = prefix + (level % arity);
+    String other = prefix + ((level + 1) % arity);
+    sb.append(indent).append("if (").append(arg).append(" < ").append(other).append(") {\n");
+    if (level + 1 < depth) {
+      appendConditional(sb, i, prefix, level + 1);
+    } else if (i > 0) {
+      sb.append(indent).append("  (f").append(i - 1).append('(');
+      for (int k = 0; k < arity; k++) {
+        sb.append(k > 0 ? ", " : "").append(prefix).append((k + 1) % arity);
+      }
+      sb.append("))\n");
+    } else {
+      sb.append(indent).append("  (").append(arg).append('+').append(other).append(")\n");
+    }
+    sb.append(indent).append("} else {\n");
+    sb.append(indent).append("  (").append(arg).append('*').append(level + 1).append('-')
+        .append(other).append(")\n");
+    sb.append(indent).append("}\n");
+  }
+
+  private void appendMatch(StringBuilder sb, int i) {
+    sb.append("  def g").append(i).append("(g").append(i).append("n) {\n");
+    sb.append("    match g").append(i).append("n {\n");
+    for (int k = 0; k < clauses; k++) {
+      sb.append("      case ").append(k).append(" => {(g").append(i).append("n*").append(k + 1)
+          .append(")}\n");
+    }
+    sb.append("      else {0}\n");
+    sb.append("    }\n");
+    sb.append("  }\n");
+  }
+}